@@ -0,0 +1,173 @@
+package benchmarks;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.math.Rectangle;
+
+// Local project imports.
+import bludbourne_ch02.MapManager;
+import bludbourne_ch02.PortalTable;
+
+// JMH imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Java imports.
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark
+{
+
+    /**
+    * The class times the per-step map checks made for the player:  the collision check
+    * (MapManager.isCollisionWithMapLayer) and the portal check behind
+    * MainGameScreen.updatePortalLayerActivation (PortalTable.update).  The screen method itself needs a
+    * renderer and player, so the benchmark times the portal table it consults each step.
+    * <br><br>
+    * Each shipped map gets loaded once, with each collision mode.  Each call checks the next of a fixed
+    * set of player-sized hitboxes placed at random (seeded) positions across the map.
+    */
+
+    /*
+    Methods include:
+
+    isCollisionWithMapLayer:  Checks the next hitbox against the collision layer.
+    setUp:  Loads the map and places the hitboxes.
+    updatePortals:  Checks the next hitbox against the portal table.
+    */
+
+    // Declare constants.
+    private static final int HITBOXES = 1024; // Number of hitboxes (power of two).
+    private static final float HITBOX_HEIGHT = 8f; // Height of each hitbox, in pixels (half a tile).
+    private static final float HITBOX_WIDTH = 16f; // Width of each hitbox, in pixels.
+    private static final long SEED = 12345L; // Seed for hitbox positions, so every run sees the same ones.
+
+    // Declare regular variables.
+
+    /** Name of the map to check (key in the map table of MapManager). */
+    @Param({"TOP_WORLD", "TOWN", "CASTLE_OF_DOOM"})
+    public String mapName;
+
+    /** Approach used to check for collisions with the collision layer. */
+    @Param({"GRID", "BITMASK"})
+    public MapManager.CollisionMode collisionMode;
+
+    /** Player-sized hitboxes at random positions across the map. */
+    private Rectangle[] _hitboxes;
+
+    /** Map manager with the map loaded. */
+    private MapManager _mapManager;
+
+    /** Index of the next hitbox to check. */
+    private int _next;
+
+    /** Portal table of the map. */
+    private PortalTable _portalTable;
+
+    // Methods below...
+
+    /**
+     *
+     * The function checks the next hitbox against the collision layer of the map.
+     *
+     * @return  Whether the hitbox overlaps an object in the collision layer.
+     */
+    @Benchmark
+    public boolean isCollisionWithMapLayer()
+    {
+        // The function checks the next hitbox against the collision layer of the map.
+        return _mapManager.isCollisionWithMapLayer(_hitboxes[_next++ & (HITBOXES - 1)]);
+    }
+
+    /**
+     *
+     * The function starts LibGDX, loads the map with the collision mode, and places the hitboxes at random
+     * (seeded) positions across the map.
+     */
+    @Setup
+    public void setUp()
+    {
+
+        // The function starts LibGDX, loads the map, and places the hitboxes.
+
+        float mapHeight; // Height of the map, in pixels.
+        float mapWidth; // Width of the map, in pixels.
+        MapProperties properties; // Properties of the map.
+        Random random; // Source of hitbox positions.
+
+        HeadlessGdx.start();
+
+        // Load the map with the collision mode.
+        _mapManager = new MapManager();
+        _mapManager.setCollisionMode(collisionMode);
+
+        // If the map fails to load, then...
+        if ( !_mapManager.loadMap(mapName) )
+            throw new IllegalStateException("Unable to load map: " + mapName);
+
+        _portalTable = _mapManager.getPortalTable();
+
+        // Determine the size of the map, in pixels.
+        properties = _mapManager.getCurrentMap().getProperties();
+        mapWidth = properties.get("width", Integer.class) * properties.get("tilewidth", Integer.class);
+        mapHeight = properties.get("height", Integer.class) * properties.get("tileheight", Integer.class);
+
+        // Place the hitboxes.
+        _hitboxes = new Rectangle[HITBOXES];
+        random = new Random(SEED);
+
+        for (int counter = 0; counter < HITBOXES; counter++)
+            _hitboxes[counter] = new Rectangle(random.nextFloat() * (mapWidth - HITBOX_WIDTH),
+              random.nextFloat() * (mapHeight - HITBOX_HEIGHT), HITBOX_WIDTH, HITBOX_HEIGHT);
+
+        _next = 0;
+
+    }
+
+    /**
+     *
+     * The function checks the next hitbox against the portal table of the map.
+     *
+     * @return  Portal entered by the hitbox (PortalTable.NO_PORTAL when none).
+     */
+    @Benchmark
+    public int updatePortals()
+    {
+        // The function checks the next hitbox against the portal table of the map.
+        return _portalTable.update(_hitboxes[_next++ & (HITBOXES - 1)]);
+    }
+
+}
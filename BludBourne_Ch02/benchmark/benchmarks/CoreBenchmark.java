@@ -0,0 +1,205 @@
+package benchmarks;
+
+// Local project imports.
+import core.AssetMgr;
+import core.BaseActor;
+
+// JMH imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// Java imports.
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoreBenchmark
+{
+
+    /**
+    * The class times the hot checks of the core (actor) library:  BaseActor.overlaps (bounding rectangle
+    * test, followed by the polygon test when the rectangles meet) and AssetMgr.getPixmapTransparentInd
+    * (pixel lookup used for pixel-perfect hit tests).
+    * <br><br>
+    * The actors use rectangle boundaries, either overlapping (running the polygon test) or apart (stopping
+    * at the rectangle test).  Overlaps get checked without resolving, so the actors never move.  Pixel
+    * lookups cycle through a fixed set of random (seeded) points on a character sheet.
+    */
+
+    /*
+    Methods include:
+
+    dispose:  Releases the alpha mask.
+    getPixmapTransparentInd:  Checks whether the next point on the sheet is transparent.
+    overlaps:  Checks whether the actors overlap.
+    setUp:  Starts LibGDX, places the actors, loads the alpha mask, and picks the points.
+    */
+
+    // Declare constants.
+    private static final float ACTOR_SIZE = 32f; // Width and height of each actor, in pixels.
+    private static final String PIXMAP_KEY = "SHEET"; // Key of the alpha mask in the asset manager.
+    private static final String PIXMAP_PATH = "assets/sprites/characters/Warrior.png"; // Sheet to read.
+    private static final int POINTS = 1024; // Number of points (power of two).
+    private static final long SEED = 12345L; // Seed for points, so every run sees the same ones.
+
+    // Declare regular variables.
+
+    /** Whether the actors overlap. */
+    @Param({"true", "false"})
+    public boolean overlapping;
+
+    /** Actor checked against _other. */
+    private BaseActor _actor;
+
+    /** Asset manager holding the alpha mask. */
+    private AssetMgr _assetMgr;
+
+    /** Index of the next point. */
+    private int _next;
+
+    /** Actor checked by _actor. */
+    private BaseActor _other;
+
+    /** X-coordinates of the points on the sheet. */
+    private float[] _pointX;
+
+    /** Y-coordinates of the points on the sheet. */
+    private float[] _pointY;
+
+    // Methods below...
+
+    /**
+     *
+     * The function releases the alpha mask.
+     */
+    @TearDown
+    public void dispose()
+    {
+        // The function releases the alpha mask.
+        _assetMgr.disposeAssetMgr();
+    }
+
+    /**
+     *
+     * The function checks whether the next point on the sheet is transparent.
+     *
+     * @return  Whether the point is transparent.
+     */
+    @Benchmark
+    public boolean getPixmapTransparentInd()
+    {
+
+        // The function checks whether the next point on the sheet is transparent.
+
+        int index; // Index of the point.
+
+        index = _next++ & (POINTS - 1);
+
+        // Return whether the point is transparent.
+        return _assetMgr.getPixmapTransparentInd(PIXMAP_KEY, _pointX[index], _pointY[index]);
+
+    }
+
+    /**
+     *
+     * The function checks whether the actors overlap, without resolving.
+     *
+     * @return  Whether the actors overlap significantly.
+     */
+    @Benchmark
+    public boolean overlaps()
+    {
+        // The function checks whether the actors overlap, without resolving.
+        return _actor.overlaps(_other, false);
+    }
+
+    /**
+     *
+     * The function starts LibGDX, places the actors (overlapping by half or apart), loads the alpha mask,
+     * and picks the points on the sheet.
+     */
+    @Setup
+    public void setUp()
+    {
+
+        // The function starts LibGDX, places the actors, loads the alpha mask, and picks the points.
+
+        int height; // Height of the sheet, in pixels.
+        HashMap<String, String> pixmaps; // Image from which to load the alpha mask.
+        Random random; // Source of points.
+        int width; // Width of the sheet, in pixels.
+
+        HeadlessGdx.start();
+
+        // Place the actors, overlapping by half or apart.
+        _actor = new BaseActor();
+        _actor.setSize(ACTOR_SIZE, ACTOR_SIZE);
+        _actor.setPosition(0f, 0f);
+        _actor.setRectangleBoundary();
+
+        _other = new BaseActor();
+        _other.setSize(ACTOR_SIZE, ACTOR_SIZE);
+        _other.setPosition(overlapping ? ACTOR_SIZE / 2 : ACTOR_SIZE * 4, ACTOR_SIZE / 2);
+        _other.setRectangleBoundary();
+
+        // Load the alpha mask.
+        pixmaps = new HashMap<>();
+        pixmaps.put(PIXMAP_KEY, PIXMAP_PATH);
+
+        _assetMgr = new AssetMgr();
+        _assetMgr.queuePixmaps(pixmaps);
+        _assetMgr.loadPixelMaps();
+
+        // Pick the points.
+        width = _assetMgr.getAlphaMask(PIXMAP_KEY).getWidth();
+        height = _assetMgr.getAlphaMask(PIXMAP_KEY).getHeight();
+
+        _pointX = new float[POINTS];
+        _pointY = new float[POINTS];
+        random = new Random(SEED);
+
+        for (int counter = 0; counter < POINTS; counter++)
+        {
+            // Keep clear of the last row and column, since lookups round to the nearest pixel.
+            _pointX[counter] = random.nextFloat() * (width - 1);
+            _pointY[counter] = random.nextFloat() * (height - 1);
+        }
+
+        _next = 0;
+
+    }
+
+}
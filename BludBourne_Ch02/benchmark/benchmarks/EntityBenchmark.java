@@ -0,0 +1,134 @@
+package benchmarks;
+
+// Local project imports.
+import bludbourne_ch02.Entity;
+
+// JMH imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// Java imports.
+import java.util.concurrent.TimeUnit;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityBenchmark
+{
+
+    /**
+    * The class times the per-step work of an entity:  Entity.update (remembering the previous position,
+    * advancing the frame time, and sizing the hitbox) and Entity.calculateNextPosition (setting the next
+    * position from the direction and velocity).  Directions cycle through all four, so every branch runs.
+    */
+
+    /*
+    Methods include:
+
+    calculateNextPosition:  Sets the next position of the entity, moving in the next direction.
+    dispose:  Releases the entity.
+    setUp:  Starts LibGDX and creates the entity.
+    update:  Advances the entity by one step.
+    */
+
+    // Declare constants.
+    private static final Entity.Direction[] DIRECTIONS = Entity.Direction.values(); // Directions to cycle.
+    private static final float STEP = 1f / 60f; // Duration of a step, in seconds.
+
+    // Declare regular variables.
+
+    /** Entity under test. */
+    private Entity _entity;
+
+    /** Index of the next direction. */
+    private int _next;
+
+    // Methods below...
+
+    /**
+     *
+     * The function sets the next position of the entity, moving in the next direction.
+     */
+    @Benchmark
+    public void calculateNextPosition()
+    {
+
+        // The function sets the next position of the entity, moving in the next direction.
+
+        _entity.calculateNextPosition(DIRECTIONS[_next], STEP);
+
+        // Move to the next direction.
+        _next = (_next + 1) % DIRECTIONS.length;
+
+    }
+
+    /**
+     *
+     * The function releases the entity (and the shared animations).
+     */
+    @TearDown
+    public void dispose()
+    {
+        // The function releases the entity (and the shared animations).
+        _entity.dispose();
+    }
+
+    /**
+     *
+     * The function starts LibGDX and creates the entity, placed at (10, 10).
+     */
+    @Setup
+    public void setUp()
+    {
+
+        // The function starts LibGDX and creates the entity, placed at (10, 10).
+
+        HeadlessGdx.start();
+
+        _entity = new Entity();
+        _entity.init(10f, 10f);
+        _next = 0;
+
+    }
+
+    /**
+     *
+     * The function advances the entity by one step.
+     */
+    @Benchmark
+    public void update()
+    {
+        // The function advances the entity by one step.
+        _entity.update(STEP);
+    }
+
+}
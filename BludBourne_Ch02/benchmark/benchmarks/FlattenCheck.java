@@ -0,0 +1,400 @@
+package benchmarks;
+
+// LibGDX imports.
+import com.badlogic.gdx.assets.loaders.resolvers.AbsoluteFileHandleResolver;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+
+// Local project imports.
+import bludbourne_ch02.FlattenedTileLayers;
+
+// Java imports.
+import java.util.HashMap;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+public final class FlattenCheck
+{
+
+    /**
+    * The class checks, headless, that FlattenedTileLayers composites chunks the way the layers look when
+    * drawn one at a time.  The check flattens the passed map (see benchmark/maps/flatten_check.tmx, holding
+    * flipped and rotated tiles, translucent layers, and a hidden layer) at several chunk sizes, keeping the
+    * chunk pixels.  Each chunk then gets composited again, one layer at a time:  each visible layer gets 
+    * drawn alone into a pixel map, with the cell flips and rotation mapped pixel by pixel and the layer 
+    * opacity multiplied into the alpha, and the layer gets blended (source over) onto the layers below.
+    * <br><br>
+    * Any pixel differing by more than TOLERANCE in a color channel fails the check, exiting with status 1.
+    * Run through the check-flatten target in build.xml.
+    */
+
+    /*
+    Methods include:
+
+    compareChunk:  Composites the passed chunk one layer at a time and returns the number of pixels 
+      differing from the flattened chunk.
+    drawTile:  Draws the tile of the passed cell into the passed layer pixel map.
+    main:  Flattens the passed map at each chunk size and exits with status 1 when any pixel differs.
+    readTileset:  Returns the pixels of the passed tileset texture, decoded from its image file.
+    */
+
+    // Declare constants.
+    private static final int[] CHUNK_TILES = {1, 4, 8}; // Chunk sizes to check, in tiles.  Eight exceeds the 
+      // check map, so one partial chunk covers it.
+    private static final int TOLERANCE = 1; // Largest difference allowed per color channel (rounding).
+
+    // No constructor exists.
+
+    // Methods below...
+
+    /**
+     *
+     * The function composites the passed chunk of the map one layer at a time and returns the number of 
+     * pixels differing (by more than TOLERANCE in any color channel) from the flattened chunk.
+     *
+     * @param map  Map flattened.
+     * @param flattened  Chunks composited from the map, with the pixels kept.
+     * @param index  Index of the chunk to compare.
+     * @param tilesets  Pixels of each tileset texture decoded so far.
+     * @return  Number of pixels differing from the flattened chunk.
+     */
+
+    // map = Map flattened.
+    // flattened = Chunks composited from the map, with the pixels kept.
+    // index = Index of the chunk to compare.
+    // tilesets = Pixels of each tileset texture decoded so far.
+    private static int compareChunk(TiledMap map, FlattenedTileLayers flattened, int index,
+      HashMap<Texture, Pixmap> tilesets)
+    {
+
+        /*
+        The function composites the passed chunk of the map one layer at a time and returns the number of 
+        pixels differing (by more than TOLERANCE in any color channel) from the flattened chunk.
+        */
+
+        Pixmap actual; // Pixels of the flattened chunk.
+        int actualColor; // Current pixel of the flattened chunk (RGBA8888).
+        int bottom; // Row of the bottom tiles of the chunk.
+        Cell cell; // Current cell.
+        int columns; // Width of the chunk, in tiles.
+        int differing; // Number of pixels differing so far.
+        Pixmap expected; // Pixels of the layers composited one at a time.
+        int expectedColor; // Current pixel of the layers composited one at a time (RGBA8888).
+        TiledMapTileLayer layer; // Current tile layer.
+        Pixmap layerPixels; // Pixels of the current layer alone.
+        int left; // Column of the left tiles of the chunk.
+        int rows; // Height of the chunk, in tiles.
+        int tileHeight; // Height of each tile, in pixels.
+        int tileWidth; // Width of each tile, in pixels.
+
+        actual = flattened.getPixmap(index);
+        expected = new Pixmap(actual.getWidth(), actual.getHeight(), Pixmap.Format.RGBA8888);
+        layerPixels = new Pixmap(actual.getWidth(), actual.getHeight(), Pixmap.Format.RGBA8888);
+
+        // Start with transparent pixels.
+        expected.setColor(0);
+        expected.fill();
+        layerPixels.setColor(0);
+
+        // Loop through visible tile layers, in map order.
+        for ( MapLayer mapLayer: map.getLayers() )
+        {
+
+            if ( !(mapLayer instanceof TiledMapTileLayer) || !mapLayer.isVisible() )
+                continue;
+
+            layer = (TiledMapTileLayer)mapLayer;
+            tileWidth = (int)layer.getTileWidth();
+            tileHeight = (int)layer.getTileHeight();
+            left = flattened.getChunkX(index) / tileWidth;
+            bottom = flattened.getChunkY(index) / tileHeight;
+            columns = actual.getWidth() / tileWidth;
+            rows = actual.getHeight() / tileHeight;
+
+            // Draw the layer alone.  Pixel map rows run top to bottom.
+            layerPixels.fill();
+
+            for ( int row = 0; row < rows; row++ )
+            {
+
+                for ( int column = 0; column < columns; column++ )
+                {
+
+                    cell = layer.getCell(left + column, bottom + row);
+
+                    if ( cell != null && cell.getTile() != null )
+                        drawTile(layerPixels, cell, layer.getOpacity(), column * tileWidth, 
+                          (rows - 1 - row) * tileHeight, tilesets);
+
+                }
+
+            }
+
+            // Blend the layer (source over) onto the layers below.
+            expected.drawPixmap(layerPixels, 0, 0);
+
+        }
+
+        differing = 0;
+
+        // Loop through pixels, comparing each color channel.
+        for ( int y = 0; y < actual.getHeight(); y++ )
+        {
+
+            for ( int x = 0; x < actual.getWidth(); x++ )
+            {
+
+                actualColor = actual.getPixel(x, y);
+                expectedColor = expected.getPixel(x, y);
+
+                for ( int shift = 0; shift < 32; shift += 8 )
+                {
+
+                    // If the channel differs by more than rounding, then count the pixel once.
+                    if ( Math.abs(((actualColor >>> shift) & 0xFF) - ((expectedColor >>> shift) & 0xFF)) > 
+                      TOLERANCE )
+                    {
+                        differing++;
+                        break;
+                    }
+
+                }
+
+            }
+
+        }
+
+        expected.dispose();
+        layerPixels.dispose();
+
+        // Return the number of pixels differing.
+        return differing;
+
+    }
+
+    /**
+     *
+     * The function draws the tile of the passed cell into the passed layer pixel map, which holds nothing 
+     * else at the position of the tile.  Each pixel gets mapped back into the tile image by undoing the
+     * rotation (counterclockwise quarter turns, as OrthogonalTiledMapRenderer applies them) and then the
+     * flips, and its alpha gets multiplied by the layer opacity.
+     *
+     * @param layerPixels  Pixels of the layer being drawn.
+     * @param cell  Cell to draw.
+     * @param opacity  Opacity of the layer.
+     * @param left  X-coordinate of the left edge of the tile in the layer pixel map.
+     * @param top  Y-coordinate of the top edge of the tile in the layer pixel map.
+     * @param tilesets  Pixels of each tileset texture decoded so far.
+     */
+
+    // layerPixels = Pixels of the layer being drawn.
+    // cell = Cell to draw.
+    // opacity = Opacity of the layer.
+    // left = X-coordinate of the left edge of the tile in the layer pixel map.
+    // top = Y-coordinate of the top edge of the tile in the layer pixel map.
+    // tilesets = Pixels of each tileset texture decoded so far.
+    private static void drawTile(Pixmap layerPixels, Cell cell, float opacity, int left, int top,
+      HashMap<Texture, Pixmap> tilesets)
+    {
+
+        /*
+        The function draws the tile of the passed cell into the passed layer pixel map.  Each pixel gets 
+        mapped back into the tile image by undoing the rotation and then the flips, and its alpha gets 
+        multiplied by the layer opacity.
+        */
+
+        int alpha; // Alpha of current source pixel, scaled by opacity.
+        int color; // Current source pixel (RGBA8888).
+        int height; // Height of the tile image, in pixels.
+        TextureRegion region; // Region of the tileset texture holding the tile image.
+        Pixmap source; // Pixels of the tileset texture.
+        int sourceX; // X-coordinate of current source pixel within tile image.
+        int sourceY; // Y-coordinate of current source pixel within tile image.
+        int temp; // Coordinate being moved during a quarter turn.
+        int width; // Width of the tile image, in pixels.
+
+        region = cell.getTile().getTextureRegion();
+        source = readTileset(region.getTexture(), tilesets);
+        width = region.getRegionWidth();
+        height = region.getRegionHeight();
+
+        // Loop through destination pixels.
+        for ( int y = 0; y < height; y++ )
+        {
+
+            for ( int x = 0; x < width; x++ )
+            {
+
+                sourceX = x;
+                sourceY = y;
+
+                // Undo each quarter turn -- a turned tile shows, at each pixel, the image pixel one quarter
+                // turn clockwise from it.
+                for ( int turn = 0; turn < cell.getRotation(); turn++ )
+                {
+                    temp = sourceX;
+                    sourceX = width - 1 - sourceY;
+                    sourceY = temp;
+                }
+
+                // Undo the flips.
+                if ( cell.getFlipHorizontally() )
+                    sourceX = width - 1 - sourceX;
+
+                if ( cell.getFlipVertically() )
+                    sourceY = height - 1 - sourceY;
+
+                color = source.getPixel(region.getRegionX() + sourceX, region.getRegionY() + sourceY);
+
+                // Scale alpha by layer opacity.  Fully transparent pixels leave the layer empty.
+                alpha = Math.round((color & 0xFF) * Math.min(1f, opacity));
+
+                if ( alpha > 0 )
+                    layerPixels.drawPixel(left + x, top + y, (color & 0xFFFFFF00) | alpha);
+
+            }
+
+        }
+
+    }
+
+    /**
+     *
+     * The function flattens the passed map at each chunk size in CHUNK_TILES, compares every chunk against
+     * the layers composited one at a time, and exits with status 1 when any pixel differs or the map does
+     * not get flattened.
+     *
+     * @param args  Path of the TMX map to check.
+     */
+
+    // args = Path of the TMX map to check.
+    public static void main(String[] args)
+    {
+
+        // The function flattens the passed map at each chunk size and compares every chunk.
+
+        int differing; // Number of pixels differing at the current chunk size.
+        boolean failed; // Whether any chunk size failed.
+        FlattenedTileLayers flattened; // Chunks composited from the map, with the pixels kept.
+        TiledMap map; // Map to check.
+        HashMap<Texture, Pixmap> tilesets; // Pixels of each tileset texture decoded so far.
+
+        // If no map passed, then exit.
+        if ( args.length < 1 )
+            throw new IllegalArgumentException("Pass the path of the TMX map to check.");
+
+        // Start LibGDX headless and load the map (with its tileset textures).
+        HeadlessGdx.start();
+        map = new TmxMapLoader(new AbsoluteFileHandleResolver()).load(args[0]);
+
+        // Set defaults.
+        flattened = new FlattenedTileLayers();
+        flattened.setKeepPixmaps(true);
+        tilesets = new HashMap<>();
+        failed = false;
+
+        // Loop through chunk sizes.
+        for ( int chunkTiles: CHUNK_TILES )
+        {
+
+            // If the map did not get flattened, then fail.
+            if ( !flattened.build(map, chunkTiles) )
+            {
+                System.out.println("Chunk size " + chunkTiles + ":  map not flattened.");
+                failed = true;
+                continue;
+            }
+
+            differing = 0;
+
+            for ( int index = 0; index < flattened.getChunkCount(); index++ )
+                differing += compareChunk(map, flattened, index, tilesets);
+
+            System.out.println(String.format("Chunk size %d:  %d chunks, %d pixels differ.", chunkTiles, 
+              flattened.getChunkCount(), differing));
+
+            if ( differing > 0 )
+                failed = true;
+
+        }
+
+        // Clear the chunks, tileset pixels, and map from memory.
+        flattened.clear();
+
+        for ( Pixmap pixmap: tilesets.values() )
+            pixmap.dispose();
+
+        map.dispose();
+
+        // Report the result through the exit status (for build scripts).
+        System.out.println(failed ? "Flatten check failed." : "Flatten check passed.");
+        System.exit(failed ? 1 : 0);
+
+    }
+
+    /**
+     *
+     * The function returns the pixels of the passed tileset texture, decoded from its image file when first
+     * needed (rather than read back from the texture, as FlattenedTileLayers does).  The pixels get stored
+     * in the passed hash map, for disposal by the caller.
+     *
+     * @param texture  Tileset texture, loaded from an image file.
+     * @param tilesets  Pixels of each tileset texture decoded so far.
+     * @return  Pixels of the texture.
+     */
+
+    // texture = Tileset texture, loaded from an image file.
+    // tilesets = Pixels of each tileset texture decoded so far.
+    private static Pixmap readTileset(Texture texture, HashMap<Texture, Pixmap> tilesets)
+    {
+
+        /*
+        The function returns the pixels of the passed tileset texture, decoded from its image file when first
+        needed.  The pixels get stored in the passed hash map, for disposal by the caller.
+        */
+
+        Pixmap pixmap; // Pixels of the texture.
+
+        pixmap = tilesets.get(texture);
+
+        // If not decoded yet, then decode the image file.
+        if ( pixmap == null )
+        {
+            pixmap = new Pixmap(((FileTextureData)texture.getTextureData()).getFileHandle());
+            tilesets.put(texture, pixmap);
+        }
+
+        // Return the pixels.
+        return pixmap;
+
+    }
+
+}
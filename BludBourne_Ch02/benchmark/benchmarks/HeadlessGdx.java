@@ -0,0 +1,93 @@
+package benchmarks;
+
+// LibGDX imports.
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+// Local project imports.
+import bludbourne_ch02.HeadlessGL;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+final class HeadlessGdx
+{
+
+    /**
+    * The class starts LibGDX with the headless backend, so the benchmarks run on machines without a GPU
+    * (build servers).  The headless backend provides files, logging, and the native pixel map code, but no
+    * OpenGL.  The OpenGL stand-in shared with replays (see HeadlessGL) takes its place, so textures for 
+    * tilesets and sprite sheets get created without uploading anything.
+    * <br><br>
+    * Assets resolve relative to the working directory, which the benchmark target in build.xml sets to the
+    * build classes folder (holding the copied assets and compiled maps).
+    */
+
+    /*
+    Methods include:
+
+    start:  Starts LibGDX with the headless backend, once per JVM.
+    */
+
+    // No constructor exists.
+
+    // Methods below...
+
+    /**
+     *
+     * The function starts LibGDX with the headless backend, once per JVM.  Rendering stays off, logging
+     * only reports errors, and the OpenGL stand-in replaces OpenGL when the backend provides none.
+     */
+    static synchronized void start()
+    {
+
+        // The function starts LibGDX with the headless backend, once per JVM.
+
+        HeadlessApplicationConfiguration config; // Headless backend configuration.
+
+        // If already started, then...
+        if ( Gdx.app != null )
+            return;
+
+        // Never call render() -- the benchmarks drive the code directly.
+        config = new HeadlessApplicationConfiguration();
+        config.renderInterval = -1f;
+
+        new HeadlessApplication(new ApplicationAdapter(), config);
+
+        // Keep debug messages (map and asset loading) out of the measurements.
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+        // If the backend provides no OpenGL, then use the stand-in.
+        if ( Gdx.gl == null )
+        {
+            Gdx.gl = HeadlessGL.create();
+            Gdx.gl20 = Gdx.gl;
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package benchmarks;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.tiled.TiledMap;
+
+// Local project imports.
+import bludbourne_ch02.MapManager;
+import core.AssetService;
+
+// JMH imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// Java imports.
+import java.util.concurrent.TimeUnit;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MapLoadBenchmark
+{
+
+    /**
+    * The class times MapManager.loadMap for each shipped map, loading from scratch every time:  the asset
+    * manager gets cleared and a new map manager created before each call, so neither the map cache nor the
+    * prefetcher hides the load.  The map file comes from Utility.resolveMapPath, so compiled maps (from
+    * the build) get timed when present, and TMX files otherwise.
+    * <br><br>
+    * Each call includes reading the map and its tilesets and building the collision grid, collision
+    * bitmask, portal table, and spawn indexes.
+    */
+
+    /*
+    Methods include:
+
+    clearAssets:  Unloads every asset, including maps queued for prefetching by the last call.
+    loadMap:  Loads the map from scratch.
+    setUp:  Starts LibGDX and creates a new map manager.
+    */
+
+    // Declare regular variables.
+
+    /** Name of the map to load (key in the map table of MapManager). */
+    @Param({"TOP_WORLD", "TOWN", "CASTLE_OF_DOOM"})
+    public String mapName;
+
+    /** Map manager used by the next call (new before each call). */
+    private MapManager _mapManager;
+
+    // Methods below...
+
+    /**
+     *
+     * The function unloads every asset, including maps queued for prefetching by the last call.
+     */
+    @TearDown(Level.Invocation)
+    public void clearAssets()
+    {
+        // The function unloads every asset, including maps queued for prefetching by the last call.
+        AssetService.SHARED.clear();
+    }
+
+    /**
+     *
+     * The function loads the map from scratch.
+     *
+     * @return  Map loaded.
+     */
+    @Benchmark
+    public TiledMap loadMap()
+    {
+
+        // The function loads the map from scratch.
+
+        // If the map fails to load, then...
+        if ( !_mapManager.loadMap(mapName) )
+            throw new IllegalStateException("Unable to load map: " + mapName);
+
+        // Return the map loaded.
+        return _mapManager.getCurrentMap();
+
+    }
+
+    /**
+     *
+     * The function starts LibGDX (once) and creates a new map manager, holding no maps.
+     */
+    @Setup(Level.Invocation)
+    public void setUp()
+    {
+
+        // The function starts LibGDX (once) and creates a new map manager, holding no maps.
+
+        HeadlessGdx.start();
+        _mapManager = new MapManager();
+
+    }
+
+}
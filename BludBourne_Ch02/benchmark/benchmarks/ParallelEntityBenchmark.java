@@ -0,0 +1,288 @@
+package benchmarks;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+
+// Local project imports.
+import bludbourne_ch02.CollisionGrid;
+import bludbourne_ch02.EntityStore;
+import bludbourne_ch02.ParallelEntityUpdater;
+
+// Java imports.
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class ParallelEntityBenchmark
+{
+
+    /**
+    * The class times ParallelEntityUpdater with 1, 2, 4, and all available cores.  The benchmark runs
+    * offline, without LibGDX graphics (see the benchmark-entities target in build.xml).
+    * <br><br>
+    * Each run places the same entities (10,000 by default) at the same random positions on a map of
+    * random collision rectangles, gives them random directions that change every half second, and times
+    * a fixed number of 60 Hz steps after a warm-up.  The run reports the average time per step, the
+    * speedup over one core, and a checksum of the final positions.  The checksums must match across runs,
+    * since the outcome does not depend on the number of threads.
+    */
+
+    /*
+    Methods include:
+
+    buildCollisionLayer:  Returns a map layer filled with random collision rectangles.
+    main:  Runs the benchmark with 1, 2, 4, and all available cores.
+    run:  Runs the benchmark with the passed number of threads and returns the nanoseconds per step.
+    setDirections:  Gives every entity a random direction, based on the passed step.
+    */
+
+    // Declare constants.
+    private static final int DEFAULT_ENTITIES = 10000; // Default number of entities.
+    private static final int DEFAULT_STEPS = 600; // Default number of timed steps.
+    private static final int DIRECTION_STEPS = 30; // Steps between direction changes.
+    private static final int MAP_TILES = 256; // Number of tiles across and down the map.
+    private static final long SEED = 12345L; // Seed for all random values, so every run sees the same map.
+    private static final float STEP = 1f / 60f; // Duration of a step, in seconds.
+    private static final int TILE_SIZE = 16; // Width and height of each tile, in pixels.
+    private static final int WALLS = 4000; // Number of collision rectangles.
+    private static final int WARM_UP_STEPS = 300; // Number of untimed steps before timing.
+
+    // Declare regular variables.
+
+    /** {@link Checksum}
+     * Sum of the final entity positions of the last run. */
+    private static double _checksum;
+
+    // No constructor exists.
+
+    // Methods below...
+
+    /**
+     *
+     * The function returns a map layer filled with random collision rectangles (one to four tiles on
+     * each side).
+     *
+     * @return  Map layer filled with random collision rectangles.
+     */
+    private static MapLayer buildCollisionLayer()
+    {
+
+        // The function returns a map layer filled with random collision rectangles.
+
+        MapLayer layer; // Map layer to return.
+        Random random; // Source of rectangle positions and sizes.
+
+        layer = new MapLayer();
+        random = new Random(SEED);
+
+        // Loop through rectangles to add.
+        for (int counter = 0; counter < WALLS; counter++)
+        {
+            layer.getObjects().add(new RectangleMapObject(random.nextInt(MAP_TILES) * TILE_SIZE,
+              random.nextInt(MAP_TILES) * TILE_SIZE, (1 + random.nextInt(4)) * TILE_SIZE,
+              (1 + random.nextInt(4)) * TILE_SIZE));
+        }
+
+        // Return the map layer.
+        return layer;
+
+    }
+
+    /**
+     *
+     * The function runs the benchmark with 1, 2, 4, and all available cores.
+     *
+     * @param args  Optional number of entities and number of timed steps.
+     */
+
+    // args = Optional number of entities and number of timed steps.
+    public static void main(String[] args)
+    {
+
+        // The function runs the benchmark with 1, 2, 4, and all available cores.
+
+        double baseline; // Nanoseconds per step with one thread.
+        CollisionGrid collisionGrid; // Collision grid over the random rectangles.
+        int entities; // Number of entities.
+        double nanos; // Nanoseconds per step with the current number of threads.
+        int steps; // Number of timed steps.
+        TreeSet<Integer> threadCounts; // Numbers of threads to try, in increasing order.
+
+        // Read the settings.
+        entities = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTITIES;
+        steps = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STEPS;
+
+        // Build the collision grid.
+        collisionGrid = new CollisionGrid();
+        collisionGrid.build(buildCollisionLayer(), TILE_SIZE);
+
+        // Try 1, 2, 4, and all available cores.
+        threadCounts = new TreeSet<>();
+        threadCounts.add(1);
+        threadCounts.add(2);
+        threadCounts.add(4);
+        threadCounts.add(Runtime.getRuntime().availableProcessors());
+
+        System.out.println("Entities: " + entities + ", steps: " + steps + ", walls: " + WALLS);
+
+        // Run once without reporting, so the code gets compiled before the first timed run.
+        run(1, entities, steps, collisionGrid);
+
+        baseline = 0;
+
+        // Loop through numbers of threads.
+        for (int threads : threadCounts)
+        {
+
+            nanos = run(threads, entities, steps, collisionGrid);
+
+            // If first run (one thread), then use as baseline.
+            if ( threads == 1 )
+                baseline = nanos;
+
+            System.out.println(String.format("Threads: %2d  ms/step: %8.3f  speedup: %5.2f  checksum: %.3f",
+              threads, nanos / 1e6, baseline / nanos, _checksum));
+
+        }
+
+    }
+
+    /**
+     *
+     * The function runs the benchmark with the passed number of threads and returns the average time per
+     * step.  The sum of the final entity positions gets stored in _checksum.
+     *
+     * @param threads  Number of threads.
+     * @param entities  Number of entities.
+     * @param steps  Number of timed steps.
+     * @param collisionGrid  Collision grid of the map.
+     * @return  Average time per step, in nanoseconds.
+     */
+
+    // threads = Number of threads.
+    // entities = Number of entities.
+    // steps = Number of timed steps.
+    // collisionGrid = Collision grid of the map.
+    private static double run(int threads, int entities, int steps, CollisionGrid collisionGrid)
+    {
+
+        /*
+        The function runs the benchmark with the passed number of threads and returns the average time per
+        step.  The sum of the final entity positions gets stored in _checksum.
+        */
+
+        int id; // Identifier of the current entity.
+        ForkJoinPool pool; // Pool with the passed number of threads.
+        Random random; // Source of starting positions.
+        long start; // Time at which the current step started, in nanoseconds.
+        EntityStore store; // Store holding the entities.
+        long total; // Total time of the timed steps, in nanoseconds.
+        ParallelEntityUpdater updater; // Updater under test.
+
+        // Place the entities at random positions (the same for every run).
+        store = new EntityStore(entities);
+        random = new Random(SEED);
+
+        for (int counter = 0; counter < entities; counter++)
+        {
+            id = store.create();
+            store.setAllPositions(id, random.nextFloat() * MAP_TILES, random.nextFloat() * MAP_TILES);
+            store.setBox(id, 0, 0, TILE_SIZE, TILE_SIZE / 2);
+        }
+
+        pool = new ForkJoinPool(threads);
+        updater = new ParallelEntityUpdater(store, pool, ParallelEntityUpdater.DEFAULT_CHUNK_SIZE);
+        total = 0;
+
+        // Loop through warm-up and timed steps.
+        for (int step = 0; step < WARM_UP_STEPS + steps; step++)
+        {
+
+            // If time to change directions, then...
+            if ( step % DIRECTION_STEPS == 0 )
+                setDirections(store, step);
+
+            start = System.nanoTime();
+            updater.update(STEP, collisionGrid);
+
+            // If timed step, then add its time.
+            if ( step >= WARM_UP_STEPS )
+                total += System.nanoTime() - start;
+
+        }
+
+        pool.shutdown();
+
+        // Sum the final positions.
+        _checksum = 0;
+
+        for (int counter = 0; counter < store.getSize(); counter++)
+            _checksum += store.getX(counter) + store.getY(counter);
+
+        // Return the average time per step.
+        return (double)total / steps;
+
+    }
+
+    /**
+     *
+     * The function gives every entity a random direction (up, down, left, right, or none), based on the
+     * passed step, so every run sees the same directions.
+     *
+     * @param store  Store holding the entities.
+     * @param step  Current step.
+     */
+
+    // store = Store holding the entities.
+    // step = Current step.
+    private static void setDirections(EntityStore store, int step)
+    {
+
+        // The function gives every entity a random direction, based on the passed step.
+
+        Random random; // Source of directions.
+
+        random = new Random(SEED + step);
+
+        // Loop through entities.
+        for (int id = 0; id < store.getSize(); id++)
+        {
+
+            // Depending on random value...
+            switch (random.nextInt(5))
+                {
+                case 0 : store.setMove(id, -1f, 0f); break; // Left.
+                case 1 : store.setMove(id, 1f, 0f); break; // Right.
+                case 2 : store.setMove(id, 0f, 1f); break; // Up.
+                case 3 : store.setMove(id, 0f, -1f); break; // Down.
+                default : store.setMove(id, 0f, 0f); break; // None.
+                }
+
+        }
+
+    }
+
+}
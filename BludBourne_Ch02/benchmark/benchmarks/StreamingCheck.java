@@ -0,0 +1,248 @@
+package benchmarks;
+
+// LibGDX imports.
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+// Local project imports.
+import bludbourne_ch02.ChunkedWorld;
+import bludbourne_ch02.MapManager;
+import bludbourne_ch02.Utility;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+public final class StreamingCheck
+{
+
+    /**
+    * The class checks, headless, that the overworld (a chunked world, see MapManager) streams its chunks
+    * as a hitbox walks through it.  With blocking streaming, the hitbox starts in the left column of 
+    * chunks, walks right until the wall in the middle chunk (two chunks away, so not resident at the start)
+    * stops it, then walks below the wall and on into the right column.  The check asserts that:
+    * <br><br>
+    * - The wall, streamed in across the chunk border, blocks the hitbox.<br>
+    * - The resident chunk count never exceeds (2 * view radius + 3) squared -- the chunks around the 
+    * focus, plus the ring kept until the focus moves further away.<br>
+    * - The starting chunk gets released once the hitbox moved away.
+    * <br><br>
+    * Any failed assertion exits with status 1.  Run through the check-streaming target in build.xml.
+    */
+
+    /*
+    Methods include:
+
+    chunkPath:  Returns the path of the passed overworld chunk, as loaded by the asset manager.
+    main:  Walks a hitbox through the overworld and exits with status 1 when any assertion fails.
+    walk:  Walks the hitbox in steps, streaming around it, until blocked or out of steps.
+    */
+
+    // Declare constants.
+    private static final int HITBOX_SIZE = 12; // Width and height of the hitbox, in pixels.
+    private static final int MAX_STEPS = 400; // Most steps taken by each walk.
+    private static final float STEP = 4f; // Distance moved per step, in pixels.
+    private static final String WORLD = "OVERWORLD"; // Name of the chunked world walked through.
+    private static final float WALL_BOTTOM = 352f; // Y-coordinate of the bottom of the middle wall.
+    private static final float WALL_LEFT = 576f; // X-coordinate of the left of the middle wall.
+
+    // Declare regular variables.
+    private static int _maxResident; // Most chunks resident at once during the walks.
+
+    // No constructor exists.
+
+    // Methods below...
+
+    /**
+     *
+     * The function returns the path of the passed overworld chunk, as loaded by the asset manager.
+     *
+     * @param chunkX  Column of the chunk.
+     * @param chunkY  Row of the chunk.
+     * @return  Path of the chunk map.
+     */
+
+    // chunkX = Column of the chunk.
+    // chunkY = Row of the chunk.
+    private static String chunkPath(int chunkX, int chunkY)
+    {
+
+        // The function returns the path of the passed overworld chunk, as loaded by the asset manager.
+        return Utility.resolveMapPath("assets/maps/overworld/chunk_" + chunkX + "_" + chunkY + ".tmx");
+
+    }
+
+    /**
+     *
+     * The function walks a hitbox through the overworld, streaming chunks around it, and exits with status 1
+     * when the wall beyond the chunk border does not block it, too many chunks become resident, or the 
+     * starting chunk does not get released.
+     *
+     * @param args  Unused.
+     */
+
+    // args = Unused.
+    public static void main(String[] args)
+    {
+
+        // The function walks a hitbox through the overworld and checks collision and streaming.
+
+        Rectangle box; // Hitbox walked through the world, in pixels.
+        boolean failed; // Whether any assertion failed.
+        MapManager mapManager; // Map manager streaming the world.
+        int maxAllowed; // Most chunks allowed to be resident at once.
+        Vector2 start; // Starting position in the world, in pixels.
+        ChunkedWorld world; // World walked through.
+
+        // Start LibGDX headless and enter the world, finishing chunk loads right away.
+        HeadlessGdx.start();
+        mapManager = new MapManager();
+        mapManager.setBlockingStreaming(true);
+        failed = false;
+
+        // If the world did not load, then exit.
+        if ( !mapManager.loadMap(WORLD) || mapManager.getCurrentWorld() == null )
+        {
+            System.out.println(WORLD + " not loaded as a chunked world.");
+            System.out.println("Streaming check failed.");
+            System.exit(1);
+        }
+
+        world = mapManager.getCurrentWorld();
+        maxAllowed = (2 * world.getViewRadius() + 3) * (2 * world.getViewRadius() + 3);
+        start = world.getStartPosition();
+        box = new Rectangle(start.x, start.y, HITBOX_SIZE, HITBOX_SIZE);
+
+        // Stream around the start.
+        mapManager.update((box.x + box.width / 2) * MapManager.UNIT_SCALE, 
+          (box.y + box.height / 2) * MapManager.UNIT_SCALE);
+        _maxResident = world.getResidentChunkCount();
+
+        // If the starting chunk is not resident or the wall chunk already is, then the walk proves nothing.
+        if ( !Utility.isAssetLoaded(chunkPath(0, 1)) || Utility.isAssetLoaded(chunkPath(2, 1)) )
+        {
+            System.out.println("Start:  expected chunk (0, 1) resident and chunk (2, 1) not loaded.");
+            failed = true;
+        }
+
+        // Walk right, across the chunk border, into the wall.
+        walk(mapManager, box, STEP, 0f, MAX_STEPS);
+
+        if ( box.x + box.width > WALL_LEFT || box.x + box.width < WALL_LEFT - STEP )
+        {
+            System.out.println(String.format("Walk right:  stopped at x = %.1f, expected the wall at x = %.1f.",
+              box.x + box.width, WALL_LEFT));
+            failed = true;
+        }
+
+        else
+            System.out.println(String.format("Walk right:  blocked by the wall at x = %.1f.", WALL_LEFT));
+
+        // Walk below the wall, then on into the right column of chunks (until the world edge).
+        walk(mapManager, box, 0f, -STEP, (int)Math.ceil((box.y + box.height - WALL_BOTTOM) / STEP) + 1);
+        walk(mapManager, box, STEP, 0f, MAX_STEPS);
+
+        if ( box.y + box.height > WALL_BOTTOM || box.x < 4 * world.getChunkTiles() * world.getTileSize() )
+        {
+            System.out.println(String.format("Walk on:  stopped at (%.1f, %.1f), short of the right column.",
+              box.x, box.y));
+            failed = true;
+        }
+
+        // If the starting chunk is still loaded, then streaming failed to release it.
+        if ( Utility.isAssetLoaded(chunkPath(0, 1)) )
+        {
+            System.out.println("Release:  chunk (0, 1) still loaded after moving away.");
+            failed = true;
+        }
+
+        else
+            System.out.println("Release:  chunk (0, 1) released after moving away.");
+
+        System.out.println(String.format("Resident chunks:  at most %d, allowed %d.", _maxResident, 
+          maxAllowed));
+
+        if ( _maxResident > maxAllowed )
+            failed = true;
+
+        // Report the result through the exit status (for build scripts).
+        System.out.println(failed ? "Streaming check failed." : "Streaming check passed.");
+        System.exit(failed ? 1 : 0);
+
+    }
+
+    /**
+     *
+     * The function walks the passed hitbox in steps of the passed displacement, sweeping each step against 
+     * the collision layer and streaming the chunks around the center of the hitbox after each step, as the 
+     * game screen does each frame.  The walk ends when a step gets blocked or after the passed number of
+     * steps.  The most chunks resident at once gets tracked.
+     *
+     * @param mapManager  Map manager streaming the world.
+     * @param box  Hitbox walked, in pixels.  Moved by the allowed displacement of each step.
+     * @param dx  Displacement per step along the x-axis, in pixels.
+     * @param dy  Displacement per step along the y-axis, in pixels.
+     * @param steps  Most steps to take.
+     */
+
+    // mapManager = Map manager streaming the world.
+    // box = Hitbox walked, in pixels.  Moved by the allowed displacement of each step.
+    // dx = Displacement per step along the x-axis, in pixels.
+    // dy = Displacement per step along the y-axis, in pixels.
+    // steps = Most steps to take.
+    private static void walk(MapManager mapManager, Rectangle box, float dx, float dy, int steps)
+    {
+
+        /*
+        The function walks the passed hitbox in steps of the passed displacement, sweeping each step against 
+        the collision layer and streaming the chunks around the center of the hitbox after each step.  The 
+        walk ends when a step gets blocked or after the passed number of steps.
+        */
+
+        boolean blocked; // Whether the current step got blocked.
+        Vector2 displacement; // Allowed displacement of the current step.
+
+        displacement = new Vector2();
+
+        // Loop through steps.
+        for ( int step = 0; step < steps; step++ )
+        {
+
+            // Move by the allowed displacement.
+            blocked = mapManager.sweepCollisionWithMapLayer(box, dx, dy, displacement);
+            box.x += displacement.x;
+            box.y += displacement.y;
+
+            // Stream around the center of the hitbox.
+            mapManager.update((box.x + box.width / 2) * MapManager.UNIT_SCALE, 
+              (box.y + box.height / 2) * MapManager.UNIT_SCALE);
+            _maxResident = Math.max(_maxResident, mapManager.getCurrentWorld().getResidentChunkCount());
+
+            // If blocked, then end the walk.
+            if ( blocked )
+                break;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,519 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+// Java imports.
+import java.util.HashMap;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class AnimationSet
+{
+
+    /**
+    * The class holds the walking animations cut from one sprite sheet, shared (flyweight) by every entity
+    * using the same sheet, frame size, and frame duration.
+    * <br><br>
+    * Sets get cached by (sheet path, frame width, frame height, frame duration).  The first acquire() for a
+    * key loads the sheet and splits it.  Later calls return the cached set and increase its reference
+    * count, so spawning the hundredth entity with a sheet costs a map lookup.  The lookup fills a reused
+    * key object, so acquiring a cached set allocates nothing.  Each entity calls release()
+    * when disposed.  When the last reference goes, the set leaves the cache and the sheet gets unloaded
+    * from the asset manager.
+    * <br><br>
+    * When the build packed the folder of the sheet into an atlas, the sheet comes from its region in the
+    * atlas, so entities using different sheets (and map tiles from the same folder) share one texture.
+    * Otherwise, the sheet gets loaded as its own texture.
+    * <br><br>
+    * Animation objects hold no playback state (entities pass their own frame time to getKeyFrame()), so
+    * sharing them is safe.  The cache gets used from the render thread only and is not thread-safe.
+    * <br><br>
+    * Sheets follow the layout of the warrior sheet -- one row per direction (down, left, right, up) and
+    * one column per frame.
+    */
+
+    /*
+    Methods include:
+
+    acquire:  Returns the set for the passed sheet and frame properties, loading and splitting the sheet
+      on the first request, and adds a reference.
+    getCachedCount:  Returns the number of cached sets.
+    getFirstFrame:  Returns the first frame of the sheet.
+    getReferences:  Returns the number of entities using the set.
+    getWalkAnimation:  Returns the walking animation for the passed direction.
+    release:  Removes a reference, unloading the sheet and removing the set from the cache after the last.
+    split:  Splits the sheet into frames and builds the walking animations.
+    */
+
+    // Declare constants.
+    private static final String TAG = AnimationSet.class.getSimpleName(); // Class name.
+    private static final int DIRECTIONS = 4; // Number of rows (directions) in a sheet.
+    private static final int FRAMES_PER_DIRECTION = 4; // Number of columns (frames) per direction.
+
+    // Declare regular variables.
+
+    /** {@link References}
+     * Number of entities using the set. */
+    private int _references;
+
+    // Declare object variables.
+
+    /** {@link FirstFrame}
+     * First frame of the sheet (top row, first column). */
+    private TextureRegion _firstFrame;
+
+    /** {@link Key}
+     * Key of the set in the cache. */
+    private final Key _key;
+
+    /** {@link Path}
+     * Path of the asset holding the sheet (atlas or texture) in the asset manager. */
+    private final String _path;
+
+    /** {@link WalkDownAnimation}
+     * Animation for moving down. */
+    private Animation _walkDownAnimation;
+
+    /** {@link WalkLeftAnimation}
+     * Animation for moving left. */
+    private Animation _walkLeftAnimation;
+
+    /** {@link WalkRightAnimation}
+     * Animation for moving right. */
+    private Animation _walkRightAnimation;
+
+    /** {@link WalkUpAnimation}
+     * Animation for moving up. */
+    private Animation _walkUpAnimation;
+
+    // Declare list variables.
+
+    /** {@link Cache}
+     * Sets in use, keyed by sheet path and frame properties. */
+    private static final HashMap<Key, AnimationSet> _cache = new HashMap<>();
+
+    /** {@link Lookup}
+     * Key filled in for each cache lookup (reused, so lookups allocate nothing).  Copied when a set gets 
+     * cached. */
+    private static final Key _lookup = new Key();
+
+    /**
+     * The constructor initializes a set with no references.  Use acquire() to get sets.
+     *
+     * @param key  Key of the set in the cache.
+     * @param path  Path of the asset holding the sheet (atlas or texture) in the asset manager.
+     */
+
+    // key = Key of the set in the cache.
+    // path = Path of the asset holding the sheet (atlas or texture) in the asset manager.
+    private AnimationSet(Key key, String path)
+    {
+
+        // The constructor initializes a set with no references.
+
+        // Set defaults.
+        _key = key;
+        _path = path;
+        _references = 0;
+
+    }
+
+    // Inner classes below...
+
+    /**
+     * The inner class holds the sheet path and frame properties identifying a set in the cache.
+     */
+    private static final class Key
+    {
+
+        // The inner class holds the sheet path and frame properties identifying a set in the cache.
+
+        // Declare regular variables.
+
+        /** Bits of the time, in seconds, each frame displays (compared exactly). */
+        private int durationBits;
+
+        /** Height, in pixels, of each frame. */
+        private int frameHeight;
+
+        /** Width, in pixels, of each frame. */
+        private int frameWidth;
+
+        // Declare object variables.
+
+        /** Path of the sheet (texture). */
+        private String path;
+
+        /**
+         *
+         * The function sets the sheet path and frame properties of the key and returns the key.
+         *
+         * @param path  Path of the sheet (texture).
+         * @param frameWidth  Width, in pixels, of each frame.
+         * @param frameHeight  Height, in pixels, of each frame.
+         * @param durationBits  Bits of the time, in seconds, each frame displays.
+         * @return  The key.
+         */
+
+        // path = Path of the sheet (texture).
+        // frameWidth = Width, in pixels, of each frame.
+        // frameHeight = Height, in pixels, of each frame.
+        // durationBits = Bits of the time, in seconds, each frame displays.
+        Key set(String path, int frameWidth, int frameHeight, int durationBits)
+        {
+
+            // The function sets the sheet path and frame properties of the key and returns the key.
+
+            this.path = path;
+            this.frameWidth = frameWidth;
+            this.frameHeight = frameHeight;
+            this.durationBits = durationBits;
+
+            return this;
+
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+
+            // The function returns whether the passed object is a key with the same sheet and frame 
+            // properties.
+
+            Key key; // Passed key.
+
+            // If not a key, then not equal.
+            if ( !(other instanceof Key) )
+                return false;
+
+            key = (Key)other;
+
+            return frameWidth == key.frameWidth && frameHeight == key.frameHeight && 
+              durationBits == key.durationBits && path.equals(key.path);
+
+        }
+
+        @Override
+        public int hashCode()
+        {
+
+            // The function combines the hash codes of the sheet path and frame properties.
+
+            int hash; // Hash code so far.
+
+            hash = path.hashCode();
+            hash = 31 * hash + frameWidth;
+            hash = 31 * hash + frameHeight;
+            hash = 31 * hash + durationBits;
+
+            return hash;
+
+        }
+
+        @Override
+        public String toString()
+        {
+            // The function returns the sheet path and frame properties, for messages.
+            return path + '|' + frameWidth + '|' + frameHeight + '|' + Float.intBitsToFloat(durationBits);
+        }
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Number of cached sets.
+     */
+    public static int getCachedCount()
+    {
+        // The function returns the number of cached sets.
+        return _cache.size();
+    }
+
+    /**
+     *
+     * @return  First frame of the sheet (top row, first column).
+     */
+    public TextureRegion getFirstFrame()
+    {
+        // The function returns the first frame of the sheet.
+        return _firstFrame;
+    }
+
+    /**
+     *
+     * @return  Number of entities using the set.
+     */
+    public int getReferences()
+    {
+        // The function returns the number of entities using the set.
+        return _references;
+    }
+
+    /**
+     *
+     * The function returns the walking animation for the passed direction.
+     *
+     * @param direction  Direction of movement.
+     * @return  Walking animation for the passed direction.
+     */
+
+    // direction = Direction of movement.
+    public Animation getWalkAnimation(Entity.Direction direction)
+    {
+
+        // The function returns the walking animation for the passed direction.
+
+        Animation animation; // Walking animation to return.
+
+        // Depending on the direction, ...
+        switch (direction)
+            {
+            case DOWN : // When moving down...
+                animation = _walkDownAnimation;
+                break;
+            case LEFT : // When moving left...
+                animation = _walkLeftAnimation;
+                break;
+            case UP : // When moving up...
+                animation = _walkUpAnimation;
+                break;
+            default : // When moving right...
+                animation = _walkRightAnimation;
+                break;
+            }
+
+        // Return the walking animation.
+        return animation;
+
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function returns the set for the passed sheet and frame properties and adds a reference.  The
+     * first request for a key loads the sheet into the asset manager (blocking until finished) and splits
+     * it into the walking animations.  The sheet comes from the atlas packed from its folder, when one
+     * exists, and from the image file otherwise.  Later requests cost a map lookup.  Pairs with release().
+     *
+     * @param path  Path of the sheet (texture).
+     * @param frameWidth  Width, in pixels, of each frame.
+     * @param frameHeight  Height, in pixels, of each frame.
+     * @param frameDuration  Time, in seconds, each frame displays.
+     * @return  Set for the passed sheet and frame properties.
+     */
+
+    // path = Path of the sheet (texture).
+    // frameWidth = Width, in pixels, of each frame.
+    // frameHeight = Height, in pixels, of each frame.
+    // frameDuration = Time, in seconds, each frame displays.
+    public static AnimationSet acquire(String path, int frameWidth, int frameHeight, float frameDuration)
+    {
+
+        // The function returns the set for the passed sheet and frame properties and adds a reference.
+
+        String assetPath; // Path of the asset holding the sheet (atlas or texture).
+        AnimationSet set; // Set to return.
+        TextureRegion sheet; // Region holding the sheet.
+
+        // Get the set from the cache, filling in the reused lookup key.
+        set = _cache.get(_lookup.set(path, frameWidth, frameHeight, Float.floatToIntBits(frameDuration)));
+
+        // If set not cached, then...
+        if (set == null)
+        {
+
+            // Set not cached.
+
+            // Set defaults.
+            sheet = null;
+
+            // Find the atlas packed from the folder of the sheet.
+            assetPath = Utility.resolveAtlasPath(path);
+
+            // If atlas packed, then...
+            if (assetPath != null)
+            {
+
+                // Atlas packed.
+
+                // Load the atlas and find the sheet.
+                Utility.loadAtlasAsset(assetPath);
+                sheet = Utility.getAtlasRegion(assetPath, path);
+
+                // If sheet missing from atlas, then release the atlas.
+                if (sheet == null)
+                    Utility.unloadAsset(assetPath);
+
+            }
+
+            // If sheet not found in an atlas, then...
+            if (sheet == null)
+            {
+
+                // Sheet not found in an atlas.
+
+                // Load the sheet as its own texture, blocking until finished.
+                assetPath = path;
+                Utility.loadTextureAsset(path);
+                sheet = new TextureRegion(Utility.getTextureAsset(path));
+
+            }
+
+            // Split the sheet into the walking animations and cache the set, under a copy of the lookup key.
+            set = new AnimationSet(new Key().set(path, frameWidth, frameHeight, 
+              Float.floatToIntBits(frameDuration)), assetPath);
+            set.split(sheet, frameWidth, frameHeight, frameDuration);
+            _cache.put(set._key, set);
+
+        }
+
+        // Add a reference.
+        set._references++;
+
+        // Return the set.
+        return set;
+
+    }
+
+    /**
+     * The function removes a reference.  After the last, the set leaves the cache and the sheet gets
+     * unloaded from the asset manager.  Pairs with acquire().
+     */
+    public void release()
+    {
+
+        // The function removes a reference.  After the last, the set leaves the cache and the sheet gets
+        // unloaded from the asset manager.
+
+        // If no references remain, then...
+        if (_references <= 0)
+        {
+
+            // No references remain.
+
+            // Display warning.
+            Gdx.app.debug(TAG, "Animation set released too often: " + _key);
+
+        }
+
+        // Else, if removing the last reference, then...
+        else if (--_references == 0)
+        {
+
+            // Removing the last reference.
+
+            // Remove the set from the cache and unload the sheet.
+            _cache.remove(_key);
+            Utility.unloadAsset(_path);
+
+            // Clear references to the frames.
+            _firstFrame = null;
+            _walkDownAnimation = null;
+            _walkLeftAnimation = null;
+            _walkRightAnimation = null;
+            _walkUpAnimation = null;
+
+        }
+
+    }
+
+    /**
+     *
+     * The function splits the sheet into frames and builds the walking animations.  Each row holds one
+     * direction (down, left, right, up) and each column one frame.
+     *
+     * @param sheet  Region holding the sheet (the whole texture, or a region of an atlas).
+     * @param frameWidth  Width, in pixels, of each frame.
+     * @param frameHeight  Height, in pixels, of each frame.
+     * @param frameDuration  Time, in seconds, each frame displays.
+     */
+
+    // sheet = Region holding the sheet (the whole texture, or a region of an atlas).
+    // frameWidth = Width, in pixels, of each frame.
+    // frameHeight = Height, in pixels, of each frame.
+    // frameDuration = Time, in seconds, each frame displays.
+    private void split(TextureRegion sheet, int frameWidth, int frameHeight, float frameDuration)
+    {
+
+        // The function splits the sheet into frames and builds the walking animations.
+
+        Array<TextureRegion> frames; // Frames for the current direction.
+        TextureRegion[][] textureFrames; // Two-dimensional array of frames (row = direction).
+
+        // Split the sheet into frames.
+        textureFrames = sheet.split(frameWidth, frameHeight);
+
+        // Store the first frame.
+        _firstFrame = textureFrames[0][0];
+
+        // Loop through rows in texture. > Direction of movement.
+        for (int i = 0; i < DIRECTIONS; i++)
+        {
+
+            // Gather the frames for the direction.
+            frames = new Array<>(FRAMES_PER_DIRECTION);
+
+            // Loop through columns in texture. > Frame (1 to n) of a movement.
+            for (int j = 0; j < FRAMES_PER_DIRECTION; j++)
+            {
+
+                // If no region data available, then...
+                if (textureFrames[i][j] == null)
+                {
+                    // Display warning.
+                    Gdx.app.debug(TAG, "Got null animation frame " + i + "," + j);
+                }
+
+                frames.add(textureFrames[i][j]);
+
+            }
+
+            // Depending on the row, store the animation.
+            switch (i)
+                {
+                case 0: // Walking down.
+                    _walkDownAnimation = new Animation(frameDuration, frames, Animation.PlayMode.LOOP);
+                    break;
+                case 1: // Walking left.
+                    _walkLeftAnimation = new Animation(frameDuration, frames, Animation.PlayMode.LOOP);
+                    break;
+                case 2: // Walking right.
+                    _walkRightAnimation = new Animation(frameDuration, frames, Animation.PlayMode.LOOP);
+                    break;
+                default: // Walking up.
+                    _walkUpAnimation = new Animation(frameDuration, frames, Animation.PlayMode.LOOP);
+                    break;
+                }
+
+        } // End ... Loop through rows in texture.
+
+    }
+
+}
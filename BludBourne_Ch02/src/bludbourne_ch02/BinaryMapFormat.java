@@ -0,0 +1,94 @@
+package bludbourne_ch02;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+final class BinaryMapFormat
+{
+
+    /**
+    * The class holds the constants shared by MapCompiler (writer) and BinaryMapLoader (reader) for the
+    * compiled (binary) map format.
+    * <br><br>
+    * All values get stored big-endian.  Strings get stored once each, in a table at the start of the file,
+    * and referenced everywhere else by index (NO_STRING when absent).  The layout follows:
+    * <br><br>
+    * A.  Header:  MAGIC, VERSION.
+    * <br><br>
+    * B.  String table:  count, then per string the length in bytes and the UTF-8 bytes.
+    * <br><br>
+    * C.  Map:  orientation, width, height, tile width, tile height, background color, properties.
+    * <br><br>
+    * D.  Tilesets:  count, then per tileset the name, first gid, tile width, tile height, spacing, margin,
+    * image source, image width, and image height.
+    * <br><br>
+    * E.  Layers (in document order):  count, then per layer the kind, name, opacity, visibility, and
+    * properties, followed by the contents.  Tile layers store width, height, the number of bytes per gid,
+    * and one gid (with flip flags) per cell, top row first.  Gids take two bytes when no tile identifier
+    * exceeds 8191 (with the flip flags moved to the upper three bits), and four bytes otherwise.  Object layers store the object count, then flat arrays of x, y, width,
+    * height (as written by Tiled -- y down), name, type, id, rotation, and visibility, then the properties
+    * of each object.
+    * <br><br>
+    * Properties get stored as a count, followed by pairs of key and value string indexes.
+    */
+
+    // Declare constants.
+
+    /** Extension of compiled map files.  Compiled maps sit beside the TMX files from which they come. */
+    static final String EXTENSION = ".bmap";
+
+    /** Extension of TMX map files. */
+    static final String TMX_EXTENSION = ".tmx";
+
+    /** Value at the start of each compiled map file ("BMAP"). */
+    static final int MAGIC = 0x424D4150;
+
+    /** Version of the layout.  Increase when changing the layout. */
+    static final int VERSION = 1;
+
+    /** Kind of layer containing tiles. */
+    static final byte LAYER_TILES = 0;
+
+    /** Kind of layer containing objects. */
+    static final byte LAYER_OBJECTS = 1;
+
+    /** Number of bytes per gid in tile layers with small tile identifiers. */
+    static final byte GID_SHORT = 2;
+
+    /** Number of bytes per gid in tile layers with large tile identifiers. */
+    static final byte GID_INT = 4;
+
+    /** Flip flags (horizontal, vertical, diagonal) set by Tiled in the upper three bits of a gid. */
+    static final int FLIP_FLAGS = 0xE0000000;
+
+    /** Tile identifier bits of a two byte gid.  The upper three bits hold the flip flags. */
+    static final int SHORT_TILE_MASK = 0x1FFF;
+
+    /** Distance by which the flip flags move between a four byte and a two byte gid. */
+    static final int SHORT_FLAG_SHIFT = 16;
+
+    /** String index representing a missing value. */
+    static final int NO_STRING = -1;
+
+    // No constructor exists.
+
+}
@@ -0,0 +1,917 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+// Java imports.
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.StringTokenizer;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class BinaryMapLoader extends AsynchronousAssetLoader<TiledMap, BinaryMapLoader.Parameters>
+{
+
+    /**
+    * The class loads maps compiled by MapCompiler as TiledMap assets.  Utility registers the loader with
+    * the asset manager for files ending in the compiled map extension.
+    * <br><br>
+    * The file gets read through a memory-mapped FileChannel, when stored as a plain file.  Maps only
+    * reachable through the classpath get read into memory instead.
+    * <br><br>
+    * The resulting TiledMap matches the one produced by TmxMapLoader (with default parameters) for the
+    * same TMX file -- map, layer, and object properties, tileset properties and tiles, cells with flip
+    * and rotation settings, and rectangle objects in y-up coordinates.  The tileset images get loaded
+    * as texture dependencies, as with TmxMapLoader -- except images in a folder the build packed into an
+    * atlas, which come from their regions in the atlas (loaded once as a dependency, however many
+    * tilesets use it).  Tiles then share the atlas page texture with the sprites from the same folder.
+    * <br><br>
+    * As with TmxMapLoader, the state of the map being loaded gets kept in the loader, between the calls
+    * made by the asset manager.
+    */
+
+    /*
+    Methods include:
+
+    getDependencies:  Reads the passed compiled map and returns the tileset textures (or atlases) it needs.
+    getRelativeFileHandle:  Resolves the passed path relative to the folder of the passed file.
+    loadAsync:  Builds the TiledMap from the compiled map read by getDependencies().
+    loadSync:  Returns the TiledMap built by loadAsync().
+    mapFile:  Returns the contents of the passed file, memory-mapped when possible.
+    readFloats:  Reads the passed number of floats from the buffer.
+    readInts:  Reads the passed number of ints from the buffer.
+    readObjectLayer:  Reads the objects of an object layer into the passed layer.
+    readProperties:  Reads the properties at the buffer position into the passed map properties.
+    readString:  Reads a string index from the buffer and returns the corresponding string.
+    readTileLayer:  Reads a tile layer and returns it.
+    readTileset:  Reads a tileset and returns it.
+    */
+
+    /**
+     * The class holds the parameters passed when loading a compiled map.
+     */
+    public static class Parameters extends AssetLoaderParameters<TiledMap>
+    {
+
+        /** {@link TextureMinFilter}
+         * Minification filter for the tileset textures.  Atlases carry their own filters. */
+        public TextureFilter textureMinFilter = TextureFilter.Nearest;
+
+        /** {@link TextureMagFilter}
+         * Magnification filter for the tileset textures.  Atlases carry their own filters. */
+        public TextureFilter textureMagFilter = TextureFilter.Nearest;
+
+    }
+
+    // Declare constants.
+
+    /** Tiled flag for horizontally flipped tiles. */
+    private static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
+
+    /** Tiled flag for vertically flipped tiles. */
+    private static final int FLAG_FLIP_VERTICALLY = 0x40000000;
+
+    /** Tiled flag for diagonally flipped tiles. */
+    private static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
+
+    // Declare regular variables.
+
+    /** {@link BodyStart}
+     * Position in _buffer following the string table. */
+    private int _bodyStart;
+
+    // Declare object variables.
+
+    /** {@link Buffer}
+     * Contents of the compiled map being loaded.  Null between loads. */
+    private ByteBuffer _buffer;
+
+    /** {@link Map}
+     * Map built by loadAsync().  Null between loads. */
+    private TiledMap _map;
+
+    // Declare list variables.
+
+    /** {@link AtlasPaths}
+     * Atlas holding the image of each tileset of the compiled map being loaded (null for images loaded as
+     * their own textures). */
+    private String[] _atlasPaths;
+
+    /** {@link Strings}
+     * String table of the compiled map being loaded. */
+    private String[] _strings;
+
+    /**
+     * The constructor initializes the loader with the passed file handle resolver.
+     *
+     * @param resolver  Resolves asset file names to file handles.
+     */
+
+    // resolver = Resolves asset file names to file handles.
+    public BinaryMapLoader(FileHandleResolver resolver)
+    {
+
+        // The constructor initializes the loader with the passed file handle resolver.
+
+        super(resolver);
+
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The method reads the passed compiled map and returns the tileset textures on which it depends.  The
+     * asset manager calls the method before loadAsync() and loads the textures first.  Tileset images
+     * packed into an atlas get replaced by the atlas, listed once.
+     *
+     * @param fileName  Name of compiled map asset.
+     * @param file  Resolved compiled map file.
+     * @param parameter  Parameters for the map (null for defaults).
+     * @return  Descriptors of the tileset textures and atlases.
+     */
+
+    // fileName = Name of compiled map asset.
+    // file = Resolved compiled map file.
+    // parameter = Parameters for the map (null for defaults).
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter)
+    {
+
+        /*
+        The method reads the passed compiled map and returns the tileset textures on which it depends.  The
+        asset manager calls the method before loadAsync() and loads the textures first.  Tileset images
+        packed into an atlas get replaced by the atlas, listed once.
+        */
+
+        Array<String> atlases; // Atlases already listed as dependencies.
+        Array<AssetDescriptor> dependencies; // Tileset textures and atlases.
+        FileHandle image; // Image of current tileset, resolved.
+        int length; // Length of current string, in bytes.
+        byte[] utf8; // UTF-8 bytes of current string.
+        TextureLoader.TextureParameter textureParameter; // Filters for tileset textures.
+        int tilesetCount; // Number of tilesets.
+        String imageSource; // Image of current tileset, relative to map.
+
+        // Set defaults.
+        atlases = new Array<>();
+        dependencies = new Array<>();
+        textureParameter = new TextureLoader.TextureParameter();
+        textureParameter.minFilter = parameter != null ? parameter.textureMinFilter : TextureFilter.Nearest;
+        textureParameter.magFilter = parameter != null ? parameter.textureMagFilter : TextureFilter.Nearest;
+
+        // Read the file and check the header.
+        _buffer = mapFile(file);
+
+        if ( _buffer.getInt() != BinaryMapFormat.MAGIC || _buffer.getInt() != BinaryMapFormat.VERSION )
+            throw new GdxRuntimeException("Not a compiled map (or wrong version): " + fileName);
+
+        // Read the string table.
+        _strings = new String[_buffer.getInt()];
+        utf8 = new byte[0];
+
+        for ( int index = 0; index < _strings.length; index++ )
+        {
+
+            length = _buffer.getInt();
+
+            if ( utf8.length < length )
+                utf8 = new byte[length];
+
+            _buffer.get(utf8, 0, length);
+            _strings[index] = new String(utf8, 0, length, StandardCharsets.UTF_8);
+
+        }
+
+        _bodyStart = _buffer.position();
+
+        // Skip the map information and properties.
+        _buffer.position(_bodyStart + 6 * Integer.BYTES);
+        readProperties(null);
+
+        // Gather the tileset images, resolved the way TmxMapLoader resolves them.
+        tilesetCount = _buffer.getInt();
+        _atlasPaths = new String[tilesetCount];
+
+        for ( int index = 0; index < tilesetCount; index++ )
+        {
+
+            // Skip name, first gid, tile size, spacing, and margin, then read the image.
+            _buffer.position(_buffer.position() + 6 * Integer.BYTES);
+            imageSource = readString();
+            _buffer.position(_buffer.position() + 2 * Integer.BYTES);
+
+            image = getRelativeFileHandle(file, imageSource);
+            _atlasPaths[index] = Utility.resolveAtlasPath(image.path());
+
+            // If image packed into an atlas, then depend on the atlas (once).  Otherwise, on the image.
+            if ( _atlasPaths[index] != null )
+            {
+
+                if ( !atlases.contains(_atlasPaths[index], false) )
+                {
+                    atlases.add(_atlasPaths[index]);
+                    dependencies.add(new AssetDescriptor<>(_atlasPaths[index], TextureAtlas.class));
+                }
+
+            }
+
+            else
+                dependencies.add(new AssetDescriptor<>(image, Texture.class, textureParameter));
+
+        }
+
+        // Return tileset textures and atlases.
+        return dependencies;
+
+    }
+
+    /**
+     *
+     * The function resolves the passed path relative to the folder of the passed file, following any
+     * parent (..) references.  Matches the resolution performed by TmxMapLoader, so texture asset names
+     * match as well.
+     *
+     * @param file  File relative to which to resolve.
+     * @param path  Path to resolve.
+     * @return  Resolved file.
+     */
+
+    // file = File relative to which to resolve.
+    // path = Path to resolve.
+    private static FileHandle getRelativeFileHandle(FileHandle file, String path)
+    {
+
+        /*
+        The function resolves the passed path relative to the folder of the passed file, following any
+        parent (..) references.  Matches the resolution performed by TmxMapLoader, so texture asset names
+        match as well.
+        */
+
+        StringTokenizer tokenizer; // Splits path into folder and file names.
+        FileHandle result; // Resolved file.
+        String token; // Current folder or file name.
+
+        // Set defaults.
+        tokenizer = new StringTokenizer(path, "\\/");
+        result = file.parent();
+
+        // Loop through folder and file names.
+        while ( tokenizer.hasMoreElements() )
+        {
+
+            token = tokenizer.nextToken();
+
+            if ( token.equals("..") )
+                result = result.parent();
+            else
+                result = result.child(token);
+
+        }
+
+        // Return resolved file.
+        return result;
+
+    }
+
+    /**
+     *
+     * The method builds the TiledMap from the compiled map read by getDependencies().  The tileset textures
+     * have loaded by the time of the call.  No OpenGL calls occur, so the work happens off the render
+     * thread.
+     *
+     * @param manager  Asset manager holding the tileset textures.
+     * @param fileName  Name of compiled map asset.
+     * @param file  Resolved compiled map file.
+     * @param parameter  Parameters for the map (null for defaults).
+     */
+
+    // manager = Asset manager holding the tileset textures.
+    // fileName = Name of compiled map asset.
+    // file = Resolved compiled map file.
+    // parameter = Parameters for the map (null for defaults).
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter)
+    {
+
+        /*
+        The method builds the TiledMap from the compiled map read by getDependencies().  The tileset textures
+        have loaded by the time of the call.  No OpenGL calls occur, so the work happens off the render
+        thread.
+        */
+
+        String backgroundColor; // Background color of map.  Null when not set.
+        int height; // Height of map, in tiles.
+        int layerCount; // Number of layers.
+        TiledMap map; // Map being built.
+        MapLayer objectLayer; // Current object layer.
+        String orientation; // Orientation of map.
+        MapProperties properties; // Properties of map.
+        int tileHeight; // Height of tiles, in pixels.
+        int tilesetCount; // Number of tilesets.
+        int tileWidth; // Width of tiles, in pixels.
+        int width; // Width of map, in tiles.
+        byte kind; // Kind of current layer.
+        String name; // Name of current layer.
+        float opacity; // Opacity of current layer.
+        boolean visible; // Visibility of current layer.
+        MapProperties layerProperties; // Properties of current layer.
+        TiledMapTileLayer tileLayer; // Current tile layer.
+
+        // Set defaults.
+        map = new TiledMap();
+        properties = map.getProperties();
+
+        // Read the map information, stored with the same keys and types as TmxMapLoader.
+        _buffer.position(_bodyStart);
+
+        orientation = readString();
+        width = _buffer.getInt();
+        height = _buffer.getInt();
+        tileWidth = _buffer.getInt();
+        tileHeight = _buffer.getInt();
+        backgroundColor = readString();
+
+        if ( orientation != null )
+            properties.put("orientation", orientation);
+
+        properties.put("width", width);
+        properties.put("height", height);
+        properties.put("tilewidth", tileWidth);
+        properties.put("tileheight", tileHeight);
+
+        if ( backgroundColor != null )
+            properties.put("backgroundcolor", backgroundColor);
+
+        readProperties(properties);
+
+        // Read the tilesets.
+        tilesetCount = _buffer.getInt();
+
+        for ( int index = 0; index < tilesetCount; index++ )
+            map.getTileSets().addTileSet(readTileset(manager, file, _atlasPaths[index]));
+
+        // Read the layers.
+        layerCount = _buffer.getInt();
+
+        for ( int index = 0; index < layerCount; index++ )
+        {
+
+            // Read the information shared by both kinds of layer.
+            kind = _buffer.get();
+            name = readString();
+            opacity = _buffer.getFloat();
+            visible = _buffer.get() != 0;
+            layerProperties = new MapProperties();
+            readProperties(layerProperties);
+
+            // If tile layer, then...
+            if ( kind == BinaryMapFormat.LAYER_TILES )
+            {
+                tileLayer = readTileLayer(map.getTileSets(), tileWidth, tileHeight);
+                tileLayer.setName(name);
+                tileLayer.setOpacity(opacity);
+                tileLayer.setVisible(visible);
+                tileLayer.getProperties().putAll(layerProperties);
+                map.getLayers().add(tileLayer);
+            }
+
+            else
+            {
+                objectLayer = new MapLayer();
+                objectLayer.setName(name);
+                objectLayer.setOpacity(opacity);
+                objectLayer.setVisible(visible);
+                objectLayer.getProperties().putAll(layerProperties);
+                readObjectLayer(objectLayer, height * tileHeight);
+                map.getLayers().add(objectLayer);
+            }
+
+        }
+
+        // Store map for loadSync().
+        _map = map;
+
+    }
+
+    /**
+     *
+     * The function returns the TiledMap built by loadAsync() and releases the state of the load.
+     *
+     * @param manager  Asset manager holding the tileset textures.
+     * @param fileName  Name of compiled map asset.
+     * @param file  Resolved compiled map file.
+     * @param parameter  Parameters for the map (null for defaults).
+     * @return  TiledMap built from the compiled map.
+     */
+
+    // manager = Asset manager holding the tileset textures.
+    // fileName = Name of compiled map asset.
+    // file = Resolved compiled map file.
+    // parameter = Parameters for the map (null for defaults).
+    @Override
+    public TiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter)
+    {
+
+        // The function returns the TiledMap built by loadAsync() and releases the state of the load.
+
+        TiledMap map; // Map built by loadAsync().
+
+        map = _map;
+
+        // Release the state of the load.
+        _map = null;
+        _buffer = null;
+        _strings = null;
+        _atlasPaths = null;
+
+        // Return map.
+        return map;
+
+    }
+
+    /**
+     *
+     * The function returns the contents of the passed file.  Plain files get memory-mapped (read-only),
+     * leaving the operating system to page in the data.  Files only reachable through the classpath get
+     * read into memory.
+     *
+     * @param file  File to read.
+     * @return  Contents of the passed file, positioned at the start.
+     */
+
+    // file = File to read.
+    private static ByteBuffer mapFile(FileHandle file)
+    {
+
+        /*
+        The function returns the contents of the passed file.  Plain files get memory-mapped (read-only),
+        leaving the operating system to page in the data.  Files only reachable through the classpath get
+        read into memory.
+        */
+
+        // If file reachable through the classpath only, then read into memory.
+        if ( file.type() == FileType.Classpath || !file.file().isFile() )
+            return ByteBuffer.wrap(file.readBytes());
+
+        // Map the file.  The mapping stays valid after the channel closes.
+        try ( FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ) )
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        catch ( IOException e )
+        {
+            throw new GdxRuntimeException("Unable to map compiled map: " + file, e);
+        }
+
+    }
+
+    /**
+     *
+     * The function reads the passed number of floats from the buffer.
+     *
+     * @param count  Number of floats to read.
+     * @return  Floats read.
+     */
+
+    // count = Number of floats to read.
+    private float[] readFloats(int count)
+    {
+
+        // The function reads the passed number of floats from the buffer.
+
+        float[] values; // Floats read.
+
+        values = new float[count];
+
+        // Bulk read through a view, then move past the values.
+        _buffer.asFloatBuffer().get(values);
+        _buffer.position(_buffer.position() + count * Float.BYTES);
+
+        return values;
+
+    }
+
+    /**
+     *
+     * The function reads the passed number of ints from the buffer.
+     *
+     * @param count  Number of ints to read.
+     * @return  Ints read.
+     */
+
+    // count = Number of ints to read.
+    private int[] readInts(int count)
+    {
+
+        // The function reads the passed number of ints from the buffer.
+
+        int[] values; // Ints read.
+
+        values = new int[count];
+
+        // Bulk read through a view, then move past the values.
+        _buffer.asIntBuffer().get(values);
+        _buffer.position(_buffer.position() + count * Integer.BYTES);
+
+        return values;
+
+    }
+
+    /**
+     *
+     * The method reads the objects of an object layer into the passed layer.  Objects become rectangle
+     * map objects, in y-up coordinates, with the same properties set by TmxMapLoader.
+     *
+     * @param layer  Layer to which to add the objects.
+     * @param mapHeight  Height of map, in pixels.  Used to flip the y-coordinates.
+     */
+
+    // layer = Layer to which to add the objects.
+    // mapHeight = Height of map, in pixels.  Used to flip the y-coordinates.
+    private void readObjectLayer(MapLayer layer, int mapHeight)
+    {
+
+        /*
+        The method reads the objects of an object layer into the passed layer.  Objects become rectangle
+        map objects, in y-up coordinates, with the same properties set by TmxMapLoader.
+        */
+
+        int count; // Number of objects.
+        float[] height; // Heights of objects.
+        int[] id; // Identifiers of objects.  Zero when not set.
+        int[] name; // String indexes of object names.
+        RectangleMapObject object; // Current object.
+        MapProperties properties; // Properties of current object.
+        float[] rotation; // Rotations of objects.  NaN when not set.
+        int[] type; // String indexes of object types.
+        float[] width; // Widths of objects.
+        float[] x; // X-coordinates of objects.
+        float[] y; // Y-coordinates of objects (y-down, as written by Tiled).
+        float flippedY; // Y-coordinate of lower left corner of current object (y-up).
+
+        // Read the flat arrays.
+        count = _buffer.getInt();
+        x = readFloats(count);
+        y = readFloats(count);
+        width = readFloats(count);
+        height = readFloats(count);
+        name = readInts(count);
+        type = readInts(count);
+        id = readInts(count);
+        rotation = readFloats(count);
+
+        // Create the objects.
+        for ( int index = 0; index < count; index++ )
+        {
+
+            flippedY = (mapHeight - y[index]) - height[index];
+
+            object = new RectangleMapObject(x[index], flippedY, width[index], height[index]);
+            object.setName(name[index] == BinaryMapFormat.NO_STRING ? null : _strings[name[index]]);
+            object.setVisible(_buffer.get() != 0);
+
+            properties = object.getProperties();
+
+            if ( !Float.isNaN(rotation[index]) )
+                properties.put("rotation", rotation[index]);
+
+            if ( type[index] != BinaryMapFormat.NO_STRING )
+                properties.put("type", _strings[type[index]]);
+
+            if ( id[index] != 0 )
+                properties.put("id", id[index]);
+
+            properties.put("x", x[index]);
+            properties.put("y", flippedY);
+            properties.put("width", width[index]);
+            properties.put("height", height[index]);
+
+            layer.getObjects().add(object);
+
+        }
+
+        // Read the properties of each object.
+        for ( int index = 0; index < count; index++ )
+            readProperties(layer.getObjects().get(index).getProperties());
+
+    }
+
+    /**
+     *
+     * The method reads the properties at the buffer position into the passed map properties.
+     *
+     * @param properties  Map properties to which to add the properties.  Null to skip.
+     */
+
+    // properties = Map properties to which to add the properties.  Null to skip.
+    private void readProperties(MapProperties properties)
+    {
+
+        // The method reads the properties at the buffer position into the passed map properties.
+
+        int count; // Number of properties.
+        String key; // Key of current property.
+        String value; // Value of current property.
+
+        count = _buffer.getInt();
+
+        for ( int index = 0; index < count; index++ )
+        {
+
+            key = readString();
+            value = readString();
+
+            if ( properties != null )
+                properties.put(key, value);
+
+        }
+
+    }
+
+    /**
+     *
+     * The function reads a string index from the buffer and returns the corresponding string.
+     *
+     * @return  String read.  Null when absent.
+     */
+    private String readString()
+    {
+
+        // The function reads a string index from the buffer and returns the corresponding string.
+
+        int index; // Index in string table.
+
+        index = _buffer.getInt();
+
+        return index == BinaryMapFormat.NO_STRING ? null : _strings[index];
+
+    }
+
+    /**
+     *
+     * The function reads a tile layer and returns it.  Cells get flipped and rotated as by TmxMapLoader,
+     * and the rows get flipped, so the first row stored ends up at the top.
+     *
+     * @param tilesets  Tilesets of map.
+     * @param tileWidth  Width of tiles, in pixels.
+     * @param tileHeight  Height of tiles, in pixels.
+     * @return  Tile layer read.
+     */
+
+    // tilesets = Tilesets of map.
+    // tileWidth = Width of tiles, in pixels.
+    // tileHeight = Height of tiles, in pixels.
+    private TiledMapTileLayer readTileLayer(TiledMapTileSets tilesets, int tileWidth, int tileHeight)
+    {
+
+        /*
+        The function reads a tile layer and returns it.  Cells get flipped and rotated as by TmxMapLoader,
+        and the rows get flipped, so the first row stored ends up at the top.
+        */
+
+        Cell cell; // Current cell.
+        boolean flipDiagonally; // Whether current tile flipped diagonally.
+        boolean flipHorizontally; // Whether current tile flipped horizontally.
+        boolean flipVertically; // Whether current tile flipped vertically.
+        int gid; // Gid of current cell, with flip flags.
+        byte gidBytes; // Number of bytes used to store each gid.
+        int height; // Height of layer, in tiles.
+        TiledMapTileLayer layer; // Layer being read.
+        TiledMapTile tile; // Tile of current cell.
+        int width; // Width of layer, in tiles.
+
+        // Read the layer size.
+        width = _buffer.getInt();
+        height = _buffer.getInt();
+        gidBytes = _buffer.get();
+
+        layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+
+        // Loop through cells, top row first.
+        for ( int y = 0; y < height; y++ )
+        {
+
+            for ( int x = 0; x < width; x++ )
+            {
+
+                // Read the gid.  Two byte gids keep the flip flags in the upper three bits.
+                if ( gidBytes == BinaryMapFormat.GID_SHORT )
+                {
+                    gid = _buffer.getShort() & 0xFFFF;
+                    gid = (gid & BinaryMapFormat.SHORT_TILE_MASK) | (gid << BinaryMapFormat.SHORT_FLAG_SHIFT &
+                      BinaryMapFormat.FLIP_FLAGS);
+                }
+
+                else
+                    gid = _buffer.getInt();
+
+                tile = tilesets.getTile(gid & ~BinaryMapFormat.FLIP_FLAGS);
+
+                // If empty cell, then skip.
+                if ( tile == null )
+                    continue;
+
+                flipHorizontally = (gid & FLAG_FLIP_HORIZONTALLY) != 0;
+                flipVertically = (gid & FLAG_FLIP_VERTICALLY) != 0;
+                flipDiagonally = (gid & FLAG_FLIP_DIAGONALLY) != 0;
+
+                cell = new Cell();
+
+                // Tiled expresses rotation as a diagonal flip combined with the other flips.
+                if ( flipDiagonally )
+                {
+
+                    if ( flipHorizontally && flipVertically )
+                    {
+                        cell.setFlipHorizontally(true);
+                        cell.setRotation(Cell.ROTATE_270);
+                    }
+
+                    else if ( flipHorizontally )
+                        cell.setRotation(Cell.ROTATE_270);
+
+                    else if ( flipVertically )
+                        cell.setRotation(Cell.ROTATE_90);
+
+                    else
+                    {
+                        cell.setFlipVertically(true);
+                        cell.setRotation(Cell.ROTATE_270);
+                    }
+
+                }
+
+                else
+                {
+                    cell.setFlipHorizontally(flipHorizontally);
+                    cell.setFlipVertically(flipVertically);
+                }
+
+                cell.setTile(tile);
+                layer.setCell(x, height - 1 - y, cell);
+
+            }
+
+        }
+
+        // Return layer.
+        return layer;
+
+    }
+
+    /**
+     *
+     * The function reads a tileset and returns it, with the properties and tiles set by TmxMapLoader.
+     * Tiles get cut from the region of the image in the passed atlas, when packed, and from the image
+     * texture otherwise.
+     *
+     * @param manager  Asset manager holding the tileset textures.
+     * @param file  Resolved compiled map file.
+     * @param atlasPath  Atlas holding the tileset image.  Null when loaded as its own texture.
+     * @return  Tileset read.
+     */
+
+    // manager = Asset manager holding the tileset textures.
+    // file = Resolved compiled map file.
+    // atlasPath = Atlas holding the tileset image.  Null when loaded as its own texture.
+    private TiledMapTileSet readTileset(AssetManager manager, FileHandle file, String atlasPath)
+    {
+
+        /*
+        The function reads a tileset and returns it, with the properties and tiles set by TmxMapLoader.
+        Tiles get cut from the region of the image in the passed atlas, when packed, and from the image
+        texture otherwise.
+        */
+
+        int firstGid; // Gid of first tile in tileset.
+        int id; // Gid of current tile.
+        FileHandle image; // Image of tileset, resolved.
+        int imageHeight; // Height of image, as stored in map.
+        String imageSource; // Image of tileset, relative to map.
+        int imageWidth; // Width of image, as stored in map.
+        int margin; // Space around tiles in image, in pixels.
+        String name; // Name of tileset.
+        MapProperties properties; // Properties of tileset.
+        int spacing; // Space between tiles in image, in pixels.
+        int stopHeight; // Last y-coordinate at which a tile fits in the image.
+        int stopWidth; // Last x-coordinate at which a tile fits in the image.
+        TextureRegion region; // Image of tileset -- the whole texture, or a region of an atlas.
+        StaticTiledMapTile tile; // Current tile.
+        int tileHeight; // Height of tiles, in pixels.
+        TiledMapTileSet tileset; // Tileset being read.
+        int tileWidth; // Width of tiles, in pixels.
+
+        // Read the tileset.
+        name = readString();
+        firstGid = _buffer.getInt();
+        tileWidth = _buffer.getInt();
+        tileHeight = _buffer.getInt();
+        spacing = _buffer.getInt();
+        margin = _buffer.getInt();
+        imageSource = readString();
+        imageWidth = _buffer.getInt();
+        imageHeight = _buffer.getInt();
+
+        // Store the tileset properties.
+        tileset = new TiledMapTileSet();
+        tileset.setName(name);
+
+        properties = tileset.getProperties();
+        properties.put("firstgid", firstGid);
+        properties.put("imagesource", imageSource);
+        properties.put("imagewidth", imageWidth);
+        properties.put("imageheight", imageHeight);
+        properties.put("tilewidth", tileWidth);
+        properties.put("tileheight", tileHeight);
+        properties.put("margin", margin);
+        properties.put("spacing", spacing);
+
+        // Get the image, from the atlas when packed.
+        image = getRelativeFileHandle(file, imageSource);
+
+        if ( atlasPath != null )
+        {
+
+            region = manager.get(atlasPath, TextureAtlas.class).findRegion(image.nameWithoutExtension());
+
+            if ( region == null )
+                throw new GdxRuntimeException("Tileset image not packed in atlas " + atlasPath + ": " +
+                  image.path());
+
+        }
+
+        else
+            region = new TextureRegion(manager.get(image.path(), Texture.class));
+
+        // Cut the image into tiles, numbered from the first gid (left to right, top to bottom).
+        stopWidth = region.getRegionWidth() - tileWidth;
+        stopHeight = region.getRegionHeight() - tileHeight;
+        id = firstGid;
+
+        for ( int y = margin; y <= stopHeight; y += tileHeight + spacing )
+        {
+
+            for ( int x = margin; x <= stopWidth; x += tileWidth + spacing )
+            {
+                tile = new StaticTiledMapTile(new TextureRegion(region, x, y, tileWidth, tileHeight));
+                tile.setId(id);
+                tileset.putTile(id++, tile);
+            }
+
+        }
+
+        // Return tileset.
+        return tileset;
+
+    }
+
+}
@@ -2,11 +2,16 @@ package bludbourne_ch02;
 
 // LibGDX imports.
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
 
 // LibGDX custom class imports.
+import core.AssetService;
 import core.BaseGame;
 
 // Local project imports.
+import screens.LoadingScreen;
 import screens.MainGameScreen;
 
 public class BludBourneGame extends BaseGame // Extends the BaseGame class.
@@ -28,14 +33,27 @@ public class BludBourneGame extends BaseGame // Extends the BaseGame class.
     createSkin:  Sets up the skin.
     dispose:  Occurs during the cleanup phase and clears objects from memory.
     disposeScreens:  Disposes of LibGDX objects in screens.
+    setCheckAllocations:  Sets whether to check that steady-state frames allocate nothing.
+    setRecordPath:  Sets the path of the file to which to record the player input.
+    setReplayPath:  Sets the path of the file from which to replay the player input.
     */
     
     // Declare object variables.
     // public static final MainGameScreen _mainGameScreen = new MainGameScreen(this, 1, 1); // Reference to main game screen.
     public static MainGameScreen _mainGameScreen;
+    private LoadingScreen loadingScreen; // Screen loading the starting assets in the background, shown first.
     
     // Declare regular variables.
     
+    /** Whether to check that steady-state frames allocate nothing, then exit. */
+    private boolean checkAllocations;
+    
+    /** Path (local) of the file to which to record the player input.  Null when not recording. */
+    private String recordPath;
+    
+    /** Path (local) of the file from which to replay the player input.  Null when not replaying. */
+    private String replayPath;
+    
     /** Width to use for stages. */
     private final int windowWidth;
     
@@ -65,6 +83,9 @@ public class BludBourneGame extends BaseGame // Extends the BaseGame class.
     
     /**
      * The function sets up the skin and initializes and displays the main game screen.<br>
+     * The loading screen gets displayed first, loading the starting map and player sprite sheet within a 
+     * time budget per frame, and then hands over to the main game screen.  Replays skip the loading screen,
+     * loading the starting assets right away.<br>
      * The function is automatically called by the superclass.
      */
     @Override
@@ -74,21 +95,111 @@ public class BludBourneGame extends BaseGame // Extends the BaseGame class.
         // The function sets up the skin and initializes and displays the main game screen.
         // The function is automatically called by the superclass.
         
+        String spriteAtlasPath; // Atlas holding the player sprite sheet.  Null when not packed.
+        
         // Set up the skin.
         // createSkin();
         
         // Initialize introduction screen object.
         _mainGameScreen = new MainGameScreen(this, windowWidth, windowHeight);
         
+        // If replaying, then replay the recorded player input in place of live input.
+        if ( replayPath != null )
+        {
+            _mainGameScreen.replayInput(Gdx.files.local(replayPath));
+        }
+        
+        // Otherwise, if recording, then record the player input.
+        else if ( recordPath != null )
+        {
+            _mainGameScreen.recordInput(Gdx.files.local(recordPath));
+        }
+        
+        // If checking allocations, then walk the player around each map, measuring the bytes per frame.
+        if ( checkAllocations )
+        {
+            _mainGameScreen.checkAllocations();
+        }
+        
         // MLGD:  The setScreen() method will check to see whether a screen is already currently active. 
         // If the current screen is already active, then it will be hidden, and the screen that was passed 
         // into the method will be shown.
         
-        // Initialize and display the main game screen.
-        setScreen(_mainGameScreen);
+        // Initialize the loading screen, handing over to the main game screen once done.  Queue the starting
+        // map (with its tileset images) and the player sprite sheet -- from the packed atlas, when built.
+        loadingScreen = new LoadingScreen(this, windowWidth, windowHeight, _mainGameScreen);
+        Utility.setMapLoaders();
+        loadingScreen.queue(_mainGameScreen.getMapManager().getStartMapPath(), TiledMap.class);
+        spriteAtlasPath = Utility.resolveAtlasPath(Entity.DEFAULT_SPRITE_PATH);
+        
+        if ( spriteAtlasPath != null )
+            loadingScreen.queue(spriteAtlasPath, TextureAtlas.class);
+        else
+            loadingScreen.queue(Entity.DEFAULT_SPRITE_PATH, Texture.class);
+        
+        // If replaying, then load the starting assets right away and show the main game screen, skipping
+        // the loading screen (replays draw nothing).
+        if ( replayPath != null )
+        {
+            AssetService.SHARED.finishLoading();
+            loadingScreen.update(0f);
+        }
+        
+        // Otherwise, display the loading screen.
+        else
+        {
+            setScreen(loadingScreen);
+        }
         
     }
     
+    /**
+     * 
+     * The function sets whether to check that steady-state frames allocate nothing.  The check walks the
+     * player around each map and exits the application, with status 1 when any map allocated (or
+     * when the Java runtime does not count allocations).  Call before the application starts.
+     * 
+     * @param checkAllocations  Whether to check that steady-state frames allocate nothing.
+     */
+    
+    // checkAllocations = Whether to check that steady-state frames allocate nothing.
+    public void setCheckAllocations(boolean checkAllocations)
+    {
+        // The function sets whether to check that steady-state frames allocate nothing.
+        this.checkAllocations = checkAllocations;
+    }
+    
+    /**
+     * 
+     * The function sets the path of the file to which to record the player input.  Call before the 
+     * application starts.
+     * 
+     * @param recordPath  Path (local) of the file to which to record the player input.
+     */
+    
+    // recordPath = Path (local) of the file to which to record the player input.
+    public void setRecordPath(String recordPath)
+    {
+        // The function sets the path of the file to which to record the player input.
+        this.recordPath = recordPath;
+    }
+    
+    /**
+     * 
+     * The function sets the path of the file from which to replay the player input.  The replay exits the
+     * application, with status 1 when the final player position diverges from the recorded one.  Call 
+     * before the application starts.
+     * 
+     * @param replayPath  Path (local) of the file from which to replay the player input.
+     */
+    
+    // replayPath = Path (local) of the file from which to replay the player input.
+    public void setReplayPath(String replayPath)
+    {
+        // The function sets the path of the file from which to replay the player input.
+        this.replayPath = replayPath;
+    }
+    
     /**
      * The function occurs during the cleanup phase and clears objects from memory.<br>
      * The function also disposes of additional LibGDX objects, such as those related to sounds and music.<br>
@@ -114,6 +225,18 @@ public class BludBourneGame extends BaseGame // Extends the BaseGame class.
         // Clear objects from memory.
         super.dispose();
         
+        // If checking allocations, then report the result through the exit status (for build scripts).
+        if ( checkAllocations )
+        {
+            System.exit(_mainGameScreen.getAllocationCheckFailed() ? 1 : 0);
+        }
+        
+        // If replaying, then report whether the replay diverged through the exit status (for build scripts).
+        if ( replayPath != null )
+        {
+            System.exit(_mainGameScreen.getReplayFailed() ? 1 : 0);
+        }
+        
         // Follow the LibGDX contention of exiting the game by using the following statement when quitting.
         // The function calls into the static instance of the application object, setting the running state 
         // of the game loop to false and subsequently moving to the next step, allowing the graceful exit of 
@@ -130,6 +253,9 @@ public class BludBourneGame extends BaseGame // Extends the BaseGame class.
         
         // The function disposes of LibGDX objects in screens.
         
+        // Dispose of LibGDX objects related to loading screen.
+        loadingScreen.dispose();
+        
         // Dispose of LibGDX objects related to main game screen.
         _mainGameScreen.dispose();
         
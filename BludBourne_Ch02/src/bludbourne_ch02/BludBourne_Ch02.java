@@ -3,6 +3,8 @@ package bludbourne_ch02;
 // LibGDX imports.
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 
@@ -41,6 +43,12 @@ public class BludBourne_Ch02
     * that LibGDX uses for the desktop is called LWJGL.  This implementation for the desktop will provide 
     * cross-platform access to native APIs for OpenGL.  This interface becomes the entry point that the
     * platform OS uses to load your game.
+    * <br><br>
+    * Command-line arguments:  "--record file" records the player input to the file (written on exit).
+    * "--replay file" replays the recorded input as fast as possible, on the headless backend (no window or 
+    * GPU), reports the time spent per simulation step, and exits with status 1 when the final player 
+    * position diverges from the recorded one.  "--check-allocations" walks the player around each map and 
+    * exits with status 1 when steady-state frames allocate (see MainGameScreen.checkAllocations()).
     */
 
     /**
@@ -61,6 +69,40 @@ public class BludBourne_Ch02
         
         Application app; // LibGDX application object.
         LwjglApplicationConfiguration config; // LibGDX application configuration object.
+        HeadlessApplicationConfiguration headlessConfig; // LibGDX headless configuration object (replays).
+        boolean checkAllocations; // Whether to check that steady-state frames allocate nothing.
+        BludBourneGame game; // Game (application listener).
+        String recordPath; // Path of the file to which to record the player input.
+        String replayPath; // Path of the file from which to replay the player input.
+        
+        // Initialize paths and flags.
+        checkAllocations = false;
+        recordPath = null;
+        replayPath = null;
+        
+        // Loop through command-line arguments.
+        for (int counter = 0; counter < args.length; counter++)
+        {
+            
+            // If checking allocations, then store the flag.
+            if ( args[counter].equals("--check-allocations") )
+            {
+                checkAllocations = true;
+            }
+            
+            // Otherwise, if recording (and a path follows), then store the path.
+            else if ( args[counter].equals("--record") && counter < args.length - 1 )
+            {
+                recordPath = args[++counter];
+            }
+            
+            // Otherwise, if replaying (and a path follows), then store the path.
+            else if ( args[counter].equals("--replay") && counter < args.length - 1 )
+            {
+                replayPath = args[++counter];
+            }
+            
+        }
         
         // Create application configuration object.
         config = new LwjglApplicationConfiguration();
@@ -87,9 +129,35 @@ public class BludBourne_Ch02
         
         //config.samples = 4; // Adjust sampling rate to improve anti-aliasing.
         
-        // Launch game using configuration settings.
-	// app = new LwjglApplication(new BludBourneGame(windowWidth, windowHeight), config);
-        app = new LwjglApplication(new BludBourneGame(windowWidth, windowHeight), config);
+        // Create the game and pass the input recording or replay file and the allocation check flag.
+        game = new BludBourneGame(windowWidth, windowHeight);
+        game.setCheckAllocations(checkAllocations);
+        game.setRecordPath(recordPath);
+        game.setReplayPath(replayPath);
+        
+        // If replaying, then...
+        if ( replayPath != null )
+        {
+            
+            // Replay on the headless backend, so replays run on machines without a display or GPU (build 
+            // servers).  Install the OpenGL stand-in before the backend thread creates the game, and call
+            // render() as fast as possible.
+            Gdx.gl = HeadlessGL.create();
+            Gdx.gl20 = Gdx.gl;
+            headlessConfig = new HeadlessApplicationConfiguration();
+            headlessConfig.renderInterval = 0f;
+            app = new HeadlessApplication(game, headlessConfig);
+            
+        }
+        
+        else
+        {
+            
+            // Launch game using configuration settings.
+            // app = new LwjglApplication(new BludBourneGame(windowWidth, windowHeight), config);
+            app = new LwjglApplication(game, config);
+            
+        }
         
         // Store object reference in the Gdx class.
         Gdx.app = app;
@@ -104,8 +172,9 @@ public class BludBourne_Ch02
         4.  LOG_DEBUG is a logging level that displays all messages.
         */
         
-        // Set application to pass through all logging messages.
-        Gdx.app.setLogLevel(Application.LOG_DEBUG);
+        // Set application to pass through all logging messages.  When checking allocations, skip debug
+        // messages, since building them allocates each frame.
+        Gdx.app.setLogLevel(checkAllocations ? Application.LOG_INFO : Application.LOG_DEBUG);
         
     }
     
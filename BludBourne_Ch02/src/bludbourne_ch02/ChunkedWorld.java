@@ -0,0 +1,686 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
+// Java imports.
+import java.util.ArrayList;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class ChunkedWorld
+{
+
+    /**
+    * The class streams a world too large for one TiledMap, split into square chunks of equal size.  Each
+    * chunk is a regular map file (TMX or compiled), named chunk_X_Y.tmx in the world folder, where chunk
+    * (0, 0) sits at the lower left corner of the world.  Objects in a chunk use the coordinates of the
+    * chunk, as authored in Tiled.  Missing chunk files count as empty chunks.
+    * <br><br>
+    * Chunks within the view radius of the focus (usually the camera) get queued with the asset manager,
+    * which parses them on its loading thread, and update() advances loading within a time budget.
+    * Chunks stay resident until farther than one chunk beyond the view radius, so walking back and forth
+    * across a chunk border does not reload anything.  The number of resident chunks depends only on the
+    * view radius, never on the size of the world.
+    * <br><br>
+    * The map manager merges the collision, portal, and spawn layers of the resident chunks into single
+    * layers in world coordinates (see buildLayer()), so lookups work across chunk borders.
+    */
+
+    /*
+    Methods include:
+
+    buildLayer:  Returns a layer with the rectangle objects from the passed layer of each resident chunk,
+      in world coordinates.
+    finishLoading:  Finishes loading the queued chunks, blocking until done.
+    getChunkTiles:  Returns the width and height of each chunk, in tiles.
+    getLoadBudgetMillis:  Returns the time budget for background loading each frame, in milliseconds.
+    getResidentChunkCount:  Returns the number of chunks currently resident.
+    getStartPosition:  Returns the position at which the player starts on the first visit, in pixels.
+    getTileSize:  Returns the width and height of each tile, in pixels.
+    getViewRadius:  Returns the number of chunks kept loaded in each direction around the focus chunk.
+    getWorldName:  Returns the path of the folder holding the chunk files.
+    isWithinRadius:  Returns whether the passed chunk lies within the passed radius of the focus chunk.
+    prime:  Loads the chunks around the passed position, blocking until finished.
+    release:  Releases all chunks.
+    render:  Renders the resident chunks with the passed renderer.
+    requestChunks:  Queues the chunks within the view radius and releases those beyond it.
+    setLoadBudgetMillis:  Sets the time budget for background loading each frame, in milliseconds.
+    setViewRadius:  Sets the number of chunks kept loaded in each direction around the focus chunk.
+    update:  Moves the focus to the passed position and advances streaming.  Returns whether the set of
+      resident chunks changed.
+    */
+
+    // Declare constants.
+    private static final String TAG = ChunkedWorld.class.getSimpleName(); // Class name.
+    private static final int DEFAULT_LOAD_BUDGET_MILLIS = 4; // Default time budget for loading each frame.
+    private static final int DEFAULT_VIEW_RADIUS = 1; // Default view radius, in chunks.
+    private static final int NO_CHUNK = Integer.MIN_VALUE; // Focus chunk before the first update.
+
+    // Declare regular variables.
+
+    /** {@link ChunksAcross}
+     * Number of chunks across the world. */
+    private final int _chunksAcross;
+
+    /** {@link ChunksDown}
+     * Number of chunks down the world. */
+    private final int _chunksDown;
+
+    /** {@link ChunkTiles}
+     * Width and height of each chunk, in tiles. */
+    private final int _chunkTiles;
+
+    /** {@link FocusChunkX}
+     * Column of the chunk containing the focus.  NO_CHUNK before the first update. */
+    private int _focusChunkX;
+
+    /** {@link FocusChunkY}
+     * Row of the chunk containing the focus.  NO_CHUNK before the first update. */
+    private int _focusChunkY;
+
+    /** {@link LoadBudgetMillis}
+     * Time budget for background loading each frame, in milliseconds. */
+    private int _loadBudgetMillis;
+
+    /** {@link TileSize}
+     * Width and height of each tile, in pixels. */
+    private final int _tileSize;
+
+    /** {@link ViewRadius}
+     * Number of chunks kept loaded in each direction around the focus chunk. */
+    private int _viewRadius;
+
+    /** {@link WorldName}
+     * Path of the folder holding the chunk files (relative to the working directory). */
+    private final String _worldName;
+
+    // Declare object variables.
+
+    /** {@link Projection}
+     * Projection matrix of the camera, translated to the current chunk.  Reused for each chunk. */
+    private final Matrix4 _projection;
+
+    /** {@link StartPosition}
+     * Position at which the player starts on the first visit, in pixels. */
+    private final Vector2 _startPosition;
+
+    // Declare list variables.
+
+    /** {@link ActiveChunks}
+     * Paths of the chunks queued or resident, keyed by chunk index (row * chunks across + column).  Each
+     * holds one asset manager reference.  Primitive keys, so lookups box nothing. */
+    private final IntMap<String> _activeChunks;
+
+    /** {@link ResidentChunks}
+     * Indexes of the chunks finished loading. */
+    private final IntArray _residentChunks;
+
+    /** {@link ResidentMaps}
+     * Maps of the chunks finished loading.  Parallel to _residentChunks. */
+    private final ArrayList<TiledMap> _residentMaps;
+
+    /**
+     * The constructor initializes a world with no chunks loaded.
+     *
+     * @param worldName  Path of the folder holding the chunk files (relative to the working directory).
+     * @param chunksAcross  Number of chunks across the world.
+     * @param chunksDown  Number of chunks down the world.
+     * @param chunkTiles  Width and height of each chunk, in tiles.
+     * @param tileSize  Width and height of each tile, in pixels.
+     * @param startX  X-coordinate at which the player starts on the first visit, in pixels.
+     * @param startY  Y-coordinate at which the player starts on the first visit, in pixels.
+     */
+
+    // worldName = Path of the folder holding the chunk files (relative to the working directory).
+    // chunksAcross = Number of chunks across the world.
+    // chunksDown = Number of chunks down the world.
+    // chunkTiles = Width and height of each chunk, in tiles.
+    // tileSize = Width and height of each tile, in pixels.
+    // startX = X-coordinate at which the player starts on the first visit, in pixels.
+    // startY = Y-coordinate at which the player starts on the first visit, in pixels.
+    public ChunkedWorld(String worldName, int chunksAcross, int chunksDown, int chunkTiles, int tileSize,
+      float startX, float startY)
+    {
+
+        // The constructor initializes a world with no chunks loaded.
+
+        // Set defaults.
+        _worldName = worldName;
+        _chunksAcross = Math.max(1, chunksAcross);
+        _chunksDown = Math.max(1, chunksDown);
+        _chunkTiles = Math.max(1, chunkTiles);
+        _tileSize = Math.max(1, tileSize);
+        _startPosition = new Vector2(startX, startY);
+        _focusChunkX = NO_CHUNK;
+        _focusChunkY = NO_CHUNK;
+        _loadBudgetMillis = DEFAULT_LOAD_BUDGET_MILLIS;
+        _viewRadius = DEFAULT_VIEW_RADIUS;
+        _projection = new Matrix4();
+        _activeChunks = new IntMap<>();
+        _residentChunks = new IntArray();
+        _residentMaps = new ArrayList<>();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Width and height of each chunk, in tiles.
+     */
+    public int getChunkTiles()
+    {
+        // The function returns the width and height of each chunk, in tiles.
+        return _chunkTiles;
+    }
+
+    /**
+     *
+     * @return  Time budget for background loading each frame, in milliseconds.
+     */
+    public int getLoadBudgetMillis()
+    {
+        // The function returns the time budget for background loading each frame, in milliseconds.
+        return _loadBudgetMillis;
+    }
+
+    /**
+     *
+     * The function sets the time budget for background loading each frame, in milliseconds.
+     *
+     * @param loadBudgetMillis  Time budget for background loading each frame, in milliseconds.  Minimum of
+     * one.
+     */
+
+    // loadBudgetMillis = Time budget for background loading each frame, in milliseconds.  Minimum of one.
+    public void setLoadBudgetMillis(int loadBudgetMillis)
+    {
+        // The function sets the time budget for background loading each frame, in milliseconds.
+        _loadBudgetMillis = Math.max(1, loadBudgetMillis);
+    }
+
+    /**
+     *
+     * @return  Number of chunks currently resident.
+     */
+    public int getResidentChunkCount()
+    {
+        // The function returns the number of chunks currently resident.
+        return _residentChunks.size;
+    }
+
+    /**
+     *
+     * @return  Position at which the player starts on the first visit, in pixels.
+     */
+    public Vector2 getStartPosition()
+    {
+        // The function returns the position at which the player starts on the first visit, in pixels.
+        return _startPosition;
+    }
+
+    /**
+     *
+     * @return  Width and height of each tile, in pixels.
+     */
+    public int getTileSize()
+    {
+        // The function returns the width and height of each tile, in pixels.
+        return _tileSize;
+    }
+
+    /**
+     *
+     * @return  Number of chunks kept loaded in each direction around the focus chunk.
+     */
+    public int getViewRadius()
+    {
+        // The function returns the number of chunks kept loaded in each direction around the focus chunk.
+        return _viewRadius;
+    }
+
+    /**
+     *
+     * The function sets the number of chunks kept loaded in each direction around the focus chunk.  Takes
+     * effect when the focus next moves to another chunk.  The view radius must cover the area shown by the
+     * camera.
+     *
+     * @param viewRadius  Number of chunks kept loaded in each direction around the focus chunk.  Minimum of
+     * zero (focus chunk only).
+     */
+
+    // viewRadius = Number of chunks kept loaded in each direction around the focus chunk.
+    public void setViewRadius(int viewRadius)
+    {
+        // The function sets the number of chunks kept loaded in each direction around the focus chunk.
+        _viewRadius = Math.max(0, viewRadius);
+    }
+
+    /**
+     *
+     * @return  Path of the folder holding the chunk files.
+     */
+    public String getWorldName()
+    {
+        // The function returns the path of the folder holding the chunk files.
+        return _worldName;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function returns a new layer with the rectangle objects from the passed layer of each resident
+     * chunk, moved to world coordinates.  Object names get copied.  Chunks without the layer add nothing.
+     *
+     * @param layerName  Name of the layer to merge (for example, the collision layer).
+     * @return  Layer containing the rectangle objects of the resident chunks, in world coordinates.
+     */
+
+    // layerName = Name of the layer to merge (for example, the collision layer).
+    public MapLayer buildLayer(String layerName)
+    {
+
+        /*
+        The function returns a new layer with the rectangle objects from the passed layer of each resident
+        chunk, moved to world coordinates.  Object names get copied.  Chunks without the layer add nothing.
+        */
+
+        int chunk; // Index of current chunk.
+        MapLayer chunkLayer; // Layer with the passed name in current chunk.
+        float chunkPixels; // Width and height of each chunk, in pixels.
+        MapLayer layer; // Merged layer.
+        RectangleMapObject moved; // Copy of current object, in world coordinates.
+        float offsetX; // X-coordinate of lower left corner of current chunk, in pixels.
+        float offsetY; // Y-coordinate of lower left corner of current chunk, in pixels.
+        Rectangle rectangle; // Rectangle of current object, in chunk coordinates.
+
+        // Set defaults.
+        layer = new MapLayer();
+        layer.setName(layerName);
+        chunkPixels = _chunkTiles * _tileSize;
+
+        // Loop through resident chunks.
+        for ( int index = 0; index < _residentChunks.size; index++ )
+        {
+
+            chunkLayer = _residentMaps.get(index).getLayers().get(layerName);
+
+            // If chunk lacks the layer, then skip.
+            if ( chunkLayer == null )
+                continue;
+
+            chunk = _residentChunks.get(index);
+            offsetX = (chunk % _chunksAcross) * chunkPixels;
+            offsetY = (chunk / _chunksAcross) * chunkPixels;
+
+            // Copy the rectangle objects, moved to world coordinates.
+            for ( MapObject object: chunkLayer.getObjects() )
+            {
+
+                if ( object instanceof RectangleMapObject )
+                {
+                    rectangle = ((RectangleMapObject)object).getRectangle();
+                    moved = new RectangleMapObject(rectangle.x + offsetX, rectangle.y + offsetY,
+                      rectangle.width, rectangle.height);
+                    moved.setName(object.getName());
+                    layer.getObjects().add(moved);
+                }
+
+            }
+
+        }
+
+        // Return merged layer.
+        return layer;
+
+    }
+
+    /**
+     *
+     * The function returns whether the passed chunk lies within the passed radius (in chunks) of the focus
+     * chunk, in each direction.
+     *
+     * @param chunk  Index of chunk (row * chunks across + column).
+     * @param radius  Radius, in chunks.
+     * @return  Whether the passed chunk lies within the passed radius of the focus chunk.
+     */
+
+    // chunk = Index of chunk (row * chunks across + column).
+    // radius = Radius, in chunks.
+    private boolean isWithinRadius(int chunk, int radius)
+    {
+
+        // The function returns whether the passed chunk lies within the passed radius (in chunks) of the focus
+        // chunk, in each direction.
+
+        return Math.abs(chunk % _chunksAcross - _focusChunkX) <= radius &&
+          Math.abs(chunk / _chunksAcross - _focusChunkY) <= radius;
+
+    }
+
+    /**
+     * The method finishes loading the queued chunks, blocking until done.  The next update() makes them
+     * resident.
+     */
+    public void finishLoading()
+    {
+
+        // The method finishes loading the queued chunks, blocking until done.
+
+        // Loop through queued chunks.
+        for ( String path: _activeChunks.values() )
+            Utility.finishAssetLoading(path);
+
+    }
+
+    /**
+     *
+     * The method loads the chunks around the passed position, blocking until finished.  Called when
+     * entering the world, so the area around the player exists before the first frame.
+     *
+     * @param x  X-coordinate of the focus, in pixels.
+     * @param y  Y-coordinate of the focus, in pixels.
+     */
+
+    // x = X-coordinate of the focus, in pixels.
+    // y = Y-coordinate of the focus, in pixels.
+    public void prime(float x, float y)
+    {
+
+        /*
+        The method loads the chunks around the passed position, blocking until finished.  Called when
+        entering the world, so the area around the player exists before the first frame.
+        */
+
+        // Queue the chunks around the position.
+        update(x, y);
+
+        // Finish loading the queued chunks.
+        finishLoading();
+
+        // Move the loaded chunks to the resident list.
+        update(x, y);
+
+    }
+
+    /**
+     * The method releases all chunks.  Chunks still loading get finished first, so each reference gets
+     * released.  Called when leaving the world.
+     */
+    public void release()
+    {
+
+        // The method releases all chunks.  Chunks still loading get finished first, so each reference gets
+        // released.  Called when leaving the world.
+
+        // Loop through queued and resident chunks.
+        for ( String path: _activeChunks.values() )
+        {
+
+            // If chunk still loading, then finish.
+            if ( !Utility.isAssetLoaded(path) )
+                Utility.finishAssetLoading(path);
+
+            Utility.unloadAsset(path);
+
+        }
+
+        // Clear chunks and focus.
+        _activeChunks.clear();
+        _residentChunks.clear();
+        _residentMaps.clear();
+        _focusChunkX = NO_CHUNK;
+        _focusChunkY = NO_CHUNK;
+
+    }
+
+    /**
+     *
+     * The method renders the resident chunks with the passed renderer.  Each chunk gets rendered with the
+     * camera shifted into the coordinates of the chunk, so tiles outside the view get skipped as usual.
+     * Afterwards, the renderer gets set back to the passed camera, for drawing sprites in world units.
+     *
+     * @param renderer  Renderer to use.  Its map gets replaced with each chunk in turn.
+     * @param camera  Camera showing the world, in world units (tiles scaled by the renderer unit scale).
+     */
+
+    // renderer = Renderer to use.  Its map gets replaced with each chunk in turn.
+    // camera = Camera showing the world, in world units (tiles scaled by the renderer unit scale).
+    public void render(OrthogonalTiledMapRenderer renderer, OrthographicCamera camera)
+    {
+
+        /*
+        The method renders the resident chunks with the passed renderer.  Each chunk gets rendered with the
+        camera shifted into the coordinates of the chunk, so tiles outside the view get skipped as usual.
+        Afterwards, the renderer gets set back to the passed camera, for drawing sprites in world units.
+        */
+
+        int chunk; // Index of current chunk.
+        float chunkUnits; // Width and height of each chunk, in world units.
+        float offsetX; // X-coordinate of lower left corner of current chunk, in world units.
+        float offsetY; // Y-coordinate of lower left corner of current chunk, in world units.
+        float viewHeight; // Height of the area shown by the camera, in world units.
+        float viewWidth; // Width of the area shown by the camera, in world units.
+
+        // Set defaults.
+        chunkUnits = _chunkTiles * _tileSize * renderer.getUnitScale();
+        viewWidth = camera.viewportWidth * camera.zoom;
+        viewHeight = camera.viewportHeight * camera.zoom;
+
+        // Loop through resident chunks.
+        for ( int index = 0; index < _residentChunks.size; index++ )
+        {
+
+            chunk = _residentChunks.get(index);
+            offsetX = (chunk % _chunksAcross) * chunkUnits;
+            offsetY = (chunk / _chunksAcross) * chunkUnits;
+
+            // If chunk outside the view, then skip.
+            if ( offsetX > camera.position.x + viewWidth / 2 || offsetX + chunkUnits < camera.position.x - viewWidth / 2 ||
+                 offsetY > camera.position.y + viewHeight / 2 || offsetY + chunkUnits < camera.position.y - viewHeight / 2 )
+                continue;
+
+            // Render the chunk, with the camera shifted into its coordinates.
+            _projection.set(camera.combined).translate(offsetX, offsetY, 0);
+            renderer.setMap(_residentMaps.get(index));
+            renderer.setView(_projection, camera.position.x - viewWidth / 2 - offsetX,
+              camera.position.y - viewHeight / 2 - offsetY, viewWidth, viewHeight);
+            renderer.render();
+
+        }
+
+        // Set the renderer back to the camera.
+        renderer.setView(camera);
+
+    }
+
+    /**
+     *
+     * The function queues the chunks within the view radius of the focus chunk, which are not queued or
+     * resident yet, and releases the chunks farther than one chunk beyond the view radius.
+     *
+     * @return  Whether resident chunks got released.
+     */
+    private boolean requestChunks()
+    {
+
+        /*
+        The function queues the chunks within the view radius of the focus chunk, which are not queued or
+        resident yet, and releases the chunks farther than one chunk beyond the view radius.
+        */
+
+        int chunk; // Index of current chunk.
+        String path; // Path of current chunk.
+        boolean released; // Whether resident chunks got released.
+        int residentIndex; // Index of current chunk in resident list.
+
+        // Set defaults.
+        released = false;
+
+        // Loop through chunks within the view radius, clamped to the world.
+        for ( int y = Math.max(0, _focusChunkY - _viewRadius); y <= Math.min(_chunksDown - 1, _focusChunkY + _viewRadius); y++ )
+        {
+
+            for ( int x = Math.max(0, _focusChunkX - _viewRadius); x <= Math.min(_chunksAcross - 1, _focusChunkX + _viewRadius); x++ )
+            {
+
+                chunk = y * _chunksAcross + x;
+
+                // If chunk already queued or resident, then skip.
+                if ( _activeChunks.containsKey(chunk) )
+                    continue;
+
+                path = Utility.resolveMapPath(_worldName + "/chunk_" + x + "_" + y + BinaryMapFormat.TMX_EXTENSION);
+
+                // If chunk queued successfully, then track.  Missing chunks count as empty.
+                if ( Utility.queueMapAsset(path) )
+                    _activeChunks.put(chunk, path);
+
+            }
+
+        }
+
+        // Loop through resident chunks, releasing those beyond the view radius (plus one).
+        for ( residentIndex = _residentChunks.size - 1; residentIndex >= 0; residentIndex-- )
+        {
+
+            chunk = _residentChunks.get(residentIndex);
+
+            if ( !isWithinRadius(chunk, _viewRadius + 1) )
+            {
+                Utility.unloadAsset(_activeChunks.remove(chunk));
+                _residentChunks.removeIndex(residentIndex);
+                _residentMaps.remove(residentIndex);
+                released = true;
+            }
+
+        }
+
+        // Chunks still loading and out of range get released by update(), once loaded.
+
+        // Return whether resident chunks got released.
+        return released;
+
+    }
+
+    /**
+     *
+     * The function moves the focus to the passed position and advances streaming.  When the focus enters
+     * another chunk, the chunks around it get queued and distant chunks get released.  Loading then
+     * advances within the time budget, and chunks finished loading become resident -- or get released
+     * right away, when the focus moved on in the meantime.
+     *
+     * @param x  X-coordinate of the focus, in pixels.
+     * @param y  Y-coordinate of the focus, in pixels.
+     * @return  Whether the set of resident chunks changed.
+     */
+
+    // x = X-coordinate of the focus, in pixels.
+    // y = Y-coordinate of the focus, in pixels.
+    public boolean update(float x, float y)
+    {
+
+        /*
+        The function moves the focus to the passed position and advances streaming.  When the focus enters
+        another chunk, the chunks around it get queued and distant chunks get released.  Loading then
+        advances within the time budget, and chunks finished loading become resident -- or get released
+        right away, when the focus moved on in the meantime.
+        */
+
+        boolean changed; // Whether the set of resident chunks changed.
+        int chunkX; // Column of the chunk containing the focus.
+        int chunkY; // Row of the chunk containing the focus.
+        float chunkPixels; // Width and height of each chunk, in pixels.
+        IntMap.Entries<String> iterator; // Iterator through active chunks (reused by the map).
+        IntMap.Entry<String> entry; // Current active chunk.
+
+        // Set defaults.
+        changed = false;
+        chunkPixels = _chunkTiles * _tileSize;
+
+        // Find the chunk containing the focus, clamped to the world.
+        chunkX = Math.min(_chunksAcross - 1, Math.max(0, (int)Math.floor(x / chunkPixels)));
+        chunkY = Math.min(_chunksDown - 1, Math.max(0, (int)Math.floor(y / chunkPixels)));
+
+        // If focus entered another chunk, then queue the chunks around it and release distant ones.
+        if ( chunkX != _focusChunkX || chunkY != _focusChunkY )
+        {
+            _focusChunkX = chunkX;
+            _focusChunkY = chunkY;
+            changed = requestChunks();
+        }
+
+        // If chunks still loading, then advance loading within the time budget.
+        if ( _activeChunks.size > _residentChunks.size )
+            Utility.updateAssetLoading(_loadBudgetMillis);
+
+        // Loop through active chunks, moving those finished loading to the resident list.
+        iterator = _activeChunks.entries();
+        while ( iterator.hasNext() )
+        {
+
+            entry = iterator.next();
+
+            // If chunk resident already or still loading, then skip.
+            if ( _residentChunks.contains(entry.key) || !Utility.isAssetLoaded(entry.value) )
+                continue;
+
+            // If focus moved on while loading, then release.  Otherwise, make resident.
+            if ( !isWithinRadius(entry.key, _viewRadius + 1) )
+            {
+                Utility.unloadAsset(entry.value);
+                iterator.remove();
+            }
+
+            else
+            {
+                _residentChunks.add(entry.key);
+                _residentMaps.add(Utility.getMapAsset(entry.value));
+                changed = true;
+                
+                // If logging debug messages, then report the chunk (skipping the string building otherwise).
+                if ( Utility.isDebugLogging() )
+                    Gdx.app.debug(TAG, "Chunk resident: " + entry.value);
+            }
+
+        }
+
+        // Return whether the set of resident chunks changed.
+        return changed;
+
+    }
+
+}
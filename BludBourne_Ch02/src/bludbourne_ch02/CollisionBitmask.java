@@ -0,0 +1,425 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Rectangle;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class CollisionBitmask
+{
+
+    /**
+    * The class rasterizes the rectangles in a map collision layer into packed bitsets, with one bit per
+    * cell.  Cells match the tiles of the map or a subdivision of them (sub-tiles).  Rasterizing occurs
+    * once, when a map loads.
+    * <br><br>
+    * Two bitsets get kept.  The solid bitset flags cells fully covered by a rectangle.  The partial bitset
+    * flags cells that a rectangle covers only in part.  A query reads only the words covering the cells
+    * touched by the passed hitbox.  Touching a solid cell (with positive area) always means a collision.
+    * Touching only partial cells defers to the exact rectangle tests in the collision grid, so results
+    * always match those of the rectangle scan.  Touching no flagged cell means no collision.
+    * <br><br>
+    * Cost of a query depends on the size of the hitbox, not the number of objects in the map.  Queries
+    * do not allocate.
+    */
+
+    /*
+    Methods include:
+
+    build:  Rasterizes the rectangle objects in the passed map layer into the bitsets.
+    clear:  Empties the bitsets.
+    getCellSize:  Returns the width and height of each cell in the bitsets, in pixels.
+    isSet:  Returns whether the bit for the passed cell is set in the passed bitset.
+    overlaps:  Returns whether the passed hitbox overlaps any rectangle rasterized into the bitsets.
+    set:  Sets the bit for the passed cell in the passed bitset.
+    */
+
+    // Declare constants.
+    private static final int WORD_SHIFT = 6; // Converts a bit index to a word index (64 bits per long).
+
+    // Declare regular variables.
+
+    /** {@link CellSize}
+     * Width and height of each cell in the bitsets, in pixels. */
+    private float _cellSize;
+
+    /** {@link Columns}
+     * Number of cells across the bitsets. */
+    private int _columns;
+
+    /** {@link OriginX}
+     * Leftmost x-coordinate covered by the bitsets, in pixels.  Aligned to a multiple of the cell size. */
+    private float _originX;
+
+    /** {@link OriginY}
+     * Lowest y-coordinate covered by the bitsets, in pixels.  Aligned to a multiple of the cell size. */
+    private float _originY;
+
+    /** {@link Rows}
+     * Number of cells down the bitsets. */
+    private int _rows;
+
+    // Declare object variables.
+
+    /** {@link ExactGrid}
+     * Collision grid used for exact rectangle tests when a hitbox touches only partially covered cells. */
+    private CollisionGrid _exactGrid;
+
+    // Declare list variables.
+
+    /** {@link PartialBits}
+     * Packed bitset flagging cells covered in part (positive area) by at least one rectangle. */
+    private long[] _partialBits;
+
+    /** {@link SolidBits}
+     * Packed bitset flagging cells fully covered by at least one rectangle. */
+    private long[] _solidBits;
+
+    /**
+     * The constructor initializes empty bitsets.
+     */
+    public CollisionBitmask()
+    {
+
+        // The constructor initializes empty bitsets.
+
+        // Start with empty bitsets.
+        clear();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Width and height of each cell in the bitsets, in pixels.
+     */
+    public float getCellSize()
+    {
+        // The function returns the width and height of each cell in the bitsets, in pixels.
+        return _cellSize;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The method rasterizes the rectangle objects in the passed map layer into the bitsets.
+     * <br><br>
+     * Each rectangle gets tested against the cells around it.  Cells fully inside the rectangle get
+     * flagged as solid.  Other cells sharing positive area with the rectangle get flagged as partial.
+     * Rectangles without area (lines) flag the cells they touch as partial.
+     * Cells use the same coordinate math during building and querying, so classification stays
+     * consistent with the floating point tests performed later.
+     *
+     * @param layer  Map layer containing the rectangle objects to rasterize.  Null results in empty bitsets.
+     * @param cellSize  Width and height of each cell, in pixels.  Typically the tile width divided by the
+     * number of sub-tiles per tile.
+     * @param exactGrid  Collision grid, built over the same layer, used for exact rectangle tests.
+     */
+
+    // layer = Map layer containing the rectangle objects to rasterize.  Null results in empty bitsets.
+    // cellSize = Width and height of each cell, in pixels.
+    // exactGrid = Collision grid, built over the same layer, used for exact rectangle tests.
+    public void build(MapLayer layer, float cellSize, CollisionGrid exactGrid)
+    {
+
+        /*
+        The method rasterizes the rectangle objects in the passed map layer into the bitsets.
+
+        Each rectangle gets tested against the cells around it.  Cells fully inside the rectangle get
+        flagged as solid.  Other cells sharing positive area with the rectangle get flagged as partial.
+        Rectangles without area (lines) flag the cells they touch as partial.
+        Cells use the same coordinate math during building and querying, so classification stays
+        consistent with the floating point tests performed later.
+        */
+
+        float cellX0; // Left edge of current cell.
+        float cellX1; // Right edge of current cell.
+        float cellY0; // Bottom edge of current cell.
+        float cellY1; // Top edge of current cell.
+        int colEnd; // Last column to test for current rectangle.
+        int colStart; // First column to test for current rectangle.
+        float maxX; // Rightmost x-coordinate covered by any rectangle.
+        float maxY; // Highest y-coordinate covered by any rectangle.
+        float minX; // Leftmost x-coordinate covered by any rectangle.
+        float minY; // Lowest y-coordinate covered by any rectangle.
+        Rectangle rectangle; // Rectangle for current map object in loop.
+        int rowEnd; // Last row to test for current rectangle.
+        int rowStart; // First row to test for current rectangle.
+
+        // Start with empty bitsets.
+        clear();
+
+        // Store reference to grid used for exact tests.
+        _exactGrid = exactGrid;
+
+        // If no layer passed or invalid cell size, then exit.
+        if ( layer == null || cellSize <= 0 )
+            return;
+
+        // Set defaults for the extent of the rectangles.
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        maxX = -Float.MAX_VALUE;
+        maxY = -Float.MAX_VALUE;
+
+        // Determine the extent of the rectangles.
+        for ( MapObject object: layer.getObjects() )
+        {
+
+            // If RectangleMapObject found (indicates collision bounding box), then...
+            if ( object instanceof RectangleMapObject )
+            {
+                rectangle = ((RectangleMapObject)object).getRectangle();
+                minX = Math.min(minX, rectangle.x);
+                minY = Math.min(minY, rectangle.y);
+                maxX = Math.max(maxX, rectangle.x + rectangle.width);
+                maxY = Math.max(maxY, rectangle.y + rectangle.height);
+            }
+
+        }
+
+        // If no rectangles exist, then exit.
+        if ( minX > maxX )
+            return;
+
+        // Store dimensions, aligning the origin with the cell (tile) boundaries of the map.
+        _cellSize = cellSize;
+        _originX = (float)Math.floor(minX / cellSize) * cellSize;
+        _originY = (float)Math.floor(minY / cellSize) * cellSize;
+        _columns = Math.max(1, (int)Math.ceil((maxX - _originX) / cellSize));
+        _rows = Math.max(1, (int)Math.ceil((maxY - _originY) / cellSize));
+
+        // Initialize the bitsets.
+        _solidBits = new long[((_columns * _rows) >>> WORD_SHIFT) + 1];
+        _partialBits = new long[_solidBits.length];
+
+        // Loop through rectangles and classify the cells around each.
+        for ( MapObject object: layer.getObjects() )
+        {
+
+            // If RectangleMapObject found (indicates collision bounding box), then...
+            if ( object instanceof RectangleMapObject )
+            {
+
+                rectangle = ((RectangleMapObject)object).getRectangle();
+
+                // Cover one extra cell on each side to absorb rounding when locating the rectangle.
+                colStart = Math.max(0, (int)Math.floor((rectangle.x - _originX) / cellSize) - 1);
+                colEnd = Math.min(_columns - 1, (int)Math.floor((rectangle.x + rectangle.width - _originX) / cellSize) + 1);
+                rowStart = Math.max(0, (int)Math.floor((rectangle.y - _originY) / cellSize) - 1);
+                rowEnd = Math.min(_rows - 1, (int)Math.floor((rectangle.y + rectangle.height - _originY) / cellSize) + 1);
+
+                for ( int row = rowStart; row <= rowEnd; row++ )
+                {
+
+                    cellY0 = _originY + row * cellSize;
+                    cellY1 = _originY + (row + 1) * cellSize;
+
+                    for ( int col = colStart; col <= colEnd; col++ )
+                    {
+
+                        cellX0 = _originX + col * cellSize;
+                        cellX1 = _originX + (col + 1) * cellSize;
+
+                        // If cell lies fully inside rectangle, then flag as solid.
+                        if ( cellX0 >= rectangle.x && cellX1 <= rectangle.x + rectangle.width &&
+                             cellY0 >= rectangle.y && cellY1 <= rectangle.y + rectangle.height )
+                            set(_solidBits, row * _columns + col);
+
+                        // Otherwise, if cell shares positive area with rectangle, then flag as partial.
+                        else if ( cellX0 < rectangle.x + rectangle.width && cellX1 > rectangle.x &&
+                                  cellY0 < rectangle.y + rectangle.height && cellY1 > rectangle.y )
+                            set(_partialBits, row * _columns + col);
+
+                        // Otherwise, if rectangle has no area (a line or point) and touches the cell, then
+                        // flag as partial.  Rectangle.overlaps() still reports hitboxes crossing such objects.
+                        else if ( (rectangle.width <= 0 || rectangle.height <= 0) &&
+                                  cellX0 <= rectangle.x + rectangle.width && cellX1 >= rectangle.x &&
+                                  cellY0 <= rectangle.y + rectangle.height && cellY1 >= rectangle.y )
+                            set(_partialBits, row * _columns + col);
+
+                    }
+
+                }
+
+            } // End ... If RectangleMapObject found (indicates collision bounding box).
+
+        }
+
+    }
+
+    /**
+     * The method empties the bitsets.  Queries against empty bitsets never report a collision.
+     */
+    public final void clear()
+    {
+
+        // The method empties the bitsets.  Queries against empty bitsets never report a collision.
+
+        // Reset dimensions.
+        _columns = 0;
+        _rows = 0;
+        _cellSize = 0f;
+        _originX = 0f;
+        _originY = 0f;
+
+        // Reset bitsets and grid reference.
+        _solidBits = new long[0];
+        _partialBits = new long[0];
+        _exactGrid = null;
+
+    }
+
+    /**
+     *
+     * The function returns whether the bit for the passed cell is set in the passed bitset.
+     *
+     * @param bits  Packed bitset to read.
+     * @param index  Index of the cell (row * columns + column).
+     * @return  Whether the bit for the cell is set.
+     */
+
+    // bits = Packed bitset to read.
+    // index = Index of the cell (row * columns + column).
+    private static boolean isSet(long[] bits, int index)
+    {
+        // The function returns whether the bit for the passed cell is set in the passed bitset.
+        // Java masks the shift distance to the low six bits, selecting the bit within the word.
+        return (bits[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    /**
+     *
+     * The method returns whether the passed hitbox overlaps any rectangle rasterized into the bitsets.
+     * The overlap test matches that of Rectangle.overlaps() -- edges that merely touch do not count as a
+     * collision.
+     * <br><br>
+     * Only cells sharing positive area with the hitbox get read.  A solid cell confirms a collision
+     * immediately, since the cell lies inside a rectangle.  When only partial cells get touched, the
+     * exact rectangle tests in the collision grid decide the result.  Degenerate hitboxes (zero width
+     * or height) always use the exact tests.
+     *
+     * @param boundingBox  Rectangle that defines the hitbox to test, in pixels.
+     * @return  Whether the hitbox overlaps any rectangle rasterized into the bitsets.
+     */
+
+    // boundingBox = Rectangle that defines the hitbox to test, in pixels.
+    public boolean overlaps(Rectangle boundingBox)
+    {
+
+        /*
+        The method returns whether the passed hitbox overlaps any rectangle rasterized into the bitsets.
+        The overlap test matches that of Rectangle.overlaps() -- edges that merely touch do not count as a
+        collision.
+
+        Only cells sharing positive area with the hitbox get read.  A solid cell confirms a collision
+        immediately, since the cell lies inside a rectangle.  When only partial cells get touched, the
+        exact rectangle tests in the collision grid decide the result.  Degenerate hitboxes (zero width
+        or height) always use the exact tests.
+        */
+
+        float cellX0; // Left edge of current cell.
+        float cellY0; // Bottom edge of current cell.
+        int colEnd; // Last column touched by hitbox.
+        int colStart; // First column touched by hitbox.
+        int index; // Index of current cell.
+        boolean partial; // Whether hitbox touches a partially covered cell.
+        int rowEnd; // Last row touched by hitbox.
+        int rowStart; // First row touched by hitbox.
+
+        // Set defaults.
+        partial = false;
+
+        // If bitsets empty, then exit without collision.
+        if ( _columns == 0 )
+            return false;
+
+        // If hitbox degenerate, then use exact tests.
+        if ( boundingBox.width <= 0 || boundingBox.height <= 0 )
+            return _exactGrid != null && _exactGrid.overlaps(boundingBox);
+
+        // Locate cells touched by hitbox, covering one extra cell on each side to absorb rounding.
+        colStart = Math.max(0, (int)Math.floor((boundingBox.x - _originX) / _cellSize) - 1);
+        colEnd = Math.min(_columns - 1, (int)Math.floor((boundingBox.x + boundingBox.width - _originX) / _cellSize) + 1);
+        rowStart = Math.max(0, (int)Math.floor((boundingBox.y - _originY) / _cellSize) - 1);
+        rowEnd = Math.min(_rows - 1, (int)Math.floor((boundingBox.y + boundingBox.height - _originY) / _cellSize) + 1);
+
+        // Loop through the cells around the hitbox.
+        for ( int row = rowStart; row <= rowEnd; row++ )
+        {
+
+            cellY0 = _originY + row * _cellSize;
+
+            // If hitbox does not share positive area with row, then skip.
+            if ( boundingBox.y >= _originY + (row + 1) * _cellSize || boundingBox.y + boundingBox.height <= cellY0 )
+                continue;
+
+            for ( int col = colStart; col <= colEnd; col++ )
+            {
+
+                cellX0 = _originX + col * _cellSize;
+
+                // If hitbox does not share positive area with cell, then skip.
+                if ( boundingBox.x >= _originX + (col + 1) * _cellSize || boundingBox.x + boundingBox.width <= cellX0 )
+                    continue;
+
+                index = row * _columns + col;
+
+                // If cell fully covered by a rectangle, then report collision.
+                if ( isSet(_solidBits, index) )
+                    return true;
+
+                // Track whether hitbox touches a partially covered cell.
+                partial |= isSet(_partialBits, index);
+
+            }
+
+        }
+
+        // If hitbox touches partially covered cells, then use exact tests.  Otherwise, no collision.
+        return partial && _exactGrid != null && _exactGrid.overlaps(boundingBox);
+
+    }
+
+    /**
+     *
+     * The method sets the bit for the passed cell in the passed bitset.
+     *
+     * @param bits  Packed bitset to update.
+     * @param index  Index of the cell (row * columns + column).
+     */
+
+    // bits = Packed bitset to update.
+    // index = Index of the cell (row * columns + column).
+    private static void set(long[] bits, int index)
+    {
+        // The method sets the bit for the passed cell in the passed bitset.
+        bits[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+}
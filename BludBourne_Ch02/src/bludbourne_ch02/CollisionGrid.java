@@ -0,0 +1,690 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class CollisionGrid
+{
+
+    /**
+    * The class provides a uniform grid (spatial index) over the rectangles in a map collision layer.
+    * The grid gets built once, when a map loads, and answers overlap queries by testing only the
+    * rectangles stored in the cells touched by the passed hitbox.
+    * <br><br>
+    * Each rectangle gets copied into flat float arrays (x, y, width, height) and registered in every
+    * cell that the rectangle covers.  The cell contents use a compressed layout -- one array with the
+    * starting offset of each cell and one array with the rectangle indexes for all cells, back to back.
+    * Queries therefore read contiguous memory and do not allocate.
+    * <br><br>
+    * Cost of a query depends on the number of rectangles near the hitbox, not the number of rectangles
+    * in the map, so the check stays flat as maps grow.
+    */
+
+    /*
+    Methods include:
+
+    build:  Builds the grid using the rectangle objects in the passed map layer.
+    clear:  Empties the grid.
+    getCellSize:  Returns the width and height of each cell in the grid, in pixels.
+    getRectangleCount:  Returns the number of rectangles stored in the grid.
+    overlaps:  Returns whether the passed hitbox overlaps any rectangle stored in the grid.
+    sweep:  Moves the passed hitbox by the passed displacement, stopping at the first rectangle hit and
+      sliding along it.
+    */
+
+    // Declare constants.
+    private static final float CONTACT_GAP = 0.001f; // Gap left between hitbox and rectangle on contact, in pixels.
+    private static final int MAX_SWEEPS = 2; // Sweeps per move -- one to the first contact, one to slide.
+
+    // Declare regular variables.
+
+    /** {@link CellSize}
+     * Width and height of each cell in the grid, in pixels. */
+    private float _cellSize;
+
+    /** {@link Columns}
+     * Number of cells across the grid. */
+    private int _columns;
+
+    /** {@link OriginX}
+     * Leftmost x-coordinate covered by the grid, in pixels. */
+    private float _originX;
+
+    /** {@link OriginY}
+     * Lowest y-coordinate covered by the grid, in pixels. */
+    private float _originY;
+
+    /** {@link RectCount}
+     * Number of rectangles stored in the grid. */
+    private int _rectCount;
+
+    /** {@link Rows}
+     * Number of cells down the grid. */
+    private int _rows;
+
+    // Declare list variables.
+
+    /** {@link CellItems}
+     * Indexes of the rectangles in each cell, stored back to back for all cells.  The rectangles for
+     * cell n range from _cellStart[n] up to (but not including) _cellStart[n + 1]. */
+    private int[] _cellItems;
+
+    /** {@link CellStart}
+     * Offset into _cellItems of the first rectangle for each cell.  Contains one extra entry at the end. */
+    private int[] _cellStart;
+
+    /** {@link RectX}
+     * X-coordinates (lower left corner) of the stored rectangles, in pixels. */
+    private float[] _rectX;
+
+    /** {@link RectY}
+     * Y-coordinates (lower left corner) of the stored rectangles, in pixels. */
+    private float[] _rectY;
+
+    /** {@link RectWidth}
+     * Widths of the stored rectangles, in pixels. */
+    private float[] _rectWidth;
+
+    /** {@link RectHeight}
+     * Heights of the stored rectangles, in pixels. */
+    private float[] _rectHeight;
+
+    /**
+     * The constructor initializes an empty grid.
+     */
+    public CollisionGrid()
+    {
+
+        // The constructor initializes an empty grid.
+
+        // Start with an empty grid.
+        clear();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Width and height of each cell in the grid, in pixels.
+     */
+    public float getCellSize()
+    {
+        // The function returns the width and height of each cell in the grid, in pixels.
+        return _cellSize;
+    }
+
+    /**
+     *
+     * @return  Number of rectangles stored in the grid.
+     */
+    public int getRectangleCount()
+    {
+        // The function returns the number of rectangles stored in the grid.
+        return _rectCount;
+    }
+
+    // Methods below...
+
+    /**
+     * The method empties the grid.  Queries against an empty grid never report a collision.
+     */
+    public final void clear()
+    {
+
+        // The method empties the grid.  Queries against an empty grid never report a collision.
+
+        // Reset counts and dimensions.
+        _rectCount = 0;
+        _columns = 0;
+        _rows = 0;
+        _cellSize = 0f;
+        _originX = 0f;
+        _originY = 0f;
+
+        // Reset arrays.
+        _cellItems = new int[0];
+        _cellStart = new int[1];
+        _rectX = new float[0];
+        _rectY = new float[0];
+        _rectWidth = new float[0];
+        _rectHeight = new float[0];
+
+    }
+
+    /**
+     *
+     * The method builds the grid using the rectangle objects in the passed map layer.
+     * <br><br>
+     * Building occurs in two passes over the rectangles.  The first pass counts the number of rectangles
+     * touching each cell, which gives the offsets into the shared item array.  The second pass writes the
+     * rectangle indexes into the slots reserved for each cell.  The grid covers the extent of the
+     * rectangles themselves (not the map), which handles objects placed outside of the map borders.
+     *
+     * @param layer  Map layer containing the rectangle objects to index.  Null results in an empty grid.
+     * @param cellSize  Width and height of each cell in the grid, in pixels.
+     */
+
+    // layer = Map layer containing the rectangle objects to index.  Null results in an empty grid.
+    // cellSize = Width and height of each cell in the grid, in pixels.
+    public void build(MapLayer layer, float cellSize)
+    {
+
+        /*
+        The method builds the grid using the rectangle objects in the passed map layer.
+
+        Building occurs in two passes over the rectangles.  The first pass counts the number of rectangles
+        touching each cell, which gives the offsets into the shared item array.  The second pass writes the
+        rectangle indexes into the slots reserved for each cell.  The grid covers the extent of the
+        rectangles themselves (not the map), which handles objects placed outside of the map borders.
+        */
+
+        int cell; // Index of current cell in loops.
+        int[] cellFill; // Next free slot for each cell, used while writing rectangle indexes.
+        int count; // Number of rectangle objects in layer.
+        int index; // Index of current rectangle in loops.
+        float maxX; // Rightmost x-coordinate covered by any rectangle.
+        float maxY; // Highest y-coordinate covered by any rectangle.
+        Rectangle rectangle; // Rectangle for current map object in loop.
+
+        // Start with an empty grid.
+        clear();
+
+        // If no layer passed or invalid cell size, then exit.
+        if ( layer == null || cellSize <= 0 )
+            return;
+
+        // Count the rectangle objects in the layer.
+        count = 0;
+        for ( MapObject object: layer.getObjects() )
+        {
+            if ( object instanceof RectangleMapObject )
+                count++;
+        }
+
+        // If no rectangles exist, then exit.
+        if ( count == 0 )
+            return;
+
+        // Initialize the rectangle arrays.
+        _rectX = new float[count];
+        _rectY = new float[count];
+        _rectWidth = new float[count];
+        _rectHeight = new float[count];
+
+        // Set defaults for the extent of the rectangles.
+        _originX = Float.MAX_VALUE;
+        _originY = Float.MAX_VALUE;
+        maxX = -Float.MAX_VALUE;
+        maxY = -Float.MAX_VALUE;
+
+        // Copy the rectangles into the flat arrays and track their extent.
+        index = 0;
+        for ( MapObject object: layer.getObjects() )
+        {
+
+            // If RectangleMapObject found (indicates collision bounding box), then...
+            if ( object instanceof RectangleMapObject )
+            {
+
+                // Convert to standard rectangle object.
+                rectangle = ((RectangleMapObject)object).getRectangle();
+
+                // Copy rectangle values.
+                _rectX[index] = rectangle.x;
+                _rectY[index] = rectangle.y;
+                _rectWidth[index] = rectangle.width;
+                _rectHeight[index] = rectangle.height;
+
+                // Expand the extent to include the rectangle.
+                _originX = Math.min(_originX, rectangle.x);
+                _originY = Math.min(_originY, rectangle.y);
+                maxX = Math.max(maxX, rectangle.x + rectangle.width);
+                maxY = Math.max(maxY, rectangle.y + rectangle.height);
+
+                index++;
+
+            }
+
+        }
+
+        // Store grid dimensions.
+        _rectCount = count;
+        _cellSize = cellSize;
+        _columns = Math.max(1, (int)Math.ceil((maxX - _originX) / cellSize));
+        _rows = Math.max(1, (int)Math.ceil((maxY - _originY) / cellSize));
+
+        // First pass:  Count rectangles touching each cell (stored one slot ahead for the prefix sum).
+        _cellStart = new int[_columns * _rows + 1];
+        for ( index = 0; index < count; index++ )
+        {
+            for ( int row = rowOf(_rectY[index]); row <= rowOf(_rectY[index] + _rectHeight[index]); row++ )
+            {
+                for ( int col = columnOf(_rectX[index]); col <= columnOf(_rectX[index] + _rectWidth[index]); col++ )
+                {
+                    _cellStart[row * _columns + col + 1]++;
+                }
+            }
+        }
+
+        // Convert counts to starting offsets.
+        for ( cell = 1; cell < _cellStart.length; cell++ )
+            _cellStart[cell] += _cellStart[cell - 1];
+
+        // Second pass:  Write rectangle indexes into the slots reserved for each cell.
+        _cellItems = new int[_cellStart[_cellStart.length - 1]];
+        cellFill = new int[_columns * _rows];
+        System.arraycopy(_cellStart, 0, cellFill, 0, cellFill.length);
+        for ( index = 0; index < count; index++ )
+        {
+            for ( int row = rowOf(_rectY[index]); row <= rowOf(_rectY[index] + _rectHeight[index]); row++ )
+            {
+                for ( int col = columnOf(_rectX[index]); col <= columnOf(_rectX[index] + _rectWidth[index]); col++ )
+                {
+                    cell = row * _columns + col;
+                    _cellItems[cellFill[cell]++] = index;
+                }
+            }
+        }
+
+    }
+
+    /**
+     *
+     * The function returns the column of the cell containing the passed x-coordinate, clamped to the grid.
+     *
+     * @param x  X-coordinate, in pixels.
+     * @return  Column of the cell containing the x-coordinate.
+     */
+
+    // x = X-coordinate, in pixels.
+    private int columnOf(float x)
+    {
+        // The function returns the column of the cell containing the passed x-coordinate, clamped to the grid.
+        return Math.max(0, Math.min(_columns - 1, (int)Math.floor((x - _originX) / _cellSize)));
+    }
+
+    /**
+     *
+     * The function returns the row of the cell containing the passed y-coordinate, clamped to the grid.
+     *
+     * @param y  Y-coordinate, in pixels.
+     * @return  Row of the cell containing the y-coordinate.
+     */
+
+    // y = Y-coordinate, in pixels.
+    private int rowOf(float y)
+    {
+        // The function returns the row of the cell containing the passed y-coordinate, clamped to the grid.
+        return Math.max(0, Math.min(_rows - 1, (int)Math.floor((y - _originY) / _cellSize)));
+    }
+
+    /**
+     *
+     * The method returns whether the passed hitbox overlaps any rectangle stored in the grid.  Only the
+     * rectangles in the cells touched by the hitbox get tested.  The overlap test matches that of
+     * Rectangle.overlaps() -- edges that merely touch do not count as a collision.
+     *
+     * @param boundingBox  Rectangle that defines the hitbox to test, in pixels.
+     * @return  Whether the hitbox overlaps any rectangle stored in the grid.
+     */
+
+    // boundingBox = Rectangle that defines the hitbox to test, in pixels.
+    public boolean overlaps(Rectangle boundingBox)
+    {
+        // The method returns whether the passed hitbox overlaps any rectangle stored in the grid.
+        return overlaps(boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+    }
+
+    /**
+     *
+     * The method returns whether the passed hitbox overlaps any rectangle stored in the grid.  Only the
+     * rectangles in the cells touched by the hitbox get tested.  The overlap test matches that of
+     * Rectangle.overlaps() -- edges that merely touch do not count as a collision.
+     *
+     * @param x  X-coordinate (lower left corner) of the hitbox, in pixels.
+     * @param y  Y-coordinate (lower left corner) of the hitbox, in pixels.
+     * @param width  Width of the hitbox, in pixels.
+     * @param height  Height of the hitbox, in pixels.
+     * @return  Whether the hitbox overlaps any rectangle stored in the grid.
+     */
+
+    // x = X-coordinate (lower left corner) of the hitbox, in pixels.
+    // y = Y-coordinate (lower left corner) of the hitbox, in pixels.
+    // width = Width of the hitbox, in pixels.
+    // height = Height of the hitbox, in pixels.
+    private boolean overlaps(float x, float y, float width, float height)
+    {
+
+        /*
+        The method returns whether the passed hitbox overlaps any rectangle stored in the grid.  Only the
+        rectangles in the cells touched by the hitbox get tested.  The overlap test matches that of
+        Rectangle.overlaps() -- edges that merely touch do not count as a collision.
+        */
+
+        int index; // Index of current rectangle in loop.
+        int rowStart; // Index of first cell in current row.
+
+        // If grid empty or hitbox lies fully outside of the grid, then exit without collision.
+        if ( _rectCount == 0 ||
+             x + width < _originX ||
+             y + height < _originY ||
+             x > _originX + _columns * _cellSize ||
+             y > _originY + _rows * _cellSize )
+            return false;
+
+        // Loop through the cells touched by the hitbox.
+        for ( int row = rowOf(y); row <= rowOf(y + height); row++ )
+        {
+
+            rowStart = row * _columns;
+
+            for ( int col = columnOf(x); col <= columnOf(x + width); col++ )
+            {
+
+                // Loop through the rectangles in the current cell.
+                for ( int item = _cellStart[rowStart + col]; item < _cellStart[rowStart + col + 1]; item++ )
+                {
+
+                    index = _cellItems[item];
+
+                    // If hitbox and rectangle intersect, then report collision.
+                    if ( x < _rectX[index] + _rectWidth[index] &&
+                         x + width > _rectX[index] &&
+                         y < _rectY[index] + _rectHeight[index] &&
+                         y + height > _rectY[index] )
+                        return true;
+
+                }
+
+            }
+
+        }
+
+        // No collision found.
+        return false;
+
+    }
+
+    /**
+     *
+     * The method moves the passed hitbox by the passed displacement, stopping at the first rectangle hit
+     * and sliding along it.  The hitbox itself does not change -- the allowed displacement gets written
+     * to the passed vector.
+     * <br><br>
+     * The sweep computes the time of impact between the moving hitbox and each rectangle near its path
+     * (swept axis-aligned bounding boxes).  The hitbox advances to the earliest contact, leaving a small
+     * gap, and the part of the move along the contact normal gets dropped.  The rest of the move (along
+     * the wall) gets swept again.  Since the whole path gets tested at once, large displacements (frame
+     * hitches) cannot pass through thin walls and no sub-steps are needed.
+     * <br><br>
+     * When the hitbox already overlaps a rectangle at the start, no time of impact exists.  In that case,
+     * the move gets allowed only if the hitbox would end clear of all rectangles.
+     *
+     * @param boundingBox  Rectangle that defines the hitbox at the start of the move, in pixels.
+     * @param dx  Requested displacement along the x-axis, in pixels.
+     * @param dy  Requested displacement along the y-axis, in pixels.
+     * @param displacement  Vector to which the allowed displacement gets written, in pixels.
+     * @return  Whether the move was blocked (the allowed displacement differs from the requested).
+     */
+
+    // boundingBox = Rectangle that defines the hitbox at the start of the move, in pixels.
+    // dx = Requested displacement along the x-axis, in pixels.
+    // dy = Requested displacement along the y-axis, in pixels.
+    // displacement = Vector to which the allowed displacement gets written, in pixels.
+    public boolean sweep(Rectangle boundingBox, float dx, float dy, Vector2 displacement)
+    {
+
+        /*
+        The method moves the passed hitbox by the passed displacement, stopping at the first rectangle hit
+        and sliding along it.  The hitbox itself does not change -- the allowed displacement gets written
+        to the passed vector.
+
+        The sweep computes the time of impact between the moving hitbox and each rectangle near its path
+        (swept axis-aligned bounding boxes).  The hitbox advances to the earliest contact, leaving a small
+        gap, and the part of the move along the contact normal gets dropped.  The rest of the move (along
+        the wall) gets swept again.  Since the whole path gets tested at once, large displacements (frame
+        hitches) cannot pass through thin walls and no sub-steps are needed.
+
+        When the hitbox already overlaps a rectangle at the start, no time of impact exists.  In that case,
+        the move gets allowed only if the hitbox would end clear of all rectangles.
+        */
+
+        boolean blocked; // Whether the move was blocked by a rectangle.
+        float entry; // Time of impact with current rectangle.
+        float entryX; // Time at which hitbox starts overlapping current rectangle along x-axis.
+        float entryY; // Time at which hitbox starts overlapping current rectangle along y-axis.
+        float exitX; // Time at which hitbox stops overlapping current rectangle along x-axis.
+        float exitY; // Time at which hitbox stops overlapping current rectangle along y-axis.
+        float height; // Height of hitbox.
+        int hitIndex; // Index of first rectangle hit during current sweep.
+        float hitTime; // Time of impact with first rectangle hit during current sweep (0 to 1).
+        boolean hitX; // Whether first rectangle hit during current sweep blocks movement along x-axis.
+        int index; // Index of current rectangle in loop.
+        float moveX; // Displacement remaining along x-axis.
+        float moveY; // Displacement remaining along y-axis.
+        float regionX0; // Left edge of region covered by current sweep.
+        float regionX1; // Right edge of region covered by current sweep.
+        float regionY0; // Bottom edge of region covered by current sweep.
+        float regionY1; // Top edge of region covered by current sweep.
+        int rowStart; // Index of first cell in current row.
+        float width; // Width of hitbox.
+        float x; // X-coordinate of hitbox during sweep.
+        float y; // Y-coordinate of hitbox during sweep.
+
+        // Set defaults.
+        blocked = false;
+        x = boundingBox.x;
+        y = boundingBox.y;
+        width = boundingBox.width;
+        height = boundingBox.height;
+        moveX = dx;
+        moveY = dy;
+
+        // If hitbox already overlaps a rectangle, then...
+        if ( overlaps(x, y, width, height) )
+        {
+
+            // Hitbox already overlaps a rectangle.  No time of impact exists.
+
+            // Allow the move only if the hitbox ends clear of all rectangles.
+            blocked = overlaps(x + dx, y + dy, width, height);
+            displacement.set(blocked ? 0 : dx, blocked ? 0 : dy);
+            return blocked;
+
+        }
+
+        // Loop through sweeps -- the first to the first contact and the rest to slide along walls.
+        for ( int sweep = 0; sweep < MAX_SWEEPS && (moveX != 0 || moveY != 0); sweep++ )
+        {
+
+            // Set defaults for current sweep.
+            hitIndex = -1;
+            hitTime = 1;
+            hitX = false;
+
+            // Determine region covered by the hitbox during the sweep.
+            regionX0 = Math.min(x, x + moveX);
+            regionX1 = Math.max(x, x + moveX) + width;
+            regionY0 = Math.min(y, y + moveY);
+            regionY1 = Math.max(y, y + moveY) + height;
+
+            // If region overlaps the grid, then...
+            if ( _rectCount > 0 &&
+                 regionX1 >= _originX && regionY1 >= _originY &&
+                 regionX0 <= _originX + _columns * _cellSize && regionY0 <= _originY + _rows * _cellSize )
+            {
+
+                // Loop through the cells touched by the region.
+                for ( int row = rowOf(regionY0); row <= rowOf(regionY1); row++ )
+                {
+
+                    rowStart = row * _columns;
+
+                    for ( int col = columnOf(regionX0); col <= columnOf(regionX1); col++ )
+                    {
+
+                        // Loop through the rectangles in the current cell.
+                        for ( int item = _cellStart[rowStart + col]; item < _cellStart[rowStart + col + 1]; item++ )
+                        {
+
+                            index = _cellItems[item];
+
+                            // Determine times at which hitbox enters and leaves rectangle along x-axis.
+                            if ( moveX > 0 )
+                            {
+                                entryX = (_rectX[index] - (x + width)) / moveX;
+                                exitX = (_rectX[index] + _rectWidth[index] - x) / moveX;
+                            }
+                            else if ( moveX < 0 )
+                            {
+                                entryX = (_rectX[index] + _rectWidth[index] - x) / moveX;
+                                exitX = (_rectX[index] - (x + width)) / moveX;
+                            }
+                            else if ( x < _rectX[index] + _rectWidth[index] && x + width > _rectX[index] )
+                            {
+                                // Not moving along x-axis and already overlapping along x-axis.
+                                entryX = Float.NEGATIVE_INFINITY;
+                                exitX = Float.POSITIVE_INFINITY;
+                            }
+                            else
+                                // Not moving along x-axis and never overlapping along x-axis.
+                                continue;
+
+                            // Determine times at which hitbox enters and leaves rectangle along y-axis.
+                            if ( moveY > 0 )
+                            {
+                                entryY = (_rectY[index] - (y + height)) / moveY;
+                                exitY = (_rectY[index] + _rectHeight[index] - y) / moveY;
+                            }
+                            else if ( moveY < 0 )
+                            {
+                                entryY = (_rectY[index] + _rectHeight[index] - y) / moveY;
+                                exitY = (_rectY[index] - (y + height)) / moveY;
+                            }
+                            else if ( y < _rectY[index] + _rectHeight[index] && y + height > _rectY[index] )
+                            {
+                                // Not moving along y-axis and already overlapping along y-axis.
+                                entryY = Float.NEGATIVE_INFINITY;
+                                exitY = Float.POSITIVE_INFINITY;
+                            }
+                            else
+                                // Not moving along y-axis and never overlapping along y-axis.
+                                continue;
+
+                            // Hitbox overlaps rectangle once overlapping along both axes.
+                            entry = Math.max(entryX, entryY);
+
+                            // If hitbox overlaps rectangle (with positive area) earlier than any other
+                            // rectangle found so far, then store as first hit.
+                            if ( entry >= 0 && entry < hitTime && entry < Math.min(exitX, exitY) )
+                            {
+                                hitIndex = index;
+                                hitTime = entry;
+                                hitX = entryX >= entryY;
+                            }
+
+                        }
+
+                    }
+
+                }
+
+            } // End ... If region overlaps the grid.
+
+            // If no rectangle hit, then...
+            if ( hitIndex < 0 )
+            {
+                // No rectangle hit.  Complete the move.
+                x += moveX;
+                y += moveY;
+                break;
+            }
+
+            // Rectangle hit.
+            blocked = true;
+
+            // If rectangle blocks movement along x-axis, then...
+            if ( hitX )
+            {
+
+                // Rectangle blocks movement along x-axis.
+
+                // Move flush against the rectangle (less a small gap) along x-axis, never backwards.
+                if ( moveX > 0 )
+                    x = Math.max(x, Math.min(x + moveX, _rectX[hitIndex] - width - CONTACT_GAP));
+                else
+                    x = Math.min(x, Math.max(x + moveX, _rectX[hitIndex] + _rectWidth[hitIndex] + CONTACT_GAP));
+
+                // Move up to the time of impact along y-axis and keep the rest to slide along the wall.
+                y += moveY * hitTime;
+                moveY *= 1 - hitTime;
+                moveX = 0;
+
+            }
+
+            else
+            {
+
+                // Rectangle blocks movement along y-axis.
+
+                // Move flush against the rectangle (less a small gap) along y-axis, never backwards.
+                if ( moveY > 0 )
+                    y = Math.max(y, Math.min(y + moveY, _rectY[hitIndex] - height - CONTACT_GAP));
+                else
+                    y = Math.min(y, Math.max(y + moveY, _rectY[hitIndex] + _rectHeight[hitIndex] + CONTACT_GAP));
+
+                // Move up to the time of impact along x-axis and keep the rest to slide along the wall.
+                x += moveX * hitTime;
+                moveX *= 1 - hitTime;
+                moveY = 0;
+
+            }
+
+        } // End ... Loop through sweeps.
+
+        // If move not blocked, then...
+        if ( !blocked )
+            // Move not blocked.  Allow the full move (avoids rounding from summing the coordinates).
+            displacement.set(dx, dy);
+
+        // Otherwise, if hitbox ends overlapping a rectangle (rounding at a corner), then...
+        else if ( overlaps(x, y, width, height) )
+            // Hitbox ends overlapping a rectangle.  Stay in place.
+            displacement.set(0, 0);
+
+        else
+            // Hitbox ends clear.  Allow the move up to the contact(s).
+            displacement.set(x - boundingBox.x, y - boundingBox.y);
+
+        // Return whether move blocked.
+        return blocked;
+
+    }
+}
@@ -2,13 +2,10 @@ package bludbourne_ch02;
 
 // LibGDX imports.
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 
 // Java imports.
 import java.util.UUID;
@@ -50,6 +47,14 @@ public class Entity
     * order, backwards, continuously, or in a random order.  The frame duration represents the time between
     * frames -- how long each frame will be displayed, in seconds.  For example, an animation with four frames
     * each having a duration of 0.25 seconds will give a total cycle of one second.
+    * <br><br>
+    * Positional state (current, next, and previous positions, velocity, movement direction, and hitbox) 
+    * lives in an EntityStore, in parallel float arrays shared by all entities placed in the store.  The 
+    * entity holds only its identifier in the store and acts as a view over its slot.  Many entities (NPCs) 
+    * sharing one store can be moved and have their hitboxes updated by the bulk loops in EntityStore.
+    * <br><br>
+    * Animations come from an AnimationSet, shared by all entities using the same sprite sheet, frame size, 
+    * and frame duration.  Only the first entity with a sheet loads and splits it.
     */
     
     /*
@@ -57,22 +62,23 @@ public class Entity
     
     1.  Input occurs related to movement in PlayerController class -- keyDown() event.
     
-    2.  One of the key press functions launches (leftPressed(), rightPressed(), ...).
+    2.  The key press gets queued, with the time, in the input event buffer of the controller.
     
-    3.  Updates Keys.xxx entry in keys hash map to true (based on direction).
+    3.  The next step applies the event, setting the Keys.xxx bit in the keys bitmask (based on direction).
     
-    4.  The render() method of the MainGameScreen class occurs.
+    4.  A simulation step (step() method of the MainGameScreen class) occurs.
     
-        A.  If player hitbox NOT intersecting object in collision map layer -- isCollisionWithMapLayer(), then...  
+        A.  Calls resolveNextPosition() to sweep the player hitbox from the current to the next position,
+            stopping at (and sliding along) objects in the collision map layer.
     
-            I.  Calls setNextPositionToCurrent() to set the current player position to the next.
+            I.  Calls setNextPositionToCurrent() to set the current player position to the resolved next.
     
-        B.  Process cached input (keyboard and mouse) by calling update() function in PlayerController class.
+        B.  Process queued input (keyboard and mouse) by calling update() function in PlayerController class.
             The update() function calls processInput().
     
-            I.   calculateNextPosition()
-                 Determines the next position value by using the current velocity and the time span between 
-                 the current and last frame, and the direction.  No actual collision detection occurs.
+            I.   calculateNextPosition() and continueNextPosition()
+                 Determine the next position value by using the current velocity, the direction, and the time 
+                 each direction was held during the step.  No actual collision detection occurs.
     
             II.  Calls setState() to set the player state to walking (vs idle).
     
@@ -91,26 +97,35 @@ public class Entity
     calculateNextPosition:  The function determines the next position value by using the direction, current 
         velocity, and the time span between the current and last frame.  No actual 
         collision detection occurs.
+    continueNextPosition:  The function moves the next position further in the passed direction, from where it
+        already is.  Supports direction changes partway through a step.
     dispose:  The function clears resources associated with the entity from memory.
+    getBoundingBox:  The function returns the bounding box (hitbox) of the entity.
     getCurrentPosition:  The function returns the current x and y position of the entity (in a vector).
+    getId:  The function returns the identifier of the entity in its store.
     getFrame:  The function returns a reference to the frame of the animation sequence to display for the entity.
     getFrameSprite:  The function returns a reference to the Sprite for the entity, used only for positional 
         details.
+    getInterpolatedPosition:  The function stores the position of the entity blended between the previous and
+        current simulation steps.
+    getStore:  The function returns the store holding the positional state of the entity.
     init:  The function initializes map position properties (location) for the entity.
     initEntity:  The function performs initialization related to the entity.
-    loadAllAnimations:  The function gets called only when first instantiating the entity object and stores 
-        the movement-related animations.
-    loadDefaultSprite:  The function populates the texture-related objects, initializes the positional sprite, 
-        and sets the current animation frame to the first.
+    loadDefaultSprite:  The function initializes the positional sprite and sets the current animation frame 
+        to the first.
+    resolveNextPosition:  The function sweeps the hitbox from the current to the next position, stopping at
+        (and sliding along) objects in the collision layer, and moves the entity to the resolved position.
     setBoundingBoxSize:  The function reduces the hitbox size by the passed percentages for width and height.
     setCurrentPosition:  The function sets the current x and y position of the entity in the vector, 
         _currentPlayerPosition, and the sprite, _frameSprite, used only for positional details.
     setDirection:  The function updates the variable, _currentFrame, with the frame of the animation sequence
         to display for the entity, based on the direction and time span between the current and last frame.
     setNextPositionToCurrent:  The function sets the current position to the next.
-    setState:  The function returns the current entity status (whether moving).
-    update:  The update() method will be called on any game object entity before rendering.  The method adjusts
-        the _frameTime to the range of 0 to <5 and reduces the height of the player hitbox to half.
+    setMoveDirection:  The function sets the movement direction of the entity in the store.
+    setState:  The function sets the current entity status (whether moving).
+    update:  The update() method will be called on any game object entity once per simulation step.  The method
+        remembers the position from before the step, adjusts the _frameTime to the range of 0 to <5, and
+        reduces the height of the player hitbox to half.
     */
     
     // Declare constants.
@@ -120,8 +135,8 @@ public class Entity
     /** Class name. */
     private static final String TAG = Entity.class.getSimpleName();
     
-    /** Default image to load for entity. */
-    private static final String DEFAULT_SPRITE_PATH = "assets/sprites/characters/Warrior.png";
+    /** Default image to load for entity.  Preloaded by the loading screen (see BludBourneGame). */
+    static final String DEFAULT_SPRITE_PATH = "assets/sprites/characters/Warrior.png";
     
     /** Width, in pixels, of animation frame, sprite, and hitbox. */
     public final int FRAME_WIDTH = 16;
@@ -129,6 +144,9 @@ public class Entity
     /** Height, in pixels, of animation frame, sprite, and hitbox. */
     public final int FRAME_HEIGHT = 16;
     
+    /** Time, in seconds, each animation frame displays. */
+    private static final float FRAME_DURATION = 0.25f;
+    
     // Declare enumerations.
     
     /** Current entity status (whether moving). */
@@ -149,6 +167,10 @@ public class Entity
      * Unique identifier (GUID) associated with entity. */
     private String _entityID;
     
+    /** {@link Id} 
+     * Identifier of the entity (slot index) in _store. */
+    private int _id;
+    
     /** {@link FrameTime}
      * Accumulation of the deltas between frame updates.  Times animations.  Ranges from 0 to &lt;5. */
     protected float _frameTime; // Ranges from 0 to <5.
@@ -156,8 +178,8 @@ public class Entity
     // Declare object variables.
     
     /** {@link BoundingBox}
-     * Bounding box (hitbox) for entity. */
-    public Rectangle boundingBox;
+     * Bounding box (hitbox) for entity, copied from the store by getBoundingBox().  Reused each call. */
+    private Rectangle _boundingBox;
     
     /** {@link CurrentFrame}
      * Frame of the animation sequence to display for the entity. */
@@ -171,10 +193,6 @@ public class Entity
      * Current status of entity (whether moving). */
     protected State _state;
     
-    /** {@link Velocity}
-     * Speed of entity (pixels) per second. */
-    private Vector2 _velocity;
-    
     /**  {@link CurrentDirection}
      * Current direction of movement for the entity. */
     private Direction _currentDirection;
@@ -184,44 +202,25 @@ public class Entity
     private Direction _previousDirection;
 
     /** {@link CurrentPlayerPosition} 
-     * Current x and y position of the entity. */
-    protected Vector2 _currentPlayerPosition;
-    
-    /** {@link NextPlayerPosition} 
-     * Next x and y position of the entity.  Helps prevent collisions. */
-    protected Vector2 _nextPlayerPosition;
+     * Current x and y position of the entity, copied from the store by getCurrentPosition().  Reused each 
+     * call. */
+    private Vector2 _currentPlayerPosition;
     
-    // Animations of the entity follow.
+    /** {@link Store} 
+     * Store holding the positional state (positions, velocity, hitbox) of the entity. */
+    private final EntityStore _store;
     
-    /** Animations for entity moving left. */
-    private Animation _walkLeftAnimation;
+    /** {@link SweepDisplacement} 
+     * Allowed displacement of the hitbox (pixels) when resolving the next position.  Reused each frame. */
+    private Vector2 _sweepDisplacement;
     
-    /** Animations for entity moving right. */
-    private Animation _walkRightAnimation; // Animations for entity moving right.
+    /** {@link SweepStart} 
+     * Hitbox at the current position (pixels) when resolving the next position.  Reused each frame. */
+    private Rectangle _sweepStart;
     
-    /** Animations for entity moving up. */
-    private Animation _walkUpAnimation;
-    
-    /** Animations for entity moving down. */
-    private Animation _walkDownAnimation;
-
-    // TextureRegion objects associated with animations for the entity follow.
-    
-    /** Array of TextureRegion objects representing the individual keyframes for the entity moving left 
-     * animation. */
-    private Array<TextureRegion> _walkLeftFrames;
-    
-    /** Array of TextureRegion objects representing the individual keyframes for the entity moving right 
-     * animation. */
-    private Array<TextureRegion> _walkRightFrames;
-    
-    /** Array of TextureRegion objects representing the individual keyframes for the entity moving up 
-     * animation. */
-    private Array<TextureRegion> _walkUpFrames;
-    
-    /** Array of TextureRegion objects representing the individual keyframes for the entity moving down 
-     * animation. */
-    private Array<TextureRegion> _walkDownFrames;
+    /** {@link Animations} 
+     * Walking animations of the entity, shared with other entities using the same sprite sheet. */
+    private AnimationSet _animations;
 
     /**
      * The constructor calls a function that performs initialization related to the entity, including:
@@ -230,26 +229,57 @@ public class Entity
      * <br>2.  Initializes bounding box (hitbox).
      * <br>3.  Generates GUID.
      * <br>4.  Initializes vectors for current and next entity positions.
-     * <br>5.  Loads the default image file into the asset manager as a Texture asset, blocking until finished.
-     * <br>6.  Populates the texture-related objects, initializes the positional sprite, and sets the current 
-     * <br>    animation frame to the first.
-     * <br>7.  Stores the movement-related animations for the entity.
+     * <br>5.  Gets the shared movement-related animations for the default image, loading the image into the 
+     * <br>    asset manager (blocking until finished) for the first entity only.
+     * <br>6.  Initializes the positional sprite and sets the current animation frame to the first.
+     * <br><br>
+     * The entity gets a store of its own.  Use the other constructor to share a store among many entities.
      */
     public Entity()
+    {
+        
+        // The constructor gives the entity a store of its own and performs initialization.
+        this(new EntityStore(1));
+        
+    }
+    
+    /**
+     * The constructor reserves a slot for the entity in the passed store and calls a function that performs 
+     * initialization related to the entity, including:
+     * <br>
+     * <br>1.  Sets default values.
+     * <br>2.  Initializes bounding box (hitbox).
+     * <br>3.  Generates GUID.
+     * <br>4.  Initializes vectors for current and next entity positions.
+     * <br>5.  Gets the shared movement-related animations for the default image, loading the image into the 
+     * <br>    asset manager (blocking until finished) for the first entity only.
+     * <br>6.  Initializes the positional sprite and sets the current animation frame to the first.
+     * 
+     * @param store  Store in which to keep the positional state of the entity.
+     */
+    
+    // store = Store in which to keep the positional state of the entity.
+    public Entity(EntityStore store)
     {
         
         /* 
-        The constructor calls a function that performs initialization related to the entity, including:
+        The constructor reserves a slot for the entity in the passed store and calls a function that performs 
+        initialization related to the entity, including:
         
         1.  Sets default values.
         2.  Initializes bounding box (hitbox).
         3.  Generates GUID.
         4.  Initializes vectors for current and next entity positions.
-        5.  Loads the default image file into the asset manager as a Texture asset, blocking until finished.
-        6.  Populates the texture-related objects, initializes the positional sprite, and sets the current 
-            animation frame to the first.
-        7.  Stores the movement-related animations for the entity.
+        5.  Gets the shared movement-related animations for the default image, loading the image into the 
+            asset manager (blocking until finished) for the first entity only.
+        6.  Initializes the positional sprite and sets the current animation frame to the first.
         */
+        
+        // Store reference to store and reserve a slot for the entity.
+        _store = store;
+        _id = _store.create();
+        
+        // Perform initialization.
         initEntity();
         
     }
@@ -266,8 +296,50 @@ public class Entity
     // state = Status to which to set entity (whether moving).
     public void setState(State state)
     {
-        // The function returns the current entity status (whether moving).
+        
+        // The function sets the current entity status (whether moving).
         this._state = state;
+        
+        // If idle, then stop the entity from moving during bulk updates in the store.
+        if ( state == State.IDLE )
+            _store.setMove(_id, 0f, 0f);
+        
+    }
+    
+    /**
+     * 
+     * The function returns the bounding box (hitbox) of the entity, in pixels.  The rectangle gets copied 
+     * from the store and reused by each call.
+     * 
+     * @return  Bounding box (hitbox) of the entity, in pixels.
+     */
+    public Rectangle getBoundingBox()
+    {
+        
+        // The function returns the bounding box (hitbox) of the entity, in pixels.
+        return _boundingBox.set(_store.getBoxX(_id), _store.getBoxY(_id), _store.getBoxWidth(_id), 
+          _store.getBoxHeight(_id));
+        
+    }
+    
+    /**
+     * 
+     * @return  Identifier of the entity in its store.
+     */
+    public int getId()
+    {
+        // The function returns the identifier of the entity in its store.
+        return _id;
+    }
+    
+    /**
+     * 
+     * @return  Store holding the positional state of the entity.
+     */
+    public EntityStore getStore()
+    {
+        // The function returns the store holding the positional state of the entity.
+        return _store;
     }
 
     /**
@@ -296,40 +368,72 @@ public class Entity
 
     /**
      * 
-     * The function returns the current x and y position of the entity (in a vector).
+     * The function returns the current x and y position of the entity (in a vector).  The vector gets
+     * copied from the store and reused by each call.
      * 
      * @return  Vector containing the current x and y position of the entity.
      */
     public Vector2 getCurrentPosition()
     {
         // The function returns the current x and y position of the entity (in a vector).
-        return _currentPlayerPosition;
+        return _currentPlayerPosition.set(_store.getX(_id), _store.getY(_id));
     }
 
     /**
      * 
-     * The function sets the current x and y position of the entity in the vector, _currentPlayerPosition,
-     * and the sprite, _frameSprite, used only for positional details.
+     * The function sets the current x and y position of the entity in the store and the sprite, 
+     * _frameSprite, used only for positional details.
      * 
-     * @param currentPositionX  X coordinate in _currentPlayerPosition and _frameSprite to set, for position.
-     * @param currentPositionY  Y coordinate in _currentPlayerPosition and _frameSprite to set, for position.
+     * @param currentPositionX  X coordinate in the store and _frameSprite to set, for position.
+     * @param currentPositionY  Y coordinate in the store and _frameSprite to set, for position.
      */
     
-    // currentPositionX = X coordinate in _currentPlayerPosition and _frameSprite to set, for position.
-    // currentPositionY = Y coordinate in _currentPlayerPosition and _frameSprite to set, for position.
+    // currentPositionX = X coordinate in the store and _frameSprite to set, for position.
+    // currentPositionY = Y coordinate in the store and _frameSprite to set, for position.
     public void setCurrentPosition(float currentPositionX, float currentPositionY)
     {
         
-        // The function sets the current x and y position of the entity in the vector, _currentPlayerPosition,
-        // and the sprite, _frameSprite, used only for positional details.
+        // The function sets the current x and y position of the entity in the store and the sprite, 
+        // _frameSprite, used only for positional details.
         
         // Set the x and y positions in the sprite for the entity, used only for positional details.
         _frameSprite.setX(currentPositionX);
         _frameSprite.setY(currentPositionY);
         
-        // Set the x and y positions of the entity in the vector.
-        this._currentPlayerPosition.x = currentPositionX;
-        this._currentPlayerPosition.y = currentPositionY;
+        // Set the x and y positions of the entity in the store.
+        _store.setPosition(_id, currentPositionX, currentPositionY);
+        
+    }
+    
+    /**
+     * 
+     * The function stores the position of the entity blended between the previous and current simulation
+     * steps in the passed vector.  Drawing at the blended position keeps movement smooth when the frame 
+     * rate differs from the step rate.
+     * 
+     * @param alpha  Fraction (0 to 1) of the way from the previous to the current position.
+     * @param position  Vector in which to store the blended position.
+     * @return  Passed vector, containing the blended position.
+     */
+    
+    // alpha = Fraction (0 to 1) of the way from the previous to the current position.
+    // position = Vector in which to store the blended position.
+    public Vector2 getInterpolatedPosition(float alpha, Vector2 position)
+    {
+        
+        // The function stores the position of the entity blended between the previous and current 
+        // simulation steps in the passed vector.
+        
+        float previousX; // X position of the entity before the last simulation step.
+        float previousY; // Y position of the entity before the last simulation step.
+        
+        // Get the position before the last simulation step.
+        previousX = _store.getPreviousX(_id);
+        previousY = _store.getPreviousY(_id);
+        
+        // Blend from the previous to the current position.
+        return position.set(previousX + (_store.getX(_id) - previousX) * alpha, 
+          previousY + (_store.getY(_id) - previousY) * alpha);
         
     }
     
@@ -342,10 +446,9 @@ public class Entity
      * <br>2.  Initializes bounding box (hitbox).
      * <br>3.  Generates GUID.
      * <br>4.  Initializes vectors for current and next entity positions.
-     * <br>5.  Loads the default image file into the asset manager as a Texture asset, blocking until finished.
-     * <br>6.  Populates the texture-related objects, initializes the positional sprite, and sets the current 
-     * <br>    animation frame to the first.
-     * <br>7.  Stores the movement-related animations for the entity.
+     * <br>5.  Gets the shared movement-related animations for the default image, loading the image into the 
+     * <br>    asset manager (blocking until finished) for the first entity only.
+     * <br>6.  Initializes the positional sprite and sets the current animation frame to the first.
      */
     public final void initEntity()
     {
@@ -357,10 +460,9 @@ public class Entity
         2.  Initializes bounding box (hitbox).
         3.  Generates GUID.
         4.  Initializes vectors for current and next entity positions.
-        5.  Loads the default image file into the asset manager as a Texture asset, blocking until finished.
-        6.  Populates the texture-related objects, initializes the positional sprite, and sets the current 
-            animation frame to the first.
-        7.  Stores the movement-related animations for the entity.
+        5.  Gets the shared movement-related animations for the default image, loading the image into the 
+            asset manager (blocking until finished) for the first entity only.
+        6.  Initializes the positional sprite and sets the current animation frame to the first.
         */
         
         // Set defaults.
@@ -370,48 +472,48 @@ public class Entity
         _state = State.IDLE;
         _currentDirection = Direction.LEFT;
         _previousDirection = Direction.UP;
-        this._velocity = new Vector2(2f, 2f);
+        _store.setVelocity(_id, EntityStore.DEFAULT_VELOCITY, EntityStore.DEFAULT_VELOCITY);
         
         // Initialize bounding box (hitbox) for entity.
-        boundingBox = new Rectangle();
+        _boundingBox = new Rectangle();
         
         // Generate GUID for entity.
         this._entityID = UUID.randomUUID().toString();
         
-        // Initialize vectors for current and next entity positions.
+        // Initialize vector returned for the current entity position.
+        // Current, next, and previous positions live in the store.
         this._currentPlayerPosition = new Vector2();
-        this._nextPlayerPosition = new Vector2();
         
-        // Load the default image file into the asset manager as a Texture asset, blocking until finished.
-        // No impact for second and later entities.
-        Utility.loadTextureAsset(DEFAULT_SPRITE_PATH);
+        // Initialize objects used when resolving the next position.
+        this._sweepDisplacement = new Vector2();
+        this._sweepStart = new Rectangle();
         
-        // Populate the texture-related objects, initialize the positional sprite, and set the current 
-        // animation frame to the first.
-        loadDefaultSprite();
+        // Get the shared movement-related animations for the default image.  Loads the image into the asset 
+        // manager (blocking until finished) and splits it for the first entity only.
+        _animations = AnimationSet.acquire(DEFAULT_SPRITE_PATH, FRAME_WIDTH, FRAME_HEIGHT, FRAME_DURATION);
         
-        // Store the movement-related animations for the entity.
-        loadAllAnimations();
+        // Initialize the positional sprite and set the current animation frame to the first.
+        loadDefaultSprite();
         
     }
 
     /**
      * 
-     * The update() method will be called on any game object entity before rendering.
-     * The method adjusts the _frameTime to the range of 0 to &lt;5 and reduces the height
-     * of the player hitbox to half.
+     * The update() method will be called on any game object entity once per simulation step.
+     * The method remembers the position from before the step (for interpolation), adjusts the 
+     * _frameTime to the range of 0 to &lt;5, and reduces the height of the player hitbox to half.
      * 
-     * @param delta  Time span between the current and last frame in seconds.
+     * @param delta  Duration of the simulation step in seconds.
      */
     
-    // delta = Time span between the current and last frame in seconds.
+    // delta = Duration of the simulation step in seconds.
     public void update(float delta)
     {
         
         /*
-        The update() method will be called on any game object entity before rendering.
-        The method adjusts the _frameTime to the range of 0 to <5 and reduces the height
-        of the player hitbox to half.
+        The update() method will be called on any game object entity once per simulation step.
+        The method remembers the position from before the step (for interpolation), adjusts the 
+        _frameTime to the range of 0 to <5, and reduces the height of the player hitbox to half.
         
         From MLGD:
         One of the states we need to maintain for smooth animation cycles is frameTime,
@@ -423,6 +525,9 @@ public class Entity
         to five, essentially resetting the value every five seconds.
         */
         
+        // Remember the position from before the step, so drawing can blend toward the new one.
+        _store.storePreviousPosition(_id);
+        
         // The use of the modulus operator keeps the _frameTime in the range of 0 to <5.
         _frameTime = (_frameTime + delta) % 5; // Want to avoid overflow
 
@@ -444,7 +549,7 @@ public class Entity
      * The function initializes map position properties (location) for the entity.
      * <br>
      * <br>The function set the current position (in terms of tiles), using the passed in x and y values.
-     * <br>The function sets the current and next positions to equal values.
+     * <br>The function sets the previous, current, and next positions to equal values.
      * 
      * @param startX  Starting x position (in terms of tiles) of entity.
      * @param startY  Starting y position (in terms of tiles) of entity.
@@ -459,21 +564,77 @@ public class Entity
         The function initializes map position properties (location) for the entity.
         
         The function set the current position (in terms of tiles), using the passed in x and y values.
-        The function sets the current and next positions to equal values.
+        The function sets the previous, current, and next positions to equal values.
         */
         
-        // Set the current position (in terms of tiles) using the passed in x and y values.
-        this._currentPlayerPosition.x = startX;
-        this._currentPlayerPosition.y = startY;
-
-        // Set the next position (in terms of tiles) using the passed in x and y values.
-        this._nextPlayerPosition.x = startX;
-        this._nextPlayerPosition.y = startY;
+        // Set the current, next, and previous positions (in terms of tiles) using the passed in x and y 
+        // values.  Setting the previous position keeps drawing from blending from the old location.
+        _store.setAllPositions(_id, startX, startY);
 
         //Gdx.app.debug(TAG, "Calling INIT" );
         
     }
 
+    /**
+     * 
+     * The function sweeps the hitbox from the current to the next position, stopping at (and sliding 
+     * along) objects in the collision layer, and moves the entity to the resolved position.
+     * <br><br>
+     * The hitbox, set by update(), sits at the next position.  The sweep starts from the same hitbox 
+     * placed at the current position and covers the whole path, so a long move during a slow frame
+     * stops at the first wall rather than passing through it or getting thrown away.  When blocked, the
+     * next position and hitbox get adjusted to the point of contact (plus any slide along the wall).
+     * 
+     * @param mapManager  Map manager providing the collision layer of the current map.
+     */
+    
+    // mapManager = Map manager providing the collision layer of the current map.
+    public void resolveNextPosition(MapManager mapManager)
+    {
+        
+        /*
+        The function sweeps the hitbox from the current to the next position, stopping at (and sliding 
+        along) objects in the collision layer, and moves the entity to the resolved position.
+        
+        The hitbox, set by update(), sits at the next position.  The sweep starts from the same hitbox 
+        placed at the current position and covers the whole path, so a long move during a slow frame
+        stops at the first wall rather than passing through it or getting thrown away.  When blocked, the
+        next position and hitbox get adjusted to the point of contact (plus any slide along the wall).
+        */
+        
+        float boxX; // X-coordinate of the hitbox at the next position, in pixels.
+        float boxY; // Y-coordinate of the hitbox at the next position, in pixels.
+        
+        // Get the hitbox position at the next position.
+        boxX = _store.getBoxX(_id);
+        boxY = _store.getBoxY(_id);
+        
+        // Place a copy of the hitbox at the current position (pixels).
+        _sweepStart.set(_store.getX(_id) / MapManager.UNIT_SCALE, _store.getY(_id) / MapManager.UNIT_SCALE, 
+          _store.getBoxWidth(_id), _store.getBoxHeight(_id));
+        
+        // If move from current to next position blocked by collision layer, then...
+        if ( mapManager.sweepCollisionWithMapLayer(_sweepStart, boxX - _sweepStart.x, boxY - _sweepStart.y, 
+          _sweepDisplacement) )
+        {
+            
+            // Move blocked.
+            
+            // Move hitbox to the resolved position.
+            boxX = _sweepStart.x + _sweepDisplacement.x;
+            boxY = _sweepStart.y + _sweepDisplacement.y;
+            _store.setBox(_id, boxX, boxY, _sweepStart.width, _sweepStart.height);
+            
+            // Convert resolved position from pixels to tiles.
+            _store.setNextPosition(_id, boxX * MapManager.UNIT_SCALE, boxY * MapManager.UNIT_SCALE);
+            
+        }
+        
+        // Set the current position to the (resolved) next.
+        setNextPositionToCurrent();
+        
+    }
+    
     /**
      * 
      * The method reduces the hitbox size by the passed percentages for the width and height.
@@ -554,8 +715,9 @@ public class Entity
         {
             // Width and, or height of hitbox equal to zero.
             
-            // Display warning.
-            Gdx.app.debug(TAG, "Width and Height are 0!! " + width + ":" + height);
+            // Display warning.  Runs each step, so skip building the text unless logging debug messages.
+            if ( Utility.isDebugLogging() )
+                Gdx.app.debug(TAG, "Width and Height are 0!! " + width + ":" + height);
         }
 
         // Need to account for the unit scale, since the map coordinates will be in pixels.
@@ -567,8 +729,8 @@ public class Entity
             // Scale exists.
             
             // Set x and y coordinates of hitbox, adjusting for unit scale.
-            minX = _nextPlayerPosition.x / MapManager.UNIT_SCALE;
-            minY = _nextPlayerPosition.y / MapManager.UNIT_SCALE;
+            minX = _store.getNextX(_id) / MapManager.UNIT_SCALE;
+            minY = _store.getNextY(_id) / MapManager.UNIT_SCALE;
             
         }
         
@@ -578,143 +740,31 @@ public class Entity
             // No scale exists.
             
             // Set x and y coordinates of hitbox.
-            minX = _nextPlayerPosition.x;
-            minY = _nextPlayerPosition.y;
+            minX = _store.getNextX(_id);
+            minY = _store.getNextY(_id);
             
         }
 
         // Set values for hitbox.
-        boundingBox.set(minX, minY, width, height);
+        _store.setBox(_id, minX, minY, width, height);
         
         //Gdx.app.debug(TAG, "SETTING Bounding Box: (" + minX + "," + minY + ")  width: " + width + " height: " + height);
         
     }
 
     /**
-     * The function populates the texture-related objects, initializes the positional sprite, and
-     * sets the current animation frame to the first.
+     * The function initializes the positional sprite and sets the current animation frame to the first.
      */
     private void loadDefaultSprite()
     {
         
-        // The function populates the texture-related objects, initializes the positional sprite, and
-        // sets the current animation frame to the first.
-        
-        Texture texture; // Texture object for the default sprite.
-        TextureRegion[][] textureFrames; // Array of TextureRegion objects containing animation frames.
-        
-        // Get and store the Texture object for the default sprite from the asset manager.
-        texture = Utility.getTextureAsset(DEFAULT_SPRITE_PATH);
-        
-        // Split the Texture to produce an array of TextureRegion objects of size FRAME_WIDTH x FRAME_HEIGHT.
-        textureFrames = TextureRegion.split(texture, FRAME_WIDTH, FRAME_HEIGHT);
+        // The function initializes the positional sprite and sets the current animation frame to the first.
         
         // Initialize the positional sprite object.
-        _frameSprite = new Sprite(textureFrames[0][0].getTexture(), 0, 0, FRAME_WIDTH, FRAME_HEIGHT);
+        _frameSprite = new Sprite(_animations.getFirstFrame());
         
         // Set the current animation frame to the first.
-        _currentFrame = textureFrames[0][0];
-        
-    }
-
-    /**
-     * The method gets called only when first instantiating the entity object and stores the movement-related
-     * animations.
-     * <br>
-     * <br>
-     * The split() static method in the TextureRegion class allows for using the individual sprites,
-     * by passing in the Texture and width and height dimensions for each sprite.  The method returns
-     * an array of TextureRegion objects representing the individual keyframes for the animation.
-     * The TextureRegion arrays allow for the creation of Animation objects.  For example, a
-     * TextureRegion with sixteen frames, four for each direction of player movement, can be broken
-     * into the four corresponding animations.
-     */
-    private void loadAllAnimations()
-    {
-        
-        /*
-        The loadAllAnimations() method gets called only when first instantiating the entity object
-        and stores the movement-related animations.
-        
-        The split() static method in the TextureRegion class allows for using the individual sprites,
-        by passing in the Texture and width and height dimensions for each sprite.  The method returns
-        an array of TextureRegion objects representing the individual keyframes for the animation.
-        The TextureRegion arrays allow for the creation of Animation objects.  For example, a
-        TextureRegion with sixteen frames, four for each direction of player movement, can be broken
-        into the four corresponding animations.
-        */
-        
-        TextureRegion region; // Current texture frame in loop (ex. one frame of character walking up).
-        Texture texture; // Texture from the asset manager with the walking player character (warrior).
-        TextureRegion[][] textureFrames; // Two-dimensional array of texture regions for the walking
-          // player character.
-        
-        // Walking animations...
-        
-        // Get the texture from the asset manager with the walking player character (warrior).
-        texture = Utility.getTextureAsset(DEFAULT_SPRITE_PATH);
-        
-        // Split the texture region into frames (a two-dimensional array of texture regions).
-        textureFrames = TextureRegion.split(texture, FRAME_WIDTH, FRAME_HEIGHT);
-
-        // Initialize the texture region arrays for each of the walking directions.
-        
-        /*
-        _walkDownFrames = new Array<TextureRegion>(4);
-        _walkLeftFrames = new Array<TextureRegion>(4);
-        _walkRightFrames = new Array<TextureRegion>(4);
-        _walkUpFrames = new Array<TextureRegion>(4);
-        */
-        _walkDownFrames = new Array<>(4);
-        _walkLeftFrames = new Array<>(4);
-        _walkRightFrames = new Array<>(4);
-        _walkUpFrames = new Array<>(4);
-
-        // Loop through rows in texture. > Direction of movement.
-        for (int i = 0; i < 4; i++) 
-        {
-            // Loop through columns in texture. > Frame (1 to n) of a movement (e.g. first frame moving left).
-            for (int j = 0; j < 4; j++) 
-            {
-                
-                // Get current texture frame.
-                region = textureFrames[i][j];
-                //Gdx.app.debug(TAG, "Got frame " + i + "," + j + " from " + sourceImage);
-                
-                // If no region data retrieved, then...
-                if( region == null )
-                {
-                    // No region data retrieved.
-                    
-                    // Display warning.
-                    Gdx.app.debug(TAG, "Got null animation frame " + i + "," + j);
-                }
-                
-                // Depending on direction, ...
-                switch(i)
-                    {
-                    case 0: // Walking down.
-                        _walkDownFrames.insert(j, region);
-                        break;
-                    case 1: // Walking left.
-                        _walkLeftFrames.insert(j, region);
-                        break;
-                    case 2: // Walking right.
-                        _walkRightFrames.insert(j, region);
-                        break;
-                    case 3: // Walking up.
-                        _walkUpFrames.insert(j, region);
-                        break;
-                    }
-            } // End ... Loop through columns in texture. > Frame (1 to n) of a movement (e.g. first frame moving left).
-            
-        } // Loop through rows in texture. > Direction of movement.
-
-        // Store animations.
-        _walkDownAnimation = new Animation(0.25f, _walkDownFrames, Animation.PlayMode.LOOP);
-        _walkLeftAnimation = new Animation(0.25f, _walkLeftFrames, Animation.PlayMode.LOOP);
-        _walkRightAnimation = new Animation(0.25f, _walkRightFrames, Animation.PlayMode.LOOP);
-        _walkUpAnimation = new Animation(0.25f, _walkUpFrames, Animation.PlayMode.LOOP);
+        _currentFrame = _animations.getFirstFrame();
         
     }
 
@@ -727,8 +777,13 @@ public class Entity
         // The function clears resources associated with the entity from memory, including unloading from
         // the asset manager.
         
-        // Unload default texture from asset manager.
-        Utility.unloadAsset(DEFAULT_SPRITE_PATH);
+        // Release the shared animations.  Unloads the default texture from the asset manager after the last 
+        // entity using it.
+        _animations.release();
+        _animations = null;
+        
+        // Return the slot of the entity in the store for reuse.
+        _store.release(_id);
     }
 
     /**
@@ -769,25 +824,7 @@ public class Entity
         // Look into the appropriate variable when changing position.
         // Get the appropriate frame from the animation sequence.
         
-        // Depending on the current entity direction, ...
-        switch (_currentDirection) 
-            {
-            case DOWN : // When moving down...
-                _currentFrame = _walkDownAnimation.getKeyFrame(_frameTime);
-                break;
-            case LEFT : // When moving left...
-                _currentFrame = _walkLeftAnimation.getKeyFrame(_frameTime);
-                break;
-            case UP : // When moving up...
-                _currentFrame = _walkUpAnimation.getKeyFrame(_frameTime);
-                break;
-            case RIGHT : // When moving right...
-                _currentFrame = _walkRightAnimation.getKeyFrame(_frameTime);
-                break;
-            default: // Invalid entity direction detected.
-                System.out.println("Warning:  Unknown entity direction.");
-                break;
-            }
+        _currentFrame = _animations.getWalkAnimation(_currentDirection).getKeyFrame(_frameTime);
         
     }
 
@@ -799,9 +836,7 @@ public class Entity
         // The function sets the current position to the next.
         
         // Set the current position to the next.
-        setCurrentPosition(_nextPlayerPosition.x, _nextPlayerPosition.y);
-        
-        //Gdx.app.debug(TAG, "Setting nextPosition as Current: (" + _nextPlayerPosition.x + "," + _nextPlayerPosition.y + ")");
+        setCurrentPosition(_store.getNextX(_id), _store.getNextY(_id));
     }
 
     /**
@@ -813,8 +848,8 @@ public class Entity
      * method represents one technique to deal with collisions between two
      * moving objects in the game world.   The function “looks ahead” and predicts the next 
      * position value by using our current velocity and the time to render the last frame.   
-     * Multiplying the current velocity vector, _velocity, and deltaTime scalar quantity using 
-     * the scl() method produces the travel distance (displacement).  An addition or subtraction
+     * Multiplying the current velocity (kept in the store) and deltaTime scalar quantity 
+     * produces the travel distance (displacement).  An addition or subtraction
      * of the distance to the next position based upon the current direction occurs.  If the new 
      * position collides with an object, then the current position adjusts to prevent the issue.
      * Otherwise, the values becomes the current position.
@@ -840,57 +875,87 @@ public class Entity
         method represents one technique to deal with collisions between two
         moving objects in the game world.   The function “looks ahead” and predicts the next 
         position value by using our current velocity and the time to render the last frame.   
-        Multiplying the current velocity vector, _velocity, and deltaTime scalar quantity using 
-        the scl() method produces the travel distance (displacement).  An addition or subtraction
+        Multiplying the current velocity (kept in the store) and deltaTime scalar quantity 
+        produces the travel distance (displacement).  An addition or subtraction
         of the distance to the next position based upon the current direction occurs.  If the new 
         position collides with an object, then the current position adjusts to prevent the issue.
         Otherwise, the values becomes the current position.
-        
-        scl = scalar (multiple for vector)
         */
         
-        float testX; // Next x position of entity.  Assists with calculating next location.
-        float testY; // Next y position of entity.  Assists with calculating next location.
-        
-        testX = _currentPlayerPosition.x; // Current x position of entity.
-        testY = _currentPlayerPosition.y; // Current y position of entity.
-
-        //Gdx.app.debug(TAG, "calculateNextPosition:: Current Position: (" + _currentPlayerPosition.x + "," + _currentPlayerPosition.y + ")"  );
         //Gdx.app.debug(TAG, "calculateNextPosition:: Current Direction: " + _currentDirection  );
 
-        // Multiply the velocity vector by the time delta.
-        // aka ... Multiple the current speed of the entity by the number of seconds passed to calculate
+        // Set the movement direction in the store.
+        setMoveDirection(currentDirection);
+
+        // Set the next position of the entity to the current position plus the velocity multiplied by the 
+        // time delta in the movement direction.
+        // aka ... Multiply the current speed of the entity by the number of seconds passed to calculate
         //         distance moved.
-        _velocity.scl(deltaTime);
+        _store.integrate(_id, deltaTime);
+        
+    }
 
-        // Depending on current entity direction...
+    /**
+     * 
+     * The function moves the next position further in the passed direction, from where it already is, for 
+     * the passed time span.  Pairs with calculateNextPosition(), which starts the next position from the 
+     * current.  Lets input that changes direction partway through a step move the entity along each 
+     * direction for the time held.  No actual collision detection occurs.
+     * 
+     * @param currentDirection  Direction of movement for the time span.
+     * @param deltaTime  Time span in seconds.
+     */
+    
+    // currentDirection = Direction of movement for the time span.
+    // deltaTime = Time span in seconds.
+    public void continueNextPosition(Direction currentDirection, float deltaTime)
+    {
+        
+        // The function moves the next position further in the passed direction, from where it already is, 
+        // for the passed time span.  No actual collision detection occurs.
+        
+        // Set the movement direction in the store.
+        setMoveDirection(currentDirection);
+        
+        // Add the velocity multiplied by the time delta in the movement direction to the next position.
+        _store.integrateNext(_id, deltaTime);
+        
+    }
+    
+    /**
+     * 
+     * The function sets the movement direction of the entity in the store.
+     * 
+     * @param currentDirection  Direction of movement.
+     */
+    
+    // currentDirection = Direction of movement.
+    private void setMoveDirection(Direction currentDirection)
+    {
+        
+        // The function sets the movement direction of the entity in the store.
+        
+        // Depending on current entity direction, set the movement direction in the store...
         switch (currentDirection) 
             
             {
             case LEFT : // When moving left...
-                testX -=  _velocity.x; // Adjust potential (test) position of entity by calculated -x distance.
+                _store.setMove(_id, -1f, 0f); // Move along -x.
                 break;
             case RIGHT : // When moving right...
-                testX += _velocity.x; // Adjust potential (test) position of entity by calculated x distance.
+                _store.setMove(_id, 1f, 0f); // Move along x.
                 break;
             case UP : // When moving up...
-                testY += _velocity.y; // Adjust potential (test) position of entity by calculated y distance.
+                _store.setMove(_id, 0f, 1f); // Move along y.
                 break;
             case DOWN : // When moving down...
-                testY -= _velocity.y; // Adjust potential (test) position of entity by calculated -y distance.
+                _store.setMove(_id, 0f, -1f); // Move along -y.
                 break;
             default: // Invalid entity direction detected.
                 System.out.println("Warning:  Unknown entity direction.");
                 break;
             }
-
-        // Set next position of entity to test position.
-        _nextPlayerPosition.x = testX;
-        _nextPlayerPosition.y = testY;
-
-        // Divide the velocity vector by the time delta -- reverses the speed increase.
-        _velocity.scl(1 / deltaTime);
         
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,807 @@
+package bludbourne_ch02;
+
+// Java imports.
+import java.util.Arrays;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class EntityStore
+{
+
+    /**
+    * The class stores the positional state of many entities in parallel float arrays (structure of
+    * arrays), indexed by entity identifier.  Each Entity holds only its identifier and reads or writes
+    * its slot here, so the positions, velocities, and hitboxes of every entity on a map sit in a few
+    * contiguous blocks of memory instead of one small object graph per entity.
+    * <br><br>
+    * The bulk functions (storePreviousPositions, integrate, updateBoundingBoxes, commitNextPositions)
+    * walk every slot in a single loop over the arrays, with no branches or object lookups, so updating
+    * thousands of entities stays cheap.  Released slots keep getting processed (harmlessly) until reused,
+    * which keeps the loops branch free.
+    * <br><br>
+    * Positions (current, next, previous) get stored in tiles, as in Entity.  Hitboxes get stored in
+    * pixels, as used by the map collision layer.  Velocities get stored in tiles per second, and the
+    * movement direction as a factor (-1, 0, or 1) per axis.
+    */
+
+    /*
+    Methods include:
+
+    commitNextPositions:  Sets the current position of every entity to the next.
+    create:  Reserves a slot and returns its identifier.
+    getCapacity:  Returns the number of slots available before the arrays grow.
+    getCount:  Returns the number of slots in use.
+    getSize:  Returns one more than the highest identifier handed out.
+    (get / set functions for each value of a slot)
+    grow:  Grows the arrays to the passed capacity, keeping the contents.
+    integrate:  Sets the next position of every entity (or one) from the current position, movement
+      direction, velocity, and passed time span.
+    integrateNext:  Moves the next position of the entity further, for the passed time span, in its movement
+      direction.
+    isAlive:  Returns whether the passed identifier refers to a slot in use.
+    release:  Returns the slot with the passed identifier for reuse.
+    storePreviousPositions:  Copies the current position of every entity (or one) to the previous position.
+    updateBoundingBoxes:  Moves the hitbox of every entity to the next position.
+    */
+
+    // Declare constants.
+
+    /** Number of slots reserved by the constructor without a capacity. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /** Velocity (tiles per second, each axis) given to new entities. */
+    public static final float DEFAULT_VELOCITY = 2f;
+
+    // Declare regular variables.
+
+    /** {@link Count}
+     * Number of slots in use. */
+    private int _count;
+
+    /** {@link FreeCount}
+     * Number of released identifiers waiting in _freeIds. */
+    private int _freeCount;
+
+    /** {@link Size}
+     * One more than the highest identifier handed out.  Bulk functions process slots below the value. */
+    private int _size;
+
+    // Declare list variables.
+
+    /** {@link Alive}
+     * Whether each slot is in use. */
+    private boolean[] _alive;
+
+    /** {@link BoxHeight}
+     * Height of the hitbox of each entity, in pixels. */
+    private float[] _boxHeight;
+
+    /** {@link BoxWidth}
+     * Width of the hitbox of each entity, in pixels. */
+    private float[] _boxWidth;
+
+    /** {@link BoxX}
+     * X-coordinate (lower left corner) of the hitbox of each entity, in pixels. */
+    private float[] _boxX;
+
+    /** {@link BoxY}
+     * Y-coordinate (lower left corner) of the hitbox of each entity, in pixels. */
+    private float[] _boxY;
+
+    /** {@link FreeIds}
+     * Released identifiers, reused (last released first) by create(). */
+    private int[] _freeIds;
+
+    /** {@link MoveX}
+     * Horizontal movement direction of each entity (-1 = left, 0 = none, 1 = right). */
+    private float[] _moveX;
+
+    /** {@link MoveY}
+     * Vertical movement direction of each entity (-1 = down, 0 = none, 1 = up). */
+    private float[] _moveY;
+
+    /** {@link NextX}
+     * Next x position of each entity, in tiles. */
+    private float[] _nextX;
+
+    /** {@link NextY}
+     * Next y position of each entity, in tiles. */
+    private float[] _nextY;
+
+    /** {@link PreviousX}
+     * X position of each entity before the last simulation step, in tiles. */
+    private float[] _previousX;
+
+    /** {@link PreviousY}
+     * Y position of each entity before the last simulation step, in tiles. */
+    private float[] _previousY;
+
+    /** {@link VelocityX}
+     * Horizontal speed of each entity, in tiles per second. */
+    private float[] _velocityX;
+
+    /** {@link VelocityY}
+     * Vertical speed of each entity, in tiles per second. */
+    private float[] _velocityY;
+
+    /** {@link X}
+     * Current x position of each entity, in tiles. */
+    private float[] _x;
+
+    /** {@link Y}
+     * Current y position of each entity, in tiles. */
+    private float[] _y;
+
+    /**
+     * The constructor reserves room for DEFAULT_CAPACITY entities.
+     */
+    public EntityStore()
+    {
+
+        // The constructor reserves room for DEFAULT_CAPACITY entities.
+        this(DEFAULT_CAPACITY);
+
+    }
+
+    /**
+     *
+     * The constructor reserves room for the passed number of entities.  The arrays grow as needed.
+     *
+     * @param capacity  Number of entities for which to reserve room.
+     */
+
+    // capacity = Number of entities for which to reserve room.
+    public EntityStore(int capacity)
+    {
+
+        // The constructor reserves room for the passed number of entities.  The arrays grow as needed.
+
+        // Reserve at least one slot.
+        capacity = Math.max(1, capacity);
+
+        // Allocate the arrays.
+        _alive = new boolean[capacity];
+        _boxHeight = new float[capacity];
+        _boxWidth = new float[capacity];
+        _boxX = new float[capacity];
+        _boxY = new float[capacity];
+        _freeIds = new int[capacity];
+        _moveX = new float[capacity];
+        _moveY = new float[capacity];
+        _nextX = new float[capacity];
+        _nextY = new float[capacity];
+        _previousX = new float[capacity];
+        _previousY = new float[capacity];
+        _velocityX = new float[capacity];
+        _velocityY = new float[capacity];
+        _x = new float[capacity];
+        _y = new float[capacity];
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Height of the hitbox of the entity, in pixels.
+     */
+
+    // id = Identifier of the entity.
+    public float getBoxHeight(int id)
+    {
+        // The function returns the height of the hitbox of the entity, in pixels.
+        return _boxHeight[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Width of the hitbox of the entity, in pixels.
+     */
+
+    // id = Identifier of the entity.
+    public float getBoxWidth(int id)
+    {
+        // The function returns the width of the hitbox of the entity, in pixels.
+        return _boxWidth[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  X-coordinate (lower left corner) of the hitbox of the entity, in pixels.
+     */
+
+    // id = Identifier of the entity.
+    public float getBoxX(int id)
+    {
+        // The function returns the x-coordinate (lower left corner) of the hitbox of the entity, in pixels.
+        return _boxX[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Y-coordinate (lower left corner) of the hitbox of the entity, in pixels.
+     */
+
+    // id = Identifier of the entity.
+    public float getBoxY(int id)
+    {
+        // The function returns the y-coordinate (lower left corner) of the hitbox of the entity, in pixels.
+        return _boxY[id];
+    }
+
+    /**
+     *
+     * The function sets the position and size of the hitbox of the entity, in pixels.
+     *
+     * @param id  Identifier of the entity.
+     * @param x  X-coordinate (lower left corner) of the hitbox.
+     * @param y  Y-coordinate (lower left corner) of the hitbox.
+     * @param width  Width of the hitbox.
+     * @param height  Height of the hitbox.
+     */
+
+    // id = Identifier of the entity.
+    // x = X-coordinate (lower left corner) of the hitbox.
+    // y = Y-coordinate (lower left corner) of the hitbox.
+    // width = Width of the hitbox.
+    // height = Height of the hitbox.
+    public void setBox(int id, float x, float y, float width, float height)
+    {
+
+        // The function sets the position and size of the hitbox of the entity, in pixels.
+
+        _boxX[id] = x;
+        _boxY[id] = y;
+        _boxWidth[id] = width;
+        _boxHeight[id] = height;
+
+    }
+
+    /**
+     *
+     * @return  Number of slots available before the arrays grow.
+     */
+    public int getCapacity()
+    {
+        // The function returns the number of slots available before the arrays grow.
+        return _x.length;
+    }
+
+    /**
+     *
+     * @return  Number of slots in use.
+     */
+    public int getCount()
+    {
+        // The function returns the number of slots in use.
+        return _count;
+    }
+
+    /**
+     *
+     * @return  One more than the highest identifier handed out.  Bulk functions process the slots below the
+     * value, including released ones.
+     */
+    public int getSize()
+    {
+        // The function returns one more than the highest identifier handed out.
+        return _size;
+    }
+
+    /**
+     *
+     * The function sets the movement direction of the entity.  Each factor gets -1, 0, or 1.
+     *
+     * @param id  Identifier of the entity.
+     * @param moveX  Horizontal movement direction (-1 = left, 0 = none, 1 = right).
+     * @param moveY  Vertical movement direction (-1 = down, 0 = none, 1 = up).
+     */
+
+    // id = Identifier of the entity.
+    // moveX = Horizontal movement direction (-1 = left, 0 = none, 1 = right).
+    // moveY = Vertical movement direction (-1 = down, 0 = none, 1 = up).
+    public void setMove(int id, float moveX, float moveY)
+    {
+
+        // The function sets the movement direction of the entity.
+
+        _moveX[id] = moveX;
+        _moveY[id] = moveY;
+
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Next x position of the entity, in tiles.
+     */
+
+    // id = Identifier of the entity.
+    public float getNextX(int id)
+    {
+        // The function returns the next x position of the entity, in tiles.
+        return _nextX[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Next y position of the entity, in tiles.
+     */
+
+    // id = Identifier of the entity.
+    public float getNextY(int id)
+    {
+        // The function returns the next y position of the entity, in tiles.
+        return _nextY[id];
+    }
+
+    /**
+     *
+     * The function sets the next position of the entity, in tiles.
+     *
+     * @param id  Identifier of the entity.
+     * @param x  Next x position.
+     * @param y  Next y position.
+     */
+
+    // id = Identifier of the entity.
+    // x = Next x position.
+    // y = Next y position.
+    public void setNextPosition(int id, float x, float y)
+    {
+
+        // The function sets the next position of the entity, in tiles.
+
+        _nextX[id] = x;
+        _nextY[id] = y;
+
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  X position of the entity before the last simulation step, in tiles.
+     */
+
+    // id = Identifier of the entity.
+    public float getPreviousX(int id)
+    {
+        // The function returns the x position of the entity before the last simulation step, in tiles.
+        return _previousX[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Y position of the entity before the last simulation step, in tiles.
+     */
+
+    // id = Identifier of the entity.
+    public float getPreviousY(int id)
+    {
+        // The function returns the y position of the entity before the last simulation step, in tiles.
+        return _previousY[id];
+    }
+
+    /**
+     *
+     * The function sets the current, next, and previous positions of the entity to the passed location
+     * (in tiles), as when placing the entity on a map.
+     *
+     * @param id  Identifier of the entity.
+     * @param x  X position.
+     * @param y  Y position.
+     */
+
+    // id = Identifier of the entity.
+    // x = X position.
+    // y = Y position.
+    public void setAllPositions(int id, float x, float y)
+    {
+
+        // The function sets the current, next, and previous positions of the entity to the passed location.
+
+        _x[id] = x;
+        _y[id] = y;
+        _nextX[id] = x;
+        _nextY[id] = y;
+        _previousX[id] = x;
+        _previousY[id] = y;
+
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Horizontal speed of the entity, in tiles per second.
+     */
+
+    // id = Identifier of the entity.
+    public float getVelocityX(int id)
+    {
+        // The function returns the horizontal speed of the entity, in tiles per second.
+        return _velocityX[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Vertical speed of the entity, in tiles per second.
+     */
+
+    // id = Identifier of the entity.
+    public float getVelocityY(int id)
+    {
+        // The function returns the vertical speed of the entity, in tiles per second.
+        return _velocityY[id];
+    }
+
+    /**
+     *
+     * The function sets the speed of the entity, in tiles per second.
+     *
+     * @param id  Identifier of the entity.
+     * @param velocityX  Horizontal speed.
+     * @param velocityY  Vertical speed.
+     */
+
+    // id = Identifier of the entity.
+    // velocityX = Horizontal speed.
+    // velocityY = Vertical speed.
+    public void setVelocity(int id, float velocityX, float velocityY)
+    {
+
+        // The function sets the speed of the entity, in tiles per second.
+
+        _velocityX[id] = velocityX;
+        _velocityY[id] = velocityY;
+
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Current x position of the entity, in tiles.
+     */
+
+    // id = Identifier of the entity.
+    public float getX(int id)
+    {
+        // The function returns the current x position of the entity, in tiles.
+        return _x[id];
+    }
+
+    /**
+     *
+     * @param id  Identifier of the entity.
+     * @return  Current y position of the entity, in tiles.
+     */
+
+    // id = Identifier of the entity.
+    public float getY(int id)
+    {
+        // The function returns the current y position of the entity, in tiles.
+        return _y[id];
+    }
+
+    /**
+     *
+     * The function sets the current position of the entity, in tiles.
+     *
+     * @param id  Identifier of the entity.
+     * @param x  Current x position.
+     * @param y  Current y position.
+     */
+
+    // id = Identifier of the entity.
+    // x = Current x position.
+    // y = Current y position.
+    public void setPosition(int id, float x, float y)
+    {
+
+        // The function sets the current position of the entity, in tiles.
+
+        _x[id] = x;
+        _y[id] = y;
+
+    }
+
+    // Methods below...
+
+    /**
+     * The function sets the current position of every entity to the next.
+     */
+    public void commitNextPositions()
+    {
+
+        // The function sets the current position of every entity to the next.
+
+        System.arraycopy(_nextX, 0, _x, 0, _size);
+        System.arraycopy(_nextY, 0, _y, 0, _size);
+
+    }
+
+    /**
+     *
+     * The function reserves a slot and returns its identifier.  Released identifiers get reused first.
+     * All values of the slot start at zero, except the velocity (DEFAULT_VELOCITY).
+     *
+     * @return  Identifier of the reserved slot.
+     */
+    public int create()
+    {
+
+        /*
+        The function reserves a slot and returns its identifier.  Released identifiers get reused first.
+        All values of the slot start at zero, except the velocity (DEFAULT_VELOCITY).
+        */
+
+        int id; // Identifier of the reserved slot.
+
+        // If released identifier available, then...
+        if ( _freeCount > 0 )
+            // Released identifier available.
+            // Reuse the last released identifier.
+            id = _freeIds[--_freeCount];
+
+        else
+        {
+
+            // No released identifier available.
+
+            // If arrays full, then grow them.
+            if ( _size == _x.length )
+                grow(_x.length * 2);
+
+            // Use the next unused identifier.
+            id = _size++;
+
+        }
+
+        // Reset the values of the slot.
+        _alive[id] = true;
+        setAllPositions(id, 0f, 0f);
+        setBox(id, 0f, 0f, 0f, 0f);
+        setMove(id, 0f, 0f);
+        setVelocity(id, DEFAULT_VELOCITY, DEFAULT_VELOCITY);
+
+        // Count the slot.
+        _count++;
+
+        // Return the identifier of the reserved slot.
+        return id;
+
+    }
+
+    /**
+     *
+     * The function grows the arrays to the passed capacity, keeping the contents.
+     *
+     * @param capacity  New number of slots.
+     */
+
+    // capacity = New number of slots.
+    private void grow(int capacity)
+    {
+
+        // The function grows the arrays to the passed capacity, keeping the contents.
+
+        _alive = Arrays.copyOf(_alive, capacity);
+        _boxHeight = Arrays.copyOf(_boxHeight, capacity);
+        _boxWidth = Arrays.copyOf(_boxWidth, capacity);
+        _boxX = Arrays.copyOf(_boxX, capacity);
+        _boxY = Arrays.copyOf(_boxY, capacity);
+        _freeIds = Arrays.copyOf(_freeIds, capacity);
+        _moveX = Arrays.copyOf(_moveX, capacity);
+        _moveY = Arrays.copyOf(_moveY, capacity);
+        _nextX = Arrays.copyOf(_nextX, capacity);
+        _nextY = Arrays.copyOf(_nextY, capacity);
+        _previousX = Arrays.copyOf(_previousX, capacity);
+        _previousY = Arrays.copyOf(_previousY, capacity);
+        _velocityX = Arrays.copyOf(_velocityX, capacity);
+        _velocityY = Arrays.copyOf(_velocityY, capacity);
+        _x = Arrays.copyOf(_x, capacity);
+        _y = Arrays.copyOf(_y, capacity);
+
+    }
+
+    /**
+     *
+     * The function sets the next position of every entity from the current position, movement direction,
+     * and velocity, moving it for the passed time span.  Entities without a movement direction keep their
+     * current position.
+     *
+     * @param delta  Time span in seconds.
+     */
+
+    // delta = Time span in seconds.
+    public void integrate(float delta)
+    {
+
+        /*
+        The function sets the next position of every entity from the current position, movement direction,
+        and velocity, moving it for the passed time span.  Entities without a movement direction keep their
+        current position.
+        */
+
+        // Loop through slots.
+        for (int id = 0; id < _size; id++)
+        {
+            _nextX[id] = _x[id] + _moveX[id] * _velocityX[id] * delta;
+            _nextY[id] = _y[id] + _moveY[id] * _velocityY[id] * delta;
+        }
+
+    }
+
+    /**
+     *
+     * The function sets the next position of the entity from its current position, movement direction,
+     * and velocity, moving it for the passed time span.
+     *
+     * @param id  Identifier of the entity.
+     * @param delta  Time span in seconds.
+     */
+
+    // id = Identifier of the entity.
+    // delta = Time span in seconds.
+    public void integrate(int id, float delta)
+    {
+
+        // The function sets the next position of the entity from its current position, movement direction,
+        // and velocity, moving it for the passed time span.
+
+        _nextX[id] = _x[id] + _moveX[id] * _velocityX[id] * delta;
+        _nextY[id] = _y[id] + _moveY[id] * _velocityY[id] * delta;
+
+    }
+
+    /**
+     *
+     * The function moves the next position of the entity further, from where it already is, for the passed
+     * time span, in its movement direction.  Lets callers build the next position from several pieces (ex.
+     * changes of direction partway through a step).
+     *
+     * @param id  Identifier of the entity.
+     * @param delta  Time span in seconds.
+     */
+
+    // id = Identifier of the entity.
+    // delta = Time span in seconds.
+    public void integrateNext(int id, float delta)
+    {
+
+        // The function moves the next position of the entity further, from where it already is, for the
+        // passed time span, in its movement direction.
+
+        _nextX[id] += _moveX[id] * _velocityX[id] * delta;
+        _nextY[id] += _moveY[id] * _velocityY[id] * delta;
+
+    }
+
+    /**
+     *
+     * @param id  Identifier to check.
+     * @return  Whether the passed identifier refers to a slot in use.
+     */
+
+    // id = Identifier to check.
+    public boolean isAlive(int id)
+    {
+        // The function returns whether the passed identifier refers to a slot in use.
+        return id >= 0 && id < _size && _alive[id];
+    }
+
+    /**
+     *
+     * The function returns the slot with the passed identifier for reuse.  Releasing a slot not in use
+     * does nothing.
+     *
+     * @param id  Identifier of the slot to release.
+     */
+
+    // id = Identifier of the slot to release.
+    public void release(int id)
+    {
+
+        // The function returns the slot with the passed identifier for reuse.
+
+        // If slot not in use, then...
+        if ( !isAlive(id) )
+            // Slot not in use.
+            return;
+
+        // Stop the slot from moving during bulk updates.
+        setMove(id, 0f, 0f);
+
+        // Add the identifier to the free list.
+        _alive[id] = false;
+        _freeIds[_freeCount++] = id;
+        _count--;
+
+    }
+
+    /**
+     * The function copies the current position of every entity to the previous position.
+     */
+    public void storePreviousPositions()
+    {
+
+        // The function copies the current position of every entity to the previous position.
+
+        System.arraycopy(_x, 0, _previousX, 0, _size);
+        System.arraycopy(_y, 0, _previousY, 0, _size);
+
+    }
+
+    /**
+     *
+     * The function copies the current position of the entity to the previous position.
+     *
+     * @param id  Identifier of the entity.
+     */
+
+    // id = Identifier of the entity.
+    public void storePreviousPosition(int id)
+    {
+
+        // The function copies the current position of the entity to the previous position.
+
+        _previousX[id] = _x[id];
+        _previousY[id] = _y[id];
+
+    }
+
+    /**
+     *
+     * The function moves the hitbox of every entity to its next position, converting from tiles to
+     * pixels.  Hitbox sizes stay the same.
+     *
+     * @param unitScale  Tiles per pixel (see MapManager.UNIT_SCALE).
+     */
+
+    // unitScale = Tiles per pixel (see MapManager.UNIT_SCALE).
+    public void updateBoundingBoxes(float unitScale)
+    {
+
+        // The function moves the hitbox of every entity to its next position, converting from tiles to pixels.
+
+        float pixelsPerTile; // Pixels per tile.
+
+        // Convert the scale once, outside of the loop.
+        pixelsPerTile = unitScale > 0 ? 1f / unitScale : 1f;
+
+        // Loop through slots.
+        for (int id = 0; id < _size; id++)
+        {
+            _boxX[id] = _nextX[id] * pixelsPerTile;
+            _boxY[id] = _nextY[id] * pixelsPerTile;
+        }
+
+    }
+
+}
@@ -0,0 +1,263 @@
+package bludbourne_ch02;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class FixedStepClock
+{
+
+    /**
+    * The class converts the variable frame times passed to render() into a whole number of fixed length
+    * simulation steps.  Game logic run once per step costs the same per second and moves the same distance
+    * per step regardless of frame rate, so equal input produces equal movement.
+    * <br><br>
+    * Each frame adds its time to an accumulator and runs one step for each full step duration held.  The
+    * time left over (less than one step) carries to the next frame and, as a fraction of a step, tells the
+    * renderer how far to blend from the previous to the current simulation state.
+    * <br><br>
+    * Catch-up gets limited in two ways.  Frame times longer than MAX_FRAME_TIME (a debugger pause, a
+    * window drag) count only as MAX_FRAME_TIME.  When the steps owed exceed the step limit, the extra time
+    * gets dropped, so a slow machine runs the game slower instead of falling further behind each frame.
+    * <br><br>
+    * Headless callers (tests, tools, servers) skip the clock and run steps directly, as fast as the machine
+    * allows, using getStepDuration() as the time span.
+    */
+
+    /*
+    Methods include:
+
+    advance:  Adds the passed frame time and returns the number of steps to run during the frame.
+    getAlpha:  Returns how far (0 to <1) the simulation sits between the previous and next step.
+    getDroppedTime:  Returns the total time, in seconds, dropped to stay within the catch-up limits.
+    getMaxSteps:  Returns the most steps run during a single frame.
+    getStepCount:  Returns the number of steps handed out since the clock started or reset.
+    getStepDuration:  Returns the duration of a step, in seconds.
+    reset:  Empties the accumulator and clears the counters.
+    */
+
+    // Declare constants.
+
+    /** Default duration of a step, in seconds (60 steps per second). */
+    public static final float DEFAULT_STEP_DURATION = 1f / 60f;
+
+    /** Default limit on steps run during a single frame. */
+    public static final int DEFAULT_MAX_STEPS = 5;
+
+    /** Longest frame time, in seconds, counted by advance().  Longer frames get cut to the value. */
+    public static final float MAX_FRAME_TIME = 0.25f;
+
+    // Declare regular variables.
+
+    /** {@link Accumulator}
+     * Frame time, in seconds, not yet used by a step. */
+    private float _accumulator;
+
+    /** {@link DroppedTime}
+     * Total frame time, in seconds, dropped to stay within the catch-up limits. */
+    private float _droppedTime;
+
+    /** {@link MaxSteps}
+     * Most steps run during a single frame. */
+    private final int _maxSteps;
+
+    /** {@link StepCount}
+     * Number of steps handed out since the clock started or reset. */
+    private long _stepCount;
+
+    /** {@link StepDuration}
+     * Duration of a step, in seconds. */
+    private final float _stepDuration;
+
+    /**
+     * The constructor sets up a clock running 60 steps per second, with at most five steps per frame.
+     */
+    public FixedStepClock()
+    {
+
+        // The constructor sets up a clock running 60 steps per second, with at most five steps per frame.
+        this(DEFAULT_STEP_DURATION, DEFAULT_MAX_STEPS);
+
+    }
+
+    /**
+     *
+     * The constructor sets up a clock with the passed step duration and catch-up limit.
+     *
+     * @param stepDuration  Duration of a step, in seconds.
+     * @param maxSteps  Most steps run during a single frame.
+     */
+
+    // stepDuration = Duration of a step, in seconds.
+    // maxSteps = Most steps run during a single frame.
+    public FixedStepClock(float stepDuration, int maxSteps)
+    {
+
+        // The constructor sets up a clock with the passed step duration and catch-up limit.
+
+        // If invalid step duration or limit, then...
+        if ( stepDuration <= 0f || maxSteps < 1 )
+            // Invalid step duration or limit.
+            throw new IllegalArgumentException("Step duration and step limit must be positive.");
+
+        // Store settings.
+        _stepDuration = stepDuration;
+        _maxSteps = maxSteps;
+
+        // Start with an empty accumulator.
+        reset();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  How far (0 to &lt;1) the simulation sits between the previous and next step.  Renderers blend
+     * from the previous to the current state by the value.
+     */
+    public float getAlpha()
+    {
+        // The function returns how far (0 to <1) the simulation sits between the previous and next step.
+        return _accumulator / _stepDuration;
+    }
+
+    /**
+     *
+     * @return  Total frame time, in seconds, dropped to stay within the catch-up limits.
+     */
+    public float getDroppedTime()
+    {
+        // The function returns the total time, in seconds, dropped to stay within the catch-up limits.
+        return _droppedTime;
+    }
+
+    /**
+     *
+     * @return  Most steps run during a single frame.
+     */
+    public int getMaxSteps()
+    {
+        // The function returns the most steps run during a single frame.
+        return _maxSteps;
+    }
+
+    /**
+     *
+     * @return  Number of steps handed out since the clock started or reset.
+     */
+    public long getStepCount()
+    {
+        // The function returns the number of steps handed out since the clock started or reset.
+        return _stepCount;
+    }
+
+    /**
+     *
+     * @return  Duration of a step, in seconds.
+     */
+    public float getStepDuration()
+    {
+        // The function returns the duration of a step, in seconds.
+        return _stepDuration;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function adds the passed frame time to the accumulator and returns the number of steps to run
+     * during the frame.  The caller runs the steps, each with getStepDuration() as the time span, and then
+     * renders using getAlpha().
+     *
+     * @param delta  Time span between the current and last frame in seconds.
+     * @return  Number of steps to run during the frame, from zero to the step limit.
+     */
+
+    // delta = Time span between the current and last frame in seconds.
+    public int advance(float delta)
+    {
+
+        /*
+        The function adds the passed frame time to the accumulator and returns the number of steps to run
+        during the frame.  The caller runs the steps, each with getStepDuration() as the time span, and then
+        renders using getAlpha().
+        */
+
+        int steps; // Number of steps to run during the frame.
+
+        // If frame time negative, then ignore it.
+        if ( delta < 0f )
+            delta = 0f;
+
+        // If frame time too long, then...
+        if ( delta > MAX_FRAME_TIME )
+        {
+            // Frame time too long.
+            // Count only the longest frame time allowed.
+            _droppedTime += delta - MAX_FRAME_TIME;
+            delta = MAX_FRAME_TIME;
+        }
+
+        // Add the frame time to the accumulator.
+        _accumulator += delta;
+
+        // Hand out one step for each full step duration held, up to the limit.
+        steps = 0;
+
+        while ( _accumulator >= _stepDuration && steps < _maxSteps )
+        {
+            _accumulator -= _stepDuration;
+            steps++;
+        }
+
+        // If steps still owed after reaching the limit, then...
+        if ( _accumulator >= _stepDuration )
+        {
+            // Steps still owed.
+            // Drop the full steps owed, keeping the fraction for interpolation.
+            _droppedTime += _accumulator - (_accumulator % _stepDuration);
+            _accumulator %= _stepDuration;
+        }
+
+        // Count the steps handed out.
+        _stepCount += steps;
+
+        // Return the number of steps to run during the frame.
+        return steps;
+
+    }
+
+    /**
+     * The function empties the accumulator and clears the counters.
+     */
+    public final void reset()
+    {
+
+        // The function empties the accumulator and clears the counters.
+
+        _accumulator = 0f;
+        _droppedTime = 0f;
+        _stepCount = 0;
+
+    }
+
+}
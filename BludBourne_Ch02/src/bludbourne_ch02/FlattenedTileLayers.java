@@ -0,0 +1,648 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+
+// Java imports.
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class FlattenedTileLayers
+{
+
+    /**
+    * The class composites the visible tile layers of a map on the CPU, once per map load, into square
+    * chunk textures.  Rendering then draws one quad per visible chunk, instead of one quad per tile per
+    * layer.
+    * <br><br>
+    * Layers get composited in map order, the way OrthogonalTiledMapRenderer draws them:  each tile gets
+    * drawn with its cell flips and rotation applied and its layer opacity multiplied into the alpha, with
+    * source-over blending.  Opaque and fully transparent pixels match per-layer rendering exactly.
+    * Partially transparent pixels may differ by rounding.
+    * <br><br>
+    * Maps with animated tiles, tiles sized differently from the map grid, or tileset textures whose pixels
+    * cannot be read back (not backed by a Pixmap), do not get flattened.  build() then returns false, and the map renders per layer as usual.
+    * <br><br>
+    * Checks comparing the chunks against per-layer compositing (see the check-flatten target in build.xml)
+    * keep the chunk pixels through setKeepPixmaps(), and read them through getPixmap().
+    */
+
+    /*
+    Methods include:
+
+    build:  Composites the visible tile layers of the passed map into chunk textures.
+    clear:  Disposes the chunk textures (and pixels, when kept).
+    compositeTile:  Draws the passed tile into the passed chunk Pixmap.
+    getChunkCount:  Returns the number of chunk textures.
+    getChunkX:  Returns the x-coordinate of the lower left corner of the passed chunk, in pixels.
+    getChunkY:  Returns the y-coordinate of the lower left corner of the passed chunk, in pixels.
+    getPixmap:  Returns the pixels of the passed chunk, when kept.
+    isBuilt:  Returns whether chunk textures exist for the current map.
+    readPixmap:  Returns the pixels of the passed tileset texture, reading them back when first needed.
+    render:  Draws the chunks visible to the passed camera.
+    setKeepPixmaps:  Sets whether build() keeps the pixels of each chunk, for getPixmap().
+    */
+
+    // Declare constants.
+    private static final String TAG = FlattenedTileLayers.class.getSimpleName(); // Class name.
+
+    // Corners of a tile, in the order used by OrthogonalTiledMapRenderer (bottom left, then clockwise).
+    private static final int CORNER_BOTTOM_LEFT = 0;
+    private static final int CORNER_TOP_LEFT = 1;
+    private static final int CORNER_TOP_RIGHT = 2;
+    private static final int CORNER_BOTTOM_RIGHT = 3;
+
+    // Declare list variables.
+
+    /** {@link ChunkX}
+     * X-coordinates of the lower left corners of the chunks, in pixels. */
+    private final ArrayList<Integer> _chunkX;
+
+    /** {@link ChunkY}
+     * Y-coordinates of the lower left corners of the chunks, in pixels. */
+    private final ArrayList<Integer> _chunkY;
+
+    /** {@link ChunkTextures}
+     * Composited chunk textures.  Parallel to _chunkX and _chunkY. */
+    private final ArrayList<Texture> _chunkTextures;
+
+    /** {@link ChunkPixmaps}
+     * Composited chunk pixels, when kept.  Parallel to _chunkTextures when kept, empty otherwise. */
+    private final ArrayList<Pixmap> _chunkPixmaps;
+
+    /** {@link CornerU}
+     * Horizontal texture coordinate (0 = left, 1 = right) shown at each corner of the tile being drawn. */
+    private final float[] _cornerU;
+
+    /** {@link CornerV}
+     * Vertical texture coordinate (0 = top, 1 = bottom) shown at each corner of the tile being drawn. */
+    private final float[] _cornerV;
+
+    // Declare regular variables.
+
+    /** {@link KeepPixmaps}
+     * Whether build() keeps the pixels of each chunk, for getPixmap(). */
+    private boolean _keepPixmaps;
+
+    /**
+     * The constructor initializes an empty set of chunks.
+     */
+    public FlattenedTileLayers()
+    {
+
+        // The constructor initializes an empty set of chunks.
+
+        _chunkX = new ArrayList<>();
+        _chunkY = new ArrayList<>();
+        _chunkTextures = new ArrayList<>();
+        _chunkPixmaps = new ArrayList<>();
+        _cornerU = new float[4];
+        _cornerV = new float[4];
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Number of chunk textures.
+     */
+    public int getChunkCount()
+    {
+        // The function returns the number of chunk textures.
+        return _chunkTextures.size();
+    }
+
+    /**
+     *
+     * @param index  Index of the chunk (0 to getChunkCount() - 1).
+     * @return  X-coordinate of the lower left corner of the chunk, in pixels.
+     */
+
+    // index = Index of the chunk (0 to getChunkCount() - 1).
+    public int getChunkX(int index)
+    {
+        // The function returns the x-coordinate of the lower left corner of the passed chunk, in pixels.
+        return _chunkX.get(index);
+    }
+
+    /**
+     *
+     * @param index  Index of the chunk (0 to getChunkCount() - 1).
+     * @return  Y-coordinate of the lower left corner of the chunk, in pixels.
+     */
+
+    // index = Index of the chunk (0 to getChunkCount() - 1).
+    public int getChunkY(int index)
+    {
+        // The function returns the y-coordinate of the lower left corner of the passed chunk, in pixels.
+        return _chunkY.get(index);
+    }
+
+    /**
+     *
+     * @param index  Index of the chunk (0 to getChunkCount() - 1).
+     * @return  Pixels of the chunk (rows top to bottom), owned by the class.  Null unless kept (see 
+     * setKeepPixmaps()).
+     */
+
+    // index = Index of the chunk (0 to getChunkCount() - 1).
+    public Pixmap getPixmap(int index)
+    {
+        // The function returns the pixels of the passed chunk, when kept.
+        return _chunkPixmaps.isEmpty() ? null : _chunkPixmaps.get(index);
+    }
+
+    /**
+     *
+     * @return  Whether chunk textures exist for the current map.
+     */
+    public boolean isBuilt()
+    {
+        // The function returns whether chunk textures exist for the current map.
+        return !_chunkTextures.isEmpty();
+    }
+
+    /**
+     *
+     * The function sets whether build() keeps the pixels of each chunk, for getPixmap().  Kept pixels take
+     * as much memory again as the chunk textures, so only checks keep them.  Applies from the next build().
+     *
+     * @param keepPixmaps  Whether build() keeps the pixels of each chunk.
+     */
+
+    // keepPixmaps = Whether build() keeps the pixels of each chunk.
+    public void setKeepPixmaps(boolean keepPixmaps)
+    {
+        // The function sets whether build() keeps the pixels of each chunk, for getPixmap().
+        _keepPixmaps = keepPixmaps;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function composites the visible tile layers of the passed map into chunk textures, replacing any
+     * existing ones.  Must run on the render thread, since textures get created.
+     *
+     * @param map  Map to flatten.
+     * @param chunkTiles  Width and height of each chunk, in tiles.
+     * @return  Whether the map got flattened.  False when the map has animated tiles, tiles sized 
+     * differently from the grid, or tileset textures that cannot be read back.
+     */
+
+    // map = Map to flatten.
+    // chunkTiles = Width and height of each chunk, in tiles.
+    public boolean build(TiledMap map, int chunkTiles)
+    {
+
+        /*
+        The function composites the visible tile layers of the passed map into chunk textures, replacing any
+        existing ones.  Must run on the render thread, since textures get created.
+        */
+
+        Cell cell; // Current cell.
+        Pixmap chunk; // Pixels of current chunk.
+        int chunkHeight; // Height of current chunk, in tiles.
+        int chunkWidth; // Width of current chunk, in tiles.
+        int mapHeight; // Height of map, in tiles.
+        int mapWidth; // Width of map, in tiles.
+        HashMap<Texture, Pixmap> pixmaps; // Pixels of each tileset texture.
+        Texture texture; // Texture created from current chunk.
+        ArrayList<TiledMapTileLayer> tileLayers; // Visible tile layers, in map order.
+        int tileHeight; // Height of each tile, in pixels.
+        int tileWidth; // Width of each tile, in pixels.
+        boolean flattened; // Whether the map got flattened.
+
+        // Remove chunks of the previous map.
+        clear();
+
+        // Gather the visible tile layers, checking for animated tiles.
+        tileLayers = new ArrayList<>();
+        for ( MapLayer layer: map.getLayers() )
+        {
+
+            if ( !(layer instanceof TiledMapTileLayer) || !layer.isVisible() )
+                continue;
+
+            for ( int y = 0; y < ((TiledMapTileLayer)layer).getHeight(); y++ )
+            {
+                for ( int x = 0; x < ((TiledMapTileLayer)layer).getWidth(); x++ )
+                {
+                    cell = ((TiledMapTileLayer)layer).getCell(x, y);
+                    if ( cell != null && cell.getTile() instanceof AnimatedTiledMapTile )
+                    {
+                        Gdx.app.debug(TAG, "Map has animated tiles; not flattened.");
+                        return false;
+                    }
+                }
+            }
+
+            tileLayers.add((TiledMapTileLayer)layer);
+
+        }
+
+        // If no tile layers, then exit.
+        if ( tileLayers.isEmpty() )
+            return false;
+
+        // Set defaults.
+        mapWidth = tileLayers.get(0).getWidth();
+        mapHeight = tileLayers.get(0).getHeight();
+        tileWidth = (int)tileLayers.get(0).getTileWidth();
+        tileHeight = (int)tileLayers.get(0).getTileHeight();
+        chunkTiles = Math.max(1, chunkTiles);
+        pixmaps = new HashMap<>();
+        flattened = true;
+
+        // Loop through chunks, bottom row first.
+        for ( int chunkY = 0; chunkY < mapHeight && flattened; chunkY += chunkTiles )
+        {
+
+            for ( int chunkX = 0; chunkX < mapWidth && flattened; chunkX += chunkTiles )
+            {
+
+                chunkWidth = Math.min(chunkTiles, mapWidth - chunkX);
+                chunkHeight = Math.min(chunkTiles, mapHeight - chunkY);
+                chunk = new Pixmap(chunkWidth * tileWidth, chunkHeight * tileHeight, Pixmap.Format.RGBA8888);
+
+                // Composite the layers, in map order.  Pixmap rows run top to bottom.
+                for ( TiledMapTileLayer layer: tileLayers )
+                {
+
+                    for ( int y = chunkY; y < chunkY + chunkHeight && flattened; y++ )
+                    {
+
+                        for ( int x = chunkX; x < chunkX + chunkWidth; x++ )
+                        {
+
+                            cell = layer.getCell(x, y);
+
+                            if ( cell == null || cell.getTile() == null )
+                                continue;
+
+                            if ( !compositeTile(chunk, cell, layer.getOpacity(), (x - chunkX) * tileWidth,
+                                   (chunkY + chunkHeight - 1 - y) * tileHeight, tileWidth, tileHeight, pixmaps) )
+                            {
+                                flattened = false;
+                                break;
+                            }
+
+                        }
+
+                    }
+
+                }
+
+                // If chunk composited, then upload as texture.
+                if ( flattened )
+                {
+                    texture = new Texture(chunk);
+                    texture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
+                    _chunkTextures.add(texture);
+                    _chunkX.add(chunkX * tileWidth);
+                    _chunkY.add(chunkY * tileHeight);
+                }
+
+                // Keep the pixels when asked (checks), otherwise dispose them.
+                if ( flattened && _keepPixmaps )
+                    _chunkPixmaps.add(chunk);
+                else
+                    chunk.dispose();
+
+            }
+
+        }
+
+        // Dispose the pixels read back from the tileset textures.
+        for ( Map.Entry<Texture, Pixmap> entry: pixmaps.entrySet() )
+        {
+            if ( entry.getValue() != null )
+                entry.getValue().dispose();
+        }
+
+        // If flattening failed part way, then remove the chunks built so far.
+        if ( !flattened )
+        {
+            clear();
+            Gdx.app.debug(TAG, "Tileset pixels not readable or tile sizes differ; not flattened.");
+        }
+
+        else
+            Gdx.app.debug(TAG, "Flattened " + tileLayers.size() + " tile layers into " + _chunkTextures.size() +
+              " chunks.");
+
+        return flattened;
+
+    }
+
+    /**
+     * The method disposes the chunk textures (and pixels, when kept).
+     */
+    public void clear()
+    {
+
+        // The method disposes the chunk textures (and pixels, when kept).
+
+        for ( Texture texture: _chunkTextures )
+            texture.dispose();
+
+        for ( Pixmap pixmap: _chunkPixmaps )
+            pixmap.dispose();
+
+        _chunkTextures.clear();
+        _chunkPixmaps.clear();
+        _chunkX.clear();
+        _chunkY.clear();
+
+    }
+
+    /**
+     *
+     * The function draws the tile of the passed cell into the passed chunk Pixmap, with the cell flips and
+     * rotation and the layer opacity applied as by OrthogonalTiledMapRenderer.  Unflipped, unrotated,
+     * opaque layers get copied directly.  Otherwise, each destination pixel gets mapped back into the tile
+     * image through the texture coordinates the renderer assigns to the corners of the tile.
+     *
+     * @param chunk  Pixels of the chunk being composited.
+     * @param cell  Cell to draw.
+     * @param opacity  Opacity of the layer.
+     * @param left  X-coordinate of the left edge of the tile in the chunk Pixmap.
+     * @param top  Y-coordinate of the top edge of the tile in the chunk Pixmap.
+     * @param width  Width of tiles in the layer, in pixels.
+     * @param height  Height of tiles in the layer, in pixels.
+     * @param pixmaps  Pixels of each tileset texture, read back as needed.
+     * @return  Whether the tile got drawn.  False when the pixels of its texture cannot be read back or the
+     * tile image differs in size from the grid.
+     */
+
+    // chunk = Pixels of the chunk being composited.
+    // cell = Cell to draw.
+    // opacity = Opacity of the layer.
+    // left = X-coordinate of the left edge of the tile in the chunk Pixmap.
+    // top = Y-coordinate of the top edge of the tile in the chunk Pixmap.
+    // width = Width of tiles in the layer, in pixels.
+    // height = Height of tiles in the layer, in pixels.
+    // pixmaps = Pixels of each tileset texture, read back as needed.
+    private boolean compositeTile(Pixmap chunk, Cell cell, float opacity, int left, int top, int width,
+      int height, HashMap<Texture, Pixmap> pixmaps)
+    {
+
+        /*
+        The function draws the tile of the passed cell into the passed chunk Pixmap, with the cell flips and
+        rotation and the layer opacity applied as by OrthogonalTiledMapRenderer.  Unflipped, unrotated,
+        opaque layers get copied directly.  Otherwise, each destination pixel gets mapped back into the tile
+        image through the texture coordinates the renderer assigns to the corners of the tile.
+        */
+
+        int alpha; // Alpha of current source pixel, scaled by opacity.
+        int color; // Current source pixel (RGBA8888).
+        float s; // Horizontal position of current pixel within tile (0 = left, 1 = right).
+        Pixmap source; // Pixels of the tileset texture.
+        int sourceX; // X-coordinate of current source pixel within tile region.
+        int sourceY; // Y-coordinate of current source pixel within tile region.
+        float t; // Vertical position of current pixel within tile (0 = bottom, 1 = top).
+        float temp; // Texture coordinate being moved between corners.
+        TiledMapTile tile; // Tile of cell.
+        TextureRegion region; // Region of the tileset texture holding the tile image.
+
+        tile = cell.getTile();
+        region = tile.getTextureRegion();
+        source = readPixmap(region.getTexture(), pixmaps);
+
+        // If pixels not readable or tile image sized differently from the grid, then exit.
+        if ( source == null || region.getRegionWidth() != width || region.getRegionHeight() != height )
+            return false;
+
+        // If neither flipped, rotated, nor translucent, then copy directly.
+        if ( !cell.getFlipHorizontally() && !cell.getFlipVertically() && cell.getRotation() == Cell.ROTATE_0 &&
+             opacity >= 1f )
+        {
+            chunk.drawPixmap(source, left, top, region.getRegionX(), region.getRegionY(), width, height);
+            return true;
+        }
+
+        // Assign the tile image corners to the tile corners, as OrthogonalTiledMapRenderer does.
+        _cornerU[CORNER_BOTTOM_LEFT] = 0; _cornerV[CORNER_BOTTOM_LEFT] = 1;
+        _cornerU[CORNER_TOP_LEFT] = 0; _cornerV[CORNER_TOP_LEFT] = 0;
+        _cornerU[CORNER_TOP_RIGHT] = 1; _cornerV[CORNER_TOP_RIGHT] = 0;
+        _cornerU[CORNER_BOTTOM_RIGHT] = 1; _cornerV[CORNER_BOTTOM_RIGHT] = 1;
+
+        // Flip horizontally -- swap left and right image coordinates.
+        if ( cell.getFlipHorizontally() )
+        {
+            temp = _cornerU[CORNER_BOTTOM_LEFT]; _cornerU[CORNER_BOTTOM_LEFT] = _cornerU[CORNER_BOTTOM_RIGHT];
+            _cornerU[CORNER_BOTTOM_RIGHT] = temp;
+            temp = _cornerU[CORNER_TOP_LEFT]; _cornerU[CORNER_TOP_LEFT] = _cornerU[CORNER_TOP_RIGHT];
+            _cornerU[CORNER_TOP_RIGHT] = temp;
+        }
+
+        // Flip vertically -- swap top and bottom image coordinates.
+        if ( cell.getFlipVertically() )
+        {
+            temp = _cornerV[CORNER_BOTTOM_LEFT]; _cornerV[CORNER_BOTTOM_LEFT] = _cornerV[CORNER_TOP_LEFT];
+            _cornerV[CORNER_TOP_LEFT] = temp;
+            temp = _cornerV[CORNER_BOTTOM_RIGHT]; _cornerV[CORNER_BOTTOM_RIGHT] = _cornerV[CORNER_TOP_RIGHT];
+            _cornerV[CORNER_TOP_RIGHT] = temp;
+        }
+
+        // Rotate counterclockwise in quarter turns -- each corner takes the coordinates of the next.
+        for ( int turn = 0; turn < cell.getRotation(); turn++ )
+        {
+            temp = _cornerU[0]; _cornerU[0] = _cornerU[1]; _cornerU[1] = _cornerU[2]; _cornerU[2] = _cornerU[3];
+            _cornerU[3] = temp;
+            temp = _cornerV[0]; _cornerV[0] = _cornerV[1]; _cornerV[1] = _cornerV[2]; _cornerV[2] = _cornerV[3];
+            _cornerV[3] = temp;
+        }
+
+        // Loop through destination pixels, sampling the tile image at pixel centers.
+        for ( int y = 0; y < height; y++ )
+        {
+
+            t = 1f - (y + 0.5f) / height;
+
+            for ( int x = 0; x < width; x++ )
+            {
+
+                s = (x + 0.5f) / width;
+
+                // Interpolate the image coordinates across the tile (affine, so exact for any corner order).
+                sourceX = (int)((_cornerU[CORNER_BOTTOM_LEFT] +
+                  s * (_cornerU[CORNER_BOTTOM_RIGHT] - _cornerU[CORNER_BOTTOM_LEFT]) +
+                  t * (_cornerU[CORNER_TOP_LEFT] - _cornerU[CORNER_BOTTOM_LEFT])) * width);
+                sourceY = (int)((_cornerV[CORNER_BOTTOM_LEFT] +
+                  s * (_cornerV[CORNER_BOTTOM_RIGHT] - _cornerV[CORNER_BOTTOM_LEFT]) +
+                  t * (_cornerV[CORNER_TOP_LEFT] - _cornerV[CORNER_BOTTOM_LEFT])) * height);
+
+                color = source.getPixel(region.getRegionX() + Math.min(width - 1, sourceX),
+                  region.getRegionY() + Math.min(height - 1, sourceY));
+
+                // Scale alpha by layer opacity, then blend (source over) into the chunk.
+                alpha = Math.round((color & 0xFF) * Math.min(1f, opacity));
+
+                if ( alpha > 0 )
+                    chunk.drawPixel(left + x, top + y, (color & 0xFFFFFF00) | alpha);
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     *
+     * The function returns the pixels of the passed tileset texture, reading them back from the texture
+     * data when first needed.  The pixels get stored in the passed hash map, for disposal by the caller.
+     *
+     * @param texture  Tileset texture.
+     * @param pixmaps  Pixels of each tileset texture read so far.  Null entries mark unreadable textures.
+     * @return  Pixels of the texture.  Null when the texture data does not hold a Pixmap.
+     */
+
+    // texture = Tileset texture.
+    // pixmaps = Pixels of each tileset texture read so far.  Null entries mark unreadable textures.
+    private static Pixmap readPixmap(Texture texture, HashMap<Texture, Pixmap> pixmaps)
+    {
+
+        /*
+        The function returns the pixels of the passed tileset texture, reading them back from the texture
+        data when first needed.  The pixels get stored in the passed hash map, for disposal by the caller.
+        */
+
+        Pixmap copy; // Copy of the pixels, owned by the caller.
+        TextureData data; // Data from which the texture was created.
+        Pixmap pixmap; // Pixels of the texture data.
+
+        // If already read, then return.
+        if ( pixmaps.containsKey(texture) )
+            return pixmaps.get(texture);
+
+        // Set defaults.
+        copy = null;
+        data = texture.getTextureData();
+
+        // If texture data holds a Pixmap (images loaded from files do), then read it.
+        if ( data.getType() == TextureData.TextureDataType.Pixmap )
+        {
+
+            if ( !data.isPrepared() )
+                data.prepare();
+
+            pixmap = data.consumePixmap();
+
+            // Copy when the texture data keeps ownership of its Pixmap.
+            if ( data.disposePixmap() )
+                copy = pixmap;
+
+            else
+            {
+                copy = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), pixmap.getFormat());
+                copy.drawPixmap(pixmap, 0, 0);
+            }
+
+        }
+
+        pixmaps.put(texture, copy);
+
+        // Return pixels (or null when unreadable).
+        return copy;
+
+    }
+
+    /**
+     *
+     * The method draws the chunks visible to the passed camera, one quad each.  The batch projection must
+     * already match the camera (for example, through OrthogonalTiledMapRenderer.setView()).
+     *
+     * @param batch  Batch with which to draw.  Must not be drawing yet.
+     * @param camera  Camera showing the map, in world units.
+     * @param unitScale  Number of world units per pixel.
+     */
+
+    // batch = Batch with which to draw.  Must not be drawing yet.
+    // camera = Camera showing the map, in world units.
+    // unitScale = Number of world units per pixel.
+    public void render(Batch batch, OrthographicCamera camera, float unitScale)
+    {
+
+        /*
+        The method draws the chunks visible to the passed camera, one quad each.  The batch projection must
+        already match the camera (for example, through OrthogonalTiledMapRenderer.setView()).
+        */
+
+        float height; // Height of current chunk, in world units.
+        Texture texture; // Texture of current chunk.
+        float viewBottom; // Bottom edge of the view, in world units.
+        float viewLeft; // Left edge of the view, in world units.
+        float viewRight; // Right edge of the view, in world units.
+        float viewTop; // Top edge of the view, in world units.
+        float width; // Width of current chunk, in world units.
+        float x; // X-coordinate of lower left corner of current chunk, in world units.
+        float y; // Y-coordinate of lower left corner of current chunk, in world units.
+
+        // Determine the area shown by the camera.
+        viewLeft = camera.position.x - camera.viewportWidth * camera.zoom / 2;
+        viewRight = camera.position.x + camera.viewportWidth * camera.zoom / 2;
+        viewBottom = camera.position.y - camera.viewportHeight * camera.zoom / 2;
+        viewTop = camera.position.y + camera.viewportHeight * camera.zoom / 2;
+
+        batch.begin();
+
+        // Loop through chunks, drawing those within the view.
+        for ( int index = 0; index < _chunkTextures.size(); index++ )
+        {
+
+            texture = _chunkTextures.get(index);
+            x = _chunkX.get(index) * unitScale;
+            y = _chunkY.get(index) * unitScale;
+            width = texture.getWidth() * unitScale;
+            height = texture.getHeight() * unitScale;
+
+            if ( x < viewRight && x + width > viewLeft && y < viewTop && y + height > viewBottom )
+                batch.draw(texture, x, y, width, height);
+
+        }
+
+        batch.end();
+
+    }
+
+}
@@ -0,0 +1,622 @@
+package bludbourne_ch02;
+
+// Local project imports.
+import core.AllocationProbe;
+
+// Java imports.
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+
+public final class FrameProfiler
+{
+
+    /**
+    * The class times the phases of each frame (camera update, entity update, collision, portals, input,
+    * map rendering, sprite batch, ...) and keeps a histogram of the times for each phase, for reporting
+    * the 50th, 95th, and 99th percentile and maximum.
+    * <br><br>
+    * Wrap each phase in begin() and end().  Phases inside the simulation step get one sample per step,
+    * the others one per frame.  The histograms get allocated up front and recording only increments
+    * counters, so profiling creates no garbage and costs two System.nanoTime() calls per phase.
+    * <br><br>
+    * The histograms use log-linear buckets:  times below 16 nanoseconds get a bucket each, and every
+    * power of two above gets split into 16 buckets.  Percentiles report the upper end of their bucket
+    * (capped at the maximum), so they read at most 1/16 (about 6%) high.
+    * <br><br>
+    * When the Java runtime counts allocations (see AllocationProbe), begin() and end() also read the
+    * bytes allocated by the render thread, keeping the total, last, and largest bytes per sample of each
+    * phase.  The allocation reads fall outside the timed span.
+    */
+
+    /*
+    Methods include:
+
+    appendMicros:  Appends the passed time in microseconds, with one decimal place.
+    appendSummary:  Appends one line per phase (count, percentiles, and maximum, in microseconds) to the
+      passed text.
+    begin:  Marks the start of the passed phase.
+    bucketOf:  Returns the histogram bucket holding the passed time.
+    bucketTop:  Returns the largest time held by the passed histogram bucket.
+    end:  Marks the end of the passed phase and records the time (and bytes allocated) since begin().
+    getBytes:  Returns the bytes allocated during all samples of the passed phase.
+    getCount:  Returns the number of times recorded for the passed phase.
+    getEnabled:  Returns whether begin() and end() record times.
+    getLastBytes:  Returns the bytes allocated during the last sample of the passed phase.
+    getMax:  Returns the longest time recorded for the passed phase, in nanoseconds.
+    getMaxBytes:  Returns the most bytes allocated during one sample of the passed phase.
+    getPercentile:  Returns the passed percentile of the times recorded for the passed phase, in nanoseconds.
+    getTrackAllocations:  Returns whether begin() and end() record the bytes allocated.
+    record:  Adds the passed time to the histogram of the passed phase.
+    recordAllocation:  Adds the passed bytes allocated to the passed phase.
+    reset:  Clears the times and bytes recorded for all phases.
+    setEnabled:  Sets whether begin() and end() record times.
+    setTrackAllocations:  Sets whether begin() and end() record the bytes allocated.
+    write:  Writes the summary of all phases to the passed stream.
+    */
+
+    // Declare constants.
+    private static final int SUB_BUCKET_BITS = 4; // Bits of each time (below the highest) picking the bucket.
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Buckets per power of two.
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS; // Buckets per phase.
+    private static final long NANOS_PER_MICRO = 1000L; // Nanoseconds per microsecond.
+
+    // Declare enumerations.
+
+    /** Phase of a frame.  Phases inside the simulation step get one sample per step. */
+    public enum Phase
+    {
+        FRAME, // Whole frame (render()).
+        CAMERA, // Player position blending and camera update.
+        ENTITY, // Player update (animation time and hitbox) -- per step.
+        COLLISION, // Player sweep against the collision layer -- per step.
+        PORTALS, // Portal check -- per step.
+        INPUT, // Input processing -- per step.
+        NPCS, // Non-player character update -- per step.
+        STREAMING, // Background map loading and chunk streaming.
+        MAP_RENDER, // Map (tile layers) rendering.
+        SPRITE_BATCH // Player drawing through the sprite batch.
+    }
+
+    /** Phases, in order (values() copies the array on each call). */
+    private static final Phase[] PHASES = Phase.values();
+
+    // Declare regular variables.
+
+    /** {@link Enabled}
+     * Whether begin() and end() record times. */
+    private boolean _enabled;
+
+    /** {@link TrackAllocations}
+     * Whether begin() and end() record the bytes allocated. */
+    private boolean _trackAllocations;
+
+    // Declare list variables.
+
+    /** {@link Bytes}
+     * Bytes allocated during all samples, per phase. */
+    private final long[] _bytes;
+
+    /** {@link Counts}
+     * Histograms of all phases, one after the other (BUCKETS entries per phase). */
+    private final int[] _counts;
+
+    /** {@link LastBytes}
+     * Bytes allocated during the last sample, per phase. */
+    private final long[] _lastBytes;
+
+    /** {@link Max}
+     * Longest time recorded per phase, in nanoseconds. */
+    private final long[] _max;
+
+    /** {@link MaxBytes}
+     * Most bytes allocated during one sample, per phase. */
+    private final long[] _maxBytes;
+
+    /** {@link Samples}
+     * Number of times recorded per phase. */
+    private final long[] _samples;
+
+    /** {@link StartBytes}
+     * Bytes allocated by the render thread at begin(), per phase. */
+    private final long[] _startBytes;
+
+    /** {@link Starts}
+     * Time passed to begin() per phase, in nanoseconds. */
+    private final long[] _starts;
+
+    /**
+     *
+     * The constructor allocates the histograms of all phases and enables recording.  Allocations get 
+     * tracked when the Java runtime counts them.
+     */
+    public FrameProfiler()
+    {
+
+        // The constructor allocates the histograms of all phases and enables recording.
+
+        _bytes = new long[PHASES.length];
+        _counts = new int[PHASES.length * BUCKETS];
+        _lastBytes = new long[PHASES.length];
+        _max = new long[PHASES.length];
+        _maxBytes = new long[PHASES.length];
+        _samples = new long[PHASES.length];
+        _startBytes = new long[PHASES.length];
+        _starts = new long[PHASES.length];
+        _enabled = true;
+        _trackAllocations = AllocationProbe.isSupported();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @param phase  Phase for which to return the bytes allocated.
+     * @return  Bytes allocated during all samples of the passed phase.
+     */
+
+    // phase = Phase for which to return the bytes allocated.
+    public long getBytes(Phase phase)
+    {
+        // The function returns the bytes allocated during all samples of the passed phase.
+        return _bytes[phase.ordinal()];
+    }
+
+    /**
+     *
+     * @param phase  Phase for which to return the number of times.
+     * @return  Number of times recorded for the passed phase.
+     */
+
+    // phase = Phase for which to return the number of times.
+    public long getCount(Phase phase)
+    {
+        // The function returns the number of times recorded for the passed phase.
+        return _samples[phase.ordinal()];
+    }
+
+    /**
+     *
+     * @return  Whether begin() and end() record times.
+     */
+    public boolean getEnabled()
+    {
+        // The function returns whether begin() and end() record times.
+        return _enabled;
+    }
+
+    /**
+     *
+     * @param enabled  Whether begin() and end() record times.
+     */
+
+    // enabled = Whether begin() and end() record times.
+    public void setEnabled(boolean enabled)
+    {
+        // The function sets whether begin() and end() record times.
+        _enabled = enabled;
+    }
+
+    /**
+     *
+     * @param phase  Phase for which to return the bytes allocated.
+     * @return  Bytes allocated during the last sample of the passed phase.
+     */
+
+    // phase = Phase for which to return the bytes allocated.
+    public long getLastBytes(Phase phase)
+    {
+        // The function returns the bytes allocated during the last sample of the passed phase.
+        return _lastBytes[phase.ordinal()];
+    }
+
+    /**
+     *
+     * @param phase  Phase for which to return the longest time.
+     * @return  Longest time recorded for the passed phase, in nanoseconds.  Zero when none recorded.
+     */
+
+    // phase = Phase for which to return the longest time.
+    public long getMax(Phase phase)
+    {
+        // The function returns the longest time recorded for the passed phase, in nanoseconds.
+        return _max[phase.ordinal()];
+    }
+
+    /**
+     *
+     * @param phase  Phase for which to return the bytes allocated.
+     * @return  Most bytes allocated during one sample of the passed phase.
+     */
+
+    // phase = Phase for which to return the bytes allocated.
+    public long getMaxBytes(Phase phase)
+    {
+        // The function returns the most bytes allocated during one sample of the passed phase.
+        return _maxBytes[phase.ordinal()];
+    }
+
+    /**
+     *
+     * The function returns the passed percentile of the times recorded for the passed phase (nearest
+     * rank), as the upper end of its histogram bucket, capped at the maximum.
+     *
+     * @param phase  Phase for which to return the percentile.
+     * @param percent  Percentile to return (0 to 100).
+     * @return  Time at the passed percentile, in nanoseconds.  Zero when none recorded.
+     */
+
+    // phase = Phase for which to return the percentile.
+    // percent = Percentile to return (0 to 100).
+    public long getPercentile(Phase phase, double percent)
+    {
+
+        // The function returns the passed percentile of the times recorded for the passed phase.
+
+        int base; // Index of the first bucket of the phase.
+        long rank; // Number of times at or below the percentile.
+        long seen; // Number of times in the buckets checked so far.
+
+        // If nothing recorded, then...
+        if ( _samples[phase.ordinal()] == 0 )
+            return 0L;
+
+        base = phase.ordinal() * BUCKETS;
+        rank = Math.max(1L, (long)Math.ceil(percent / 100.0 * _samples[phase.ordinal()]));
+        seen = 0L;
+
+        // Loop through buckets, from shortest to longest times.
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+
+            seen += _counts[base + bucket];
+
+            // If the bucket holds the time at the rank, then return its upper end.
+            if ( seen >= rank )
+                return Math.min(bucketTop(bucket), _max[phase.ordinal()]);
+
+        }
+
+        // Return the longest time.
+        return _max[phase.ordinal()];
+
+    }
+
+    /**
+     *
+     * @return  Whether begin() and end() record the bytes allocated.
+     */
+    public boolean getTrackAllocations()
+    {
+        // The function returns whether begin() and end() record the bytes allocated.
+        return _trackAllocations;
+    }
+
+    /**
+     *
+     * @param trackAllocations  Whether begin() and end() record the bytes allocated.  Ignored (false) when 
+     * the Java runtime does not count allocations.
+     */
+
+    // trackAllocations = Whether begin() and end() record the bytes allocated.
+    public void setTrackAllocations(boolean trackAllocations)
+    {
+        // The function sets whether begin() and end() record the bytes allocated.
+        _trackAllocations = trackAllocations && AllocationProbe.isSupported();
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function appends the passed time in microseconds, with one decimal place.
+     *
+     * @param text  Text to which to append.
+     * @param nanos  Time in nanoseconds.
+     */
+
+    // text = Text to which to append.
+    // nanos = Time in nanoseconds.
+    private static void appendMicros(StringBuilder text, long nanos)
+    {
+
+        // The function appends the passed time in microseconds, with one decimal place.
+
+        long tenths; // Time in tenths of a microsecond, rounded.
+
+        tenths = (nanos + NANOS_PER_MICRO / 20) / (NANOS_PER_MICRO / 10);
+        text.append(tenths / 10).append('.').append(tenths % 10);
+
+    }
+
+    /**
+     *
+     * The function appends one line per phase to the passed text:  name, count, then the 50th, 95th, and
+     * 99th percentile and maximum in microseconds, then (when tracking allocations) the average and 
+     * largest bytes allocated per sample.  Appends numbers directly, so refreshing an overlay
+     * from a reused StringBuilder creates no garbage.
+     *
+     * @param text  Text to which to append.
+     */
+
+    // text = Text to which to append.
+    public void appendSummary(StringBuilder text)
+    {
+
+        // The function appends one line per phase (count, percentiles, and maximum, in microseconds).
+
+        text.append("phase  count  p50  p95  p99  max (us)");
+
+        // If tracking allocations, then add the average and largest bytes per sample.
+        if ( _trackAllocations )
+            text.append("  avg  max (bytes)");
+
+        text.append('\n');
+
+        // Loop through phases.
+        for (Phase phase : PHASES)
+        {
+
+            text.append(phase.name()).append("  ").append(_samples[phase.ordinal()]);
+            appendMicros(text.append("  "), getPercentile(phase, 50));
+            appendMicros(text.append("  "), getPercentile(phase, 95));
+            appendMicros(text.append("  "), getPercentile(phase, 99));
+            appendMicros(text.append("  "), _max[phase.ordinal()]);
+
+            // If tracking allocations, then append the average and largest bytes per sample.
+            if ( _trackAllocations )
+                text.append("  ").append(_samples[phase.ordinal()] == 0 ? 0L : 
+                  _bytes[phase.ordinal()] / _samples[phase.ordinal()]).append("  ").append(_maxBytes[phase.ordinal()]);
+
+            text.append('\n');
+
+        }
+
+    }
+
+    /**
+     *
+     * The function marks the start of the passed phase.
+     *
+     * @param phase  Phase starting.
+     */
+
+    // phase = Phase starting.
+    public void begin(Phase phase)
+    {
+
+        // The function marks the start of the passed phase.
+
+        // If not recording, then exit.
+        if ( !_enabled )
+            return;
+
+        // If tracking allocations, then store the bytes allocated so far (before timing starts).
+        if ( _trackAllocations )
+            _startBytes[phase.ordinal()] = AllocationProbe.read();
+
+        // Store the start time.
+        _starts[phase.ordinal()] = System.nanoTime();
+
+    }
+
+    /**
+     *
+     * The function returns the histogram bucket holding the passed time.  Times below SUB_BUCKETS get a
+     * bucket each.  Above, the highest bit picks the power of two and the next SUB_BUCKET_BITS bits pick
+     * the bucket within it.
+     *
+     * @param nanos  Time in nanoseconds (zero or more).
+     * @return  Bucket holding the passed time.
+     */
+
+    // nanos = Time in nanoseconds (zero or more).
+    private static int bucketOf(long nanos)
+    {
+
+        // The function returns the histogram bucket holding the passed time.
+
+        int highBit; // Position of the highest bit set.
+
+        // If below the first power of two split into buckets, then use a bucket per time.
+        if ( nanos < SUB_BUCKETS )
+            return (int)nanos;
+
+        highBit = 63 - Long.numberOfLeadingZeros(nanos);
+
+        // Return the bucket within the power of two.
+        return (highBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS +
+          (int)((nanos >>> (highBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+
+    }
+
+    /**
+     *
+     * The function returns the largest time held by the passed histogram bucket.
+     *
+     * @param bucket  Histogram bucket.
+     * @return  Largest time held by the bucket, in nanoseconds.
+     */
+
+    // bucket = Histogram bucket.
+    private static long bucketTop(int bucket)
+    {
+
+        // The function returns the largest time held by the passed histogram bucket.
+
+        int shift; // Distance between the power of two and the bucket width.
+
+        // If a bucket per time, then return the time.
+        if ( bucket < SUB_BUCKETS )
+            return bucket;
+
+        shift = bucket / SUB_BUCKETS - 1;
+
+        // Return the start of the following bucket, less one.
+        return ((long)(SUB_BUCKETS + bucket % SUB_BUCKETS + 1) << shift) - 1;
+
+    }
+
+    /**
+     *
+     * The function marks the end of the passed phase and records the time since begin().  When tracking
+     * allocations, the bytes allocated since begin() get recorded too.
+     *
+     * @param phase  Phase ending.
+     */
+
+    // phase = Phase ending.
+    public void end(Phase phase)
+    {
+
+        // The function marks the end of the passed phase and records the time (and bytes allocated) since 
+        // begin().
+
+        // If not recording, then exit.
+        if ( !_enabled )
+            return;
+
+        // Add the time since begin().
+        record(phase, System.nanoTime() - _starts[phase.ordinal()]);
+
+        // If tracking allocations, then add the bytes allocated since begin() (read after timing ends).
+        if ( _trackAllocations )
+            recordAllocation(phase, AllocationProbe.read() - _startBytes[phase.ordinal()]);
+
+    }
+
+    /**
+     *
+     * The function adds the passed time to the histogram of the passed phase.  Negative times count as
+     * zero.
+     *
+     * @param phase  Phase taking the time.
+     * @param nanos  Time taken, in nanoseconds.
+     */
+
+    // phase = Phase taking the time.
+    // nanos = Time taken, in nanoseconds.
+    public void record(Phase phase, long nanos)
+    {
+
+        // The function adds the passed time to the histogram of the passed phase.
+
+        int index; // Index of the phase.
+
+        index = phase.ordinal();
+        nanos = Math.max(0L, nanos);
+
+        _counts[index * BUCKETS + bucketOf(nanos)]++;
+        _samples[index]++;
+
+        // If longest time so far, then store it.
+        if ( nanos > _max[index] )
+            _max[index] = nanos;
+
+    }
+
+    /**
+     *
+     * The function adds the passed bytes allocated to the passed phase, as the last sample.  Negative 
+     * values count as zero.
+     *
+     * @param phase  Phase allocating.
+     * @param bytes  Bytes allocated.
+     */
+
+    // phase = Phase allocating.
+    // bytes = Bytes allocated.
+    public void recordAllocation(Phase phase, long bytes)
+    {
+
+        // The function adds the passed bytes allocated to the passed phase.
+
+        int index; // Index of the phase.
+
+        index = phase.ordinal();
+        bytes = Math.max(0L, bytes);
+
+        _bytes[index] += bytes;
+        _lastBytes[index] = bytes;
+
+        // If most bytes so far, then store them.
+        if ( bytes > _maxBytes[index] )
+            _maxBytes[index] = bytes;
+
+    }
+
+    /**
+     *
+     * The function clears the times and bytes recorded for all phases.
+     */
+    public void reset()
+    {
+
+        // The function clears the times and bytes recorded for all phases.
+
+        Arrays.fill(_bytes, 0L);
+        Arrays.fill(_counts, 0);
+        Arrays.fill(_lastBytes, 0L);
+        Arrays.fill(_max, 0L);
+        Arrays.fill(_maxBytes, 0L);
+        Arrays.fill(_samples, 0L);
+
+    }
+
+    /**
+     *
+     * The function writes the summary of all phases (see appendSummary()) to the passed stream, as UTF-8
+     * text.  The stream stays open.
+     *
+     * @param stream  Stream to which to write.
+     * @throws IOException  When writing fails.
+     */
+
+    // stream = Stream to which to write.
+    public void write(OutputStream stream) throws IOException
+    {
+
+        // The function writes the summary of all phases to the passed stream.
+
+        StringBuilder text; // Summary of all phases.
+        Writer writer; // Writes UTF-8 text.
+
+        text = new StringBuilder();
+        appendSummary(text);
+
+        writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        writer.write(text.toString());
+
+        // Flush the buffered text.
+        writer.flush();
+
+    }
+
+}
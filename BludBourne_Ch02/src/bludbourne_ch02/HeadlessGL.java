@@ -0,0 +1,114 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.graphics.GL20;
+
+// Java imports.
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class HeadlessGL
+{
+
+    /**
+    * The class provides an OpenGL stand-in for the headless backend, which offers no OpenGL, so replays 
+    * and benchmarks run on machines without a GPU (build servers).  Calls do nothing and return zero, 
+    * false, or null, except that creating a shader or program returns a valid (non-zero) name, and shaders
+    * report compiling and programs linking.  Sprite batches, shape renderers, and fonts therefore get 
+    * created as usual, and textures for tilesets and sprite sheets get created without uploading anything.
+    */
+
+    /*
+    Methods include:
+
+    create:  Returns an OpenGL stand-in that does nothing.
+    */
+
+    // No constructor exists.
+
+    // Methods below...
+
+    /**
+     *
+     * The function returns an OpenGL stand-in that does nothing.  Calls return zero, false, or null,
+     * depending on the return type.  Creating a shader or program returns 1, and querying the compile or
+     * link status reports success.  Install the stand-in (Gdx.gl and Gdx.gl20) before the application 
+     * listener gets created.
+     *
+     * @return  OpenGL stand-in that does nothing.
+     */
+    public static GL20 create()
+    {
+
+        // The function returns an OpenGL stand-in that does nothing.
+
+        InvocationHandler handler; // Handler answering each call with the default of its return type.
+
+        handler = new InvocationHandler()
+        {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+
+                Class<?> type; // Return type of the called method.
+
+                // If creating a shader or program, then return a valid name.
+                if ( method.getName().equals("glCreateShader") || method.getName().equals("glCreateProgram") )
+                    return 1;
+
+                // If querying the compile or link status, then report success.
+                if ( ( method.getName().equals("glGetShaderiv") || method.getName().equals("glGetProgramiv") ) &&
+                  args[2] instanceof IntBuffer )
+                {
+                    ((IntBuffer)args[2]).put(0, (Integer)args[1] == GL20.GL_COMPILE_STATUS || 
+                      (Integer)args[1] == GL20.GL_LINK_STATUS ? 1 : 0);
+                    return null;
+                }
+
+                type = method.getReturnType();
+
+                // Depending on return type...
+                if ( type == boolean.class )
+                    return false;
+                else if ( type == int.class )
+                    return 0;
+                else if ( type == float.class )
+                    return 0f;
+                else if ( type == long.class )
+                    return 0L;
+                else
+                    return null;
+
+            }
+        };
+
+        // Return the stand-in.
+        return (GL20)Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class }, handler);
+
+    }
+
+}
@@ -0,0 +1,328 @@
+package bludbourne_ch02;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class InputEventBuffer
+{
+
+    /**
+    * The class holds input events (key and touch presses and releases) in a fixed-capacity ring buffer,
+    * oldest first, each with the time it occurred.
+    * <br><br>
+    * Events get stored in parallel primitive arrays sized once, so adding and removing events never
+    * allocates.  Readers look at the oldest event with the get...() methods and discard it with remove().
+    * When full, add() refuses the event -- callers apply (remove) the oldest event first so nothing gets
+    * lost.
+    * <br><br>
+    * Input events arrive on the render thread (LibGDX processes input before each render), the same thread
+    * that drains them, so the buffer is not thread-safe.
+    */
+
+    /*
+    Methods include:
+
+    add:  Adds an event to the end of the buffer, unless full.
+    clear:  Removes all events.
+    getCapacity:  Returns the maximum number of events held.
+    getCode:  Returns the code (key or button) of the oldest event.
+    getCount:  Returns the number of events held.
+    getTime:  Returns the time of the oldest event.
+    getType:  Returns the type of the oldest event.
+    getX:  Returns the x coordinate of the oldest event.
+    getY:  Returns the y coordinate of the oldest event.
+    isEmpty:  Returns whether the buffer holds no events.
+    isFull:  Returns whether the buffer holds the maximum number of events.
+    remove:  Removes the oldest event.
+    */
+
+    // Declare constants.
+    public static final int DEFAULT_CAPACITY = 128; // Default maximum number of events held.
+    public static final byte KEY_DOWN = 0; // Type of event for pressing a key.
+    public static final byte KEY_UP = 1; // Type of event for releasing a key.
+    public static final byte TOUCH_DOWN = 2; // Type of event for touching the screen or pressing a button.
+    public static final byte TOUCH_UP = 3; // Type of event for lifting a finger or releasing a button.
+
+    // Declare regular variables.
+
+    /** {@link Count}
+     * Number of events held. */
+    private int _count;
+
+    /** {@link Head}
+     * Index of the oldest event in the arrays. */
+    private int _head;
+
+    // Declare list variables.
+
+    /** {@link Codes}
+     * Code of each event (key or button). */
+    private final int[] _codes;
+
+    /** {@link Times}
+     * Time of each event, in nanoseconds. */
+    private final long[] _times;
+
+    /** {@link Types}
+     * Type of each event (KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP). */
+    private final byte[] _types;
+
+    /** {@link X}
+     * X coordinate of each touch event, with the origin in the upper left corner. */
+    private final int[] _x;
+
+    /** {@link Y}
+     * Y coordinate of each touch event, with the origin in the upper left corner. */
+    private final int[] _y;
+
+    /**
+     * The constructor initializes an empty buffer holding up to the default number of events.
+     */
+    public InputEventBuffer()
+    {
+
+        // The constructor initializes an empty buffer holding up to the default number of events.
+        this(DEFAULT_CAPACITY);
+
+    }
+
+    /**
+     *
+     * The constructor initializes an empty buffer holding up to the passed number of events.
+     *
+     * @param capacity  Maximum number of events held.  Must be positive.
+     */
+
+    // capacity = Maximum number of events held.  Must be positive.
+    public InputEventBuffer(int capacity)
+    {
+
+        // The constructor initializes an empty buffer holding up to the passed number of events.
+
+        // If capacity invalid, then...
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        // Allocate arrays.
+        _codes = new int[capacity];
+        _times = new long[capacity];
+        _types = new byte[capacity];
+        _x = new int[capacity];
+        _y = new int[capacity];
+
+        // Set defaults.
+        _count = 0;
+        _head = 0;
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Maximum number of events held.
+     */
+    public int getCapacity()
+    {
+        // The function returns the maximum number of events held.
+        return _types.length;
+    }
+
+    /**
+     *
+     * @return  Code (key or button) of the oldest event.  Only valid when not empty.
+     */
+    public int getCode()
+    {
+        // The function returns the code (key or button) of the oldest event.
+        return _codes[_head];
+    }
+
+    /**
+     *
+     * @return  Number of events held.
+     */
+    public int getCount()
+    {
+        // The function returns the number of events held.
+        return _count;
+    }
+
+    /**
+     *
+     * @return  Time of the oldest event, in nanoseconds.  Only valid when not empty.
+     */
+    public long getTime()
+    {
+        // The function returns the time of the oldest event.
+        return _times[_head];
+    }
+
+    /**
+     *
+     * @return  Type of the oldest event (KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).  Only valid when not empty.
+     */
+    public byte getType()
+    {
+        // The function returns the type of the oldest event.
+        return _types[_head];
+    }
+
+    /**
+     *
+     * @return  X coordinate of the oldest event.  Only valid when not empty.
+     */
+    public int getX()
+    {
+        // The function returns the x coordinate of the oldest event.
+        return _x[_head];
+    }
+
+    /**
+     *
+     * @return  Y coordinate of the oldest event.  Only valid when not empty.
+     */
+    public int getY()
+    {
+        // The function returns the y coordinate of the oldest event.
+        return _y[_head];
+    }
+
+    /**
+     *
+     * @return  Whether the buffer holds no events.
+     */
+    public boolean isEmpty()
+    {
+        // The function returns whether the buffer holds no events.
+        return _count == 0;
+    }
+
+    /**
+     *
+     * @return  Whether the buffer holds the maximum number of events.
+     */
+    public boolean isFull()
+    {
+        // The function returns whether the buffer holds the maximum number of events.
+        return _count == _types.length;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function adds an event to the end of the buffer, unless full.
+     *
+     * @param type  Type of event (KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+     * @param code  Code of the key or button.
+     * @param x  X coordinate of a touch event, with the origin in the upper left corner.  Zero for keys.
+     * @param y  Y coordinate of a touch event, with the origin in the upper left corner.  Zero for keys.
+     * @param time  Time of the event, in nanoseconds.
+     * @return  Whether the event got added (false when full).
+     */
+
+    // type = Type of event (KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+    // code = Code of the key or button.
+    // x = X coordinate of a touch event, with the origin in the upper left corner.  Zero for keys.
+    // y = Y coordinate of a touch event, with the origin in the upper left corner.  Zero for keys.
+    // time = Time of the event, in nanoseconds.
+    public boolean add(byte type, int code, int x, int y, long time)
+    {
+
+        // The function adds an event to the end of the buffer, unless full.
+
+        int tail; // Index at which to store the event.
+
+        // If full, then...
+        if (_count == _types.length)
+        {
+            // Refuse the event.
+            return false;
+        }
+
+        // Get the index following the newest event, wrapping around.
+        tail = _head + _count;
+
+        // If past the end of the arrays, then...
+        if (tail >= _types.length)
+        {
+            // Wrap around.
+            tail -= _types.length;
+        }
+
+        // Store the event.
+        _types[tail] = type;
+        _codes[tail] = code;
+        _x[tail] = x;
+        _y[tail] = y;
+        _times[tail] = time;
+        _count++;
+
+        // Return success.
+        return true;
+
+    }
+
+    /**
+     * The function removes all events.
+     */
+    public void clear()
+    {
+
+        // The function removes all events.
+        _count = 0;
+        _head = 0;
+
+    }
+
+    /**
+     * The function removes the oldest event.  Does nothing when empty.
+     */
+    public void remove()
+    {
+
+        // The function removes the oldest event.  Does nothing when empty.
+
+        // If empty, then...
+        if (_count == 0)
+        {
+            // Nothing to remove.
+            return;
+        }
+
+        // Move to the following event, wrapping around.
+        _head++;
+        _count--;
+
+        // If past the end of the arrays, then...
+        if (_head == _types.length)
+        {
+            // Wrap around.
+            _head = 0;
+        }
+
+    }
+
+}
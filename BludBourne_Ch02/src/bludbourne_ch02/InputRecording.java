@@ -0,0 +1,477 @@
+package bludbourne_ch02;
+
+// Java imports.
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class InputRecording
+{
+
+    /**
+    * The class holds a recording of the player input, as applied by PlayerController, for replaying the
+    * same session later -- as repeatable load when profiling and as a correctness check.
+    * <br><br>
+    * Each event stores the index of the simulation step that applied it and its offset (nanoseconds) from
+    * the start of the step, along with the type, code, and (for touches) coordinates.  Since the game logic
+    * runs in fixed steps, the step index and step duration fully determine the timing -- replaying the
+    * events into the same steps produces bit-identical player positions.  The recording also stores the
+    * number of steps and the final player position, so replays can verify the result.
+    * <br><br>
+    * The file layout (big-endian) follows:  MAGIC, VERSION, step duration, step count, final x, final y,
+    * event count, then per event the step index, type, code, and offset, followed by x and y for touch
+    * events only.
+    * <br><br>
+    * Replays read the events in order through a cursor (hasEvent(), get...(), advance()).
+    */
+
+    /*
+    Methods include:
+
+    advance:  Moves the cursor to the following event.
+    finish:  Stores the number of steps and the final player position.
+    getCode:  Returns the code (key or button) of the event at the cursor.
+    getEventCount:  Returns the number of events recorded.
+    getFinalX:  Returns the x coordinate of the player after the last step.
+    getFinalY:  Returns the y coordinate of the player after the last step.
+    getOffset:  Returns the offset from the start of its step, in nanoseconds, of the event at the cursor.
+    getStepCount:  Returns the number of steps recorded.
+    getStepDuration:  Returns the duration of each step, in seconds.
+    getType:  Returns the type of the event at the cursor.
+    getX:  Returns the x coordinate of the event at the cursor.
+    getY:  Returns the y coordinate of the event at the cursor.
+    hasEvent:  Returns whether the event at the cursor belongs to the passed step.
+    read:  Reads a recording from the passed stream.
+    record:  Adds an event to the end of the recording.
+    rewind:  Moves the cursor to the first event.
+    write:  Writes the recording to the passed stream.
+    */
+
+    // Declare constants.
+    public static final String EXTENSION = ".brec"; // Extension of recording files.
+    private static final int DEFAULT_CAPACITY = 256; // Initial number of events held before growing.
+    private static final int MAGIC = 0x42524543; // Value at the start of each recording file ("BREC").
+    private static final int VERSION = 1; // Version of the layout.  Increase when changing the layout.
+
+    // Declare regular variables.
+
+    /** {@link Count}
+     * Number of events recorded. */
+    private int _count;
+
+    /** {@link Cursor}
+     * Index of the next event to replay. */
+    private int _cursor;
+
+    /** {@link FinalX}
+     * X coordinate of the player after the last step. */
+    private float _finalX;
+
+    /** {@link FinalY}
+     * Y coordinate of the player after the last step. */
+    private float _finalY;
+
+    /** {@link StepCount}
+     * Number of steps recorded. */
+    private int _stepCount;
+
+    /** {@link StepDuration}
+     * Duration of each step, in seconds. */
+    private final float _stepDuration;
+
+    // Declare list variables.
+
+    /** {@link Codes}
+     * Code of each event (key or button). */
+    private byte[] _codes;
+
+    /** {@link Offsets}
+     * Offset of each event from the start of its step, in nanoseconds. */
+    private int[] _offsets;
+
+    /** {@link Steps}
+     * Index of the step that applied each event. */
+    private int[] _steps;
+
+    /** {@link Types}
+     * Type of each event (InputEventBuffer.KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP). */
+    private byte[] _types;
+
+    /** {@link X}
+     * X coordinate of each event.  Zero for keys. */
+    private int[] _x;
+
+    /** {@link Y}
+     * Y coordinate of each event.  Zero for keys. */
+    private int[] _y;
+
+    /**
+     *
+     * The constructor initializes an empty recording.
+     *
+     * @param stepDuration  Duration of each step, in seconds.
+     */
+
+    // stepDuration = Duration of each step, in seconds.
+    public InputRecording(float stepDuration)
+    {
+
+        // The constructor initializes an empty recording.
+
+        // Set defaults.
+        _stepDuration = stepDuration;
+        _count = 0;
+        _cursor = 0;
+        _stepCount = 0;
+
+        // Allocate arrays.
+        _codes = new byte[DEFAULT_CAPACITY];
+        _offsets = new int[DEFAULT_CAPACITY];
+        _steps = new int[DEFAULT_CAPACITY];
+        _types = new byte[DEFAULT_CAPACITY];
+        _x = new int[DEFAULT_CAPACITY];
+        _y = new int[DEFAULT_CAPACITY];
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Code (key or button) of the event at the cursor.
+     */
+    public int getCode()
+    {
+        // The function returns the code (key or button) of the event at the cursor.
+        return _codes[_cursor];
+    }
+
+    /**
+     *
+     * @return  Number of events recorded.
+     */
+    public int getEventCount()
+    {
+        // The function returns the number of events recorded.
+        return _count;
+    }
+
+    /**
+     *
+     * @return  X coordinate of the player after the last step.
+     */
+    public float getFinalX()
+    {
+        // The function returns the x coordinate of the player after the last step.
+        return _finalX;
+    }
+
+    /**
+     *
+     * @return  Y coordinate of the player after the last step.
+     */
+    public float getFinalY()
+    {
+        // The function returns the y coordinate of the player after the last step.
+        return _finalY;
+    }
+
+    /**
+     *
+     * @return  Offset of the event at the cursor from the start of its step, in nanoseconds.
+     */
+    public int getOffset()
+    {
+        // The function returns the offset from the start of its step, in nanoseconds, of the event at the
+        // cursor.
+        return _offsets[_cursor];
+    }
+
+    /**
+     *
+     * @return  Number of steps recorded.
+     */
+    public int getStepCount()
+    {
+        // The function returns the number of steps recorded.
+        return _stepCount;
+    }
+
+    /**
+     *
+     * @return  Duration of each step, in seconds.
+     */
+    public float getStepDuration()
+    {
+        // The function returns the duration of each step, in seconds.
+        return _stepDuration;
+    }
+
+    /**
+     *
+     * @return  Type of the event at the cursor (InputEventBuffer.KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+     */
+    public byte getType()
+    {
+        // The function returns the type of the event at the cursor.
+        return _types[_cursor];
+    }
+
+    /**
+     *
+     * @return  X coordinate of the event at the cursor.  Zero for keys.
+     */
+    public int getX()
+    {
+        // The function returns the x coordinate of the event at the cursor.
+        return _x[_cursor];
+    }
+
+    /**
+     *
+     * @return  Y coordinate of the event at the cursor.  Zero for keys.
+     */
+    public int getY()
+    {
+        // The function returns the y coordinate of the event at the cursor.
+        return _y[_cursor];
+    }
+
+    // Methods below...
+
+    /**
+     * The function moves the cursor to the following event.
+     */
+    public void advance()
+    {
+        // The function moves the cursor to the following event.
+        _cursor++;
+    }
+
+    /**
+     *
+     * The function stores the number of steps and the final player position.  Called when recording ends.
+     *
+     * @param stepCount  Number of steps recorded.
+     * @param finalX  X coordinate of the player after the last step.
+     * @param finalY  Y coordinate of the player after the last step.
+     */
+
+    // stepCount = Number of steps recorded.
+    // finalX = X coordinate of the player after the last step.
+    // finalY = Y coordinate of the player after the last step.
+    public void finish(int stepCount, float finalX, float finalY)
+    {
+
+        // The function stores the number of steps and the final player position.
+
+        _stepCount = stepCount;
+        _finalX = finalX;
+        _finalY = finalY;
+
+    }
+
+    /**
+     *
+     * @param step  Index of the step.
+     * @return  Whether the event at the cursor exists and belongs to the passed step.
+     */
+
+    // step = Index of the step.
+    public boolean hasEvent(int step)
+    {
+        // The function returns whether the event at the cursor belongs to the passed step.
+        return _cursor < _count && _steps[_cursor] == step;
+    }
+
+    /**
+     *
+     * The function reads a recording from the passed stream.  The stream gets left open.
+     *
+     * @param stream  Stream from which to read.
+     * @return  Recording read from the stream, with the cursor at the first event.
+     * @throws IOException  When reading fails or the stream holds no recording (or the wrong version).
+     */
+
+    // stream = Stream from which to read.
+    public static InputRecording read(InputStream stream) throws IOException
+    {
+
+        // The function reads a recording from the passed stream.
+
+        int count; // Number of events in the stream.
+        DataInputStream in; // Reads big-endian values.
+        InputRecording recording; // Recording to return.
+
+        in = new DataInputStream(stream);
+
+        // If the stream holds no recording (or the wrong version), then...
+        if ( in.readInt() != MAGIC || in.readInt() != VERSION )
+        {
+            throw new IOException("Not an input recording (or wrong version).");
+        }
+
+        // Read the header.
+        recording = new InputRecording(in.readFloat());
+        recording._stepCount = in.readInt();
+        recording._finalX = in.readFloat();
+        recording._finalY = in.readFloat();
+        count = in.readInt();
+
+        // Loop through events.
+        for (int index = 0; index < count; index++)
+        {
+
+            recording.record(in.readInt(), in.readByte(), in.readByte(), 0, 0, in.readInt());
+
+            // If touch event, then read the coordinates.
+            if ( recording._types[index] == InputEventBuffer.TOUCH_DOWN ||
+                 recording._types[index] == InputEventBuffer.TOUCH_UP )
+            {
+                recording._x[index] = in.readInt();
+                recording._y[index] = in.readInt();
+            }
+
+        }
+
+        // Return the recording.
+        return recording;
+
+    }
+
+    /**
+     *
+     * The function adds an event to the end of the recording.
+     *
+     * @param step  Index of the step that applied the event.
+     * @param type  Type of event (InputEventBuffer.KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+     * @param code  Code of the key or button.
+     * @param x  X coordinate of a touch event.  Zero for keys.
+     * @param y  Y coordinate of a touch event.  Zero for keys.
+     * @param offset  Offset of the event from the start of the step, in nanoseconds.
+     */
+
+    // step = Index of the step that applied the event.
+    // type = Type of event (InputEventBuffer.KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+    // code = Code of the key or button.
+    // x = X coordinate of a touch event.  Zero for keys.
+    // y = Y coordinate of a touch event.  Zero for keys.
+    // offset = Offset of the event from the start of the step, in nanoseconds.
+    public void record(int step, byte type, int code, int x, int y, int offset)
+    {
+
+        // The function adds an event to the end of the recording.
+
+        int capacity; // Capacity after growing.
+
+        // If arrays full, then...
+        if ( _count == _types.length )
+        {
+
+            // Double the capacity.
+            capacity = _types.length * 2;
+            _codes = Arrays.copyOf(_codes, capacity);
+            _offsets = Arrays.copyOf(_offsets, capacity);
+            _steps = Arrays.copyOf(_steps, capacity);
+            _types = Arrays.copyOf(_types, capacity);
+            _x = Arrays.copyOf(_x, capacity);
+            _y = Arrays.copyOf(_y, capacity);
+
+        }
+
+        // Store the event.
+        _steps[_count] = step;
+        _types[_count] = type;
+        _codes[_count] = (byte)code;
+        _x[_count] = x;
+        _y[_count] = y;
+        _offsets[_count] = offset;
+        _count++;
+
+    }
+
+    /**
+     * The function moves the cursor to the first event.
+     */
+    public void rewind()
+    {
+        // The function moves the cursor to the first event.
+        _cursor = 0;
+    }
+
+    /**
+     *
+     * The function writes the recording to the passed stream.  The stream gets flushed, but left open.
+     *
+     * @param stream  Stream to which to write.
+     * @throws IOException  When writing fails.
+     */
+
+    // stream = Stream to which to write.
+    public void write(OutputStream stream) throws IOException
+    {
+
+        // The function writes the recording to the passed stream.
+
+        DataOutputStream out; // Writes big-endian values.
+
+        out = new DataOutputStream(stream);
+
+        // Write the header.
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeFloat(_stepDuration);
+        out.writeInt(_stepCount);
+        out.writeFloat(_finalX);
+        out.writeFloat(_finalY);
+        out.writeInt(_count);
+
+        // Loop through events.
+        for (int index = 0; index < _count; index++)
+        {
+
+            out.writeInt(_steps[index]);
+            out.writeByte(_types[index]);
+            out.writeByte(_codes[index]);
+            out.writeInt(_offsets[index]);
+
+            // If touch event, then write the coordinates.
+            if ( _types[index] == InputEventBuffer.TOUCH_DOWN || _types[index] == InputEventBuffer.TOUCH_UP )
+            {
+                out.writeInt(_x[index]);
+                out.writeInt(_y[index]);
+            }
+
+        }
+
+        // Flush the buffered values.
+        out.flush();
+
+    }
+
+}
@@ -0,0 +1,567 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Array;
+
+// Java imports.
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class MapCache
+{
+
+    /**
+    * The class keeps recently used maps resident in the asset manager, within a budget, so walking back
+    * and forth between maps does not parse the same TMX files again.
+    * <br><br>
+    * Each cached map holds one reference in the asset manager.  Entries stay in least recently used
+    * order.  When the number of maps or the estimated bytes exceed the budget, the least recently used
+    * maps get released, never including the current map.  A released map stays in memory only when
+    * something else (such as the prefetcher) still holds a reference.
+    * <br><br>
+    * The asset manager loads tileset textures as dependencies of each map and counts references to them,
+    * so maps sharing a tileset share one copy.  The byte estimate mirrors the sharing -- each texture
+    * counts once, no matter how many cached maps use it.
+    * <br><br>
+    * Hit, miss, and eviction counters help size the budget.  A hit means the map was already resident
+    * (cached or prefetched) when requested.
+    */
+
+    /*
+    Methods include:
+
+    acquire:  Makes the passed map resident, records it as the current (most recently used) map, and
+      evicts maps over the budget.
+    clear:  Releases all cached maps.
+    contains:  Returns whether the passed map is cached.
+    estimateMapBytes:  Returns the estimated bytes used by the passed map, excluding tileset textures.
+    evict:  Releases least recently used maps until the cache fits the budget.
+    getCachedBytes:  Returns the estimated bytes used by the cached maps, including tileset textures.
+    getCount:  Returns the number of cached maps.
+    getEvictions:  Returns the number of maps evicted.
+    getHits:  Returns the number of requests for maps already resident.
+    getMaxBytes:  Returns the maximum estimated bytes for the cached maps.
+    getMaxMaps:  Returns the maximum number of cached maps.
+    getMisses:  Returns the number of requests for maps not resident.
+    release:  Removes the passed map from the cache and releases its reference.
+    retainTextures:  Adjusts the reference counts of the tileset textures used by the passed map.
+    setMaxBytes:  Sets the maximum estimated bytes for the cached maps.
+    setMaxMaps:  Sets the maximum number of cached maps.
+    */
+
+    // Declare constants.
+    private static final String TAG = MapCache.class.getSimpleName(); // Class name.
+    private static final int BYTES_PER_CELL = 24; // Estimated bytes per tile layer cell.
+    private static final int BYTES_PER_OBJECT = 160; // Estimated bytes per map object.
+    private static final int BYTES_PER_TEXEL = 4; // Bytes per texel of a tileset texture (RGBA8888).
+    private static final int DEFAULT_MAX_MAPS = 3; // Default maximum number of cached maps.
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024; // Default maximum estimated bytes.
+
+    // Declare regular variables.
+
+    /** {@link CurrentPath}
+     * Path of the current map.  Never evicted. */
+    private String _currentPath;
+
+    /** {@link Evictions}
+     * Number of maps evicted. */
+    private int _evictions;
+
+    /** {@link Hits}
+     * Number of requests for maps already resident. */
+    private int _hits;
+
+    /** {@link MapBytes}
+     * Estimated bytes used by the cached maps, excluding tileset textures. */
+    private long _mapBytes;
+
+    /** {@link MaxBytes}
+     * Maximum estimated bytes for the cached maps, including tileset textures. */
+    private long _maxBytes;
+
+    /** {@link MaxMaps}
+     * Maximum number of cached maps. */
+    private int _maxMaps;
+
+    /** {@link Misses}
+     * Number of requests for maps not resident. */
+    private int _misses;
+
+    /** {@link TextureBytes}
+     * Estimated bytes used by the tileset textures of the cached maps, counting each texture once. */
+    private long _textureBytes;
+
+    // Declare list variables.
+
+    /** {@link Entries}
+     * Estimated bytes (excluding tileset textures) of each cached map, keyed by path.  Iterates from
+     * least to most recently used. */
+    private final LinkedHashMap<String, Long> _entries;
+
+    /** {@link TextureRefs}
+     * Number of cached maps using each tileset texture, keyed by texture path. */
+    private final HashMap<String, Integer> _textureRefs;
+
+    /**
+     * The constructor initializes an empty cache with the default budget.
+     */
+    public MapCache()
+    {
+
+        // The constructor initializes an empty cache with the default budget.
+
+        // Set defaults.
+        _currentPath = null;
+        _evictions = 0;
+        _hits = 0;
+        _misses = 0;
+        _mapBytes = 0;
+        _textureBytes = 0;
+        _maxBytes = DEFAULT_MAX_BYTES;
+        _maxMaps = DEFAULT_MAX_MAPS;
+
+        // Initialize maps.  Access order keeps least recently used entries first.
+        _entries = new LinkedHashMap<>(8, 0.75f, true);
+        _textureRefs = new HashMap<>();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Estimated bytes used by the cached maps, including tileset textures (each counted once).
+     */
+    public long getCachedBytes()
+    {
+        // The function returns the estimated bytes used by the cached maps, including tileset textures.
+        return _mapBytes + _textureBytes;
+    }
+
+    /**
+     *
+     * @return  Number of cached maps.
+     */
+    public int getCount()
+    {
+        // The function returns the number of cached maps.
+        return _entries.size();
+    }
+
+    /**
+     *
+     * @return  Number of maps evicted.
+     */
+    public int getEvictions()
+    {
+        // The function returns the number of maps evicted.
+        return _evictions;
+    }
+
+    /**
+     *
+     * @return  Number of requests for maps already resident (cached or prefetched).
+     */
+    public int getHits()
+    {
+        // The function returns the number of requests for maps already resident.
+        return _hits;
+    }
+
+    /**
+     *
+     * @return  Maximum estimated bytes for the cached maps, including tileset textures.
+     */
+    public long getMaxBytes()
+    {
+        // The function returns the maximum estimated bytes for the cached maps.
+        return _maxBytes;
+    }
+
+    /**
+     *
+     * The function sets the maximum estimated bytes for the cached maps, including tileset textures.
+     * Applies starting with the next request.  The current map stays cached regardless.
+     *
+     * @param maxBytes  Maximum estimated bytes for the cached maps.
+     */
+
+    // maxBytes = Maximum estimated bytes for the cached maps.
+    public void setMaxBytes(long maxBytes)
+    {
+        // The function sets the maximum estimated bytes for the cached maps, including tileset textures.
+        _maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     *
+     * @return  Maximum number of cached maps.
+     */
+    public int getMaxMaps()
+    {
+        // The function returns the maximum number of cached maps.
+        return _maxMaps;
+    }
+
+    /**
+     *
+     * The function sets the maximum number of cached maps.  Applies starting with the next request.  The
+     * current map stays cached regardless.
+     *
+     * @param maxMaps  Maximum number of cached maps.  Minimum of one.
+     */
+
+    // maxMaps = Maximum number of cached maps.  Minimum of one.
+    public void setMaxMaps(int maxMaps)
+    {
+        // The function sets the maximum number of cached maps.
+        _maxMaps = Math.max(1, maxMaps);
+    }
+
+    /**
+     *
+     * @return  Number of requests for maps not resident.
+     */
+    public int getMisses()
+    {
+        // The function returns the number of requests for maps not resident.
+        return _misses;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The method makes the passed map resident, records it as the current (most recently used) map, and
+     * evicts maps over the budget.  Loading occurs only when the map is not cached.  Maps already loaded
+     * by the prefetcher finish immediately.  Eviction happens after loading, so tileset textures shared
+     * with an evicted map stay loaded.
+     *
+     * @param mapFilenamePath  Path of map (TMX file) to make resident.
+     * @return  Whether the map is resident.
+     */
+
+    // mapFilenamePath = Path of map (TMX file) to make resident.
+    public boolean acquire(String mapFilenamePath)
+    {
+
+        /*
+        The method makes the passed map resident, records it as the current (most recently used) map, and
+        evicts maps over the budget.  Loading occurs only when the map is not cached.  Maps already loaded
+        by the prefetcher finish immediately.  Eviction happens after loading, so tileset textures shared
+        with an evicted map stay loaded.
+        */
+
+        long bytes; // Estimated bytes used by map, excluding tileset textures.
+
+        // If map cached, then...
+        if ( _entries.containsKey(mapFilenamePath) )
+        {
+
+            // Map cached.
+
+            // Mark as most recently used.
+            _entries.get(mapFilenamePath);
+            _hits++;
+
+        }
+
+        else
+        {
+
+            // Map not cached.
+
+            // Count as hit when already resident through another reference (prefetched).
+            if ( Utility.isAssetLoaded(mapFilenamePath) )
+                _hits++;
+            else
+                _misses++;
+
+            // Load the map, adding the reference held by the cache.
+            Utility.loadMapAsset(mapFilenamePath);
+
+            // If map failed to load, then exit.
+            if ( !Utility.isAssetLoaded(mapFilenamePath) )
+                return false;
+
+            // Add map to cache.
+            bytes = estimateMapBytes(Utility.getMapAsset(mapFilenamePath));
+            _entries.put(mapFilenamePath, bytes);
+            _mapBytes += bytes;
+            retainTextures(mapFilenamePath, 1);
+
+        }
+
+        // Record current map.
+        _currentPath = mapFilenamePath;
+
+        // Release maps over the budget.
+        evict();
+
+        // Display cache statistics.
+        Gdx.app.debug(TAG, "Map cache: " + _entries.size() + " maps, " + getCachedBytes() + " bytes, " +
+          _hits + " hits, " + _misses + " misses, " + _evictions + " evictions");
+
+        return true;
+
+    }
+
+    /**
+     * The method releases all cached maps, including the current map.
+     */
+    public void clear()
+    {
+
+        // The method releases all cached maps, including the current map.
+
+        // Loop through cached maps and release each.
+        while ( !_entries.isEmpty() )
+            release(_entries.keySet().iterator().next());
+
+        // Clear current map.
+        _currentPath = null;
+
+    }
+
+    /**
+     *
+     * @param mapFilenamePath  Path of map (TMX file) to check.
+     * @return  Whether the passed map is cached.
+     */
+
+    // mapFilenamePath = Path of map (TMX file) to check.
+    public boolean contains(String mapFilenamePath)
+    {
+        // The function returns whether the passed map is cached.
+        return _entries.containsKey(mapFilenamePath);
+    }
+
+    /**
+     *
+     * The function returns the estimated bytes used by the passed map, excluding tileset textures.  The
+     * estimate covers the cells of the tile layers and the objects of the other layers.
+     *
+     * @param map  Map for which to estimate bytes.
+     * @return  Estimated bytes used by the map, excluding tileset textures.
+     */
+
+    // map = Map for which to estimate bytes.
+    private static long estimateMapBytes(TiledMap map)
+    {
+
+        // The function returns the estimated bytes used by the passed map, excluding tileset textures.
+
+        long bytes; // Estimated bytes used by map.
+        TiledMapTileLayer tileLayer; // Current layer, as a tile layer.
+
+        // Set defaults.
+        bytes = 0;
+
+        // If map missing, then exit.
+        if ( map == null )
+            return bytes;
+
+        // Loop through layers, adding the estimate for each.
+        for ( MapLayer layer : map.getLayers() )
+        {
+            if ( layer instanceof TiledMapTileLayer )
+            {
+                tileLayer = (TiledMapTileLayer)layer;
+                bytes += (long)tileLayer.getWidth() * tileLayer.getHeight() * BYTES_PER_CELL;
+            }
+            else
+                bytes += (long)layer.getObjects().getCount() * BYTES_PER_OBJECT;
+        }
+
+        // Return estimated bytes.
+        return bytes;
+
+    }
+
+    /**
+     * The method releases least recently used maps, other than the current map, until the cache fits
+     * within the budget.
+     */
+    private void evict()
+    {
+
+        // The method releases least recently used maps, other than the current map, until the cache fits
+        // within the budget.
+
+        Iterator<String> iterator; // Iterator through cached maps, least recently used first.
+        String path; // Path of map to evict.
+
+        // Loop while over the budget.
+        while ( _entries.size() > _maxMaps || getCachedBytes() > _maxBytes )
+        {
+
+            // Find the least recently used map other than the current map.
+            path = null;
+            iterator = _entries.keySet().iterator();
+            while ( path == null && iterator.hasNext() )
+            {
+                path = iterator.next();
+                if ( path.equals(_currentPath) )
+                    path = null;
+            }
+
+            // If only the current map remains, then exit.
+            if ( path == null )
+                return;
+
+            // Release the map.
+            Gdx.app.debug(TAG, "Evicting map: " + path + " (references held: " + 
+              Utility.getReferenceCount(path) + ")");
+            release(path);
+            _evictions++;
+
+        }
+
+    }
+
+    /**
+     *
+     * The method removes the passed map from the cache and releases the reference held by the cache.
+     *
+     * @param mapFilenamePath  Path of map (TMX file) to release.
+     */
+
+    // mapFilenamePath = Path of map (TMX file) to release.
+    private void release(String mapFilenamePath)
+    {
+
+        // The method removes the passed map from the cache and releases the reference held by the cache.
+
+        Long bytes; // Estimated bytes used by map, excluding tileset textures.
+
+        // Remove map from cache.
+        bytes = _entries.remove(mapFilenamePath);
+        if ( bytes != null )
+            _mapBytes -= bytes;
+
+        // Release tileset textures, then the map itself.
+        retainTextures(mapFilenamePath, -1);
+        Utility.unloadAsset(mapFilenamePath);
+
+    }
+
+    /**
+     *
+     * The method adjusts the number of cached maps using each tileset texture of the passed map.  Each
+     * texture counts toward the byte estimate while at least one cached map uses it.  Tileset images 
+     * packed into an atlas count through the page textures of the atlas.
+     *
+     * @param mapFilenamePath  Path of map (TMX file) whose textures to adjust.  Must be loaded.
+     * @param change  One when adding the map to the cache, negative one when removing.
+     */
+
+    // mapFilenamePath = Path of map (TMX file) whose textures to adjust.  Must be loaded.
+    // change = One when adding the map to the cache, negative one when removing.
+    private void retainTextures(String mapFilenamePath, int change)
+    {
+
+        // The method adjusts the number of cached maps using each tileset texture of the passed map.
+
+        Array<String> dependencies; // Paths of assets loaded on behalf of map.
+        Array<String> pages; // Paths of page textures of current atlas.
+        Integer references; // Number of cached maps using current texture.
+        Texture texture; // Current tileset texture.
+        Array<String> textures; // Paths of tileset textures -- dependencies, or the pages of atlases.
+
+        // Get assets loaded on behalf of map.
+        dependencies = Utility.getAssetDependencies(mapFilenamePath);
+
+        // If no dependencies, then exit.
+        if ( dependencies == null )
+            return;
+
+        // Gather the tileset textures, replacing each atlas with its page textures.
+        textures = new Array<>(dependencies.size);
+
+        for ( String dependency : dependencies )
+        {
+
+            if ( Utility.isAssetLoaded(dependency) && 
+              Utility.ASSET_MANAGER.getAssetType(dependency) == TextureAtlas.class )
+            {
+                pages = Utility.getAssetDependencies(dependency);
+                if ( pages != null )
+                    textures.addAll(pages);
+            }
+            else
+                textures.add(dependency);
+
+        }
+
+        // Loop through tileset textures.
+        for ( String dependency : textures )
+        {
+
+            // If not a loaded texture, then skip.
+            if ( !Utility.isAssetLoaded(dependency) || 
+              Utility.ASSET_MANAGER.getAssetType(dependency) != Texture.class )
+                continue;
+
+            // Get number of cached maps using texture.
+            references = _textureRefs.get(dependency);
+            
+            // If texture not counted yet, then...
+            if ( references == null )
+            {
+                // Texture not counted yet.  Nothing to release.
+                if ( change < 0 )
+                    continue;
+                references = 0;
+            }
+            
+            // Adjust number of cached maps using texture.
+            references += change;
+            texture = Utility.getTextureAsset(dependency);
+
+            // If first cached map using texture, then count texture toward byte estimate.
+            if ( references == 1 && change > 0 )
+                _textureBytes += (long)texture.getWidth() * texture.getHeight() * BYTES_PER_TEXEL;
+
+            // If no cached map using texture any longer, then stop counting toward byte estimate.
+            if ( references <= 0 )
+            {
+                _textureBytes -= (long)texture.getWidth() * texture.getHeight() * BYTES_PER_TEXEL;
+                _textureRefs.remove(dependency);
+            }
+            else
+                _textureRefs.put(dependency, references);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,697 @@
+package bludbourne_ch02;
+
+// Java imports.
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class MapCompiler
+{
+
+    /**
+    * The class compiles TMX maps into the binary map format read by BinaryMapLoader.  The compiler runs
+    * offline, as part of the build (see the -post-compile target in build.xml), and only depends on the
+    * Java runtime.
+    * <br><br>
+    * Tile layers become packed gid arrays and object layers become flat float arrays, with all text
+    * stored once in a string table.  The loader can then build the TiledMap without parsing XML or CSV.
+    * <br><br>
+    * The compiler covers the TMX features read by TmxMapLoader for the maps in the game:  embedded
+    * tilesets with a single image, tile layers (CSV, XML, or base64 data), object groups with rectangle
+    * objects, and string properties.  Maps using other features (external tilesets, per-tile properties
+    * or animations, image layers, shaped or tile objects) get skipped, and any stale compiled file gets
+    * deleted, so the game falls back to loading the TMX file.
+    */
+
+    /*
+    Methods include:
+
+    compile:  Compiles the passed TMX file into the passed binary map file.
+    compileFile:  Compiles the passed TMX file to the compiled map file beside it, reporting the outcome.
+    intern:  Returns the index of the passed text in the string table, adding the text when new.
+    main:  Compiles each TMX file in the passed directories (or files).
+    readGids:  Decodes the gids from the passed tile layer data element.
+    writeLayer:  Writes the passed tile layer or object group.
+    writeObjects:  Writes the objects of the passed object group.
+    writeProperties:  Writes the string properties found under the passed element.
+    writeTileset:  Writes the passed tileset.
+    */
+
+    // Declare constants.
+
+    /** Number of bytes in each gid stored as base64 data. */
+    private static final int GID_BYTES = 4;
+
+    // Declare object variables.
+
+    /** {@link Strings}
+     * String table for the map being compiled.  Maps each text to its index. */
+    private final LinkedHashMap<String, Integer> _strings;
+
+    /**
+     * The constructor initializes an empty string table.
+     */
+    private MapCompiler()
+    {
+
+        // The constructor initializes an empty string table.
+
+        _strings = new LinkedHashMap<>();
+
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The method compiles the passed TMX file into the passed binary map file.
+     *
+     * @param tmxFile  TMX file to compile.
+     * @param outputFile  Compiled map file to write.
+     * @return  Number of bytes written.
+     * @throws Exception  When the TMX file cannot be read or uses a feature the format does not cover.
+     */
+
+    // tmxFile = TMX file to compile.
+    // outputFile = Compiled map file to write.
+    private int compile(File tmxFile, File outputFile) throws Exception
+    {
+
+        // The method compiles the passed TMX file into the passed binary map file.
+
+        ByteArrayOutputStream body; // Bytes following the string table.
+        DocumentBuilder builder; // Parses the TMX file.
+        ByteArrayOutputStream file; // Bytes of compiled map file.
+        ArrayList<Element> layers; // Tile layers and object groups, in document order.
+        Element map; // Root (map) element of the TMX file.
+        DataOutputStream out; // Writes big-endian values.
+        ArrayList<Element> tilesets; // Tileset elements, in document order.
+        byte[] utf8; // UTF-8 bytes of current string.
+
+        // Set defaults.
+        _strings.clear();
+        tilesets = new ArrayList<>();
+        layers = new ArrayList<>();
+
+        // Parse the TMX file.  Skip loading of the DTD referenced by older Tiled versions.
+        builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        builder.setEntityResolver((publicId, systemId) -> new InputSource(new ByteArrayInputStream(new byte[0])));
+        map = builder.parse(tmxFile).getDocumentElement();
+
+        // Sort the children of the map element.
+        for ( Node node = map.getFirstChild(); node != null; node = node.getNextSibling() )
+        {
+
+            // If not an element (text or comment), then skip.
+            if ( !(node instanceof Element) )
+                continue;
+
+            switch ( node.getNodeName() )
+            {
+                case "tileset":
+                    tilesets.add((Element)node);
+                    break;
+                case "layer":
+                case "objectgroup":
+                    layers.add((Element)node);
+                    break;
+                case "properties":
+                    break;
+                default:
+                    throw new IOException("Unsupported map element: " + node.getNodeName());
+            }
+
+        }
+
+        // Write the map, tilesets, and layers.  Strings get added to the table along the way.
+        body = new ByteArrayOutputStream();
+        out = new DataOutputStream(body);
+
+        out.writeInt(intern(map.getAttribute("orientation")));
+        out.writeInt(Integer.parseInt(map.getAttribute("width")));
+        out.writeInt(Integer.parseInt(map.getAttribute("height")));
+        out.writeInt(Integer.parseInt(map.getAttribute("tilewidth")));
+        out.writeInt(Integer.parseInt(map.getAttribute("tileheight")));
+        out.writeInt(map.hasAttribute("backgroundcolor") ?
+          intern(map.getAttribute("backgroundcolor")) : BinaryMapFormat.NO_STRING);
+        writeProperties(out, map);
+
+        out.writeInt(tilesets.size());
+        for ( Element tileset: tilesets )
+            writeTileset(out, tileset);
+
+        out.writeInt(layers.size());
+        for ( Element layer: layers )
+            writeLayer(out, layer);
+
+        out.flush();
+
+        // Write the header, string table, and body.
+        file = new ByteArrayOutputStream();
+        out = new DataOutputStream(file);
+
+        out.writeInt(BinaryMapFormat.MAGIC);
+        out.writeInt(BinaryMapFormat.VERSION);
+        out.writeInt(_strings.size());
+
+        for ( String text: _strings.keySet() )
+        {
+            utf8 = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+
+        body.writeTo(out);
+        out.flush();
+
+        // Write the compiled map file.
+        try ( FileOutputStream stream = new FileOutputStream(outputFile) )
+        {
+            file.writeTo(stream);
+        }
+
+        // Return number of bytes written.
+        return file.size();
+
+    }
+
+    /**
+     *
+     * The method compiles the passed TMX file to the compiled map file beside it and reports the outcome.
+     * When the map cannot be compiled, any stale compiled file gets deleted, so the game loads the TMX
+     * file instead.
+     *
+     * @param tmxFile  TMX file to compile.
+     */
+
+    // tmxFile = TMX file to compile.
+    private static void compileFile(File tmxFile)
+    {
+
+        /*
+        The method compiles the passed TMX file to the compiled map file beside it and reports the outcome.
+        When the map cannot be compiled, any stale compiled file gets deleted, so the game loads the TMX
+        file instead.
+        */
+
+        String name; // Name of TMX file.
+        File outputFile; // Compiled map file.
+        int size; // Number of bytes written.
+
+        // Derive compiled map file name.
+        name = tmxFile.getName();
+        outputFile = new File(tmxFile.getParentFile(), name.substring(0, name.length() -
+          BinaryMapFormat.TMX_EXTENSION.length()) + BinaryMapFormat.EXTENSION);
+
+        try
+        {
+            size = new MapCompiler().compile(tmxFile, outputFile);
+            System.out.println("Compiled map: " + tmxFile + " (" + tmxFile.length() + " bytes) -> " +
+              outputFile.getName() + " (" + size + " bytes)");
+        }
+
+        catch ( Exception e )
+        {
+
+            // Map not compiled.  Remove any stale compiled map, so the game loads the TMX file.
+            if ( outputFile.exists() && !outputFile.delete() )
+                System.out.println("Unable to delete stale compiled map: " + outputFile);
+
+            System.out.println("Skipped map: " + tmxFile + " (" + e.getMessage() + ")");
+
+        }
+
+    }
+
+    /**
+     *
+     * The function returns the index of the passed text in the string table, adding the text when new.
+     *
+     * @param text  Text for which to return the index.
+     * @return  Index of the passed text in the string table.
+     */
+
+    // text = Text for which to return the index.
+    private int intern(String text)
+    {
+
+        // The function returns the index of the passed text in the string table, adding the text when new.
+
+        Integer index; // Index of text in string table.
+
+        index = _strings.get(text);
+
+        // If text not in table yet, then add.
+        if ( index == null )
+        {
+            index = _strings.size();
+            _strings.put(text, index);
+        }
+
+        return index;
+
+    }
+
+    /**
+     *
+     * The method compiles each TMX file in the passed directories.  A TMX file may also get passed
+     * directly.  Compiled maps get written beside the TMX files.
+     *
+     * @param args  Directories containing TMX files, or TMX files.
+     */
+
+    // args = Directories containing TMX files, or TMX files.
+    public static void main(String[] args)
+    {
+
+        /*
+        The method compiles each TMX file in the passed directories.  A TMX file may also get passed
+        directly.  Compiled maps get written beside the TMX files.
+        */
+
+        File[] files; // TMX files in current directory.
+        File path; // Current path passed.
+
+        // If no paths passed, then...
+        if ( args.length == 0 )
+        {
+            System.out.println("Usage: MapCompiler <map directory or TMX file>...");
+            return;
+        }
+
+        // Loop through paths passed.
+        for ( String arg: args )
+        {
+
+            path = new File(arg);
+
+            // If directory passed, then compile each TMX file in it.
+            if ( path.isDirectory() )
+            {
+
+                files = path.listFiles((dir, name) -> name.endsWith(BinaryMapFormat.TMX_EXTENSION));
+
+                for ( File file: files )
+                    compileFile(file);
+
+            }
+
+            // Otherwise, if TMX file passed, then compile it.
+            else if ( path.isFile() && arg.endsWith(BinaryMapFormat.TMX_EXTENSION) )
+                compileFile(path);
+
+            else
+                System.out.println("Not a map directory or TMX file: " + arg);
+
+        }
+
+    }
+
+    /**
+     *
+     * The function decodes the gids from the passed tile layer data element.  Gids keep the flip flags
+     * set by Tiled in the upper bits.
+     *
+     * @param data  Data element of tile layer.
+     * @param count  Number of cells in tile layer.
+     * @return  Gids of the cells, top row first.
+     * @throws IOException  When the data uses an unsupported encoding or holds the wrong number of gids.
+     */
+
+    // data = Data element of tile layer.
+    // count = Number of cells in tile layer.
+    private static int[] readGids(Element data, int count) throws IOException
+    {
+
+        /*
+        The function decodes the gids from the passed tile layer data element.  Gids keep the flip flags
+        set by Tiled in the upper bits.
+        */
+
+        byte[] bytes; // Decoded base64 bytes.
+        String compression; // Compression of base64 data -- empty when none.
+        String encoding; // Encoding of data -- empty for XML tile elements.
+        int[] gids; // Gids of the cells.
+        int index; // Index of current gid.
+        InputStream stream; // Reads decompressed base64 data.
+        String[] values; // Gids as text (CSV).
+
+        // Set defaults.
+        gids = new int[count];
+        index = 0;
+        encoding = data.getAttribute("encoding");
+        compression = data.getAttribute("compression");
+
+        switch ( encoding )
+        {
+
+            case "csv":
+
+                values = data.getTextContent().trim().split("\\s*,\\s*");
+
+                if ( values.length != count )
+                    throw new IOException("Expected " + count + " gids, found " + values.length);
+
+                // Gids with flip flags exceed the range of int, so parse as long.
+                for ( String value: values )
+                    gids[index++] = (int)Long.parseLong(value.trim());
+
+                break;
+
+            case "base64":
+
+                bytes = Base64.getMimeDecoder().decode(data.getTextContent().trim());
+                stream = new ByteArrayInputStream(bytes);
+
+                if ( compression.equals("gzip") )
+                    stream = new GZIPInputStream(stream);
+                else if ( compression.equals("zlib") )
+                    stream = new InflaterInputStream(stream);
+                else if ( !compression.isEmpty() )
+                    throw new IOException("Unsupported compression: " + compression);
+
+                bytes = new byte[count * GID_BYTES];
+
+                for ( int read = 0, total = 0; total < bytes.length; total += read )
+                {
+                    read = stream.read(bytes, total, bytes.length - total);
+                    if ( read < 0 )
+                        throw new IOException("Expected " + count + " gids, found " + total / GID_BYTES);
+                }
+
+                // Tiled stores base64 gids little-endian.
+                ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(gids);
+
+                break;
+
+            case "":
+
+                for ( Node node = data.getFirstChild(); node != null; node = node.getNextSibling() )
+                {
+                    if ( node instanceof Element && node.getNodeName().equals("tile") )
+                    {
+                        if ( index == count )
+                            throw new IOException("Expected " + count + " gids, found more");
+                        gids[index++] = (int)Long.parseLong(((Element)node).getAttribute("gid"));
+                    }
+                }
+
+                if ( index != count )
+                    throw new IOException("Expected " + count + " gids, found " + index);
+
+                break;
+
+            default:
+                throw new IOException("Unsupported encoding: " + encoding);
+
+        }
+
+        // Return gids.
+        return gids;
+
+    }
+
+    /**
+     *
+     * The method writes the passed tile layer or object group.
+     *
+     * @param out  Stream to which to write.
+     * @param layer  Layer or objectgroup element.
+     * @throws IOException  When the layer uses a feature the format does not cover.
+     */
+
+    // out = Stream to which to write.
+    // layer = Layer or objectgroup element.
+    private void writeLayer(DataOutputStream out, Element layer) throws IOException
+    {
+
+        // The method writes the passed tile layer or object group.
+
+        Element data; // Data element of tile layer.
+        int gidBytes; // Number of bytes used to store each gid.
+        int[] gids; // Gids of the cells, top row first.
+        int height; // Height of tile layer, in tiles.
+        int width; // Width of tile layer, in tiles.
+
+        // Write the information shared by both kinds of layer.
+        out.writeByte(layer.getNodeName().equals("layer") ? BinaryMapFormat.LAYER_TILES :
+          BinaryMapFormat.LAYER_OBJECTS);
+        out.writeInt(layer.hasAttribute("name") ? intern(layer.getAttribute("name")) : BinaryMapFormat.NO_STRING);
+        out.writeFloat(layer.hasAttribute("opacity") ? Float.parseFloat(layer.getAttribute("opacity")) : 1.0f);
+        out.writeBoolean(!layer.hasAttribute("visible") || Integer.parseInt(layer.getAttribute("visible")) == 1);
+        writeProperties(out, layer);
+
+        // If object group, then write the objects and exit.
+        if ( layer.getNodeName().equals("objectgroup") )
+        {
+            writeObjects(out, layer);
+            return;
+        }
+
+        // Write the tile layer size and gids.
+        width = Integer.parseInt(layer.getAttribute("width"));
+        height = Integer.parseInt(layer.getAttribute("height"));
+        data = (Element)layer.getElementsByTagName("data").item(0);
+
+        if ( data == null )
+            throw new IOException("Tile layer without data: " + layer.getAttribute("name"));
+
+        gids = readGids(data, width * height);
+
+        // Use two bytes per gid when no tile identifier exceeds the room left beside the flip flags.
+        gidBytes = BinaryMapFormat.GID_SHORT;
+        for ( int gid: gids )
+        {
+            if ( (gid & ~BinaryMapFormat.FLIP_FLAGS & ~BinaryMapFormat.SHORT_TILE_MASK) != 0 )
+            {
+                gidBytes = BinaryMapFormat.GID_INT;
+                break;
+            }
+        }
+
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeByte(gidBytes);
+
+        for ( int gid: gids )
+        {
+            // Two byte gids keep the flip flags in the upper three bits.
+            if ( gidBytes == BinaryMapFormat.GID_SHORT )
+                out.writeShort((gid & BinaryMapFormat.SHORT_TILE_MASK) | (gid >>> BinaryMapFormat.SHORT_FLAG_SHIFT));
+            else
+                out.writeInt(gid);
+        }
+
+    }
+
+    /**
+     *
+     * The method writes the objects of the passed object group as flat arrays.
+     *
+     * @param out  Stream to which to write.
+     * @param group  Objectgroup element.
+     * @throws IOException  When an object is not a plain rectangle.
+     */
+
+    // out = Stream to which to write.
+    // group = Objectgroup element.
+    private void writeObjects(DataOutputStream out, Element group) throws IOException
+    {
+
+        // The method writes the objects of the passed object group as flat arrays.
+
+        ArrayList<Element> objects; // Object elements in group.
+
+        // Set defaults.
+        objects = new ArrayList<>();
+
+        // Gather the objects, checking each is a plain rectangle.
+        for ( Node node = group.getFirstChild(); node != null; node = node.getNextSibling() )
+        {
+
+            if ( !(node instanceof Element) || !node.getNodeName().equals("object") )
+                continue;
+
+            if ( ((Element)node).hasAttribute("gid") )
+                throw new IOException("Unsupported tile object in layer: " + group.getAttribute("name"));
+
+            for ( Node child = node.getFirstChild(); child != null; child = child.getNextSibling() )
+            {
+                if ( child instanceof Element && !child.getNodeName().equals("properties") )
+                    throw new IOException("Unsupported object shape: " + child.getNodeName());
+            }
+
+            objects.add((Element)node);
+
+        }
+
+        // Write the count, then one array per attribute.
+        out.writeInt(objects.size());
+
+        for ( Element object: objects )
+            out.writeFloat(object.hasAttribute("x") ? Float.parseFloat(object.getAttribute("x")) : 0);
+        for ( Element object: objects )
+            out.writeFloat(object.hasAttribute("y") ? Float.parseFloat(object.getAttribute("y")) : 0);
+        for ( Element object: objects )
+            out.writeFloat(object.hasAttribute("width") ? Float.parseFloat(object.getAttribute("width")) : 0);
+        for ( Element object: objects )
+            out.writeFloat(object.hasAttribute("height") ? Float.parseFloat(object.getAttribute("height")) : 0);
+        for ( Element object: objects )
+            out.writeInt(object.hasAttribute("name") ? intern(object.getAttribute("name")) :
+              BinaryMapFormat.NO_STRING);
+        for ( Element object: objects )
+            out.writeInt(object.hasAttribute("type") ? intern(object.getAttribute("type")) :
+              BinaryMapFormat.NO_STRING);
+        for ( Element object: objects )
+            out.writeInt(object.hasAttribute("id") ? Integer.parseInt(object.getAttribute("id")) : 0);
+        for ( Element object: objects )
+            out.writeFloat(object.hasAttribute("rotation") ? Float.parseFloat(object.getAttribute("rotation")) :
+              Float.NaN);
+        for ( Element object: objects )
+            out.writeBoolean(!object.hasAttribute("visible") || Integer.parseInt(object.getAttribute("visible")) == 1);
+        for ( Element object: objects )
+            writeProperties(out, object);
+
+    }
+
+    /**
+     *
+     * The method writes the string properties found directly under the passed element.
+     *
+     * @param out  Stream to which to write.
+     * @param element  Map, layer, or object element.
+     * @throws IOException  When writing fails.
+     */
+
+    // out = Stream to which to write.
+    // element = Map, layer, or object element.
+    private void writeProperties(DataOutputStream out, Element element) throws IOException
+    {
+
+        // The method writes the string properties found directly under the passed element.
+
+        ArrayList<Element> properties; // Property elements.
+
+        // Set defaults.
+        properties = new ArrayList<>();
+
+        // Gather the property elements under the properties element (if any).
+        for ( Node node = element.getFirstChild(); node != null; node = node.getNextSibling() )
+        {
+            if ( node instanceof Element && node.getNodeName().equals("properties") )
+            {
+                for ( Node child = node.getFirstChild(); child != null; child = child.getNextSibling() )
+                {
+                    if ( child instanceof Element && child.getNodeName().equals("property") )
+                        properties.add((Element)child);
+                }
+            }
+        }
+
+        // Write the count and key / value pairs.  Multi-line values live in the element text.
+        out.writeInt(properties.size());
+
+        for ( Element property: properties )
+        {
+            out.writeInt(intern(property.getAttribute("name")));
+            out.writeInt(intern(property.hasAttribute("value") ? property.getAttribute("value") :
+              property.getTextContent()));
+        }
+
+    }
+
+    /**
+     *
+     * The method writes the passed (embedded, single image) tileset.
+     *
+     * @param out  Stream to which to write.
+     * @param tileset  Tileset element.
+     * @throws IOException  When the tileset uses a feature the format does not cover.
+     */
+
+    // out = Stream to which to write.
+    // tileset = Tileset element.
+    private void writeTileset(DataOutputStream out, Element tileset) throws IOException
+    {
+
+        // The method writes the passed (embedded, single image) tileset.
+
+        Element image; // Image element of tileset.
+
+        // Set defaults.
+        image = null;
+
+        // If external tileset, then...
+        if ( tileset.hasAttribute("source") )
+            throw new IOException("Unsupported external tileset: " + tileset.getAttribute("source"));
+
+        // Find the image, checking for unsupported children (tile properties, animations, offsets).
+        for ( Node node = tileset.getFirstChild(); node != null; node = node.getNextSibling() )
+        {
+
+            if ( !(node instanceof Element) )
+                continue;
+
+            if ( node.getNodeName().equals("image") )
+                image = (Element)node;
+            else
+                throw new IOException("Unsupported tileset element: " + node.getNodeName());
+
+        }
+
+        if ( image == null )
+            throw new IOException("Tileset without image: " + tileset.getAttribute("name"));
+
+        // Write the tileset.
+        out.writeInt(tileset.hasAttribute("name") ? intern(tileset.getAttribute("name")) : BinaryMapFormat.NO_STRING);
+        out.writeInt(tileset.hasAttribute("firstgid") ? Integer.parseInt(tileset.getAttribute("firstgid")) : 1);
+        out.writeInt(Integer.parseInt(tileset.getAttribute("tilewidth")));
+        out.writeInt(Integer.parseInt(tileset.getAttribute("tileheight")));
+        out.writeInt(tileset.hasAttribute("spacing") ? Integer.parseInt(tileset.getAttribute("spacing")) : 0);
+        out.writeInt(tileset.hasAttribute("margin") ? Integer.parseInt(tileset.getAttribute("margin")) : 0);
+        out.writeInt(intern(image.getAttribute("source")));
+        out.writeInt(image.hasAttribute("width") ? Integer.parseInt(image.getAttribute("width")) : 0);
+        out.writeInt(image.hasAttribute("height") ? Integer.parseInt(image.getAttribute("height")) : 0);
+
+    }
+
+}
@@ -9,6 +9,7 @@ import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.math.*;
 
 // Java imports.
+import java.util.ArrayList;
 import java.util.HashMap;
 
 /*
@@ -68,14 +69,46 @@ public class MapManager
     /*
     Methods include:
     
+    addWorld:  Adds the passed chunked world under the passed name, so loadMap() and portals can enter it.
+    buildSpawnIndexes:  Builds the nearest neighbor indexes for the spawn points in the spawn layer of the 
+      current map, one index per spawn name.
+    getBlockingStreaming:  Returns whether update() finishes loading the chunks it queues before returning.
+    getCollisionGrid:  Returns the uniform grid (spatial index) built over the collision layer of the 
+      current map.
+    getCollisionMode:  Returns the approach used to check for collisions with the collision layer.
+    getCurrentWorld:  Returns the chunked world currently entered.  Null when a regular map is loaded.
+    getFlattenedLayers:  Returns the chunk textures composited from the tile layers of the current map.
+    getMapCache:  Returns the cache keeping recently used maps resident.
+    getMapPrefetcher:  Returns the prefetcher loading maps reachable through portals in the background.
+    getStartMapPath:  Returns the path of the map loaded at the beginning of the game.
+    getPortalTable:  Returns the table of portals compiled from the portal layer of the current map.
+    getSpawnIndex:  Returns the nearest neighbor index of the spawn points with the passed name in the 
+      current map.
+    isCollisionWithMapLayer:  Returns whether the passed hitbox overlaps an object in the collision layer
+      of the current map, using the selected collision mode.
     isPopulatedText:  Returns whether text parameter populated -- length greater than zero (and not null).
     loadMap:  Loads and gets the passed map from the asset manager (as necessary) and sets the player 
       starting location.
+    loadWorld:  Enters the passed chunked world, loading the chunks around the player starting location.
+    prefetchPortalTargets:  Queues the maps reachable through the portals in the portal table for 
+      background loading.
+    rebuildWorldLayers:  Merges the collision, portal, and spawn layers of the resident chunks and 
+      rebuilds the collision grid, bitmask, portal table, and spawn indexes from them.
+    setBlockingStreaming:  Sets whether update() finishes loading the chunks it queues before returning.
     setClosestStartPosition:  Sets the player starting location to the closest position of a player object 
       in the spawn layer.  Takes a base player location with pixel coordinates as a parameter.
     setClosestStartPositionFromScaledUnits:  Sets the player starting location to the closest position of 
       a player object in the spawn layer.  The method takes a base player location with tile (unit) 
       coordinates as a parameter and converts to pixels.
+    setCollisionCellSize:  Sets the width and height of each cell in the collision grid, in pixels.
+    setCollisionMode:  Sets the approach used to check for collisions with the collision layer.
+    setCollisionSubTiles:  Sets the number of bitmask cells across (and down) each tile.
+    setFlattenChunkTiles:  Sets the size of the chunks into which loadMap() composites the tile layers.
+      Zero disables flattening.
+    sweepCollisionWithMapLayer:  Moves the passed hitbox by the passed displacement, stopping at the first 
+      object in the collision layer hit and sliding along it.
+    update:  Advances background loading of maps reachable through portals and streaming of the chunks
+      around the passed focus, in a chunked world.  Called each frame.
     */
     
     // Declare constants.
@@ -86,16 +119,36 @@ public class MapManager
     private final static String PLAYER_START = "PLAYER_START";
     public final static float UNIT_SCALE  = 1/16f; // Used to convert from pixels to map coordinates.
     
+    // Map properties:
+    private final static String MAP_PROPERTY_TILE_WIDTH = "tilewidth";
+    
+    // Collision:
+    private final static float SWEEP_REGION_PADDING = 0.01f; // Padding around swept region, in pixels.
+    
     // Map names (key values in hash map, _mapTable):
     private final static String TOP_WORLD = "TOP_WORLD";
     private final static String TOWN = "TOWN";
     private final static String CASTLE_OF_DOOM = "CASTLE_OF_DOOM";
     
+    // Chunked world names (key values in hash map, _worldTable):
+    private final static String OVERWORLD = "OVERWORLD";
+    
     // Map layers:
     private final static String MAP_COLLISION_LAYER = "MAP_COLLISION_LAYER";
     private final static String MAP_SPAWNS_LAYER = "MAP_SPAWNS_LAYER";
     private final static String MAP_PORTAL_LAYER = "MAP_PORTAL_LAYER";
     
+    // Declare enumerations.
+    
+    /** Approach used to check for collisions with the collision layer. 
+     * <br>GRID:  Exact rectangle tests against objects in nearby cells of the collision grid.
+     * <br>BITMASK:  Reads the rasterized tile (or sub-tile) bitmask, using exact rectangle tests only for 
+     *   partially covered cells. */
+    public enum CollisionMode 
+    {
+        GRID, BITMASK
+    }
+    
     // Declare list variables.
     
     // All maps for the game:
@@ -108,12 +161,48 @@ public class MapManager
      * Hash map containing the closest player spawn point in the current loaded map, in pixels. */
     private final HashMap<String, Vector2> _playerStartLocationTable;
     
+    /** {@link SpawnIndexTable} 
+     * Hash map containing the nearest neighbor index for each spawn point name (upper case) in the 
+     * current map. */
+    private final HashMap<String, SpawnIndex> _spawnIndexTable;
+    
+    /** {@link WorldTable} 
+     * Hash map containing the chunked worlds, keyed by name (shares names with _mapTable). */
+    private final HashMap<String, ChunkedWorld> _worldTable;
+    
+    /** {@link PrefetchTargets} 
+     * Paths of the maps reachable through the portals of the current map.  Reused for each map load. */
+    private final ArrayList<String> _prefetchTargets;
+    
     // Declare regular variables.
     
+    /** {@link BlockingStreaming} 
+     * Whether update() finishes loading the chunks it queues before returning, so the resident chunks 
+     * depend only on the focus positions passed (never on timing). */
+    private boolean _blockingStreaming;
+    
     /** {@link CurrentMapName} 
      * Name of current map.  Corresponds to key values in _mapTable. */
     private String _currentMapName;
     
+    /** {@link CollisionCellSize} 
+     * Width and height of each cell in the collision grid, in pixels.  Zero uses the tile width of the 
+     * current map. */
+    private float _collisionCellSize;
+    
+    /** {@link CollisionMode} 
+     * Approach used to check for collisions with the collision layer. */
+    private CollisionMode _collisionMode;
+    
+    /** {@link CollisionSubTiles} 
+     * Number of bitmask cells across (and down) each tile.  One results in one bit per tile. */
+    private int _collisionSubTiles;
+    
+    /** {@link FlattenChunkTiles} 
+     * Width and height of the chunks into which loadMap() composites the tile layers, in tiles.  Zero 
+     * disables flattening. */
+    private int _flattenChunkTiles;
+    
     // Declare object variables.
     
     /** {@link ClosestPlayerStartPosition} 
@@ -124,26 +213,54 @@ public class MapManager
      * Collision layer of the current Tiled map. */
     private MapLayer _collisionLayer;
     
+    /** {@link CollisionBitmask}
+     * Bitmask rasterized from the rectangles in the collision layer of the current map. */
+    private final CollisionBitmask _collisionBitmask;
+    
+    /** {@link CollisionGrid}
+     * Uniform grid (spatial index) built over the rectangles in the collision layer of the current map. */
+    private final CollisionGrid _collisionGrid;
+    
     /** {@link ConvertedUnits} 
      * Starting player location in current map, converted from tiles (units) to pixels. */
     private final Vector2 _convertedUnits;
     
     /** {@link CurrentMap} 
-     * Tiled object for the current map. */
+     * Tiled object for the current map.  Null in a chunked world. */
     private TiledMap _currentMap;
     
+    /** {@link CurrentWorld} 
+     * Chunked world currently entered.  Null when a regular map is loaded. */
+    private ChunkedWorld _currentWorld;
+    
+    /** {@link FlattenedLayers} 
+     * Chunk textures composited from the tile layers of the current map.  Empty when not flattened. */
+    private final FlattenedTileLayers _flattenedLayers;
+    
+    /** {@link MapCache} 
+     * Keeps recently used maps resident in the asset manager, within a budget. */
+    private final MapCache _mapCache;
+    
+    /** {@link MapPrefetcher} 
+     * Loads maps reachable through the portals of the current map in the background. */
+    private final MapPrefetcher _mapPrefetcher;
+    
     /** {@link PlayerStart}
      * Starting location of player (pixels). */
     private final Vector2 _playerStart;
     
-    /** {@link PlayerStartPositionRect} 
-     * Proposed starting locations of player, based on spawn points (pixels). */
-    private final Vector2 _playerStartPositionRect;
+    /** {@link SweepRegion} 
+     * Region covered by a hitbox during a sweep (pixels).  Reused to avoid allocating each frame. */
+    private final Rectangle _sweepRegion;
     
     /** {@link PortalLayer} 
      * Portal layer of the current Tiled map. */
     private MapLayer _portalLayer;
     
+    /** {@link PortalTable} 
+     * Table of portals compiled from the portal layer of the current Tiled map. */
+    private final PortalTable _portalTable;
+    
     /** {@link SpawnsLayer} 
      * Entity spawning lawyer of the current Tiled map. */
     private MapLayer _spawnsLayer; // 
@@ -154,6 +271,7 @@ public class MapManager
      * <br>1.  Initializes variables.
      * <br>2.  Populates hash maps with relative paths of TiledMap files.
      * <br>3.  Copies base starting location of player (0, 0) to related hash maps for each TiledMap.
+     * <br>4.  Adds the chunked worlds, entered through portals with their names.
      */
     public MapManager()
     {
@@ -164,16 +282,27 @@ public class MapManager
         1.  Initializes variables.
         2.  Populates hash maps with relative paths of TiledMap files.
         3.  Copies base starting location of player (0, 0) to related hash maps for each TiledMap.
+        4.  Adds the chunked worlds, entered through portals with their names.
         */
 
         // Set defaults.
         _playerStart = new Vector2(0, 0);
-        _playerStartPositionRect = new Vector2(0,0);
         _closestPlayerStartPosition = new Vector2(0,0);
         _convertedUnits = new Vector2(0,0);
+        _sweepRegion = new Rectangle();
         _collisionLayer = null; // Clear collision layer.
+        _collisionGrid = new CollisionGrid(); // Initialize (empty) collision grid.
+        _collisionCellSize = 0f; // Default collision grid cells to the tile size of each map.
+        _collisionBitmask = new CollisionBitmask(); // Initialize (empty) collision bitmask.
+        _collisionMode = CollisionMode.GRID; // Default to exact rectangle tests using the collision grid.
+        _blockingStreaming = false; // Default to streaming chunks within the time budget.
+        _collisionSubTiles = 1; // Default to one bitmask cell per tile.
+        _flattenChunkTiles = 0; // Default to rendering tile layers tile by tile.
+        _flattenedLayers = new FlattenedTileLayers(); // Initialize (empty) flattened layers.
         _currentMap = null; // Clear current (Tiled) map.
+        _currentWorld = null; // Clear current chunked world.
         _portalLayer = null; // Clear portal layer.
+        _portalTable = new PortalTable(); // Initialize (empty) portal table.
         _spawnsLayer = null; // Clear spawn layer.
         
         // _mapTable = new Hashtable();
@@ -182,21 +311,57 @@ public class MapManager
         // Initialize hash maps.
         _mapTable = new HashMap<>();
         _playerStartLocationTable = new HashMap<>();
+        _spawnIndexTable = new HashMap<>();
+        _worldTable = new HashMap<>();
+        _prefetchTargets = new ArrayList<>();
+        _mapPrefetcher = new MapPrefetcher();
+        _mapCache = new MapCache();
 
-        // Populate hash maps with relative paths of TiledMap files.
-        _mapTable.put(TOP_WORLD, "assets/maps/topworld.tmx");
-        _mapTable.put(TOWN, "assets/maps/town.tmx");
-        _mapTable.put(CASTLE_OF_DOOM, "assets/maps/castle_of_doom.tmx");
+        // Populate hash maps with relative paths of TiledMap files.  Prefers compiled maps, when built.
+        _mapTable.put(TOP_WORLD, Utility.resolveMapPath("assets/maps/topworld.tmx"));
+        _mapTable.put(TOWN, Utility.resolveMapPath("assets/maps/town.tmx"));
+        _mapTable.put(CASTLE_OF_DOOM, Utility.resolveMapPath("assets/maps/castle_of_doom.tmx"));
 
         // Copy base starting location of player (0, 0) to related hash maps for each TiledMap.
         _playerStartLocationTable.put(TOP_WORLD, _playerStart.cpy());
         _playerStartLocationTable.put(TOWN, _playerStart.cpy());
         _playerStartLocationTable.put(CASTLE_OF_DOOM, _playerStart.cpy());
         
+        // Add the chunked worlds.  The overworld spans 5 x 3 chunks of 16 x 16 tiles (16 pixels each), 
+        // reached through the OVERWORLD portal of the top world, with the player starting in chunk (0, 1).
+        addWorld(OVERWORLD, new ChunkedWorld("assets/maps/overworld", 5, 3, 16, 16, 64, 384));
+        
     }
 
     // Getters and setters below...
     
+    /**
+     * 
+     * @return  Returns whether update() finishes loading the chunks it queues before returning.
+     */
+    public boolean getBlockingStreaming()
+    {
+        // The function returns whether update() finishes loading the chunks it queues before returning.
+        return _blockingStreaming;
+    }
+    
+    /**
+     * 
+     * The function sets whether update() finishes loading the chunks it queues before returning.  Blocking
+     * makes the resident chunks (and so collisions) in a chunked world depend only on the focus positions 
+     * passed, never on loading speed -- needed for input recordings to replay identically.  Causes hitches 
+     * when crossing chunk borders, so leave off otherwise.
+     * 
+     * @param blockingStreaming  Whether update() finishes loading the chunks it queues before returning.
+     */
+    
+    // blockingStreaming = Whether update() finishes loading the chunks it queues before returning.
+    public void setBlockingStreaming(boolean blockingStreaming)
+    {
+        // The function sets whether update() finishes loading the chunks it queues before returning.
+        _blockingStreaming = blockingStreaming;
+    }
+    
     /**
      * 
      * @return  Returns a reference to the collision layer of the current Tiled map.
@@ -207,10 +372,82 @@ public class MapManager
         return _collisionLayer;
     }
     
+    /**
+     * 
+     * @return  Returns the uniform grid (spatial index) built over the collision layer of the current map.
+     */
+    public CollisionGrid getCollisionGrid()
+    {
+        // The function returns the uniform grid (spatial index) built over the collision layer of the 
+        // current map.
+        return _collisionGrid;
+    }
+    
+    /**
+     * 
+     * The function sets the width and height of each cell in the collision grid, in pixels.  The value
+     * applies starting with the next map load.  Passing zero uses the tile width of each map.
+     * 
+     * @param collisionCellSize  Width and height of each cell in the collision grid, in pixels.  Zero uses
+     * the tile width of each map.
+     */
+    
+    // collisionCellSize = Width and height of each cell in the collision grid, in pixels.  Zero uses the
+    //   tile width of each map.
+    public void setCollisionCellSize(float collisionCellSize)
+    {
+        // The function sets the width and height of each cell in the collision grid, in pixels.  The value
+        // applies starting with the next map load.  Passing zero uses the tile width of each map.
+        _collisionCellSize = collisionCellSize;
+    }
+    
+    /**
+     * 
+     * @return  Returns the approach used to check for collisions with the collision layer.
+     */
+    public CollisionMode getCollisionMode()
+    {
+        // The function returns the approach used to check for collisions with the collision layer.
+        return _collisionMode;
+    }
+    
+    /**
+     * 
+     * The function sets the approach used to check for collisions with the collision layer.  Both the
+     * grid and bitmask get built for each map, so the mode may change at any time.
+     * 
+     * @param collisionMode  Approach used to check for collisions with the collision layer.
+     */
+    
+    // collisionMode = Approach used to check for collisions with the collision layer.
+    public void setCollisionMode(CollisionMode collisionMode)
+    {
+        // The function sets the approach used to check for collisions with the collision layer.  Both the
+        // grid and bitmask get built for each map, so the mode may change at any time.
+        _collisionMode = collisionMode;
+    }
+    
+    /**
+     * 
+     * The function sets the number of bitmask cells across (and down) each tile.  The value applies 
+     * starting with the next map load.  Higher values flag more cells as fully covered, when objects do
+     * not line up with tiles, at the cost of memory.
+     * 
+     * @param collisionSubTiles  Number of bitmask cells across (and down) each tile.  Minimum of one.
+     */
+    
+    // collisionSubTiles = Number of bitmask cells across (and down) each tile.  Minimum of one.
+    public void setCollisionSubTiles(int collisionSubTiles)
+    {
+        // The function sets the number of bitmask cells across (and down) each tile.  The value applies 
+        // starting with the next map load.
+        _collisionSubTiles = Math.max(1, collisionSubTiles);
+    }
+    
     /**
      * 
      * @return  Returns the current Tiled map object.  If not initialized yet (beginning of game), loads the
-     * TOWN map and sets the player starting location.
+     * TOWN map and sets the player starting location.  Null in a chunked world (see getCurrentWorld()).
      */
     public TiledMap getCurrentMap()
     {
@@ -218,8 +455,8 @@ public class MapManager
         // The function returns the current Tiled map object.  If not initialized yet (beginning of game),
         // loads the TOWN map and sets the player starting location.
         
-        // If map loaded, then...
-        if ( _currentMap == null )
+        // If no map loaded (and not in a chunked world), then...
+        if ( _currentMap == null && _currentWorld == null )
         {
             
             // No map loaded.
@@ -237,6 +474,76 @@ public class MapManager
         
     }
     
+    /**
+     * 
+     * @return  Returns the chunked world currently entered.  Null when a regular map is loaded.
+     */
+    public ChunkedWorld getCurrentWorld()
+    {
+        // The function returns the chunked world currently entered.  Null when a regular map is loaded.
+        return _currentWorld;
+    }
+    
+    /**
+     * 
+     * @return  Returns the chunk textures composited from the tile layers of the current map.  Empty 
+     * (not built) when flattening is disabled or the map cannot be flattened.
+     */
+    public FlattenedTileLayers getFlattenedLayers()
+    {
+        // The function returns the chunk textures composited from the tile layers of the current map.
+        return _flattenedLayers;
+    }
+    
+    /**
+     * 
+     * The function sets the width and height of the chunks into which loadMap() composites the tile 
+     * layers of each map, in tiles.  The value applies starting with the next map load.  Zero disables
+     * flattening, so tile layers render tile by tile.
+     * 
+     * @param flattenChunkTiles  Width and height of each chunk, in tiles (for example, 32).  Zero disables
+     * flattening.
+     */
+    
+    // flattenChunkTiles = Width and height of each chunk, in tiles.  Zero disables flattening.
+    public void setFlattenChunkTiles(int flattenChunkTiles)
+    {
+        // The function sets the width and height of the chunks into which loadMap() composites the tile 
+        // layers of each map, in tiles.  The value applies starting with the next map load.
+        _flattenChunkTiles = Math.max(0, flattenChunkTiles);
+    }
+    
+    /**
+     * 
+     * @return  Returns the cache keeping recently used maps resident.  Provides budget settings and 
+     * hit, miss, and eviction counters.
+     */
+    public MapCache getMapCache()
+    {
+        // The function returns the cache keeping recently used maps resident.
+        return _mapCache;
+    }
+    
+    /**
+     * 
+     * @return  Returns the prefetcher loading maps reachable through portals in the background.
+     */
+    public MapPrefetcher getMapPrefetcher()
+    {
+        // The function returns the prefetcher loading maps reachable through portals in the background.
+        return _mapPrefetcher;
+    }
+    
+    /**
+     * 
+     * @return  Returns the path of the map loaded at the beginning of the game (TOWN).  Compiled when built.
+     */
+    public String getStartMapPath()
+    {
+        // The function returns the path of the map loaded at the beginning of the game.
+        return _mapTable.get(TOWN);
+    }
+    
     /**
      * 
      * @return  Returns a reference to the portal layer of the current Tiled map.
@@ -247,6 +554,34 @@ public class MapManager
         return _portalLayer;
     }
     
+    /**
+     * 
+     * @return  Returns the table of portals compiled from the portal layer of the current Tiled map.
+     */
+    public PortalTable getPortalTable()
+    {
+        // The function returns the table of portals compiled from the portal layer of the current Tiled map.
+        return _portalTable;
+    }
+    
+    /**
+     * 
+     * The function returns the nearest neighbor index of the spawn points with the passed name in the 
+     * current map.  Names get compared without regard to case.
+     * 
+     * @param name  Name of the spawn points (for example, PLAYER_START).
+     * @return  Returns the nearest neighbor index of the spawn points with the passed name.  Null when the
+     * current map contains no such spawn points.
+     */
+    
+    // name = Name of the spawn points (for example, PLAYER_START).
+    public SpawnIndex getSpawnIndex(String name)
+    {
+        // The function returns the nearest neighbor index of the spawn points with the passed name in the 
+        // current map.  Returns null when the current map contains no such spawn points.
+        return name == null ? null : _spawnIndexTable.get(name.toUpperCase());
+    }
+    
     /**
      * 
      * @return  Returns the scaled version (in tiles) of the player start location.
@@ -270,6 +605,35 @@ public class MapManager
         
     }
     
+    /**
+     * 
+     * The function returns whether the passed hitbox overlaps an object in the collision layer of the 
+     * current map, excluding portals.  Edges that merely touch do not count as a collision.  Both 
+     * collision modes return identical results.
+     * 
+     * @param boundingBox  Rectangle that defines the hitbox to test, in pixels.
+     * @return  Whether the hitbox overlaps an object in the collision layer.
+     */
+    
+    // boundingBox = Rectangle that defines the hitbox to test, in pixels.
+    public boolean isCollisionWithMapLayer(Rectangle boundingBox)
+    {
+        
+        // The function returns whether the passed hitbox overlaps an object in the collision layer of the 
+        // current map, excluding portals.  Edges that merely touch do not count as a collision.  Both 
+        // collision modes return identical results.
+        
+        // If using bitmask, then...
+        if ( _collisionMode == CollisionMode.BITMASK )
+            // Using bitmask.
+            return _collisionBitmask.overlaps(boundingBox);
+        
+        else
+            // Using grid.
+            return _collisionGrid.overlaps(boundingBox);
+        
+    }
+    
     /**
      * 
      * @param text  Text to check whether populated.
@@ -285,6 +649,85 @@ public class MapManager
     
     // Methods below...
     
+    /**
+     * 
+     * The method adds the passed chunked world under the passed name.  Afterwards, loadMap() enters the
+     * world when passed the name, and so do portals with the name.  The player starts at the start
+     * position of the world on the first visit and at the closest player spawn to where the player left
+     * afterwards.
+     * 
+     * @param worldName  Name of the world.  Must not match a name in the map table.
+     * @param world  Chunked world to add.
+     */
+    
+    // worldName = Name of the world.  Must not match a name in the map table.
+    // world = Chunked world to add.
+    public void addWorld(String worldName, ChunkedWorld world)
+    {
+        
+        /*
+        The method adds the passed chunked world under the passed name.  Afterwards, loadMap() enters the
+        world when passed the name, and so do portals with the name.  The player starts at the start
+        position of the world on the first visit and at the closest player spawn to where the player left
+        afterwards.
+        */
+        
+        _worldTable.put(worldName, world);
+        
+        // Copy base starting location of player (0, 0), indicating the world was not visited yet.
+        _playerStartLocationTable.put(worldName, new Vector2(0, 0));
+        
+    }
+    
+    /**
+     * 
+     * The method builds the nearest neighbor indexes for the spawn points in the spawn layer of the
+     * current map, one index per distinct spawn name (upper case).  Queries for player starting 
+     * locations, as well as other spawns, then avoid rescanning the layer.
+     */
+    private void buildSpawnIndexes()
+    {
+        
+        // The method builds the nearest neighbor indexes for the spawn points in the spawn layer of the
+        // current map, one index per distinct spawn name (upper case).
+        
+        String name; // Name of current spawn object, in upper case.
+        SpawnIndex spawnIndex; // Index for current spawn name.
+        
+        // Remove indexes from the previous map.
+        _spawnIndexTable.clear();
+        
+        // If no spawn layer exists, then exit.
+        if ( _spawnsLayer == null )
+            return;
+        
+        // Loop through spawn objects in current map.
+        for ( MapObject object: _spawnsLayer.getObjects() )
+        {
+            
+            // If named spawn location found, then...
+            if ( object instanceof RectangleMapObject && object.getName() != null )
+            {
+                
+                // Named spawn location found.
+                
+                // Get name of spawn location in upper case.
+                name = object.getName().toUpperCase();
+                
+                // If no index exists yet for the spawn name, then build and store one.
+                if ( !_spawnIndexTable.containsKey(name) )
+                {
+                    spawnIndex = new SpawnIndex();
+                    spawnIndex.build(_spawnsLayer, name);
+                    _spawnIndexTable.put(name, spawnIndex);
+                }
+                
+            }
+            
+        }
+        
+    }
+    
     /**
      * 
      * The method loads and gets the passed map from the asset manager (as necessary) and sets
@@ -293,8 +736,12 @@ public class MapManager
      * The loadMap() method verifies that the string passed in is a valid path and checks to see 
      * whether the asset exists.  If the map asset exists, loading occurs.  Next, copying occurs 
      * of the object references of the different layers for fast access later.  Layers include 
-     * collision, portal, and spawn.  Near the end, checking occurs to see whether the starting 
-     * location is set to (0, 0).  If the starting location is set to (0, 0), the player location 
+     * collision, portal, and spawn.  A uniform grid gets built over the rectangles in the collision
+     * layer, allowing collision checks to test only nearby rectangles, and the same rectangles get 
+     * rasterized into a tile bitmask.  When enabled, the tile layers get composited into chunk 
+     * textures.  Maps reachable through the portals get queued for background loading.  Recently 
+     * used maps stay resident in the map cache, within its budget.  Near the end, checking occurs to 
+     * see whether the starting location is set to (0, 0).  If the starting location is set to (0, 0), the player location 
      * was not cached, nor was the map loaded (prior to calling the procedure).  If the player 
      * location was not cached prior to executing the procedure, the method stores the location 
      * closest to one in the spawn layer.
@@ -303,6 +750,9 @@ public class MapManager
      * <br>   If loading map for first time, determine based on spawn layer.
      * <br>   If loading map for second or later time, use position stored before activating portal.
      * <br>   Prior positions stored in > _playerStartLocationTable.
+     * <br><br>
+     * Names added with addWorld() enter the chunked world instead (see loadWorld()).  Loading a regular
+     * map releases the chunks of the world being left.
      * 
      * @param mapName  Key value for map to load in hash map, _mapTable.
      * @return  true when a valid map is loaded, false when an invalid name is passed or a map fails to load.
@@ -319,8 +769,12 @@ public class MapManager
         The loadMap() method verifies that the string passed in is a valid path and checks to see 
         whether the asset exists.  If the map asset exists, loading occurs.  Next, copying occurs 
         of the object references of the different layers for fast access later.  Layers include 
-        collision, portal, and spawn.  Near the end, checking occurs to see whether the starting 
-        location is set to (0, 0).  If the starting location is set to (0, 0), the player location 
+        collision, portal, and spawn.  A uniform grid gets built over the rectangles in the collision
+        layer, allowing collision checks to test only nearby rectangles, and the same rectangles get 
+        rasterized into a tile bitmask.  When enabled, the tile layers get composited into chunk 
+        textures.  Maps reachable through the portals get queued for background loading.  Recently 
+        used maps stay resident in the map cache, within its budget.  Near the end, checking occurs to 
+        see whether the starting location is set to (0, 0).  If the starting location is set to (0, 0), the player location 
         was not cached, nor was the map loaded (prior to calling the procedure).  If the player 
         location was not cached prior to executing the procedure, the method stores the location 
         closest to one in the spawn layer.
@@ -330,6 +784,9 @@ public class MapManager
         If loading map for second or later time, use position stored before activating portal.
         Prior positions stored in > _playerStartLocationTable.
         
+        Names added with addWorld() enter the chunked world instead (see loadWorld()).  Loading a regular
+        map releases the chunks of the world being left.
+        
         Returns true when a valid map is loaded.
         Returns false when an invalid name is passed or a map fails to load.
         */
@@ -337,6 +794,11 @@ public class MapManager
         boolean loaded; // Whether valid map loaded.
         String mapFullPath; // Relative path for map to load.
         Vector2 start; // Starting location of player, in pixels.
+        int tileWidth; // Width of each tile in map, in pixels.
+        
+        // If chunked world passed, then enter it instead.
+        if ( _worldTable.containsKey(mapName) )
+            return loadWorld(mapName);
         
         // Set defaults.
         loaded = false;
@@ -353,17 +815,10 @@ public class MapManager
             
             // Map key passed and exists in hash map (neither null nor empty).
             
-            // If current TiledMap object already exists, then...
-            if ( _currentMap != null )
-            {
-                // Current TiledMap object already exists.
-                
-                // Clear current TiledMap object from memory.
-                _currentMap.dispose();
-            }
-
-            // Load the passed TMX file into asset manager as a TiledMap asset.
-            Utility.loadMapAsset(mapFullPath);
+            // Make the passed TMX file resident in the asset manager as a TiledMap asset, through the map 
+            // cache.  Loads only when neither cached nor prefetched.  Maps over the cache budget get 
+            // released afterwards, so tileset textures shared with the passed map stay loaded.
+            _mapCache.acquire(mapFullPath);
 
             // If TMX file successfully loaded into asset manager, then...
             if ( Utility.isAssetLoaded(mapFullPath) )
@@ -382,6 +837,14 @@ public class MapManager
                     
                     // Set the current map name equal to the passed key.
                     _currentMapName = mapName;
+                    
+                    // If leaving a chunked world, then release its chunks.  Occurs after loading the map,
+                    // so tileset textures shared with the chunks stay loaded.
+                    if ( _currentWorld != null )
+                    {
+                        _currentWorld.release();
+                        _currentWorld = null;
+                    }
                 
                     // Store a reference to the collision layer (all objects, except portals).
                     _collisionLayer = _currentMap.getLayers().get(MAP_COLLISION_LAYER);
@@ -394,6 +857,23 @@ public class MapManager
                         // Display warning.
                         Gdx.app.debug(TAG, "No collision layer!");
                     }
+                    
+                    // Get the tile width of the map.
+                    tileWidth = _currentMap.getProperties().get(MAP_PROPERTY_TILE_WIDTH, 16, Integer.class);
+                    
+                    // Build the uniform grid over the rectangles in the collision layer.
+                    // Cell size defaults to the tile width of the map.
+                    _collisionGrid.build(_collisionLayer, _collisionCellSize > 0 ? _collisionCellSize : tileWidth);
+                    
+                    // Rasterize the rectangles in the collision layer into the bitmask.
+                    _collisionBitmask.build(_collisionLayer, (float)tileWidth / _collisionSubTiles, _collisionGrid);
+                    
+                    // If enabled, composite the tile layers into chunk textures.  Otherwise, remove those 
+                    // of the previous map.
+                    if ( _flattenChunkTiles > 0 )
+                        _flattenedLayers.build(_currentMap, _flattenChunkTiles);
+                    else
+                        _flattenedLayers.clear();
 
                     // Store a reference to the portal (specialty collision) layer.
                     _portalLayer = _currentMap.getLayers().get(MAP_PORTAL_LAYER);
@@ -406,9 +886,18 @@ public class MapManager
                         // Display warning.
                         Gdx.app.debug(TAG, "No portal layer!");
                     }
+                    
+                    // Compile the portals into the portal table, resetting the activation state.
+                    _portalTable.build(_portalLayer);
+                    
+                    // Queue the maps reachable through the portals for background loading.
+                    prefetchPortalTargets(mapFullPath);
 
                     // Store a reference to the spawn layer.
                     _spawnsLayer = _currentMap.getLayers().get(MAP_SPAWNS_LAYER);
+                    
+                    // Build the nearest neighbor indexes for the spawn points, one per name.
+                    buildSpawnIndexes();
 
                     // If no spawn layer exists, then...
                     if ( _spawnsLayer == null )
@@ -451,7 +940,6 @@ public class MapManager
                         /*
                         System.out.println("loadMap...");
                         System.out.println("_playerStart x: " + _playerStart.x + ", y: " + _playerStart.y);
-                        System.out.println("_playerStartPositionRect x: " + _playerStartPositionRect.x + ", y: " + _playerStartPositionRect.y);
                         */
 
                     }
@@ -493,6 +981,148 @@ public class MapManager
         
     }
 
+    /**
+     * 
+     * The function enters the chunked world with the passed name.  The chunks around the player starting
+     * location get loaded (blocking), and the collision grid, bitmask, portal table, and spawn indexes get
+     * built from the merged layers of the resident chunks.  From then on, update() streams the chunks 
+     * around the focus.  The chunks of a world being left get released afterwards, so tileset textures 
+     * shared between chunks stay loaded.
+     * 
+     * @param worldName  Name of the world (key value in hash map, _worldTable).
+     * @return  Whether the world was entered.
+     */
+    
+    // worldName = Name of the world (key value in hash map, _worldTable).
+    private boolean loadWorld(String worldName)
+    {
+        
+        /*
+        The function enters the chunked world with the passed name.  The chunks around the player starting
+        location get loaded (blocking), and the collision grid, bitmask, portal table, and spawn indexes get
+        built from the merged layers of the resident chunks.  From then on, update() streams the chunks 
+        around the focus.  The chunks of a world being left get released afterwards, so tileset textures 
+        shared between chunks stay loaded.
+        */
+        
+        ChunkedWorld previousWorld; // Chunked world being left.  Null when leaving a regular map.
+        Vector2 start; // Starting location of player, in pixels.
+        ChunkedWorld world; // Chunked world to enter.
+        
+        // Set defaults.
+        world = _worldTable.get(worldName);
+        previousWorld = _currentWorld;
+        
+        // Get player starting location (in pixels) for the world.
+        // If not visited yet, use the start position of the world.
+        start = _playerStartLocationTable.get(worldName);
+        if ( start.isZero() )
+            start = world.getStartPosition();
+        
+        _playerStart.set(start.x, start.y);
+        
+        // Load the chunks around the player starting location.
+        world.prime(_playerStart.x, _playerStart.y);
+        
+        // If leaving another chunked world, then release its chunks.
+        if ( previousWorld != null && previousWorld != world )
+            previousWorld.release();
+        
+        // Enter the world.  Chunks render tile by tile, so remove the flattened layers of the last map.
+        _currentWorld = world;
+        _currentMap = null;
+        _currentMapName = worldName;
+        _flattenedLayers.clear();
+        
+        // Reset the activation state of the portal table, as when loading a map, so a player placed inside
+        // a portal does not get sent straight back.  Then build the lookups from the merged layers of the
+        // resident chunks.
+        _portalTable.clear();
+        rebuildWorldLayers();
+        
+        // Display starting location in the world.
+        Gdx.app.debug(TAG, "Entered world " + worldName + ", player start: (" + _playerStart.x + "," + 
+          _playerStart.y + ")");
+        
+        return true;
+        
+    }
+    
+    /**
+     * 
+     * The method queues the maps reachable through the portals in the portal table for background 
+     * loading, releasing those no longer reachable.  Portals leading to chunked worlds get skipped, since
+     * worlds stream their own chunks.
+     * 
+     * @param currentPath  Relative path of the current map, skipped as a target.  Null in a chunked world.
+     */
+    
+    // currentPath = Relative path of the current map, skipped as a target.  Null in a chunked world.
+    private void prefetchPortalTargets(String currentPath)
+    {
+        
+        /*
+        The method queues the maps reachable through the portals in the portal table for background 
+        loading, releasing those no longer reachable.  Portals leading to chunked worlds get skipped, since
+        worlds stream their own chunks.
+        */
+        
+        String targetPath; // Relative path for map reachable through a portal.
+        
+        // Gather the paths of the maps reachable through the portals.
+        _prefetchTargets.clear();
+        for ( int targetId = 0; targetId < _portalTable.getTargetMapCount(); targetId++ )
+        {
+            targetPath = _mapTable.get(_portalTable.getTargetMapNameById(targetId));
+            if ( isPopulatedText(targetPath) && !targetPath.equals(currentPath) )
+                _prefetchTargets.add(targetPath);
+        }
+        
+        // Queue the reachable maps for background loading, releasing those no longer reachable.
+        _mapPrefetcher.prefetch(_prefetchTargets);
+        
+    }
+    
+    /**
+     * 
+     * The method merges the collision, portal, and spawn layers of the resident chunks of the current 
+     * world (in world coordinates) and rebuilds the collision grid, bitmask, portal table, and spawn 
+     * indexes from them.  Collision and portal checks then work across chunk borders.  Rebuilding keeps
+     * the activation state of the portal table (see PortalTable.rebuild()), so chunks streaming in or out
+     * never swallow a portal entered on the same frame.
+     */
+    private void rebuildWorldLayers()
+    {
+        
+        /*
+        The method merges the collision, portal, and spawn layers of the resident chunks of the current 
+        world (in world coordinates) and rebuilds the collision grid, bitmask, portal table, and spawn 
+        indexes from them.  Collision and portal checks then work across chunk borders.  Rebuilding keeps
+        the activation state of the portal table, so chunks streaming in or out never swallow a portal 
+        entered on the same frame.
+        */
+        
+        int tileWidth; // Width of each tile in world, in pixels.
+        
+        tileWidth = _currentWorld.getTileSize();
+        
+        // Merge the collision layers and rebuild the grid and bitmask over them.
+        _collisionLayer = _currentWorld.buildLayer(MAP_COLLISION_LAYER);
+        _collisionGrid.build(_collisionLayer, _collisionCellSize > 0 ? _collisionCellSize : tileWidth);
+        _collisionBitmask.build(_collisionLayer, (float)tileWidth / _collisionSubTiles, _collisionGrid);
+        
+        // Merge the portal layers, rebuild the portal table (keeping the activation state), and prefetch the
+        // maps reachable through it.
+        _portalLayer = _currentWorld.buildLayer(MAP_PORTAL_LAYER);
+        _portalTable.rebuild(_portalLayer);
+        prefetchPortalTargets(null);
+        
+        // Merge the spawn layers and rebuild the spawn indexes.
+        _spawnsLayer = _currentWorld.buildLayer(MAP_SPAWNS_LAYER);
+        buildSpawnIndexes();
+        
+    }
+    
     /**
      * 
      * The method sets the player starting location to the closest position of a player object in the 
@@ -508,6 +1138,9 @@ public class MapManager
      * distances between objects, we only care about the relative distance, not the absolute distance. 
      * In order to get the absolute distance, we would need to take the square root of the value, and in 
      * general, this is an expensive operation.
+     * <br><br>
+     * The search uses the nearest neighbor index (k-d tree) of PLAYER_START spawn points built when the
+     * map loaded, comparing squared distances in the same way.
      * 
      * @param position  Vector with base player location, in pixels.
      * @return  Whether closest starting position found.
@@ -531,19 +1164,18 @@ public class MapManager
         distances between objects, we only care about the relative distance, not the absolute distance. 
         In order to get the absolute distance, we would need to take the square root of the value, and in 
         general, this is an expensive operation.
+        
+        The search uses the nearest neighbor index (k-d tree) of PLAYER_START spawn points built when the
+        map loaded, comparing squared distances in the same way.
         */
         
         // Returns true when closest starting position found.
         // Returns false when closest starting position not found.
         
         boolean closestPos; // Whether closest starting position found.
-        float distance; // Distance between current player location and spawn point.
-        float shortestDistance; // Shortest distance found between current player location and any spawn point.
+        SpawnIndex spawnIndex; // Nearest neighbor index of player spawn locations in current map.
         
         // Set defaults.
-        closestPos = false;
-        shortestDistance = 0f;
-        _playerStartPositionRect.set(0,0);
         _closestPlayerStartPosition.set(0,0);
         
         // Display base player location and current map name.
@@ -551,55 +1183,10 @@ public class MapManager
             _currentMapName);
 
         // Get last known position on the current map.
-        // Go through all player start positions and choose closest to last known position.
-        
-        // Loop through spawn locations in current map.
-        for( MapObject object: _spawnsLayer.getObjects())
-        {
-            
-            // If looking at a player spawn location, then...
-            if ( object.getName().equalsIgnoreCase(PLAYER_START) )
-            {
-                
-                // Looking at a player spawn location.
-                
-                // Store current object location in player starting rectangle.
-                // Sets values of _playerStartPositionRect vector.
-                ((RectangleMapObject)object).getRectangle().getPosition(_playerStartPositionRect);
-                
-                /*
-                System.out.println("setClosestStartPosition..." + temp);
-                System.out.println("_playerStart x: " + _playerStart.x + ", y: " + _playerStart.y);
-                System.out.println("_playerStartPositionRect x: " + _playerStartPositionRect.x + ", y: " + _playerStartPositionRect.y);
-                */
-                
-                // Store distance between base player and object locations.
-                distance = position.dst2(_playerStartPositionRect);
-
-                // Display distance.
-                Gdx.app.debug(TAG, "distance: " + distance + " for " + _currentMapName);
-
-                // If distance less than shortest found so far or equal to zero, then...
-                if ( distance < shortestDistance || shortestDistance == 0 )
-                {
-                    
-                    // Distance less than shortest found so far or equal to zero.
-                    
-                    // Store object position in closest player starting location.
-                    _closestPlayerStartPosition.set(_playerStartPositionRect);
-                    
-                    // Copy current to shortest distance.
-                    shortestDistance = distance;
-                    
-                    // Flag closest starting position as found.
-                    // A closer position may be located.
-                    closestPos = true;                    
-                    
-                } // End ... If distance less than shortest found so far or equal to zero.
-                
-            } // End ... If looking at a player spawn location.
-            
-        } // End ... Loop through spawn locations in current map.
+        // Choose the player start position closest to last known position, using the index built when
+        // the map loaded.
+        spawnIndex = _spawnIndexTable.get(PLAYER_START);
+        closestPos = spawnIndex != null && spawnIndex.nearest(position.x, position.y, _closestPlayerStartPosition);
         
         // If closest starting position found, then...
         if (closestPos)
@@ -650,4 +1237,112 @@ public class MapManager
         
     }
 
-}
\ No newline at end of file
+    /**
+     * 
+     * The function moves the passed hitbox by the passed displacement, stopping at the first object in 
+     * the collision layer hit and sliding along it.  The allowed displacement gets written to the passed 
+     * vector.
+     * <br><br>
+     * The region covered by the hitbox during the whole move gets checked first, using the selected 
+     * collision mode.  When the region is clear, the full move gets allowed without further work.
+     * Otherwise, the collision grid computes the time of impact (swept axis-aligned bounding boxes).
+     * Because the whole path gets tested, large displacements caused by frame hitches cannot pass 
+     * through thin walls.
+     * 
+     * @param boundingBox  Rectangle that defines the hitbox at the start of the move, in pixels.
+     * @param dx  Requested displacement along the x-axis, in pixels.
+     * @param dy  Requested displacement along the y-axis, in pixels.
+     * @param displacement  Vector to which the allowed displacement gets written, in pixels.
+     * @return  Whether the move was blocked (the allowed displacement differs from the requested).
+     */
+    
+    // boundingBox = Rectangle that defines the hitbox at the start of the move, in pixels.
+    // dx = Requested displacement along the x-axis, in pixels.
+    // dy = Requested displacement along the y-axis, in pixels.
+    // displacement = Vector to which the allowed displacement gets written, in pixels.
+    public boolean sweepCollisionWithMapLayer(Rectangle boundingBox, float dx, float dy, Vector2 displacement)
+    {
+        
+        /*
+        The function moves the passed hitbox by the passed displacement, stopping at the first object in 
+        the collision layer hit and sliding along it.  The allowed displacement gets written to the passed 
+        vector.
+        
+        The region covered by the hitbox during the whole move gets checked first, using the selected 
+        collision mode.  When the region is clear, the full move gets allowed without further work.
+        Otherwise, the collision grid computes the time of impact (swept axis-aligned bounding boxes).
+        Because the whole path gets tested, large displacements caused by frame hitches cannot pass 
+        through thin walls.
+        */
+        
+        // Determine region covered by the hitbox during the whole move.
+        // Pad the region slightly, so rounding never shrinks it below the path of the hitbox.
+        _sweepRegion.set(Math.min(boundingBox.x, boundingBox.x + dx) - SWEEP_REGION_PADDING, 
+          Math.min(boundingBox.y, boundingBox.y + dy) - SWEEP_REGION_PADDING, 
+          boundingBox.width + Math.abs(dx) + 2 * SWEEP_REGION_PADDING, 
+          boundingBox.height + Math.abs(dy) + 2 * SWEEP_REGION_PADDING);
+        
+        // If region clear of collision objects, then...
+        if ( !isCollisionWithMapLayer(_sweepRegion) )
+        {
+            // Region clear of collision objects.  Allow the full move.
+            displacement.set(dx, dy);
+            return false;
+        }
+        
+        else
+            // Region contains collision objects.  Compute the time of impact and slide.
+            return _collisionGrid.sweep(boundingBox, dx, dy, displacement);
+        
+    }
+
+    /**
+     * 
+     * The method advances background loading of the maps reachable through the portals of the current
+     * map, within the time budget of the prefetcher.  In a chunked world, the method also streams the 
+     * chunks around the passed focus, rebuilding the collision grid, bitmask, portal table, and spawn 
+     * indexes whenever the resident chunks change.  With blocking streaming, chunks queued finish loading
+     * before the method returns.  Called each frame.
+     * 
+     * @param focusX  X-coordinate of the focus (usually the camera), in tiles (units).
+     * @param focusY  Y-coordinate of the focus (usually the camera), in tiles (units).
+     */
+    
+    // focusX = X-coordinate of the focus (usually the camera), in tiles (units).
+    // focusY = Y-coordinate of the focus (usually the camera), in tiles (units).
+    public void update(float focusX, float focusY)
+    {
+        
+        /*
+        The method advances background loading of the maps reachable through the portals of the current
+        map, within the time budget of the prefetcher.  In a chunked world, the method also streams the 
+        chunks around the passed focus, rebuilding the collision grid, bitmask, portal table, and spawn 
+        indexes whenever the resident chunks change.  With blocking streaming, chunks queued finish loading
+        before the method returns.  Called each frame.
+        */
+        
+        boolean changed; // Whether the resident chunks changed.
+        
+        _mapPrefetcher.update();
+        
+        // If not in a chunked world, then nothing to stream.
+        if ( _currentWorld == null )
+            return;
+        
+        // Stream the chunks around the focus.
+        changed = _currentWorld.update(focusX / UNIT_SCALE, focusY / UNIT_SCALE);
+        
+        // If blocking, then finish loading the queued chunks and make them resident.
+        if ( _blockingStreaming )
+        {
+            _currentWorld.finishLoading();
+            changed |= _currentWorld.update(focusX / UNIT_SCALE, focusY / UNIT_SCALE);
+        }
+        
+        // If the resident chunks changed, then rebuild the lookups.
+        if ( changed )
+            rebuildWorldLayers();
+        
+    }
+
+}
@@ -0,0 +1,279 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+
+// Java imports.
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class MapPrefetcher
+{
+
+    /**
+    * The class loads the maps reachable through the portals of the current map in the background, so
+    * portal transitions find the target map already resident in the asset manager.
+    * <br><br>
+    * When a map loads, the map manager passes the paths of the maps targeted by its portals.  Each new
+    * target gets queued with the asset manager (without blocking) and holds one reference there.  Targets
+    * no longer reachable get their reference released, unless still loading -- in which case the release
+    * waits until loading completes.  Each frame, update() advances loading within a fixed time budget.
+    * <br><br>
+    * The asset manager counts references, so a map both prefetched and loaded as the current map stays
+    * resident until both references get released.
+    */
+
+    /*
+    Methods include:
+
+    clear:  Releases the references to all prefetched maps.
+    getBudgetMillis:  Returns the time budget for background loading each frame, in milliseconds.
+    isPrefetched:  Returns whether the passed map is held as a prefetch target.
+    prefetch:  Queues the passed target maps for background loading and releases maps no longer targeted.
+    release:  Releases the prefetch reference to the passed map, deferring while the map still loads.
+    setBudgetMillis:  Sets the time budget for background loading each frame, in milliseconds.
+    update:  Advances background loading within the time budget and completes deferred releases.
+    */
+
+    // Declare constants.
+    private static final String TAG = MapPrefetcher.class.getSimpleName(); // Class name.
+    private static final int DEFAULT_BUDGET_MILLIS = 4; // Default time budget for loading each frame.
+
+    // Declare regular variables.
+
+    /** {@link BudgetMillis}
+     * Time budget for background loading each frame, in milliseconds. */
+    private int _budgetMillis;
+
+    // Declare list variables.
+
+    /** {@link PendingRelease}
+     * Paths of maps no longer targeted but still loading.  Released once loading completes. */
+    private final HashSet<String> _pendingRelease;
+
+    /** {@link PrefetchPaths}
+     * Paths of maps currently held as prefetch targets (one asset manager reference each). */
+    private final HashSet<String> _prefetchPaths;
+
+    /**
+     * The constructor initializes an empty prefetcher with the default time budget.
+     */
+    public MapPrefetcher()
+    {
+
+        // The constructor initializes an empty prefetcher with the default time budget.
+
+        // Set defaults.
+        _budgetMillis = DEFAULT_BUDGET_MILLIS;
+        _pendingRelease = new HashSet<>();
+        _prefetchPaths = new HashSet<>();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Time budget for background loading each frame, in milliseconds.
+     */
+    public int getBudgetMillis()
+    {
+        // The function returns the time budget for background loading each frame, in milliseconds.
+        return _budgetMillis;
+    }
+
+    /**
+     *
+     * The function sets the time budget for background loading each frame, in milliseconds.
+     *
+     * @param budgetMillis  Time budget for background loading each frame, in milliseconds.  Minimum of one.
+     */
+
+    // budgetMillis = Time budget for background loading each frame, in milliseconds.  Minimum of one.
+    public void setBudgetMillis(int budgetMillis)
+    {
+        // The function sets the time budget for background loading each frame, in milliseconds.
+        _budgetMillis = Math.max(1, budgetMillis);
+    }
+
+    /**
+     *
+     * @param mapFilenamePath  Path of map (TMX file) to check.
+     * @return  Whether the passed map is held as a prefetch target.
+     */
+
+    // mapFilenamePath = Path of map (TMX file) to check.
+    public boolean isPrefetched(String mapFilenamePath)
+    {
+        // The function returns whether the passed map is held as a prefetch target.
+        return _prefetchPaths.contains(mapFilenamePath);
+    }
+
+    // Methods below...
+
+    /**
+     * The method releases the references to all prefetched maps.  Maps still loading get released once
+     * loading completes.
+     */
+    public void clear()
+    {
+
+        // The method releases the references to all prefetched maps.  Maps still loading get released 
+        // once loading completes.
+
+        // Loop through prefetched maps and release each.
+        for ( String path : _prefetchPaths )
+            release(path);
+
+        // Clear prefetched maps.
+        _prefetchPaths.clear();
+
+    }
+
+    /**
+     *
+     * The method queues the passed target maps for background loading and releases the maps no longer
+     * targeted.  New targets get queued before old ones get released, so tileset textures shared between
+     * maps stay loaded.
+     *
+     * @param targetPaths  Paths of the maps (TMX files) reachable through the portals of the current map.
+     */
+
+    // targetPaths = Paths of the maps (TMX files) reachable through the portals of the current map.
+    public void prefetch(ArrayList<String> targetPaths)
+    {
+
+        /*
+        The method queues the passed target maps for background loading and releases the maps no longer
+        targeted.  New targets get queued before old ones get released, so tileset textures shared between
+        maps stay loaded.
+        */
+
+        Iterator<String> iterator; // Iterator through prefetched maps.
+        String path; // Path of current prefetched map.
+
+        // Loop through target maps.
+        for ( String targetPath : targetPaths )
+        {
+
+            // If target map not prefetched yet, then...
+            if ( !_prefetchPaths.contains(targetPath) )
+            {
+
+                // Target map not prefetched yet.
+
+                // If target map awaiting release, then keep existing reference instead.
+                if ( _pendingRelease.remove(targetPath) )
+                    _prefetchPaths.add(targetPath);
+
+                // Otherwise, if target map queued successfully, then track.
+                else if ( Utility.queueMapAsset(targetPath) )
+                    _prefetchPaths.add(targetPath);
+
+            }
+
+        }
+
+        // Loop through prefetched maps, releasing those no longer targeted.
+        iterator = _prefetchPaths.iterator();
+        while ( iterator.hasNext() )
+        {
+            path = iterator.next();
+            if ( !targetPaths.contains(path) )
+            {
+                release(path);
+                iterator.remove();
+            }
+        }
+
+    }
+
+    /**
+     *
+     * The method releases the prefetch reference to the passed map.  When the map is still loading, the
+     * release waits until update() finds the map loaded.
+     *
+     * @param mapFilenamePath  Path of map (TMX file) to release.
+     */
+
+    // mapFilenamePath = Path of map (TMX file) to release.
+    private void release(String mapFilenamePath)
+    {
+
+        // The method releases the prefetch reference to the passed map.  When the map is still loading, the
+        // release waits until update() finds the map loaded.
+
+        // If map loaded, then release now.  Otherwise, release once loaded.
+        if ( Utility.isAssetLoaded(mapFilenamePath) )
+            Utility.unloadAsset(mapFilenamePath);
+        else
+            _pendingRelease.add(mapFilenamePath);
+
+    }
+
+    /**
+     *
+     * The method advances background loading within the time budget and completes deferred releases.
+     * Call once per frame.
+     *
+     * @return  Whether all queued assets finished loading.
+     */
+    public boolean update()
+    {
+
+        // The method advances background loading within the time budget and completes deferred releases.
+        // Call once per frame.
+
+        boolean finished; // Whether all queued assets finished loading.
+        Iterator<String> iterator; // Iterator through maps awaiting release.
+        String path; // Path of current map awaiting release.
+
+        // Advance loading when assets remain in the queue.
+        finished = Utility.numberAssetsQueued() == 0 || Utility.updateAssetLoading(_budgetMillis);
+
+        // If no maps await release, then return (skipping the iterator, created anew by each call).
+        if ( _pendingRelease.isEmpty() )
+            return finished;
+
+        // Loop through maps awaiting release, releasing those finished loading.
+        iterator = _pendingRelease.iterator();
+        while ( iterator.hasNext() )
+        {
+            path = iterator.next();
+            if ( Utility.isAssetLoaded(path) )
+            {
+                Utility.unloadAsset(path);
+                iterator.remove();
+                Gdx.app.debug(TAG, "Released prefetched map: " + path);
+            }
+        }
+
+        // Return whether all queued assets finished loading.
+        return finished;
+
+    }
+
+}
@@ -0,0 +1,398 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+// Java imports.
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class ParallelEntityUpdater
+{
+
+    /**
+    * The class advances every entity in an EntityStore by one simulation step, spreading the work across
+    * cores with a ForkJoinPool.
+    * <br><br>
+    * The entity slots get split into ranges of at most CHUNK_SIZE, processed as fork/join tasks.  For each
+    * entity in a range, the task remembers the previous position, computes the next position from the
+    * movement direction and velocity, and sweeps the hitbox along the move against the collision grid of
+    * the map, stopping at (and sliding along) walls.  Entities only read the (static) collision grid and
+    * write their own slots, so the tasks never share mutable state.  Each thread sweeps with scratch 
+    * objects of its own, created on its first step, so steady-state steps allocate no scratch objects.  
+    * Slots freed in the store get skipped.
+    * <br><br>
+    * Once all tasks finish, the resolved next positions become the current positions in a single pass in
+    * slot order.  The outcome therefore does not depend on the number of threads or the scheduling of the
+    * tasks -- one core and many cores produce identical positions.
+    * <br><br>
+    * See benchmarks.ParallelEntityBenchmark (benchmark-entities target in build.xml) for timings with 
+    * different numbers of cores.
+    */
+
+    /*
+    Methods include:
+
+    getChunkSize:  Returns the most entity slots processed by a single task.
+    getPool:  Returns the pool running the tasks.
+    resolveRange:  Advances the entities in the passed range of slots, without committing the positions.
+    update:  Advances every entity in the store by one simulation step.
+    */
+
+    // Declare constants.
+
+    /** Default number of entity slots processed by a single task. */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    // Declare regular variables.
+
+    /** {@link ChunkSize}
+     * Most entity slots processed by a single task.  Ranges this size or smaller run without splitting. */
+    private final int _chunkSize;
+
+    // Declare object variables.
+
+    /** {@link Pool}
+     * Pool running the tasks. */
+    private final ForkJoinPool _pool;
+
+    /** {@link Scratch}
+     * Scratch objects of each thread running steps (the calling thread and the threads of the pool), 
+     * created on the first step of the thread and reused after. */
+    private final ThreadLocal<Scratch> _scratch;
+
+    /** {@link Store}
+     * Store holding the entities to update. */
+    private final EntityStore _store;
+
+    /**
+     *
+     * The constructor sets up an updater for the passed store, using the common pool of the Java runtime
+     * (one thread per core, less one) and the default chunk size.
+     *
+     * @param store  Store holding the entities to update.
+     */
+
+    // store = Store holding the entities to update.
+    public ParallelEntityUpdater(EntityStore store)
+    {
+
+        // The constructor sets up an updater for the passed store, using the common pool and the default
+        // chunk size.
+        this(store, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+
+    }
+
+    /**
+     *
+     * The constructor sets up an updater for the passed store, using the passed pool and chunk size.
+     *
+     * @param store  Store holding the entities to update.
+     * @param pool  Pool running the tasks.
+     * @param chunkSize  Most entity slots processed by a single task.
+     */
+
+    // store = Store holding the entities to update.
+    // pool = Pool running the tasks.
+    // chunkSize = Most entity slots processed by a single task.
+    public ParallelEntityUpdater(EntityStore store, ForkJoinPool pool, int chunkSize)
+    {
+
+        // The constructor sets up an updater for the passed store, using the passed pool and chunk size.
+
+        _store = store;
+        _pool = pool;
+        _chunkSize = Math.max(1, chunkSize);
+        _scratch = ThreadLocal.withInitial(Scratch::new);
+
+    }
+
+    // Inner classes below...
+
+    /**
+     * The inner class holds the scratch objects used by one thread to sweep hitboxes.
+     */
+    private static class Scratch
+    {
+
+        // The inner class holds the scratch objects used by one thread to sweep hitboxes.
+
+        // Declare object variables.
+
+        /** Allowed displacement of a hitbox. */
+        private final Vector2 displacement = new Vector2();
+
+        /** Hitbox at the current position. */
+        private final Rectangle start = new Rectangle();
+
+    }
+
+    /**
+     * The inner class processes a range of entity slots, splitting it in half until small enough.
+     */
+    private class RangeTask extends RecursiveAction
+    {
+
+        // The inner class processes a range of entity slots, splitting it in half until small enough.
+
+        // Declare regular variables.
+
+        /** Time span of the step in seconds. */
+        private final float delta;
+
+        /** Index of the first slot in the range. */
+        private final int from;
+
+        /** One more than the index of the last slot in the range. */
+        private final int to;
+
+        // Declare object variables.
+
+        /** Collision grid of the map. */
+        private final CollisionGrid collisionGrid;
+
+        /**
+         *
+         * The constructor stores the range and step details.
+         *
+         * @param from  Index of the first slot in the range.
+         * @param to  One more than the index of the last slot in the range.
+         * @param delta  Time span of the step in seconds.
+         * @param collisionGrid  Collision grid of the map.
+         */
+
+        // from = Index of the first slot in the range.
+        // to = One more than the index of the last slot in the range.
+        // delta = Time span of the step in seconds.
+        // collisionGrid = Collision grid of the map.
+        RangeTask(int from, int to, float delta, CollisionGrid collisionGrid)
+        {
+            this.from = from;
+            this.to = to;
+            this.delta = delta;
+            this.collisionGrid = collisionGrid;
+        }
+
+        /**
+         * The function processes the range directly when small enough, and otherwise splits it in half and
+         * processes both halves in parallel.
+         */
+        @Override
+        protected void compute()
+        {
+
+            // The function processes the range directly when small enough, and otherwise splits it in half
+            // and processes both halves in parallel.
+
+            int middle; // Index of the first slot in the second half of the range.
+            Scratch scratch; // Scratch objects of the current thread.
+
+            // If range small enough, then...
+            if ( to - from <= _chunkSize )
+            {
+                // Range small enough.  Process it directly, with the scratch objects of the current thread
+                // (never shared between threads).
+                scratch = _scratch.get();
+                resolveRange(from, to, delta, collisionGrid, scratch.displacement, scratch.start);
+            }
+
+            else
+            {
+                // Range too large.  Split it in half.
+                middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, middle, delta, collisionGrid),
+                  new RangeTask(middle, to, delta, collisionGrid));
+            }
+
+        }
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Most entity slots processed by a single task.
+     */
+    public int getChunkSize()
+    {
+        // The function returns the most entity slots processed by a single task.
+        return _chunkSize;
+    }
+
+    /**
+     *
+     * @return  Pool running the tasks.
+     */
+    public ForkJoinPool getPool()
+    {
+        // The function returns the pool running the tasks.
+        return _pool;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The function advances the entities in the passed range of slots by one step, without committing the
+     * positions.  Each entity remembers its previous position, gets a next position from its movement
+     * direction and velocity, and has its hitbox swept along the move against the collision grid.  Blocked
+     * moves get cut short (and slide along the wall).  The hitbox ends at the resolved next position.
+     * Slots freed in the store get skipped.
+     * <br><br>
+     * The function reads only the collision grid and the passed slots and writes only the passed slots, so
+     * ranges that do not overlap can run at the same time.  The passed scratch objects must not be in use
+     * by another thread.
+     *
+     * @param from  Index of the first slot in the range.
+     * @param to  One more than the index of the last slot in the range.
+     * @param delta  Time span of the step in seconds.
+     * @param collisionGrid  Collision grid of the map.  Null to move without collision checks.
+     * @param displacement  Scratch vector for the allowed displacement of each hitbox.
+     * @param start  Scratch rectangle for the hitbox of each entity at the current position.
+     */
+
+    // from = Index of the first slot in the range.
+    // to = One more than the index of the last slot in the range.
+    // delta = Time span of the step in seconds.
+    // collisionGrid = Collision grid of the map.  Null to move without collision checks.
+    // displacement = Scratch vector for the allowed displacement of each hitbox.
+    // start = Scratch rectangle for the hitbox of each entity at the current position.
+    void resolveRange(int from, int to, float delta, CollisionGrid collisionGrid, Vector2 displacement, 
+      Rectangle start)
+    {
+
+        /*
+        The function advances the entities in the passed range of slots by one step, without committing the
+        positions.  Each entity remembers its previous position, gets a next position from its movement
+        direction and velocity, and has its hitbox swept along the move against the collision grid.  Blocked
+        moves get cut short (and slide along the wall).  The hitbox ends at the resolved next position.
+        Slots freed in the store get skipped.
+
+        The function reads only the collision grid and the passed slots and writes only the passed slots, so
+        ranges that do not overlap can run at the same time.  The passed scratch objects must not be in use
+        by another thread.
+        */
+
+        float boxX; // X-coordinate of the hitbox at the resolved next position, in pixels.
+        float boxY; // Y-coordinate of the hitbox at the resolved next position, in pixels.
+        float dx; // Requested displacement along the x-axis, in pixels.
+        float dy; // Requested displacement along the y-axis, in pixels.
+
+        // Loop through slots in range.
+        for (int id = from; id < to; id++)
+        {
+
+            // If slot freed, then skip.
+            if ( !_store.isAlive(id) )
+                continue;
+
+            // Remember the position before the step and compute the next position.
+            _store.storePreviousPosition(id);
+            _store.integrate(id, delta);
+
+            // Place the hitbox at the current position and compute the requested move.
+            start.set(_store.getX(id) / MapManager.UNIT_SCALE, _store.getY(id) / MapManager.UNIT_SCALE,
+              _store.getBoxWidth(id), _store.getBoxHeight(id));
+            dx = _store.getNextX(id) / MapManager.UNIT_SCALE - start.x;
+            dy = _store.getNextY(id) / MapManager.UNIT_SCALE - start.y;
+
+            // If moving and collision grid exists, then...
+            if ( (dx != 0 || dy != 0) && collisionGrid != null )
+            {
+
+                // Moving with collision grid.
+
+                // If move blocked, then cut it short at the point of contact (plus any slide).
+                if ( collisionGrid.sweep(start, dx, dy, displacement) )
+                {
+                    dx = displacement.x;
+                    dy = displacement.y;
+                    _store.setNextPosition(id, (start.x + dx) * MapManager.UNIT_SCALE,
+                      (start.y + dy) * MapManager.UNIT_SCALE);
+                }
+
+            }
+
+            // Move the hitbox to the resolved next position.
+            boxX = start.x + dx;
+            boxY = start.y + dy;
+            _store.setBox(id, boxX, boxY, start.width, start.height);
+
+        }
+
+    }
+
+    /**
+     *
+     * The function advances every entity in the store by one simulation step.  The entities get resolved
+     * in parallel (see resolveRange), and then the resolved next positions become the current positions,
+     * in slot order.
+     *
+     * @param delta  Time span of the step in seconds.
+     * @param collisionGrid  Collision grid of the map (see MapManager.getCollisionGrid()).  Null to move
+     * without collision checks.
+     */
+
+    // delta = Time span of the step in seconds.
+    // collisionGrid = Collision grid of the map.  Null to move without collision checks.
+    public void update(float delta, CollisionGrid collisionGrid)
+    {
+
+        /*
+        The function advances every entity in the store by one simulation step.  The entities get resolved
+        in parallel (see resolveRange), and then the resolved next positions become the current positions,
+        in slot order.
+        */
+
+        Scratch scratch; // Scratch objects of the calling thread.
+        int size; // Number of slots to process.
+
+        size = _store.getSize();
+
+        // If no entities exist, then...
+        if ( size == 0 )
+            // No entities exist.
+            return;
+
+        // If entities fit in a single task or the pool has a single thread, then...
+        if ( size <= _chunkSize || _pool.getParallelism() == 1 )
+        {
+            // Entities fit in a single task.  Skip the pool, using the scratch objects of the calling thread.
+            scratch = _scratch.get();
+            resolveRange(0, size, delta, collisionGrid, scratch.displacement, scratch.start);
+        }
+
+        else
+            // Split the entities across the threads of the pool and wait for all to finish.
+            _pool.invoke(new RangeTask(0, size, delta, collisionGrid));
+
+        // Commit the resolved positions, in slot order.
+        _store.commitNextPositions();
+
+    }
+
+}
@@ -5,9 +5,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.math.Vector3;
-
-// Java imports.
-import java.util.HashMap;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /*
 Interface (implements) vs Sub-Class (extends)...
@@ -41,65 +39,87 @@ public class PlayerController implements InputProcessor
     * to process the events in the queue.  InputProcessor is an interface that should be implemented
     * in order to process input events, such as mouse cursor location changes, mouse button presses, 
     * and keyboard key presses from the input event handler.
+    * <br><br>
+    * Key and mouse button states live in bitmasks (one bit per Keys or Mouse value).  Input events do not 
+    * change the states directly.  Instead, each gets queued, with the time it occurred, in a fixed-capacity 
+    * ring buffer (InputEventBuffer).  Each simulation step, processInput() applies the events that occurred
+    * during the step, in order, and moves the player along each direction held for the part of the step it 
+    * was held.  Presses and releases between frames no longer get lost, and queuing events never allocates.
+    * <br><br>
+    * While recording, each event applied gets added to an InputRecording with its step index and offset 
+    * within the step.  While replaying, live input gets ignored and the recorded events get queued into the 
+    * same steps at the same offsets, so the player moves exactly as when recorded.
     */
     
     /*
     Methods include:
 
+    applyEvent:  The function applies the oldest queued input event to the cached key and mouse button states
+        and removes it from the queue.  While recording, the event gets recorded.
+    bit:  The function returns the bit representing the passed key or mouse button in the bitmasks.
     dispose:  The function clears resources associated with the input processor from memory.
     doActionMouseButtonPressed:  The function handles caching of the event for pressing the right mouse button.
     doActionMouseButtonReleased:  The function handles caching of the event for releasing the right mouse button.
     downPressed:  The function handles caching of the event for pressing the down "key".
     downReleased:  The function handles caching of the event for releasing the down "key".
-    hide:  The function, associated with hiding a screen, disables related key processing, setting all cached 
-        values to false.
-    keyDown:  The function gets called when the user presses a key.  The function caches the relevant keypress 
-        event(s) in the keys hashmap as active.
+    getHeldDirection:  The function returns the direction of the movement key held, if any.
+    getStepIndex:  The function returns the number of steps processed.
+    hide:  The function, associated with hiding a screen, disables related key processing, clearing all cached 
+        key states and queued events.
+    keyDown:  The function gets called when the user presses a key.  The function queues the relevant key press 
+        event, with the time.
     keyTyped:  The function occurs when the user types a key.
-    keyUp:  The function gets called when the user releases a key.  The function caches the relevant keypress 
-        event(s) in the keys hashmap as inactive.
-    leftPressed:  The function handles caching of the event for pressing the left "key".  Results in updating
-        Keys.LEFT entry in keys hash map to true.
-    leftReleased:  The function handles caching of the event for releasing the left "key".  Results in updating 
-        Keys.LEFT entry in keys hash map to false.
+    keyUp:  The function gets called when the user releases a key.  The function queues the relevant key 
+        release event, with the time.
+    leftPressed:  The function handles caching of the event for pressing the left "key".  Results in 
+        queuing a Keys.LEFT press event, applied at the next step.
+    leftReleased:  The function handles caching of the event for releasing the left "key".  Results in 
+        queuing a Keys.LEFT release event, applied at the next step.
     mouseMoved:  The function occurs when the user moves the mouse without pressing any buttons.
-    processInput:  In the function, processing of the cached values of the keyboard and mouse input occurs.  
+    moveHeld:  The function moves the next position of the player in the direction held, for the passed time 
+        span.
+    processInput:  In the function, processing of the queued keyboard and mouse input for the step occurs.  
         First, calculation of the next position occurs, as explained in the previous section, in order to 
         avoid issues with two fast-moving game objects colliding and missing a collision check.  Then, the 
         state and direction of the player character are set.
+    queueEvent:  The function queues an input event, with the current time, for processInput() to apply.
+    queueReplayedEvents:  The function queues the recorded events for the current step, while replaying.
     quitPressed:  The function handles caching of the event for pressing the Q "key" -- for quitting the game.
-        Results in updating Keys.QUIT entry in keys hash map to true.
-    quitReleased:  The function handles caching of the event for releasing the Q "key".  Results in updating 
-        Keys.QUIT entry in keys hash map to false.
-    rightPressed:  The function handles caching of the event for pressing the right "key".  Results in updating 
-        Keys.RIGHT entry in keys hash map to true.
+        Results in queuing a Keys.QUIT press event, applied at the next step.
+    quitReleased:  The function handles caching of the event for releasing the Q "key".  Results in 
+        queuing a Keys.QUIT release event, applied at the next step.
+    rightPressed:  The function handles caching of the event for pressing the right "key".  Results in 
+        queuing a Keys.RIGHT press event, applied at the next step.
     rightReleased:  The function handles caching of the event for releasing the right "key".  Results in 
-        updating Keys.RIGHT entry in keys hash map to false.
+        queuing a Keys.RIGHT release event, applied at the next step.
     scrolled:   The function occurs when the user scrolls the mouse wheel.
     selectMouseButtonPressed:  The function handles caching of the event for pressing the left mouse button.
-        Results in updating Mouse.SELECT entry in mouseButtons hash map to true.
+        Results in queuing a Mouse.SELECT press event, applied at the next step.
     selectMouseButtonReleased:  The function handles caching of the event for releasing the left mouse button.
-        Results in updating Mouse.SELECT entry in mouseButtons hash map to false.
+        Results in queuing a Mouse.SELECT release event, applied at the next step.
     setClickedMouseCoordinates:  The function stores in the Vector3 variable, lastMouseCoordinates, the x and 
         y coordinates where the user touched the screen, basing the origin in the upper left corner.
+    startRecording:  The function starts recording the input events applied into the passed recording.
+    startReplay:  The function starts replaying the passed recording, in place of live input.
+    toKey:  The function returns the Keys value for the passed key code, if any.
     touchDown:  The function occurs when the user touches the screen or presses a mouse button.  When clicking 
-        the left or right button, the function stores the mouse coordinates.  Clicking the left button results 
-        in updating the Mouse.SELECT entry in mouseButtons hash map to true.  Clicking the right button results 
-        in updating the Mouse.DOACTION entry in mouseButtons hash map to true.
+        the left or right button, the function queues the event, with the mouse coordinates and time.
     touchDragged:  The function occurs when the user drags a finger across the screen or the mouse.
-    touchUp:  The function occurs when the user lifts a finger or released a mouse button.  Clicking the left 
-        button results in updating the Mouse.SELECT entry in mouseButtons hash map to false.  Clicking the 
-        right button results in updating the Mouse.DOACTION entry in mouseButtons hash map to false.
-    upPressed:  The function handles caching of the event for pressing the up "key".  Results in updating 
-        Keys.UP entry in keys hash map to true.
-    upReleased:  The function handles caching of the event for releasing the up "key".  Results in updating 
-        Keys.UP entry in keys hash map to false.
-    update:  The function gets called as part of the render() function in screens and processes cached keyboard 
-        and mouse input.
+    touchUp:  The function occurs when the user lifts a finger or released a mouse button.  When releasing the 
+        left or right button, the function queues the event, with the mouse coordinates and time.
+    upPressed:  The function handles caching of the event for pressing the up "key".  Results in 
+        queuing a Keys.UP press event, applied at the next step.
+    upReleased:  The function handles caching of the event for releasing the up "key".  Results in 
+        queuing a Keys.UP release event, applied at the next step.
+    update:  The function gets called once per simulation step by screens and processes queued keyboard and 
+        mouse input.
     */
 
     // Declare constants.
     private final static String TAG = PlayerController.class.getSimpleName(); // Class name.
+    private final static long MAX_INPUT_LAG = 250000000L; // Maximum time, in nanoseconds, the step window may 
+      // trail the current time before catching up (matches the frame time limit of FixedStepClock).
+    private final static float NANOS_PER_SECOND = 1000000000f; // Nanoseconds per second.
 
     // Declare enumerations.
     
@@ -115,15 +135,27 @@ public class PlayerController implements InputProcessor
         SELECT, DOACTION
     }
 
-    // Declare list variables.
+    // Declare regular variables.
     
     /** {@link Keys} 
-     * Cached values for key presses. */
-    private static HashMap<Keys, Boolean> keys; // = new HashMap<PlayerController.Keys, Boolean>();
+     * Cached key states, one bit per Keys value (set when pressed). */
+    private static int keys;
     
     /** {@link MouseButtons} 
-     * Cached values for mouse clicks. */
-    private static HashMap<Mouse, Boolean> mouseButtons; // = new HashMap<PlayerController.Mouse, Boolean>();
+     * Cached mouse button states, one bit per Mouse value (set when pressed). */
+    private static int mouseButtons;
+    
+    /** {@link StepIndex} 
+     * Number of steps processed (index of the next step). */
+    private int _stepIndex;
+    
+    /** {@link StepMoved} 
+     * Whether the next position of the player moved yet during the current step. */
+    private boolean _stepMoved;
+    
+    /** {@link StepTime} 
+     * Time, in nanoseconds, at which the last processed step ended.  Zero before the first step. */
+    private long _stepTime;
     
     // Declare object variables.
     
@@ -134,6 +166,18 @@ public class PlayerController implements InputProcessor
     /** {@link Player} 
      * Reference to the class containing information and methods related to the player. */
     private final Entity _player;
+    
+    /** {@link Recording} 
+     * Recording to which to add the input events applied.  Null when not recording. */
+    private InputRecording _recording;
+    
+    /** {@link Replay} 
+     * Recording to replay in place of live input.  Null when not replaying. */
+    private InputRecording _replay;
+    
+    /** {@link Events} 
+     * Input events, with their times, waiting for processInput() to apply. */
+    private static InputEventBuffer events;
 
     // Constructors below...
 
@@ -156,18 +200,71 @@ public class PlayerController implements InputProcessor
         this.lastMouseCoordinates = new Vector3();
         this._player = player;
         
-        // Initialize hash maps.
-        keys = new HashMap<>(); // <PlayerController.Keys, Boolean>
-        mouseButtons = new HashMap<>(); // <PlayerController.Mouse, Boolean>
+        // Clear cached states related to inputs (key presses and mouse clicks).
+        keys = 0;
+        mouseButtons = 0;
         
-        // Initialize hash maps related to inputs (key presses and mouse clicks).
-        keys.put(Keys.LEFT, false); // Whether user pressed left arrow or A key.
-        keys.put(Keys.RIGHT, false); // Whether user pressed right arrow or D key.
-        keys.put(Keys.UP, false); // Whether user pressed up arrow or W key.
-        keys.put(Keys.DOWN, false); // Whether user pressed down arrow or S key.
-        keys.put(Keys.QUIT, false); // Whether user pressed Q key (for quitting game).
-        mouseButtons.put(Mouse.SELECT, false); // Whether user clicked left mouse button.
-        mouseButtons.put(Mouse.DOACTION, false); // Whether user clicked right mouse button.
+        // Initialize the queue of input events.  The step window starts with the first step.
+        events = new InputEventBuffer();
+        _recording = null;
+        _replay = null;
+        _stepIndex = 0;
+        _stepMoved = false;
+        _stepTime = 0;
+        
+    }
+
+    // Getters and setters below...
+    
+    /**
+     * 
+     * @return  Number of steps processed (index of the next step).
+     */
+    public int getStepIndex()
+    {
+        // The function returns the number of steps processed.
+        return _stepIndex;
+    }
+    
+    /**
+     * 
+     * The function starts recording the input events applied into the passed recording, starting with the 
+     * next step.  Recordings cover steps counted from the creation of the controller.
+     * 
+     * @param recording  Recording to which to add the input events applied.  Null stops recording.
+     */
+    
+    // recording = Recording to which to add the input events applied.  Null stops recording.
+    public void startRecording(InputRecording recording)
+    {
+        // The function starts recording the input events applied into the passed recording.
+        _recording = recording;
+    }
+    
+    /**
+     * 
+     * The function starts replaying the passed recording, in place of live input.  Live input gets ignored 
+     * and the step window no longer follows the current time, so replays run as fast as the steps allow.
+     * Start before the first step, so the step indexes match the recording.
+     * 
+     * @param replay  Recording to replay.  Null stops replaying.
+     */
+    
+    // replay = Recording to replay.  Null stops replaying.
+    public void startReplay(InputRecording replay)
+    {
+        
+        // The function starts replaying the passed recording, in place of live input.
+        
+        _replay = replay;
+        
+        // If replaying, then...
+        if ( replay != null )
+        {
+            // Discard live events and start from the first recorded event.
+            events.clear();
+            replay.rewind();
+        }
         
     }
 
@@ -175,15 +272,15 @@ public class PlayerController implements InputProcessor
     
     /*
     The keyDown() and keyUp() pair of methods will process specific key presses and releases, 
-    respectively, by caching them in a Hashtable object.  The Hashtable allows for processing 
-    the input later, without losing keyboard key press or release events, and appropriately 
-    removing redundant key events from the queue.
+    respectively, by queuing them, with their times, in a ring buffer.  The buffer allows for processing 
+    the input later, in order, without losing keyboard key press or release events that occur between
+    frames.
     */
     
     /**
      * 
-     * The function gets called when the user presses a key.  The function caches the relevant key press
-     * event(s) in the keys hashmap as active.
+     * The function gets called when the user presses a key.  The function queues the relevant key press
+     * event, with the time.
      * 
      * @param keycode  Code for key pressed.
      * @return  Whether the InputProcessor handled the input (true or false).
@@ -195,8 +292,8 @@ public class PlayerController implements InputProcessor
     {
         
         /*
-        The function gets called when the user presses a key.  The function caches the relevant key press 
-        event(s) in the keys hashmap as active.
+        The function gets called when the user presses a key.  The function queues the relevant key press 
+        event, with the time.
         
         Possible actions include:
         
@@ -208,69 +305,21 @@ public class PlayerController implements InputProcessor
         */
         
         boolean returnValue; // Whether the InputProcessor handled the input.
+        Keys key; // Key related to the passed code.
         
         // Set defaults.
         returnValue = false;
         
-        // If user pressed the left arrow or A key, then...
-        if ( keycode == Input.Keys.LEFT || keycode == Input.Keys.A )
-        {
-            // User pressed the left arrow or A key.
-            
-            // Call method related to pressing left "key".
-            // Results in updating Keys.LEFT entry in keys hash map to true.
-            this.leftPressed();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-        
-        // If user pressed the right arrow or D key, then...
-        if ( keycode == Input.Keys.RIGHT || keycode == Input.Keys.D )
-        {
-            // User pressed the right arrow or D key.
-            
-            // Call method related to pressing right "key".
-            // Results in updating Keys.RIGHT entry in keys hash map to true.
-            this.rightPressed();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
+        // Get the key related to the passed code.
+        key = toKey(keycode);
         
-        // If user pressed the up arrow or W key, then...
-        if ( keycode == Input.Keys.UP || keycode == Input.Keys.W )
+        // If user pressed a key of interest, then...
+        if ( key != null )
         {
-            // User pressed the up arrow or W key.
+            // User pressed a key of interest.
             
-            // Call method related to pressing up "key".
-            // Results in updating Keys.UP entry in keys hash map to true.
-            this.upPressed();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-        
-        // If user pressed the down arrow or S key, then...
-        if ( keycode == Input.Keys.DOWN || keycode == Input.Keys.S )
-        {
-            // User pressed the down arrow or S key.
-            
-            // Call method related to pressing down "key".
-            // Results in updating Keys.DOWN entry in keys hash map to true.
-            this.downPressed();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-        
-        // If user pressed the Q key, then...
-        if ( keycode == Input.Keys.Q )
-        {
-            // User pressed the Q key.
-            
-            // Call method related to pressing Q key -- results in quitting game.
-            this.quitPressed();
+            // Queue the key press, with the time.
+            queueEvent(InputEventBuffer.KEY_DOWN, key.ordinal(), 0, 0);
             
             // Flag as true, since input handled.
             returnValue = true;
@@ -301,8 +350,8 @@ public class PlayerController implements InputProcessor
     
     /**
      * 
-     * The function gets called when the user releases a key.  The function caches the relevant key press
-     * event(s) in the keys hashmap as inactive.
+     * The function gets called when the user releases a key.  The function queues the relevant key 
+     * release event, with the time.
      * 
      * @param keycode  Code related to the key released.   One of the constants in Input.Keys.
      * @return  Whether the InputProcessor handled the input (true or false).
@@ -314,8 +363,8 @@ public class PlayerController implements InputProcessor
     {
         
         /*
-        The function gets called when the user releases a key.  The function caches the relevant key press
-        event(s) in the keys hashmap as inactive.
+        The function gets called when the user releases a key.  The function queues the relevant key 
+        release event, with the time.
         
         Possible actions include:
         
@@ -327,74 +376,26 @@ public class PlayerController implements InputProcessor
         */
         
         boolean returnValue; // Whether the InputProcessor handled the input.
+        Keys key; // Key related to the passed code.
         
         // Set defaults.
         returnValue = false;
         
-        // If user released the left arrow or A key, then...
-        if( keycode == Input.Keys.LEFT || keycode == Input.Keys.A )
-        {
-            // User released the left arrow or A key.
-            
-            // Call method related to releasing left "key".
-            // Results in updating Keys.LEFT entry in keys hash map to false.
-            this.leftReleased();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-        
-        // If user released the right arrow or D key, then...
-        if ( keycode == Input.Keys.RIGHT || keycode == Input.Keys.D )
-        {
-            // User released the right arrow or D key.
-            
-            // Call method related to releasing right "key".
-            // Results in updating Keys.RIGHT entry in keys hash map to false.
-            this.rightReleased();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-        
-        // If user released the up arrow or W key, then...
-        if ( keycode == Input.Keys.UP || keycode == Input.Keys.W )
-        {
-            // User released the up arrow or W key.
-            
-            // Call method related to releasing up "key".
-            // Results in updating Keys.UP entry in keys hash map to false.
-            this.upReleased();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
+        // Get the key related to the passed code.
+        key = toKey(keycode);
         
-        // If user released the down arrow or S key, then...
-        if ( keycode == Input.Keys.DOWN || keycode == Input.Keys.S )
+        // If user released a key of interest, then...
+        if ( key != null )
         {
-            // User released the down arrow or S key.
+            // User released a key of interest.
             
-            // Call method related to releasing down "key".
-            // Results in updating Keys.DOWN entry in keys hash map to false.
-            this.downReleased();
+            // Queue the key release, with the time.
+            queueEvent(InputEventBuffer.KEY_UP, key.ordinal(), 0, 0);
             
             // Flag as true, since input handled.
             returnValue = true;
         }
-        
-        // If user released the Q key, then...
-        if ( keycode == Input.Keys.Q )
-        {
-            // User released the Q key.
-            
-            // Call method related to releasing Q key.
-            this.quitReleased();
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-        
+
         // Return whether input handled.
         return returnValue;
         
@@ -444,18 +445,17 @@ public class PlayerController implements InputProcessor
     
     /*
     The touchDown() and touchUp() pair of methods will process specific mouse button
-    presses and releases, respectively, by caching the position in a Hashtable object. 
-    The Hashtable object allows for processing the input later, without losing mouse 
-    button press or release events and appropriately removing redundant mouse press 
-    events from the queue.
+    presses and releases, respectively, by queuing them, with the position and time, in 
+    a ring buffer.  The buffer allows for processing the input later, in order, without 
+    losing mouse button press or release events.
     */
     
     /**
      * 
      * The function occurs when the user touches the screen or presses a mouse button.
-     * <br>When clicking the left or right button, the function stores the mouse coordinates.
-     * <br>Clicking the left button results in updating the Mouse.SELECT entry in mouseButtons hash map to true.
-     * <br>Clicking the right button results in updating the Mouse.DOACTION entry in mouseButtons hash map to true.
+     * <br>When clicking the left or right button, the function queues the event, with the mouse coordinates 
+     * <br>and time.  Once applied, clicking the left button results in setting the Mouse.SELECT bit in the 
+     * <br>mouseButtons bitmask, and clicking the right button the Mouse.DOACTION bit.
      * <br>
      * <br>Notes:  The button parameter will be Input.Buttons.LEFT on iOS.
      * 
@@ -476,9 +476,9 @@ public class PlayerController implements InputProcessor
         
         /*
         The function occurs when the user touches the screen or presses a mouse button.
-        When clicking the left or right button, the function stores the mouse coordinates.
-        Clicking the left button results in updating the Mouse.SELECT entry in mouseButtons hash map to true.
-        Clicking the right button results in updating the Mouse.DOACTION entry in mouseButtons hash map to true.
+        When clicking the left or right button, the function queues the event, with the mouse coordinates 
+        and time.  Once applied, clicking the left button results in setting the Mouse.SELECT bit in the 
+        mouseButtons bitmask, and clicking the right button the Mouse.DOACTION bit.
         
         Notes:  The button parameter will be Input.Buttons.LEFT on iOS.
         */
@@ -490,19 +490,6 @@ public class PlayerController implements InputProcessor
         
         // Gdx.app.debug(TAG, "GameScreen: MOUSE DOWN........: (" + screenX + "," + screenY + ")" );
         
-        // If user clicked left or right button pressed on mouse, then...
-        if ( button == Input.Buttons.LEFT || button == Input.Buttons.RIGHT )
-        {
-            // User clicked left or right button pressed on mouse.
-            
-            // Store in Vector3 variable, lastMouseCoordinates, the x and y coordinates where the user 
-            // touched the screen, basing the origin in the upper left corner.
-            this.setClickedMouseCoordinates(screenX, screenY);
-            
-            // Flag as true, since input handled.
-            returnValue = true;
-        }
-
         // Buttons ... Left is selection, right is context menu.
         
         // If user clicked left mouse button, then...
@@ -510,9 +497,11 @@ public class PlayerController implements InputProcessor
         {
             // User clicked left mouse button.
             
-            // Call method related to pressing left mouse button.
-            // Results in updating Mouse.SELECT entry in mouseButtons hash map to true.
-            this.selectMouseButtonPressed(screenX, screenY);
+            // Queue the left mouse button press, with the coordinates and time.
+            queueEvent(InputEventBuffer.TOUCH_DOWN, Mouse.SELECT.ordinal(), screenX, screenY);
+            
+            // Flag as true, since input handled.
+            returnValue = true;
         }
         
         // If user clicked right mouse button, then...
@@ -520,9 +509,11 @@ public class PlayerController implements InputProcessor
         {
             // User clicked right mouse button.
             
-            // Call method related to pressing right mouse button.
-            // Results in updating Mouse.DOACTION entry in mouseButtons hash map to true.
-            this.doActionMouseButtonPressed(screenX, screenY);
+            // Queue the right mouse button press, with the coordinates and time.
+            queueEvent(InputEventBuffer.TOUCH_DOWN, Mouse.DOACTION.ordinal(), screenX, screenY);
+            
+            // Flag as true, since input handled.
+            returnValue = true;
         }
         
         // Return whether input handled.
@@ -533,9 +524,9 @@ public class PlayerController implements InputProcessor
     /**
      * 
      * <br>The function occurs when the user lifts a finger or released a mouse button.
-     * <br>Clicking the left button results in updating the Mouse.SELECT entry in mouseButtons hash map to false.
-     * <br>Clicking the right button results in updating the Mouse.DOACTION entry in mouseButtons hash map to
-     * <br>false.
+     * <br>When releasing the left or right button, the function queues the event, with the mouse coordinates 
+     * <br>and time.  Once applied, releasing the left button results in clearing the Mouse.SELECT bit in the 
+     * <br>mouseButtons bitmask, and releasing the right button the Mouse.DOACTION bit.
      * <br>
      * <br>Notes:  The button parameter will be Input.Buttons.LEFT on iOS.
      * 
@@ -556,9 +547,9 @@ public class PlayerController implements InputProcessor
         
         /*
         The function occurs when the user lifts a finger or released a mouse button.
-        Clicking the left button results in updating the Mouse.SELECT entry in mouseButtons hash map to false.
-        Clicking the right button results in updating the Mouse.DOACTION entry in mouseButtons hash map to
-        false.
+        When releasing the left or right button, the function queues the event, with the mouse coordinates 
+        and time.  Once applied, releasing the left button results in clearing the Mouse.SELECT bit in the 
+        mouseButtons bitmask, and releasing the right button the Mouse.DOACTION bit.
         
         Notes:  The button parameter will be Input.Buttons.LEFT on iOS.
         */
@@ -575,9 +566,8 @@ public class PlayerController implements InputProcessor
         {
             // User released left mouse button.
             
-            // Call method related to releasing left mouse button.
-            // Results in updating Mouse.SELECT entry in mouseButtons hash map to false.
-            this.selectMouseButtonReleased(screenX, screenY);
+            // Queue the left mouse button release, with the coordinates and time.
+            queueEvent(InputEventBuffer.TOUCH_UP, Mouse.SELECT.ordinal(), screenX, screenY);
             
             // Flag as true, since input handled.
             returnValue = true;
@@ -588,9 +578,8 @@ public class PlayerController implements InputProcessor
         {
             // User released right mouse button.
             
-            // Call method related to released right mouse button.
-            // Results in updating Mouse.DOACTION entry in mouseButtons hash map to false.
-            this.doActionMouseButtonReleased(screenX, screenY);
+            // Queue the right mouse button release, with the coordinates and time.
+            queueEvent(InputEventBuffer.TOUCH_UP, Mouse.DOACTION.ordinal(), screenX, screenY);
             
             // Flag as true, since input handled.
             returnValue = true;
@@ -639,114 +628,114 @@ public class PlayerController implements InputProcessor
     
     /**
      * The function handles caching of the event for pressing the left "key".
-     * <br>Results in updating Keys.LEFT entry in keys hash map to true.
+     * <br>Results in queuing a Keys.LEFT press event, applied at the next step.
      */
     public void leftPressed()
     {
         // The function handles caching of the event for pressing the left "key".
-        // Results in updating Keys.LEFT entry in keys hash map to true.
-        keys.put(Keys.LEFT, true);
+        // Results in queuing a Keys.LEFT press event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_DOWN, Keys.LEFT.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for pressing the right "key".
-     * <br>Results in updating Keys.RIGHT entry in keys hash map to true.
+     * <br>Results in queuing a Keys.RIGHT press event, applied at the next step.
      */
     public void rightPressed()
     {
         // The function handles caching of the event for pressing the right "key".
-        // Results in updating Keys.RIGHT entry in keys hash map to true.
-        keys.put(Keys.RIGHT, true);
+        // Results in queuing a Keys.RIGHT press event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_DOWN, Keys.RIGHT.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for pressing the up "key".
-     * <br>Results in updating Keys.UP entry in keys hash map to true.
+     * <br>Results in queuing a Keys.UP press event, applied at the next step.
      */
     public void upPressed()
     {
         // The function handles caching of the event for pressing the up "key".
-        // Results in updating Keys.UP entry in keys hash map to true.
-        keys.put(Keys.UP, true);
+        // Results in queuing a Keys.UP press event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_DOWN, Keys.UP.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for pressing the down "key".
-     * <br>Results in updating Keys.DOWN entry in keys hash map to true.
+     * <br>Results in queuing a Keys.DOWN press event, applied at the next step.
      */
     public void downPressed()
     {
         // The function handles caching of the event for pressing the down "key".
-        // Results in updating Keys.DOWN entry in keys hash map to true.
-        keys.put(Keys.DOWN, true);
+        // Results in queuing a Keys.DOWN press event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_DOWN, Keys.DOWN.ordinal(), 0, 0);
     }
     
     /**
      * The function handles caching of the event for pressing the Q "key" -- for quitting the game.
-     * <br>Results in updating Keys.QUIT entry in keys hash map to true.
+     * <br>Results in queuing a Keys.QUIT press event, applied at the next step.
      */
     public void quitPressed()
     {
         // The function handles caching of the event for pressing the Q "key" -- for quitting the game.
-        // Results in updating Keys.QUIT entry in keys hash map to true.
-        keys.put(Keys.QUIT, true);
+        // Results in queuing a Keys.QUIT press event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_DOWN, Keys.QUIT.ordinal(), 0, 0);
     }
 
     // Key releases:
 
     /**
      * The function handles caching of the event for releasing the left "key".
-     * <br>Results in updating Keys.LEFT entry in keys hash map to false.
+     * <br>Results in queuing a Keys.LEFT release event, applied at the next step.
      */
     public void leftReleased()
     {
         // The function handles caching of the event for releasing the left "key".
-        // Results in updating Keys.LEFT entry in keys hash map to false.
-        keys.put(Keys.LEFT, false);
+        // Results in queuing a Keys.LEFT release event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_UP, Keys.LEFT.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for releasing the right "key".
-     * <br>Results in updating Keys.RIGHT entry in keys hash map to false.
+     * <br>Results in queuing a Keys.RIGHT release event, applied at the next step.
      */
     public void rightReleased()
     {
         // The function handles caching of the event for releasing the right "key".
-        // Results in updating Keys.RIGHT entry in keys hash map to false.
-        keys.put(Keys.RIGHT, false);
+        // Results in queuing a Keys.RIGHT release event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_UP, Keys.RIGHT.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for releasing the up "key".
-     * <br>Results in updating Keys.UP entry in keys hash map to false.
+     * <br>Results in queuing a Keys.UP release event, applied at the next step.
      */
     public void upReleased()
     {
         // The function handles caching of the event for releasing the up "key".
-        // Results in updating Keys.UP entry in keys hash map to false.
-        keys.put(Keys.UP, false);
+        // Results in queuing a Keys.UP release event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_UP, Keys.UP.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for releasing the down "key".
-     * <br>Results in updating Keys.DOWN entry in keys hash map to false.
+     * <br>Results in queuing a Keys.DOWN release event, applied at the next step.
      */
     public void downReleased()
     {
         // The function handles caching of the event for releasing the down "key".
-        // Results in updating Keys.DOWN entry in keys hash map to false.
-        keys.put(Keys.DOWN, false);
+        // Results in queuing a Keys.DOWN release event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_UP, Keys.DOWN.ordinal(), 0, 0);
     }
 
     /**
      * The function handles caching of the event for releasing the Q "key".
-     * <br>Results in updating Keys.QUIT entry in keys hash map to false.
+     * <br>Results in queuing a Keys.QUIT release event, applied at the next step.
      */
     public void quitReleased()
     {
         // The function handles caching of the event for releasing the Q "key".
-        // Results in updating Keys.QUIT entry in keys hash map to false.
-        keys.put(Keys.QUIT, false);
+        // Results in queuing a Keys.QUIT release event, applied at the next step.
+        queueEvent(InputEventBuffer.KEY_UP, Keys.QUIT.ordinal(), 0, 0);
     }
     
     // Mouse general:
@@ -774,7 +763,7 @@ public class PlayerController implements InputProcessor
     /**
      * 
      * The function handles caching of the event for pressing the left mouse button.
-     * <br>Results in updating Mouse.SELECT entry in mouseButtons hash map to true.
+     * <br>Results in queuing a Mouse.SELECT press event, applied at the next step.
      * 
      * @param x  The x coordinate where the user touched the screen, basing the origin in the upper left corner.
      * @param y  The y coordinate where the user touched the screen, basing the origin in the upper left corner.
@@ -785,14 +774,14 @@ public class PlayerController implements InputProcessor
     public void selectMouseButtonPressed(int x, int y)
     {
         // The function handles caching of the event for pressing the left mouse button.
-        // <br>Results in updating Mouse.SELECT entry in mouseButtons hash map to true.
-        mouseButtons.put(Mouse.SELECT, true);
+        // <br>Results in queuing a Mouse.SELECT press event, applied at the next step.
+        queueEvent(InputEventBuffer.TOUCH_DOWN, Mouse.SELECT.ordinal(), x, y);
     }
 
     /**
      * 
      * The function handles caching of the event for pressing the right mouse button.
-     * <br>Results in updating Mouse.DOACTION entry in mouseButtons hash map to true.
+     * <br>Results in queuing a Mouse.DOACTION press event, applied at the next step.
      * 
      * @param x  The x coordinate where the user touched the screen, basing the origin in the upper left corner.
      * @param y  The y coordinate where the user touched the screen, basing the origin in the upper left corner.
@@ -803,8 +792,8 @@ public class PlayerController implements InputProcessor
     public void doActionMouseButtonPressed(int x, int y)
     {
         // The function handles caching of the event for pressing the right mouse button.
-        // Results in updating Mouse.DOACTION entry in mouseButtons hash map to true.
-        mouseButtons.put(Mouse.DOACTION, true);
+        // Results in queuing a Mouse.DOACTION press event, applied at the next step.
+        queueEvent(InputEventBuffer.TOUCH_DOWN, Mouse.DOACTION.ordinal(), x, y);
     }
 
     // Mouse releases:
@@ -812,7 +801,7 @@ public class PlayerController implements InputProcessor
     /**
      * 
      * The function handles caching of the event for releasing the left mouse button.
-     * <br>Results in updating Mouse.SELECT entry in mouseButtons hash map to false.
+     * <br>Results in queuing a Mouse.SELECT release event, applied at the next step.
      * 
      * @param x  The x coordinate where the user touched the screen, basing the origin in the upper left corner.
      * @param y  The y coordinate where the user touched the screen, basing the origin in the upper left corner.
@@ -823,14 +812,14 @@ public class PlayerController implements InputProcessor
     public void selectMouseButtonReleased(int x, int y)
     {
         // The function handles caching of the event for releasing the left mouse button.
-        // <br>Results in updating Mouse.SELECT entry in mouseButtons hash map to false.
-        mouseButtons.put(Mouse.SELECT, false);
+        // <br>Results in queuing a Mouse.SELECT release event, applied at the next step.
+        queueEvent(InputEventBuffer.TOUCH_UP, Mouse.SELECT.ordinal(), x, y);
     }
 
     /**
      * 
      * The function handles caching of the event for releasing the right mouse button.
-     * <br>Results in updating Mouse.DOACTION entry in mouseButtons hash map to false.
+     * <br>Results in queuing a Mouse.DOACTION release event, applied at the next step.
      * 
      * @param x  The x coordinate where the user touched the screen, basing the origin in the upper left corner.
      * @param y  The y coordinate where the user touched the screen, basing the origin in the upper left corner.
@@ -841,153 +830,298 @@ public class PlayerController implements InputProcessor
     public void doActionMouseButtonReleased(int x, int y)
     {
         // The function handles caching of the event for releasing the right mouse button.
-        // Results in updating Mouse.DOACTION entry in mouseButtons hash map to false.
-        mouseButtons.put(Mouse.DOACTION, false);
+        // Results in queuing a Mouse.DOACTION release event, applied at the next step.
+        queueEvent(InputEventBuffer.TOUCH_UP, Mouse.DOACTION.ordinal(), x, y);
     }
 
     // Other:
     
     /**
-     * The function, associated with hiding a screen, disables related key processing, setting all cached
-     * values to false.
+     * 
+     * The function applies the oldest queued input event to the cached key and mouse button states and 
+     * removes it from the queue.  While recording, the event gets recorded with the current step index and
+     * the passed offset.
+     * 
+     * @param offset  Offset of the event from the start of the step applying it, in nanoseconds.
+     */
+    
+    // offset = Offset of the event from the start of the step applying it, in nanoseconds.
+    private void applyEvent(int offset)
+    {
+        
+        // The function applies the oldest queued input event to the cached key and mouse button states and 
+        // removes it from the queue.  While recording, the event gets recorded.
+        
+        // If recording, then...
+        if ( _recording != null )
+        {
+            // Record the event with the current step index and offset.
+            _recording.record(_stepIndex, events.getType(), events.getCode(), events.getX(), events.getY(), 
+              offset);
+        }
+        
+        // Depending on the type of event, ...
+        switch (events.getType())
+            {
+            case InputEventBuffer.KEY_DOWN: // Key pressed.
+                keys |= 1 << events.getCode();
+                break;
+            case InputEventBuffer.KEY_UP: // Key released.
+                keys &= ~(1 << events.getCode());
+                break;
+            case InputEventBuffer.TOUCH_DOWN: // Mouse button pressed.
+                setClickedMouseCoordinates(events.getX(), events.getY());
+                mouseButtons |= 1 << events.getCode();
+                break;
+            default: // Mouse button released.
+                mouseButtons &= ~(1 << events.getCode());
+                break;
+            }
+        
+        // Remove the event from the queue.
+        events.remove();
+        
+    }
+    
+    /**
+     * 
+     * The function returns the bit representing the passed key or mouse button in the bitmasks.
+     * 
+     * @param value  Key (Keys) or mouse button (Mouse).
+     * @return  Bit representing the passed key or mouse button.
+     */
+    
+    // value = Key (Keys) or mouse button (Mouse).
+    private static int bit(Enum<?> value)
+    {
+        // The function returns the bit representing the passed key or mouse button in the bitmasks.
+        return 1 << value.ordinal();
+    }
+    
+    /**
+     * 
+     * The function returns the direction of the movement key held, if any.  When holding several, left 
+     * comes first, followed by right, up, and down.
+     * 
+     * @return  Direction of the movement key held, or null when holding none.
+     */
+    private static Entity.Direction getHeldDirection()
+    {
+        
+        // The function returns the direction of the movement key held, if any.
+        
+        Entity.Direction direction; // Direction to return.
+        
+        // If the player holds the left "key", then...
+        if ( (keys & bit(Keys.LEFT)) != 0 )
+        {
+            direction = Entity.Direction.LEFT;
+        }
+        
+        // Otherwise, if the player holds the right "key", then...
+        else if ( (keys & bit(Keys.RIGHT)) != 0 )
+        {
+            direction = Entity.Direction.RIGHT;
+        }
+        
+        // Otherwise, if the player holds the up "key", then...
+        else if ( (keys & bit(Keys.UP)) != 0 )
+        {
+            direction = Entity.Direction.UP;
+        }
+        
+        // Otherwise, if the player holds the down "key", then...
+        else if ( (keys & bit(Keys.DOWN)) != 0 )
+        {
+            direction = Entity.Direction.DOWN;
+        }
+        
+        // Otherwise, ...
+        else
+        {
+            direction = null;
+        }
+        
+        // Return the direction.
+        return direction;
+        
+    }
+    
+    /**
+     * The function, associated with hiding a screen, disables related key processing, clearing all cached
+     * key states and queued events.
      */
     public static void hide()
     {
-        // The function, associated with hiding a screen, disables related key processing, setting all cached 
-        // values to false.
-        
-        // Set all cached key entries to false.
-        keys.put(Keys.LEFT, false);
-        keys.put(Keys.RIGHT, false);
-        keys.put(Keys.UP, false);
-        keys.put(Keys.DOWN, false);
-        keys.put(Keys.QUIT, false);
+        // The function, associated with hiding a screen, disables related key processing, clearing all cached 
+        // key states and queued events.
+        
+        // Clear all cached key states.
+        keys = 0;
+        
+        // If events queued, then...
+        if ( events != null )
+        {
+            // Discard queued events.
+            events.clear();
+        }
             
     }
     
     /**
      * 
-     * The processInput() method is the primary business logic that drives the class.  During the beginning
-     * of every frame in the render loop, processInput() will be called before rendering any graphics.  In
-     * the function, processing of the cached values of the keyboard and mouse input occurs.  First, 
-     * calculation of the next position occurs, as explained in the previous section, in order to avoid 
+     * The function moves the next position of the player in the direction held, for the passed time span.
+     * The first move during a step starts from the current position.  Later moves continue from where the
+     * previous left off.  Nothing happens when no movement key is held.
+     * 
+     * @param time  Time span in seconds.
+     */
+    
+    // time = Time span in seconds.
+    private void moveHeld(float time)
+    {
+        
+        // The function moves the next position of the player in the direction held, for the passed time span.
+        
+        Entity.Direction direction; // Direction of the movement key held.
+        
+        // Get the direction of the movement key held.
+        direction = getHeldDirection();
+        
+        // If no movement key held, then...
+        if ( direction == null )
+        {
+            // Nothing to move.
+            return;
+        }
+        
+        // If first move during the step, then...
+        if ( !_stepMoved )
+        {
+            // Determine the next position from the current by using the velocity and time span.  No actual 
+            // collision detection occurs.
+            _player.calculateNextPosition(direction, time);
+            _stepMoved = true;
+        }
+        
+        else
+        {
+            // Continue the next position from where the previous move left off.
+            _player.continueNextPosition(direction, time);
+        }
+        
+    }
+    
+    /**
+     * 
+     * The processInput() method is the primary business logic that drives the class.  Once per simulation 
+     * step, processInput() applies the queued keyboard and mouse events that occurred during the step, in
+     * order.  Between events, the player moves in the direction held, for the part of the step it was held.
+     * First, calculation of the next position occurs, as explained in the previous section, in order to avoid 
      * issues with two fast-moving game objects colliding and missing a collision check.  Then, the state
-     * and direction of the player character are set.
+     * and direction of the player character are set, based on the keys held at the end of the step.
+     * <br><br>
+     * Steps cover consecutive windows of time, ending at _stepTime.  When the window trails the current time 
+     * by more than MAX_INPUT_LAG (such as after dropping time on a long frame) or runs ahead of it (such as
+     * when simulating headless), the window restarts ending at the current time.  While replaying, the 
+     * window ignores the current time, and the recorded events for the step get queued at their offsets.
      * 
-     * @param delta  Time span between the current and last frame in seconds.  Passed / populated automatically.
+     * @param delta  Duration of the simulation step in seconds.
      */
     
-    // delta = Time span between the current and last frame in seconds.  Passed / populated automatically.
+    // delta = Duration of the simulation step in seconds.
     private void processInput(float delta)
     {
 
         /*
-        The processInput() method is the primary business logic that drives the class.
-        During the beginning of every frame in the render loop, processInput() will
-        be called before rendering any graphics.  In the function, processing of the
-        cached values of the keyboard and mouse input occurs.  First, calculation of
-        the next position occurs, as explained in the previous section, in order to
-        avoid issues with two fast-moving game objects colliding and missing a
-        collision check.  Then, the state and direction of the player character are set.
+        The processInput() method is the primary business logic that drives the class.  Once per simulation 
+        step, processInput() applies the queued keyboard and mouse events that occurred during the step, in
+        order.  Between events, the player moves in the direction held, for the part of the step it was held.
+        First, calculation of the next position occurs, as explained in the previous section, in order to 
+        avoid issues with two fast-moving game objects colliding and missing a collision check.  Then, the 
+        state and direction of the player character are set, based on the keys held at the end of the step.
         */
         
-        // Keyboard input.
+        Entity.Direction direction; // Direction of the movement key held at the end of the step.
+        long eventTime; // Time of the current event, kept within the step.
+        long now; // Current time, in nanoseconds.
+        long segmentStart; // Start of the time span since the last event (or the start of the step).
+        long stepEnd; // End of the step, in nanoseconds.
+        long stepLength; // Duration of the step, in nanoseconds.
+        long stepStart; // Start of the step, in nanoseconds.
+        
+        // Get the duration of the step.
+        stepLength = (long)(delta * NANOS_PER_SECOND);
         
-        // If the player pressed the left "key", then...
-        // ... Indicated by the hash entry, Keys.LEFT, in keys, being equal to true.
-        // ... Occurs when player presses the left arrow or A key.
-        if ( keys.get(Keys.LEFT) )
+        // If replaying, then...
+        if ( _replay != null )
         {
-            
-            // The player pressed the left "key".
-            
-            //Gdx.app.debug(TAG, "LEFT key");
-            
-            // Determine the next position value by using the current velocity and the time span between 
-            // the current and last frame, moving the player to the left.  No actual collision detection
-            // occurs.
-            _player.calculateNextPosition(Entity.Direction.LEFT, delta);
-            
-            // Set the player state to walking (vs idle).
-            _player.setState(Entity.State.WALKING);
-            
-            // Update the variable, _currentFrame, with the frame of the animation  sequence to display for 
-            // the player, based on the direction (left) and time span between the current and last frame.
-            _player.setDirection(Entity.Direction.LEFT, delta);
-            
+            // Queue the recorded events for the step at their offsets.
+            queueReplayedEvents();
         }
         
-        // Otherwise, if the player pressed the right "key", then...
-        // ... Indicated by the hash entry, Keys.RIGHT, in keys, being equal to true.
-        // ... Occurs when player presses the right arrow or D key.
-        else if ( keys.get(Keys.RIGHT) )
+        else
         {
             
-            // The player pressed the right "key".
+            // Get the current time.
+            now = TimeUtils.nanoTime();
             
-            //Gdx.app.debug(TAG, "RIGHT key");
-            
-            // Determine the next position value by using the current velocity and the time span between 
-            // the current and last frame, moving the player to the right.
-            _player.calculateNextPosition(Entity.Direction.RIGHT, delta);
-            
-            // Set the player state to walking (vs idle).
-            _player.setState(Entity.State.WALKING);
-            
-            // Update the variable, _currentFrame, with the frame of the animation  sequence to display for 
-            // the player, based on the direction (right) and time span between the current and last frame.
-            _player.setDirection(Entity.Direction.RIGHT, delta);
+            // If the step window trails the current time by too much or runs ahead of it, then...
+            if ( _stepTime < now - MAX_INPUT_LAG || _stepTime > now )
+            {
+                // Restart the step window, so the step ends at the current time.
+                _stepTime = now - stepLength;
+            }
             
         }
         
-        // Otherwise, if the player pressed the up "key", then...
-        // ... Indicated by the hash entry, Keys.UP, in keys, being equal to true.
-        // ... Occurs when player presses the up arrow or W key.
-        else if( keys.get(Keys.UP) )
+        // Set the start and end of the step.
+        stepStart = _stepTime;
+        segmentStart = stepStart;
+        stepEnd = stepStart + stepLength;
+        _stepMoved = false;
+        
+        // Keyboard and mouse input.
+        
+        // Loop through events that occurred by the end of the step.
+        while ( !events.isEmpty() && events.getTime() <= stepEnd )
         {
             
-            // The player pressed the up "key".
-            
-            //Gdx.app.debug(TAG, "UP key");
+            // Events from before the step count as occurring at its start.
+            eventTime = Math.max(events.getTime(), segmentStart);
             
-            // Determine the next position value by using the current velocity and the time span between 
-            // the current and last frame, moving the player up.
-            _player.calculateNextPosition(Entity.Direction.UP, delta);
+            // Move in the direction held since the last event.
+            moveHeld((eventTime - segmentStart) / NANOS_PER_SECOND);
             
-            // Set the player state to walking (vs idle).
-            _player.setState(Entity.State.WALKING);
-            
-            // Update the variable, _currentFrame, with the frame of the animation  sequence to display for 
-            // the player, based on the direction (up) and time span between the current and last frame.
-            _player.setDirection(Entity.Direction.UP, delta);
+            // Apply the event to the cached key and mouse button states.
+            applyEvent((int)(eventTime - stepStart));
+            segmentStart = eventTime;
             
         }
         
-        // Otherwise, if the player pressed the down "key", then...
-        // ... Indicated by the hash entry, Keys.DOWN, in keys, being equal to true.
-        // ... Occurs when player presses the down arrow or S key.
-        else if(keys.get(Keys.DOWN) )
+        // Move in the direction held for the rest of the step.
+        moveHeld((stepEnd - segmentStart) / NANOS_PER_SECOND);
+        _stepTime = stepEnd;
+        _stepIndex++;
+        
+        // Get the direction of the movement key held at the end of the step.
+        direction = getHeldDirection();
+        
+        // If the player holds a movement key, then...
+        if ( direction != null )
         {
             
-            // The player pressed the down "key".
-            
-            //Gdx.app.debug(TAG, "DOWN key");
-            
-            // Determines the next position value by using the current velocity and the time span between 
-            // the current and last frame, moving the player down.
-            _player.calculateNextPosition(Entity.Direction.DOWN, delta);
-            
             // Set the player state to walking (vs idle).
             _player.setState(Entity.State.WALKING);
             
-            // Update the variable, _currentFrame, with the frame of the animation  sequence to display for 
-            // the player, based on the direction (down) and time span between the current and last frame.
-            _player.setDirection(Entity.Direction.DOWN, delta);
+            // Update the variable, _currentFrame, with the frame of the animation sequence to display for 
+            // the player, based on the direction and time span between the current and last frame.
+            _player.setDirection(direction, delta);
             
         }
         
         // Otherwise, if the player pressed the Q key, then...
-        else if(keys.get(Keys.QUIT) )
+        else if ( (keys & bit(Keys.QUIT)) != 0 )
         {
             
             // The player pressed the Q key.
@@ -1003,12 +1137,9 @@ public class PlayerController implements InputProcessor
             // Set the player state to idle (vs walking).
             _player.setState(Entity.State.IDLE);
         }
-
-        // Mouse input.
         
         // If the player pressed the left mouse button, then...
-        // ... Indicated by the hash entry, Mouse.SELECT, in mouseButtons, being equal to true.
-        if ( mouseButtons.get(Mouse.SELECT) )
+        if ( (mouseButtons & bit(Mouse.SELECT)) != 0 )
         {
             
             // Player pressed the left mouse button, indicating a selection.
@@ -1016,7 +1147,7 @@ public class PlayerController implements InputProcessor
             //Gdx.app.debug(TAG, "Mouse LEFT click at : (" + lastMouseCoordinates.x + "," + lastMouseCoordinates.y + ")" );
             
             // Set the left mouse clicked state (selected) to released.
-            mouseButtons.put(Mouse.SELECT, false);
+            mouseButtons &= ~bit(Mouse.SELECT);
             
         }
 
@@ -1024,20 +1155,145 @@ public class PlayerController implements InputProcessor
     
     /**
      * 
-     * The function gets called as part of the render() function in screens and processes cached keyboard
-     * and mouse input.
+     * The function queues an input event, with the current time, for processInput() to apply.  When the
+     * queue is full, the oldest event gets applied right away to make room, so no event gets lost.
+     * 
+     * @param type  Type of event (InputEventBuffer.KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+     * @param code  Ordinal of the key (Keys) or mouse button (Mouse).
+     * @param x  X coordinate of a touch event, basing the origin in the upper left corner.  Zero for keys.
+     * @param y  Y coordinate of a touch event, basing the origin in the upper left corner.  Zero for keys.
+     */
+    
+    // type = Type of event (InputEventBuffer.KEY_DOWN, KEY_UP, TOUCH_DOWN, TOUCH_UP).
+    // code = Ordinal of the key (Keys) or mouse button (Mouse).
+    // x = X coordinate of a touch event, basing the origin in the upper left corner.  Zero for keys.
+    // y = Y coordinate of a touch event, basing the origin in the upper left corner.  Zero for keys.
+    private void queueEvent(byte type, int code, int x, int y)
+    {
+        
+        // The function queues an input event, with the current time, for processInput() to apply.
+        
+        // If replaying, then...
+        if ( _replay != null )
+        {
+            // Ignore live input.
+            return;
+        }
+        
+        // If the queue is full, then...
+        if ( events.isFull() )
+        {
+            // Apply the oldest event right away (as at the start of the next step) to make room.
+            applyEvent(0);
+        }
+        
+        // Queue the event.
+        events.add(type, code, x, y, TimeUtils.nanoTime());
+        
+    }
+    
+    /**
+     * The function queues the recorded events for the current step, while replaying.  Each gets the time 
+     * of the start of the step plus its recorded offset.
+     */
+    private void queueReplayedEvents()
+    {
+        
+        // The function queues the recorded events for the current step, while replaying.
+        
+        // Loop through recorded events for the current step.
+        while ( _replay.hasEvent(_stepIndex) )
+        {
+            
+            // If the queue is full, then...
+            if ( events.isFull() )
+            {
+                // Apply the oldest event right away to make room.
+                applyEvent(0);
+            }
+            
+            // Queue the event at its offset from the start of the step.
+            events.add(_replay.getType(), _replay.getCode(), _replay.getX(), _replay.getY(), 
+              _stepTime + _replay.getOffset());
+            _replay.advance();
+            
+        }
+        
+    }
+    
+    /**
+     * 
+     * The function returns the Keys value for the passed key code, if any.
+     * 
+     * @param keycode  Code of the key.  One of the constants in Input.Keys.
+     * @return  Keys value for the passed key code, or null when not of interest.
+     */
+    
+    // keycode = Code of the key.  One of the constants in Input.Keys.
+    private static Keys toKey(int keycode)
+    {
+        
+        // The function returns the Keys value for the passed key code, if any.
+        
+        Keys key; // Value to return.
+        
+        // If user pressed the left arrow or A key, then...
+        if ( keycode == Input.Keys.LEFT || keycode == Input.Keys.A )
+        {
+            key = Keys.LEFT;
+        }
+        
+        // Otherwise, if user pressed the right arrow or D key, then...
+        else if ( keycode == Input.Keys.RIGHT || keycode == Input.Keys.D )
+        {
+            key = Keys.RIGHT;
+        }
+        
+        // Otherwise, if user pressed the up arrow or W key, then...
+        else if ( keycode == Input.Keys.UP || keycode == Input.Keys.W )
+        {
+            key = Keys.UP;
+        }
+        
+        // Otherwise, if user pressed the down arrow or S key, then...
+        else if ( keycode == Input.Keys.DOWN || keycode == Input.Keys.S )
+        {
+            key = Keys.DOWN;
+        }
+        
+        // Otherwise, if user pressed the Q key, then...
+        else if ( keycode == Input.Keys.Q )
+        {
+            key = Keys.QUIT;
+        }
+        
+        // Otherwise, ...
+        else
+        {
+            key = null;
+        }
+        
+        // Return the key.
+        return key;
+        
+    }
+    
+    /**
+     * 
+     * The function gets called once per simulation step by screens and processes queued keyboard and mouse
+     * input.
      * 
-     * @param delta  Time span between the current and last frame in seconds.  Passed / populated automatically.
+     * @param delta  Duration of the simulation step in seconds.
      */
     
-    // delta = Time span between the current and last frame in seconds.  Passed / populated automatically.
+    // delta = Duration of the simulation step in seconds.
     public void update(float delta)
     {
         
-        // The function gets called as part of the render() function in screens and processes cached
-        // keyboard and mouse input.
+        // The function gets called once per simulation step by screens and processes queued keyboard and 
+        // mouse input.
         
-        // Process cached keyboard and mouse input.
+        // Process queued keyboard and mouse input.
         processInput(delta);
         
         // Gdx.app.debug(TAG, "update:: Next Position: (" + BludBourne._player.getNextPosition().x + "," + BludBourne._player.getNextPosition().y + ")" + "DELTA: " + delta);
@@ -0,0 +1,463 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Rectangle;
+
+// Java imports.
+import java.util.ArrayList;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class PortalTable
+{
+
+    /**
+    * The class stores the portals from a map portal layer in flat arrays and reports when the player
+    * hitbox enters one.  The table gets compiled once, when a map loads.
+    * <br><br>
+    * Each portal gets stored as its bounds (x, y, width, height) and the identifier of its target map.
+    * Target map names get stored once each, in a separate table, so checks never read map objects or
+    * their properties.
+    * <br><br>
+    * Activation occurs on entry only.  A portal fires during the frame in which the hitbox starts
+    * overlapping it and not again until the hitbox leaves and re-enters.  The overlap state gets kept per
+    * portal, so stepping out of one of two overlapping portals does not fire the other.  The first check 
+    * after compiling only records the portals (if any) under the hitbox, so a player placed inside a 
+    * portal by a map change does not get sent straight back.  Chunked worlds recompile the table whenever
+    * chunks stream in or out, through rebuild(), which keeps the activation state instead.  When the hitbox matches the one from the previous check,
+    * the check gets skipped entirely.
+    */
+
+    /*
+    Methods include:
+
+    build:  Compiles the rectangle objects in the passed portal layer into the table.
+    clear:  Empties the table and resets the activation state.
+    getPortalCount:  Returns the number of portals stored in the table.
+    getTargetMapCount:  Returns the number of distinct maps to which the portals lead.
+    getTargetMapName:  Returns the name of the map to which the passed portal leads.
+    getTargetMapNameById:  Returns the name of the map with the passed target identifier.
+    overlaps:  Returns whether the passed hitbox overlaps the passed portal.
+    rebuild:  Compiles the rectangle objects in the passed portal layer into the table, keeping the
+      activation state.
+    update:  Checks the passed hitbox against the portals and returns the portal entered, if any.
+    */
+
+    // Declare constants.
+
+    /** Value returned by update() when no portal was entered. */
+    public static final int NO_PORTAL = -1;
+
+    // Declare regular variables.
+
+    /** {@link LastX}
+     * X-coordinate of the hitbox during the last check, in pixels. */
+    private float _lastX;
+
+    /** {@link LastY}
+     * Y-coordinate of the hitbox during the last check, in pixels. */
+    private float _lastY;
+
+    /** {@link LastWidth}
+     * Width of the hitbox during the last check, in pixels. */
+    private float _lastWidth;
+
+    /** {@link LastHeight}
+     * Height of the hitbox during the last check, in pixels. */
+    private float _lastHeight;
+
+    /** {@link PortalCount}
+     * Number of portals stored in the table. */
+    private int _portalCount;
+
+    /** {@link Primed}
+     * Whether a check occurred since the table was compiled.  The first check never fires a portal. */
+    private boolean _primed;
+
+    // Declare list variables.
+
+    /** {@link Overlapped}
+     * Whether the hitbox overlapped each portal during the last check. */
+    private boolean[] _overlapped;
+
+    /** {@link PortalX}
+     * X-coordinates (lower left corner) of the portals, in pixels. */
+    private float[] _portalX;
+
+    /** {@link PortalY}
+     * Y-coordinates (lower left corner) of the portals, in pixels. */
+    private float[] _portalY;
+
+    /** {@link PortalWidth}
+     * Widths of the portals, in pixels. */
+    private float[] _portalWidth;
+
+    /** {@link PortalHeight}
+     * Heights of the portals, in pixels. */
+    private float[] _portalHeight;
+
+    /** {@link PortalTarget}
+     * Identifier of the target map for each portal -- index into _targetNames.  NO_PORTAL when the portal
+     * object has no name. */
+    private int[] _portalTarget;
+
+    /** {@link TargetNames}
+     * Names of the target maps (key values in MapManager map table), stored once each. */
+    private String[] _targetNames;
+
+    /**
+     * The constructor initializes an empty table.
+     */
+    public PortalTable()
+    {
+
+        // The constructor initializes an empty table.
+
+        // Start with an empty table.
+        clear();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Number of portals stored in the table.
+     */
+    public int getPortalCount()
+    {
+        // The function returns the number of portals stored in the table.
+        return _portalCount;
+    }
+
+    /**
+     *
+     * @return  Number of distinct maps to which the portals lead.  Target identifiers range from zero to
+     * one less than the count.
+     */
+    public int getTargetMapCount()
+    {
+        // The function returns the number of distinct maps to which the portals lead.
+        return _targetNames.length;
+    }
+
+    /**
+     *
+     * @param targetId  Identifier of the target map, from zero to one less than getTargetMapCount().
+     * @return  Name of the map with the passed target identifier.
+     */
+
+    // targetId = Identifier of the target map, from zero to one less than getTargetMapCount().
+    public String getTargetMapNameById(int targetId)
+    {
+        // The function returns the name of the map with the passed target identifier.
+        return _targetNames[targetId];
+    }
+
+    /**
+     *
+     * @param portal  Index of the portal, as returned by update().
+     * @return  Name of the map to which the portal leads.  Null when the portal object has no name.
+     */
+
+    // portal = Index of the portal, as returned by update().
+    public String getTargetMapName(int portal)
+    {
+
+        // The function returns the name of the map to which the passed portal leads.
+        // Returns null when the portal object has no name or the index is invalid.
+
+        // If invalid portal index or portal without target, then...
+        if ( portal < 0 || portal >= _portalCount || _portalTarget[portal] == NO_PORTAL )
+            // Invalid portal index or portal without target.
+            return null;
+
+        else
+            // Valid portal with target.
+            return _targetNames[_portalTarget[portal]];
+
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The method compiles the rectangle objects in the passed portal layer into the table.  Portals keep
+     * the order of the objects in the layer.  The activation state gets reset, so the next check only
+     * records the portal under the hitbox.
+     *
+     * @param layer  Map layer containing the portal objects.  Null results in an empty table.
+     */
+
+    // layer = Map layer containing the portal objects.  Null results in an empty table.
+    public void build(MapLayer layer)
+    {
+
+        /*
+        The method compiles the rectangle objects in the passed portal layer into the table.  Portals keep
+        the order of the objects in the layer.  The activation state gets reset, so the next check only
+        records the portal under the hitbox.
+        */
+
+        int count; // Number of rectangle objects in layer.
+        int index; // Index of current portal in loop.
+        String name; // Name of map to which current portal leads.
+        Rectangle rectangle; // Rectangle for current map object in loop.
+        ArrayList<String> targetNames; // Unique names of target maps, in order of first use.
+
+        // Start with an empty table.
+        clear();
+
+        // If no layer passed, then exit.
+        if ( layer == null )
+            return;
+
+        // Count the rectangle objects in the layer.
+        count = 0;
+        for ( MapObject object: layer.getObjects() )
+        {
+            if ( object instanceof RectangleMapObject )
+                count++;
+        }
+
+        // Initialize the arrays.
+        _portalX = new float[count];
+        _portalY = new float[count];
+        _portalWidth = new float[count];
+        _portalHeight = new float[count];
+        _portalTarget = new int[count];
+        _overlapped = new boolean[count];
+        targetNames = new ArrayList<>();
+
+        // Copy the portals into the flat arrays.
+        index = 0;
+        for ( MapObject object: layer.getObjects() )
+        {
+
+            // If RectangleMapObject found (indicates portal bounding box), then...
+            if ( object instanceof RectangleMapObject )
+            {
+
+                // Convert to standard rectangle object.
+                rectangle = ((RectangleMapObject)object).getRectangle();
+
+                // Copy rectangle values.
+                _portalX[index] = rectangle.x;
+                _portalY[index] = rectangle.y;
+                _portalWidth[index] = rectangle.width;
+                _portalHeight[index] = rectangle.height;
+
+                // Store name of map to which portal leads.
+                name = object.getName();
+
+                // If map name exists, then...
+                if ( name != null )
+                {
+
+                    // Map name exists.
+
+                    // If map name not stored yet, then add to table.
+                    if ( !targetNames.contains(name) )
+                        targetNames.add(name);
+
+                    // Store identifier of target map.
+                    _portalTarget[index] = targetNames.indexOf(name);
+
+                }
+
+                else
+                    // Map name missing (null).
+                    _portalTarget[index] = NO_PORTAL;
+
+                index++;
+
+            } // End ... If RectangleMapObject found (indicates portal bounding box).
+
+        }
+
+        // Store count and target map names.
+        _portalCount = count;
+        _targetNames = targetNames.toArray(new String[targetNames.size()]);
+
+    }
+
+    /**
+     * The method empties the table and resets the activation state.
+     */
+    public final void clear()
+    {
+
+        // The method empties the table and resets the activation state.
+
+        // Reset count and arrays.
+        _portalCount = 0;
+        _portalX = new float[0];
+        _portalY = new float[0];
+        _portalWidth = new float[0];
+        _portalHeight = new float[0];
+        _portalTarget = new int[0];
+        _overlapped = new boolean[0];
+        _targetNames = new String[0];
+
+        // Reset activation state.
+        _primed = false;
+
+    }
+
+    /**
+     *
+     * The function returns whether the passed hitbox overlaps the passed portal.  The overlap test matches
+     * that of Rectangle.overlaps().
+     *
+     * @param portal  Index of the portal.
+     * @param x  X-coordinate (lower left corner) of the hitbox, in pixels.
+     * @param y  Y-coordinate (lower left corner) of the hitbox, in pixels.
+     * @param width  Width of the hitbox, in pixels.
+     * @param height  Height of the hitbox, in pixels.
+     * @return  Whether the hitbox overlaps the portal.
+     */
+
+    // portal = Index of the portal.
+    // x = X-coordinate (lower left corner) of the hitbox, in pixels.
+    // y = Y-coordinate (lower left corner) of the hitbox, in pixels.
+    // width = Width of the hitbox, in pixels.
+    // height = Height of the hitbox, in pixels.
+    private boolean overlaps(int portal, float x, float y, float width, float height)
+    {
+
+        // The function returns whether the passed hitbox overlaps the passed portal.
+
+        return x < _portalX[portal] + _portalWidth[portal] && x + width > _portalX[portal] &&
+               y < _portalY[portal] + _portalHeight[portal] && y + height > _portalY[portal];
+
+    }
+
+    /**
+     *
+     * The method compiles the rectangle objects in the passed portal layer into the table, keeping the
+     * activation state.  Called when the portals change without the player changing maps -- in a chunked
+     * world, whenever chunks stream in or out.  The overlap state of each portal gets recomputed against
+     * the hitbox from the last check, so a portal kept (same rectangle, in world coordinates) keeps its 
+     * state, and a portal streaming in under the hitbox counts as overlapped already.  A player entering 
+     * a portal on the frame a chunk streams in therefore still triggers it.  Before the first check, 
+     * rebuilding matches build().
+     *
+     * @param layer  Map layer containing the portal objects.  Null results in an empty table.
+     */
+
+    // layer = Map layer containing the portal objects.  Null results in an empty table.
+    public void rebuild(MapLayer layer)
+    {
+
+        // The method compiles the rectangle objects in the passed portal layer into the table, keeping the
+        // activation state.
+
+        boolean primed; // Whether a check occurred before rebuilding.
+
+        primed = _primed;
+
+        // Compile the portals (resetting the activation state).
+        build(layer);
+
+        // If not checked yet, then nothing to keep.
+        if ( !primed )
+            return;
+
+        // Restore the activation state, recomputing the overlap of each portal with the last hitbox.
+        _primed = true;
+
+        for ( int index = 0; index < _portalCount; index++ )
+            _overlapped[index] = overlaps(index, _lastX, _lastY, _lastWidth, _lastHeight);
+
+    }
+
+    /**
+     *
+     * The method checks the passed hitbox against the portals and returns the portal entered, if any.
+     * <br><br>
+     * A portal counts as entered when the hitbox overlaps it now but did not overlap it during the last
+     * check (a rising edge per portal).  When several portals get entered during the same check, the first
+     * (in layer order) wins.  The first check after compiling only records state.  When the hitbox matches the one from the last check, nothing gets
+     * tested.  The overlap test matches that of Rectangle.overlaps().
+     *
+     * @param boundingBox  Rectangle that defines the hitbox of the player, in pixels.
+     * @return  Index of the portal entered.  NO_PORTAL when no portal was entered.
+     */
+
+    // boundingBox = Rectangle that defines the hitbox of the player, in pixels.
+    public int update(Rectangle boundingBox)
+    {
+
+        /*
+        The method checks the passed hitbox against the portals and returns the portal entered, if any.
+
+        A portal counts as entered when the hitbox overlaps it now but did not overlap it during the last
+        check (a rising edge per portal).  When several portals get entered during the same check, the first
+        (in layer order) wins.  The first check after compiling only records state.  When the hitbox matches the one from the last check, nothing gets
+        tested.  The overlap test matches that of Rectangle.overlaps().
+        */
+
+        int entered; // Index of first portal entered.
+        boolean hit; // Whether the hitbox overlaps the current portal.
+
+        // If hitbox unchanged since last check, then exit.  Overlap state cannot have changed.
+        if ( _primed &&
+             boundingBox.x == _lastX && boundingBox.y == _lastY &&
+             boundingBox.width == _lastWidth && boundingBox.height == _lastHeight )
+            return NO_PORTAL;
+
+        // Store hitbox for next check.
+        _lastX = boundingBox.x;
+        _lastY = boundingBox.y;
+        _lastWidth = boundingBox.width;
+        _lastHeight = boundingBox.height;
+
+        // Set defaults.
+        entered = NO_PORTAL;
+
+        // Loop through portals, updating the overlap state of each.
+        for ( int index = 0; index < _portalCount; index++ )
+        {
+
+            hit = overlaps(index, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+
+            // If portal overlapped that was not overlapped during last (primed) check, then fire the first.
+            if ( _primed && hit && !_overlapped[index] && entered == NO_PORTAL )
+                entered = index;
+
+            // Store state for next check.
+            _overlapped[index] = hit;
+
+        }
+
+        _primed = true;
+
+        // Return portal entered.
+        return entered;
+
+    }
+
+}
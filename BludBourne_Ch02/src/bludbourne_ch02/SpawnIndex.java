@@ -0,0 +1,400 @@
+package bludbourne_ch02;
+
+// LibGDX imports.
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.Vector2;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class SpawnIndex
+{
+
+    /**
+    * The class stores the spawn points with a single name (such as PLAYER_START) from a map spawn layer
+    * and answers nearest neighbor queries.  The index gets built once, when a map loads.
+    * <br><br>
+    * Points get stored in flat arrays, arranged as a static (balanced) k-d tree.  The point in the middle
+    * of each range splits the range in two -- by x-coordinate at even depths and by y-coordinate at odd
+    * depths.  No node objects exist, and queries do not allocate.
+    * <br><br>
+    * Queries descend toward the passed location first and only visit the other half of a range when the
+    * splitting line lies closer than the best point found so far.  Distances get compared squared, since
+    * only the relative distance matters.
+    */
+
+    /*
+    Methods include:
+
+    build:  Builds the index using the rectangle objects with the passed name in the passed map layer.
+    buildTree:  Arranges the passed range of points as a k-d tree.
+    clear:  Empties the index.
+    getCount:  Returns the number of spawn points stored in the index.
+    nearest:  Finds the spawn point closest to the passed location.
+    search:  Searches the passed range of the k-d tree for points closer than the best found so far.
+    select:  Partially sorts the passed range so that the point at the passed position splits the range.
+    swap:  Swaps two points.
+    */
+
+    // Declare regular variables.
+
+    /** {@link BestDistance}
+     * Squared distance to the closest point found during the current query. */
+    private float _bestDistance;
+
+    /** {@link BestIndex}
+     * Index of the closest point found during the current query. */
+    private int _bestIndex;
+
+    /** {@link Count}
+     * Number of spawn points stored in the index. */
+    private int _count;
+
+    // Declare list variables.
+
+    /** {@link PointX}
+     * X-coordinates (lower left corner) of the spawn points, in pixels, arranged as a k-d tree. */
+    private float[] _pointX;
+
+    /** {@link PointY}
+     * Y-coordinates (lower left corner) of the spawn points, in pixels, arranged as a k-d tree. */
+    private float[] _pointY;
+
+    /**
+     * The constructor initializes an empty index.
+     */
+    public SpawnIndex()
+    {
+
+        // The constructor initializes an empty index.
+
+        // Start with an empty index.
+        clear();
+
+    }
+
+    // Getters and setters below...
+
+    /**
+     *
+     * @return  Number of spawn points stored in the index.
+     */
+    public int getCount()
+    {
+        // The function returns the number of spawn points stored in the index.
+        return _count;
+    }
+
+    // Methods below...
+
+    /**
+     *
+     * The method builds the index using the rectangle objects with the passed name in the passed map
+     * layer.  Names get compared without regard to case.  Each point uses the lower left corner of its
+     * rectangle.
+     *
+     * @param layer  Map layer containing the spawn objects.  Null results in an empty index.
+     * @param name  Name of the spawn objects to index (for example, PLAYER_START).
+     */
+
+    // layer = Map layer containing the spawn objects.  Null results in an empty index.
+    // name = Name of the spawn objects to index (for example, PLAYER_START).
+    public void build(MapLayer layer, String name)
+    {
+
+        /*
+        The method builds the index using the rectangle objects with the passed name in the passed map
+        layer.  Names get compared without regard to case.  Each point uses the lower left corner of its
+        rectangle.
+        */
+
+        int count; // Number of matching spawn objects in layer.
+        int index; // Index of current point in loop.
+
+        // Start with an empty index.
+        clear();
+
+        // If no layer passed, then exit.
+        if ( layer == null )
+            return;
+
+        // Count the matching spawn objects in the layer.
+        count = 0;
+        for ( MapObject object: layer.getObjects() )
+        {
+            if ( object instanceof RectangleMapObject && name.equalsIgnoreCase(object.getName()) )
+                count++;
+        }
+
+        // Copy the spawn points into the flat arrays.
+        _pointX = new float[count];
+        _pointY = new float[count];
+        index = 0;
+        for ( MapObject object: layer.getObjects() )
+        {
+            if ( object instanceof RectangleMapObject && name.equalsIgnoreCase(object.getName()) )
+            {
+                _pointX[index] = ((RectangleMapObject)object).getRectangle().x;
+                _pointY[index] = ((RectangleMapObject)object).getRectangle().y;
+                index++;
+            }
+        }
+
+        // Arrange the points as a k-d tree.
+        _count = count;
+        buildTree(0, count, 0);
+
+    }
+
+    /**
+     *
+     * The method arranges the passed range of points as a k-d tree.  The middle point splits the range,
+     * with smaller coordinates (along the axis for the depth) before it and larger ones after it.  Both
+     * halves then get arranged the same way, using the other axis.
+     *
+     * @param low  Index of the first point in the range.
+     * @param high  Index after the last point in the range.
+     * @param depth  Depth of the range in the tree.  Even depths split by x and odd depths by y.
+     */
+
+    // low = Index of the first point in the range.
+    // high = Index after the last point in the range.
+    // depth = Depth of the range in the tree.  Even depths split by x and odd depths by y.
+    private void buildTree(int low, int high, int depth)
+    {
+
+        // The method arranges the passed range of points as a k-d tree.
+
+        int middle; // Index of the point splitting the range.
+
+        // If range holds fewer than two points, then exit.
+        if ( high - low < 2 )
+            return;
+
+        // Move the splitting point into the middle of the range.
+        middle = (low + high) >>> 1;
+        select(low, high - 1, middle, (depth & 1) == 0 ? _pointX : _pointY);
+
+        // Arrange both halves.
+        buildTree(low, middle, depth + 1);
+        buildTree(middle + 1, high, depth + 1);
+
+    }
+
+    /**
+     * The method empties the index.
+     */
+    public final void clear()
+    {
+
+        // The method empties the index.
+        _count = 0;
+        _pointX = new float[0];
+        _pointY = new float[0];
+
+    }
+
+    /**
+     *
+     * The method finds the spawn point closest to the passed location.  The index is not safe to query
+     * from more than one thread at a time.
+     *
+     * @param x  X-coordinate of the location, in pixels.
+     * @param y  Y-coordinate of the location, in pixels.
+     * @param closest  Vector to which the closest spawn point gets written, in pixels.  Unchanged when
+     * the index is empty.
+     * @return  Whether a spawn point was found (false when the index is empty).
+     */
+
+    // x = X-coordinate of the location, in pixels.
+    // y = Y-coordinate of the location, in pixels.
+    // closest = Vector to which the closest spawn point gets written, in pixels.
+    public boolean nearest(float x, float y, Vector2 closest)
+    {
+
+        /*
+        The method finds the spawn point closest to the passed location.  The index is not safe to query
+        from more than one thread at a time.
+        */
+
+        // If index empty, then exit.
+        if ( _count == 0 )
+            return false;
+
+        // Set defaults.
+        _bestIndex = -1;
+        _bestDistance = Float.POSITIVE_INFINITY;
+
+        // Search the whole tree.
+        search(0, _count, 0, x, y);
+
+        // Store closest point.
+        closest.set(_pointX[_bestIndex], _pointY[_bestIndex]);
+        return true;
+
+    }
+
+    /**
+     *
+     * The method searches the passed range of the k-d tree for points closer than the best found so far.
+     * The half on the same side of the splitting line as the location gets searched first.  The other
+     * half gets searched only when the splitting line lies closer than the best point found so far.
+     *
+     * @param low  Index of the first point in the range.
+     * @param high  Index after the last point in the range.
+     * @param depth  Depth of the range in the tree.
+     * @param x  X-coordinate of the location, in pixels.
+     * @param y  Y-coordinate of the location, in pixels.
+     */
+
+    // low = Index of the first point in the range.
+    // high = Index after the last point in the range.
+    // depth = Depth of the range in the tree.
+    // x = X-coordinate of the location, in pixels.
+    // y = Y-coordinate of the location, in pixels.
+    private void search(int low, int high, int depth, float x, float y)
+    {
+
+        // The method searches the passed range of the k-d tree for points closer than the best found so far.
+
+        float distance; // Squared distance between location and splitting point.
+        int middle; // Index of the point splitting the range.
+        float offset; // Distance between location and splitting line.
+
+        // If range empty, then exit.
+        if ( low >= high )
+            return;
+
+        middle = (low + high) >>> 1;
+
+        // If splitting point closer than best found so far, then store.
+        distance = (x - _pointX[middle]) * (x - _pointX[middle]) + (y - _pointY[middle]) * (y - _pointY[middle]);
+        if ( distance < _bestDistance )
+        {
+            _bestDistance = distance;
+            _bestIndex = middle;
+        }
+
+        // Determine side of splitting line on which the location lies.
+        offset = (depth & 1) == 0 ? x - _pointX[middle] : y - _pointY[middle];
+
+        // Search the near half first, then the far half when the splitting line lies close enough.
+        if ( offset < 0 )
+        {
+            search(low, middle, depth + 1, x, y);
+            if ( offset * offset < _bestDistance )
+                search(middle + 1, high, depth + 1, x, y);
+        }
+        else
+        {
+            search(middle + 1, high, depth + 1, x, y);
+            if ( offset * offset < _bestDistance )
+                search(low, middle, depth + 1, x, y);
+        }
+
+    }
+
+    /**
+     *
+     * The method partially sorts the passed range so that the point at the passed position splits the
+     * range -- no point before it has a larger coordinate and no point after it a smaller one (quickselect).
+     *
+     * @param left  Index of the first point in the range.
+     * @param right  Index of the last point in the range.
+     * @param target  Index at which the splitting point should end.
+     * @param keys  Coordinates (x or y) by which to compare points.
+     */
+
+    // left = Index of the first point in the range.
+    // right = Index of the last point in the range.
+    // target = Index at which the splitting point should end.
+    // keys = Coordinates (x or y) by which to compare points.
+    private void select(int left, int right, int target, float[] keys)
+    {
+
+        // The method partially sorts the passed range so that the point at the passed position splits the
+        // range (quickselect).
+
+        float pivot; // Coordinate of the pivot point.
+        int store; // Index at which to store the next point smaller than the pivot.
+
+        // Loop until the range narrows to the target.
+        while ( left < right )
+        {
+
+            // Use the middle point as the pivot and move it out of the way.
+            swap((left + right) >>> 1, right);
+            pivot = keys[right];
+
+            // Move points smaller than the pivot to the front.
+            store = left;
+            for ( int index = left; index < right; index++ )
+            {
+                if ( keys[index] < pivot )
+                    swap(index, store++);
+            }
+
+            // Move the pivot into its final place.
+            swap(store, right);
+
+            // Narrow the range to the side containing the target.
+            if ( store == target )
+                return;
+            else if ( store < target )
+                left = store + 1;
+            else
+                right = store - 1;
+
+        }
+
+    }
+
+    /**
+     *
+     * The method swaps two points.
+     *
+     * @param first  Index of the first point.
+     * @param second  Index of the second point.
+     */
+
+    // first = Index of the first point.
+    // second = Index of the second point.
+    private void swap(int first, int second)
+    {
+
+        // The method swaps two points.
+
+        float temp; // Coordinate being swapped.
+
+        temp = _pointX[first];
+        _pointX[first] = _pointX[second];
+        _pointX[second] = temp;
+
+        temp = _pointY[first];
+        _pointY[first] = _pointY[second];
+        _pointY[second] = temp;
+
+    }
+
+}
@@ -1,13 +1,24 @@
 package bludbourne_ch02;
 
 // LibGDX imports.
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureAtlasLoader;
 import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+// LibGDX custom class imports.
+import core.AssetService;
+
+// Java imports.
+import java.util.Locale;
 
 /*
 Interface (implements) vs Sub-Class (extends)...
@@ -57,31 +68,51 @@ public final class Utility
     * <br><br>
     * E.  The AssetManager class manages the loading and storing of assets such as textures,
     * bitmap fonts, particle effects, pixmaps, UI skins, tile maps, sounds, and music.
+    * <br><br>
+    * The methods act as a facade over the shared AssetService, which holds the single asset manager of
+    * the game (also used by AssetMgr), so each file gets loaded once and memory gets counted in one place.
     */
 
     /*
     Methods include:
 
+    finishAssetLoading:  Blocks until the passed asset finishes loading.
+    getAssetDependencies:  Returns the filenames of the assets on which the passed asset depends.
+    getAtlasRegion:  Returns the region holding the passed image in the passed (loaded) atlas.
     getMapAsset:  Returns the specified TiledMap object that exists in the asset manager.
+    getReferenceCount:  Returns the number of references held on the passed asset in the asset manager.
     getTextureAsset:  Returns the specified Texture object that exists in the asset manager.
     isAssetLoaded:  Return a boolean value on whether the (passed) asset is currently loaded.
+    isDebugLogging:  Returns whether the application passes through debug messages.
     isPopulatedText:  Returns whether text parameter populated -- length greater than zero (and not null).
+    loadAtlasAsset:  Loads the (passed) atlas file as a TextureAtlas asset in the manager.
     loadCompleted:   Wraps the progress of AssetManager as a percentage of completion.
-    loadMapAsset:  Loads the (passed) TMX file as a TiledMap asset in the manager.
+    loadMapAsset:  Loads the (passed) map file (TMX or compiled) as a TiledMap asset in the manager.
     loadTextureAsset:  Loads the (passed) image file as a Texture asset in the manager.
     numberAssetsQueued:  Wraps the number of assets left to load from the AssetManager queue.
+    queueMapAsset:  Queues the (passed) map file for loading as a TiledMap asset in the manager, without 
+      blocking.
+    resolveAtlasPath:  Returns the path of the packed atlas holding the passed image, when one exists.
+    resolveMapPath:  Returns the path of the compiled map for the passed TMX file, when one exists.
+    setMapLoaders:  Assigns the TMX and compiled map loaders to the asset manager.
     unloadAsset:  Unloads the passed asset from memory used by the asset manager.
-    updateAssetLoading:  Wraps the update call in AssetManager.
+    updateAssetLoading:  Wraps the update call in AssetManager.  Optionally limits the time spent loading.
     */
     
     // Declare constants.
     private static final String TAG = Utility.class.getSimpleName(); // Class name.
+    private static final String ATLAS_EXTENSION = ".atlas"; // Extension of atlases packed by the build.
     
     // Declare object variables.
     
+    /** {@link AssetService}
+     * Single asset service of the game.  Loads, releases, and accounts for every asset. */
+    private static final AssetService ASSETS = AssetService.SHARED;
+    
     /** {@link AssetManager}
-     * Loads and stores assets like textures, bitmap fonts, tile maps, sounds, music, ... */
-    public static final AssetManager ASSET_MANAGER = new AssetManager();
+     * Loads and stores assets like textures, bitmap fonts, tile maps, sounds, music, ...  The manager of 
+     * the shared AssetService -- prefer the methods of the class, which go through the service. */
+    public static final AssetManager ASSET_MANAGER = ASSETS.getManager();
     
     /** {@link InternalFileHandleResolver}
      * Convenience object for managing file handles when resolving paths with assets relative to the current
@@ -92,6 +123,65 @@ public final class Utility
     
     // Getters and setters below...
     
+    /**
+     * 
+     * The finishAssetLoading() method wraps the AssetManager method finishLoadingAsset() and blocks until
+     * the passed (queued) asset finishes loading.  Other queued assets may load along the way.
+     * 
+     * @param fileName  Name of queued asset for which to wait.
+     */
+    
+    // fileName = Name of queued asset for which to wait.
+    public static void finishAssetLoading(String fileName)
+    {
+        // The finishAssetLoading() method wraps the AssetManager method finishLoadingAsset() and blocks until
+        // the passed (queued) asset finishes loading.
+        ASSETS.finishLoading(fileName);
+    }
+    
+    /**
+     * 
+     * The getAssetDependencies() method wraps the AssetManager method of the same name and returns the
+     * filenames of the assets loaded on behalf of the passed asset -- for example, the tileset textures 
+     * of a TiledMap.  The asset manager counts references to dependencies, so assets sharing a 
+     * dependency share one copy of it.
+     * 
+     * @param fileName  Name of asset for which to return dependencies.
+     * @return  Filenames of the assets on which the passed asset depends.  Null when none.
+     */
+    
+    // fileName = Name of asset for which to return dependencies.
+    public static Array<String> getAssetDependencies(String fileName)
+    {
+        // The getAssetDependencies() method wraps the AssetManager method of the same name and returns the
+        // filenames of the assets loaded on behalf of the passed asset.
+        return ASSETS.getDependencies(fileName);
+    }
+    
+    /**
+     * 
+     * The getReferenceCount() method wraps the AssetManager method of the same name and returns the 
+     * number of references held on the passed asset.  Each load() call and each dependent asset adds a 
+     * reference, and each unload() call removes one.  The asset gets disposed once no references remain.
+     * 
+     * @param fileName  Name of asset for which to return the number of references.
+     * @return  Number of references held on the passed asset.
+     */
+    
+    // fileName = Name of asset for which to return the number of references.
+    public static int getReferenceCount(String fileName)
+    {
+        // The getReferenceCount() method wraps the AssetManager method of the same name and returns the 
+        // number of references held on the passed asset.
+        
+        Class<?> type; // Type of asset, as loaded into the asset manager.  Null when not loaded.
+        
+        type = ASSET_MANAGER.getAssetType(fileName);
+        
+        // Return number of references (zero when not loaded).
+        return type == null ? 0 : ASSETS.getReferenceCount(fileName, type);
+    }
+    
     /**
      * 
      * The isAssetLoaded() method wraps the AssetManager method isLoaded() and will return a simple
@@ -106,7 +196,26 @@ public final class Utility
     {
         // The isAssetLoaded() method wraps the AssetManager method isLoaded() and will return a simple
         // Boolean value on whether the asset is currently loaded.
-        return ASSET_MANAGER.isLoaded(fileName);
+        
+        Class<?> type; // Type of asset, as loaded into the asset manager.  Null when not loaded.
+        
+        type = ASSET_MANAGER.getAssetType(fileName);
+        
+        // Return whether loaded.
+        return type != null && ASSETS.isLoaded(fileName, type);
+    }
+    
+    /**
+     * 
+     * The isDebugLogging() method returns whether the application passes through debug messages.  Code 
+     * running every frame checks first, so the message text (string building) gets skipped otherwise.
+     * 
+     * @return  Whether the log level of the application includes debug messages.
+     */
+    public static boolean isDebugLogging()
+    {
+        // The isDebugLogging() method returns whether the application passes through debug messages.
+        return Gdx.app.getLogLevel() >= Application.LOG_DEBUG;
     }
     
     /**
@@ -120,7 +229,7 @@ public final class Utility
     {
         // The loadCompleted() method wraps the progress of AssetManager as a percentage of completion.
         // This can be used to update progress meter values when loading asynchronously.
-        return ASSET_MANAGER.getProgress();
+        return ASSETS.getProgress();
     }
     
     /**
@@ -133,7 +242,7 @@ public final class Utility
     {
         // The numberAssetsQueued() method wraps the number of assets left to load from the AssetManager 
         // queue.
-        return ASSET_MANAGER.getQueuedAssets();
+        return ASSETS.getQueuedCount();
     }
     
     /**
@@ -147,11 +256,90 @@ public final class Utility
     {
         // The updateAssetLoading() wraps the update call in AssetManager and can be called in a render() 
         // loop, if loading assets asynchronously in order to process the preload queue.
-        return ASSET_MANAGER.update();
+        return ASSETS.update();
+    }
+    
+    /**
+     * 
+     * The updateAssetLoading() wraps the update call in AssetManager, limiting the time spent loading to 
+     * the passed number of milliseconds.  The method can be called in a render() loop to load assets in
+     * the background without causing a visible hitch.
+     * 
+     * @param millis  Maximum time to spend loading, in milliseconds.  Loading of a single asset step 
+     * may exceed the limit.
+     * @return  Whether finished loading assets.
+     */
+    
+    // millis = Maximum time to spend loading, in milliseconds.
+    public static boolean updateAssetLoading(int millis)
+    {
+        // The updateAssetLoading() wraps the update call in AssetManager, limiting the time spent loading to 
+        // the passed number of milliseconds.
+        return ASSETS.update(millis);
     }
     
     // Methods below...
     
+    /**
+     * 
+     * The function returns the region holding the passed image in the passed atlas, which must already
+     * exist in the asset manager.  The build names each region after the image file, without folder or 
+     * extension.
+     * <br><br>
+     * Example of imageFilenamePath = assets/sprites/characters/Warrior.png (region Warrior).
+     * 
+     * @param atlasFilenamePath  Key to atlas in asset manager.  Path of atlas when loaded.
+     * @param imageFilenamePath  Filename of image packed into the atlas.
+     * @return  Region holding the image.  Null when the atlas is not loaded or lacks the image.
+     */
+    
+    // atlasFilenamePath = Key to atlas in asset manager.  Path of atlas when loaded.
+    // imageFilenamePath = Filename of image packed into the atlas.
+    public static AtlasRegion getAtlasRegion(String atlasFilenamePath, String imageFilenamePath)
+    {
+        
+        /*
+        The function returns the region holding the passed image in the passed atlas, which must already
+        exist in the asset manager.  The build names each region after the image file, without folder or 
+        extension.
+        */
+        
+        AtlasRegion region; // Region to return.
+        
+        // Set defaults.
+        region = null;
+        
+        // If atlas loaded into asset manager, then...
+        if ( ASSETS.isLoaded(atlasFilenamePath, TextureAtlas.class) )
+        {
+            
+            // Atlas exists in asset manager.
+            
+            // Find the region named after the image file.
+            region = ASSETS.get(atlasFilenamePath, TextureAtlas.class).findRegion(
+              FILE_PATH_RESOLVER.resolve(imageFilenamePath).nameWithoutExtension());
+            
+            // If region missing, then display warning.
+            if ( region == null )
+                Gdx.app.debug(TAG, "Image not packed in atlas " + atlasFilenamePath + ": " + imageFilenamePath);
+            
+        }
+        
+        else
+        {
+            
+            // Atlas missing from asset manager.
+            
+            // Display warning related to atlas not existing in asset manager.
+            Gdx.app.debug(TAG, "Atlas is not loaded: " + atlasFilenamePath);
+            
+        }
+        
+        // Return region (or null if not found).
+        return region;
+        
+    }
+    
     /**
      * 
      * The procedure returns the specified TiledMap object that exists in the asset manager.
@@ -172,13 +360,13 @@ public final class Utility
         map = null;
         
         // If map object loaded into asset manager, then...
-        if ( ASSET_MANAGER.isLoaded(mapFilenamePath) )
+        if ( ASSETS.isLoaded(mapFilenamePath, TiledMap.class) )
         {
             
             // Map object exists in asset manager.
             
             // Get the map object from the asset manager. 
-            map = ASSET_MANAGER.get(mapFilenamePath,TiledMap.class);
+            map = ASSETS.get(mapFilenamePath, TiledMap.class);
             
         }
 
@@ -231,13 +419,13 @@ public final class Utility
         texture = null;
         
         // If Texture object loaded into asset manager, then...
-        if ( ASSET_MANAGER.isLoaded(textureFilenamePath) )
+        if ( ASSETS.isLoaded(textureFilenamePath, Texture.class) )
         {
             
             // Texture object exists in asset manager.
             
             // Get the Texture object from the asset manager.
-            texture = ASSET_MANAGER.get(textureFilenamePath, Texture.class);
+            texture = ASSETS.get(textureFilenamePath, Texture.class);
             
         }
         
@@ -271,11 +459,57 @@ public final class Utility
         return text != null && !text.isEmpty();
     }
     
+    /**
+     * 
+     * The loadAtlasAsset() method takes an atlas filename path relative to the working directory.  The 
+     * method loads the atlas file into the asset manager as a TextureAtlas asset, along with its page 
+     * images, blocking until finished.
+     * <br><br> 
+     * Pairs with methods, resolveAtlasPath() and getAtlasRegion().
+     * 
+     * @param atlasFilenamePath  Filename of atlas to load into TextureAtlas asset.  Key of atlas in asset manager.
+     */
+    
+    // atlasFilenamePath = Filename of atlas to load into TextureAtlas asset.  Key of atlas in asset manager.
+    public static void loadAtlasAsset(String atlasFilenamePath)
+    {
+        
+        /*
+        The loadAtlasAsset() method takes an atlas filename path relative to the working directory.  The 
+        method loads the atlas file into the asset manager as a TextureAtlas asset, along with its page 
+        images, blocking until finished.
+        */
+        
+        // If name of atlas file not passed (null or empty) or file missing, then...
+        if ( !isPopulatedText(atlasFilenamePath) || !FILE_PATH_RESOLVER.resolve(atlasFilenamePath).exists() )
+        {
+            
+            // Name of atlas file not passed (null or empty) or file missing.
+            
+            // Display warning.
+            Gdx.app.debug(TAG, "Atlas doesn't exist!: " + atlasFilenamePath );
+            return;
+            
+        }
+        
+        // Assign custom asset loader to manager for the TextureAtlas class.
+        ASSET_MANAGER.setLoader(TextureAtlas.class, new TextureAtlasLoader(FILE_PATH_RESOLVER));
+        
+        // Add the given asset to the loading queue of the asset manager.  An atlas already loaded (as the
+        // dependency of a map, for example) gets shared instead of loaded again.
+        ASSETS.acquire(atlasFilenamePath, TextureAtlas.class);
+        
+        // Block until the atlas and its page images load.
+        ASSETS.finishLoading(atlasFilenamePath);
+        
+    }
+    
     /**
      * 
      * The loadMapAsset() method will take a TMX filename path relative to the working
      * directory.  The method loads the TMX file into the asset manager as a TiledMap 
-     * asset, blocking until finished.  We can load these assets later asynchronously 
+     * asset, blocking until finished.  Compiled maps (see resolveMapPath()) load the same way,
+     * through BinaryMapLoader.  We can load these assets later asynchronously 
      * once we create a screen with a progress bar, instead of blocking on the render
      * thread.
      * <br><br>
@@ -291,7 +525,8 @@ public final class Utility
         /*
         The loadMapAsset() method will take a TMX filename path relative to the working
         directory.  The method loads the TMX file into the asset manager as a TiledMap 
-        asset, blocking until finished.  We can load these assets later asynchronously 
+        asset, blocking until finished.  Compiled maps (see resolveMapPath()) load the same way,
+        through BinaryMapLoader.  We can load these assets later asynchronously 
         once we create a screen with a progress bar, instead of blocking on the render
         thread.
         
@@ -312,14 +547,14 @@ public final class Utility
                 
                 // Load asset.
                 
-                // Assign custom asset loader to manager for the TileMap class.
-                ASSET_MANAGER.setLoader(TiledMap.class, new TmxMapLoader(FILE_PATH_RESOLVER));
+                // Assign custom asset loaders to manager for the TileMap class.
+                setMapLoaders();
                 
                 // Add the given asset to the loading queue of the asset manager.
-                ASSET_MANAGER.load(mapFilenamePath, TiledMap.class);
+                ASSETS.acquire(mapFilenamePath, TiledMap.class);
 
                 // Until we add loading screen, just block until we load the map.
-                ASSET_MANAGER.finishLoadingAsset(mapFilenamePath);
+                ASSETS.finishLoading(mapFilenamePath);
                 
                 // Display message about successful loading of (map) asset.
                 Gdx.app.debug( TAG, "Map loaded!: " + mapFilenamePath );
@@ -388,11 +623,12 @@ public final class Utility
                 // Assign custom asset loader to manager for the Texture class.
                 ASSET_MANAGER.setLoader(Texture.class, new TextureLoader(FILE_PATH_RESOLVER));
                 
-                // Add the given asset to the loading queue of the asset manager.
-                ASSET_MANAGER.load(textureFilenamePath, Texture.class);
+                // Add the given asset to the loading queue of the asset manager.  A texture already loaded
+                // (by AssetMgr, for example) gets shared instead of loaded again.
+                ASSETS.acquire(textureFilenamePath, Texture.class);
 
                 // Until we add loading screen, just block until we load the texture.
-                ASSET_MANAGER.finishLoadingAsset(textureFilenamePath);
+                ASSETS.finishLoading(textureFilenamePath);
 
             }
 
@@ -410,6 +646,170 @@ public final class Utility
         
     }
     
+    /**
+     * 
+     * The queueMapAsset() method takes a TMX filename path relative to the working directory and 
+     * adds the file to the loading queue of the asset manager as a TiledMap asset, without blocking.
+     * Loading advances during calls to updateAssetLoading().  Each call adds one reference to the 
+     * asset, to release later with unloadAsset().
+     * 
+     * @param mapFilenamePath  Name of tmx file (relative to working directory) to queue as a TiledMap asset.
+     * @return  Whether the file was queued (false when missing).
+     */
+    
+    // mapFilenamePath = Name of tmx file (relative to working directory) to queue as a TiledMap asset.
+    public static boolean queueMapAsset(String mapFilenamePath)
+    {
+        
+        /*
+        The queueMapAsset() method takes a TMX filename path relative to the working directory and 
+        adds the file to the loading queue of the asset manager as a TiledMap asset, without blocking.
+        Loading advances during calls to updateAssetLoading().  Each call adds one reference to the 
+        asset, to release later with unloadAsset().
+        */
+        
+        // If name of tmx file not passed (null or empty) or file missing, then...
+        if ( !isPopulatedText(mapFilenamePath) || !FILE_PATH_RESOLVER.resolve(mapFilenamePath).exists() )
+        {
+            
+            // Name of tmx file not passed (null or empty) or file missing.
+            
+            // Display warning.
+            Gdx.app.debug( TAG, "Map doesn't exist!: " + mapFilenamePath );
+            return false;
+            
+        }
+        
+        // Assign custom asset loaders to manager for the TileMap class.
+        setMapLoaders();
+
+        // Add the given asset to the loading queue of the asset manager.
+        ASSETS.acquire(mapFilenamePath, TiledMap.class);
+        
+        // Display message about queuing of (map) asset.
+        Gdx.app.debug( TAG, "Map queued: " + mapFilenamePath );
+        return true;
+        
+    }
+    
+    /**
+     * 
+     * The resolveAtlasPath() method returns the path of the atlas packed by the build from the folder 
+     * holding the passed image, when one exists.  The build packs each sprite folder into an atlas beside 
+     * the folder, named after the folder in lower case (assets/sprites/characters/Warrior.png packs into 
+     * assets/sprites/characters.atlas).  Without the atlas (when the build skipped packing), the image 
+     * gets loaded as its own texture.
+     * 
+     * @param imageFilenamePath  Filename of image (relative to working directory).
+     * @return  Filename of atlas holding the image when one exists.  Otherwise, null.
+     */
+    
+    // imageFilenamePath = Filename of image (relative to working directory).
+    public static String resolveAtlasPath(String imageFilenamePath)
+    {
+        
+        /*
+        The resolveAtlasPath() method returns the path of the atlas packed by the build from the folder 
+        holding the passed image, when one exists.  The build packs each sprite folder into an atlas beside 
+        the folder, named after the folder in lower case.
+        */
+        
+        FileHandle atlas; // Atlas packed from the folder of the image.
+        FileHandle folder; // Folder holding the image.
+        
+        // If name of image file not passed (null or empty), then return no atlas.
+        if ( !isPopulatedText(imageFilenamePath) )
+            return null;
+        
+        // Find the atlas beside the folder of the image.
+        folder = FILE_PATH_RESOLVER.resolve(imageFilenamePath).parent();
+        
+        // If image not in a folder, then return no atlas.
+        if ( folder.path().isEmpty() )
+            return null;
+        
+        atlas = folder.sibling(folder.name().toLowerCase(Locale.ROOT) + ATLAS_EXTENSION);
+        
+        // Return atlas path, when packed.
+        return atlas.exists() ? atlas.path() : null;
+        
+    }
+    
+    /**
+     * 
+     * The resolveMapPath() method returns the path of the compiled map (built by MapCompiler) beside the 
+     * passed TMX file, when one exists.  Otherwise, the method returns the passed path unchanged, so the
+     * TMX file gets loaded.  Callers use the returned path as the asset name throughout.
+     * 
+     * @param mapFilenamePath  Name of tmx file (relative to working directory).
+     * @return  Name of compiled map file when one exists.  Otherwise, the passed name.
+     */
+    
+    // mapFilenamePath = Name of tmx file (relative to working directory).
+    public static String resolveMapPath(String mapFilenamePath)
+    {
+        
+        /*
+        The resolveMapPath() method returns the path of the compiled map (built by MapCompiler) beside the 
+        passed TMX file, when one exists.  Otherwise, the method returns the passed path unchanged, so the
+        TMX file gets loaded.  Callers use the returned path as the asset name throughout.
+        */
+        
+        String compiledPath; // Name of compiled map file.
+        
+        // If name of tmx file not passed (null or empty) or not a tmx file, then return it unchanged.
+        if ( !isPopulatedText(mapFilenamePath) || !mapFilenamePath.endsWith(BinaryMapFormat.TMX_EXTENSION) )
+            return mapFilenamePath;
+        
+        compiledPath = mapFilenamePath.substring(0, mapFilenamePath.length() - 
+          BinaryMapFormat.TMX_EXTENSION.length()) + BinaryMapFormat.EXTENSION;
+        
+        // If compiled map found, then...
+        if ( FILE_PATH_RESOLVER.resolve(compiledPath).exists() )
+        {
+            
+            // Compiled map found.
+            return compiledPath;
+            
+        }
+        
+        else
+        {
+            
+            // Compiled map missing.
+            
+            // Display message and use tmx file.
+            Gdx.app.debug( TAG, "Compiled map not found, using TMX file: " + mapFilenamePath );
+            return mapFilenamePath;
+            
+        }
+        
+    }
+    
+    /**
+     * 
+     * The setMapLoaders() method assigns the asset loaders for the TiledMap class to the asset manager.
+     * TmxMapLoader serves as the default loader and BinaryMapLoader handles files ending in the compiled
+     * map extension.  Call before queuing maps directly through the AssetService (such as from a loading
+     * screen).
+     */
+    public static void setMapLoaders()
+    {
+        
+        /*
+        The setMapLoaders() method assigns the asset loaders for the TiledMap class to the asset manager.
+        TmxMapLoader serves as the default loader and BinaryMapLoader handles files ending in the compiled
+        map extension.
+        */
+        
+        // Assign default asset loader (TMX files).
+        ASSET_MANAGER.setLoader(TiledMap.class, new TmxMapLoader(FILE_PATH_RESOLVER));
+        
+        // Assign asset loader for compiled maps.
+        ASSET_MANAGER.setLoader(TiledMap.class, BinaryMapFormat.EXTENSION, new BinaryMapLoader(FILE_PATH_RESOLVER));
+        
+    }
+    
     /**
      * 
      * The unloadAsset() method is a helper method that takes advantage of the fact that
@@ -431,24 +831,22 @@ public final class Utility
         memory.
         */
         
-        // If asset loaded into manager, then...
-        if ( ASSET_MANAGER.isLoaded(assetFilenamePath) )
+        /*
+        The service (and the unload() method of AssetManager behind it) will check the dependencies with a 
+        given asset, and once the reference counter hits zero, call dispose() on the asset and remove it 
+        from the manager.  Assets not loaded get skipped, with a debug message.  The methods of the class
+        load assets into the manager only (never pixel maps), so the type comes from the manager.
+        */
         
-            {
-            /*
-            The unload() method of AssetManager will check the dependencies with a given asset, and 
-            once the reference counter hits zero, call dispose() on the asset and remove it from the 
-            manager.
-            */
-            ASSET_MANAGER.unload(assetFilenamePath);
-            } 
+        Class<?> type; // Type of asset, as loaded into the asset manager.  Null when not loaded.
         
-        else 
+        type = ASSET_MANAGER.getAssetType(assetFilenamePath);
         
-            {
-            // Asset not loaded into manager.
-            Gdx.app.debug(TAG, "Asset is not loaded; Nothing to unload: " + assetFilenamePath );
-            }
+        // If loaded, then release.  Otherwise, display warning.
+        if ( type != null )
+            ASSETS.release(assetFilenamePath, type);
+        else
+            Gdx.app.debug(TAG, "Asset is not loaded; Nothing to unload: " + assetFilenamePath);
         
     }
 
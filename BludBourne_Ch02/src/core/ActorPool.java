@@ -0,0 +1,150 @@
+package core;
+
+// LibGDX imports.
+import com.badlogic.gdx.utils.Pool;
+
+// Java imports.
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Abstract:  Abstract classes are similar to interfaces.  You cannot instantiate them, and they may
+contain a mix of methods declared with or without an implementation. However, with abstract classes,
+you can declare fields that are not static and final, and define public, protected, and private
+concrete methods.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class ActorPool<T extends BaseActor> extends Pool<T> // Extends the Pool class from LibGDX.
+{
+    
+    /*
+    The class keeps freed actors of one type for reuse, so spawning projectiles, effects, and enemies
+    (usually as copies of a template actor) does not allocate new actors, bounding polygons, or hash maps
+    in steady state.
+    
+    An actor obtained through obtainCopy() remembers its pool.  Calling destroy() on the actor removes it
+    from its Stage and parent list and returns it to the pool, which calls reset() on the actor.  The
+    reset() methods of BaseActor, AnimatedActor, and PhysicsActor restore every field copy() sets, so a
+    reused actor cannot carry over state from its previous life.
+    
+    Use one pool per actor type (see forBaseActors, forAnimatedActors, and forPhysicsActors), since the
+    copy() method to call depends on the type.
+    
+    Methods include:
+    
+    forAnimatedActors:  Returns a pool of AnimatedActor objects.
+    forBaseActors:  Returns a pool of BaseActor objects.
+    forPhysicsActors:  Returns a pool of PhysicsActor objects.
+    freeActor:  Returns the passed actor (destroyed) to the pool.
+    newObject:  Creates a new actor, when the pool holds none.
+    obtainCopy:  Returns an actor from the pool (or a new one) with the properties of the passed actor.
+    */
+    
+    // Declare object variables.
+    private final BiConsumer<T, T> copier; // Copies properties from the second to the first actor.
+    private final Supplier<T> factory; // Creates a new actor.
+    
+    // factory = Creates a new actor.
+    // copier = Copies properties from the second to the first actor.
+    // initialCapacity = Number of free actors for which to reserve room.
+    // max = Most free actors kept.  Further freed actors get left to the garbage collector.
+    public ActorPool(Supplier<T> factory, BiConsumer<T, T> copier, int initialCapacity, int max)
+    {
+        
+        // The constructor of the class calls the constructor of the parent (Pool) and stores the functions
+        // used to create and copy actors.
+        
+        super(initialCapacity, max); // Call the constructor for the Pool (parent / super) class.
+        this.factory = factory; // Store function to create a new actor.
+        this.copier = copier; // Store function to copy properties between actors.
+        
+    }
+    
+    // initialCapacity = Number of free actors for which to reserve room.
+    // max = Most free actors kept.
+    public static ActorPool<AnimatedActor> forAnimatedActors(int initialCapacity, int max)
+    {
+        // The function returns a pool of AnimatedActor objects.
+        return new ActorPool<>(AnimatedActor::new, AnimatedActor::copy, initialCapacity, max);
+    }
+    
+    // initialCapacity = Number of free actors for which to reserve room.
+    // max = Most free actors kept.
+    public static ActorPool<BaseActor> forBaseActors(int initialCapacity, int max)
+    {
+        // The function returns a pool of BaseActor objects.
+        return new ActorPool<>(BaseActor::new, BaseActor::copy, initialCapacity, max);
+    }
+    
+    // initialCapacity = Number of free actors for which to reserve room.
+    // max = Most free actors kept.
+    public static ActorPool<PhysicsActor> forPhysicsActors(int initialCapacity, int max)
+    {
+        // The function returns a pool of PhysicsActor objects.
+        return new ActorPool<>(PhysicsActor::new, PhysicsActor::copy, initialCapacity, max);
+    }
+    
+    // actor = Actor (destroyed) to return to the pool.
+    @SuppressWarnings("unchecked")
+    void freeActor(BaseActor actor)
+    {
+        
+        // The function returns the passed actor to the pool.  Called by BaseActor.destroy() for actors
+        // obtained from the pool, so the actor always has the type of the pool.
+        
+        // Return the actor to the pool, which resets it.
+        free((T)actor);
+        
+    }
+    
+    @Override
+    protected T newObject()
+    {
+        // The function creates a new actor, when the pool holds none.
+        return factory.get();
+    }
+    
+    // original = Actor (template) from which to copy properties.
+    public T obtainCopy(T original)
+    {
+        
+        // The function returns an actor from the pool (or a new one, when the pool holds none) with the
+        // properties of the passed actor.  The actor returns to the pool when destroyed.
+        
+        T actor; // Actor to return.
+        
+        // Get a free actor from the pool or create a new one.
+        actor = obtain();
+        
+        // Copy the properties of the template to the actor.
+        copier.accept(actor, original);
+        
+        // Have the actor return to the pool when destroyed.
+        actor.setPool(this);
+        
+        // Return the actor.
+        return actor;
+        
+    }
+    
+}
@@ -0,0 +1,220 @@
+package core;
+
+// Java imports.
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Abstract:  Abstract classes are similar to interfaces.  You cannot instantiate them, and they may
+contain a mix of methods declared with or without an implementation. However, with abstract classes,
+you can declare fields that are not static and final, and define public, protected, and private
+concrete methods.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class AllocationProbe
+{
+    
+    /*
+    The class reads the number of bytes allocated by the calling thread so far, through the HotSpot
+    extension of the thread management bean (com.sun.management.ThreadMXBean).  Reading at the start and
+    end of a frame (or phase) and subtracting gives the bytes allocated in between.
+    
+    The counter covers every allocation, including those inside thread-local allocation buffers, so a
+    difference of zero means nothing got allocated.  Some Java versions allocate while reading the counter
+    (a pair of one element arrays).  The class measures that cost on the first read and subtracts it for 
+    every read, so nested reads (phases inside a frame) do not show up as allocations.  The correction 
+    assumes all reads come from one thread (the render thread), which therefore also takes the 
+    measurement -- whichever thread first loads the class does not matter.
+    
+    The identifier of the calling thread comes from Thread.threadId() where the runtime provides it (Java 
+    19 and later, where Thread.getId() is deprecated) and from Thread.getId() otherwise.  The source level 
+    predates threadId(), so the method gets looked up once, through a method handle (which returns the 
+    identifier without boxing it).
+    
+    When the Java runtime lacks the extension (or cannot count allocations), isSupported() returns false
+    and read() always returns zero.
+    
+    Methods include:
+    
+    calibrate:  Measures the bytes allocated by each read, on the calling thread.
+    isSupported:  Returns whether the Java runtime counts the bytes allocated per thread.
+    read:  Returns the bytes allocated by the calling thread so far, less those allocated by reads.
+    readRaw:  Returns the bytes allocated by the calling thread so far, as reported by the bean.
+    threadId:  Returns the identifier of the calling thread.
+    */
+    
+    // Declare constants.
+    private static final int CALIBRATION_READS = 16; // Pairs of reads used to measure the cost of a read.
+    
+    // Declare object variables.
+    private static final com.sun.management.ThreadMXBean BEAN; // Bean counting bytes allocated per thread.
+      // Null when unsupported.
+    private static final MethodHandle THREAD_ID; // Thread.threadId() when provided, else Thread.getId().
+    
+    // Declare regular variables.
+    private static boolean calibrated; // Whether the bytes allocated by each read got measured.
+    private static long overhead; // Bytes allocated by each read of the bean.
+    private static long reads; // Number of reads so far.
+    
+    static
+    {
+        
+        // The static initializer finds the bean, enables allocation counting, and looks up the method 
+        // returning the identifier of a thread.  Measuring the cost of a read waits for the first read.
+        
+        com.sun.management.ThreadMXBean bean; // Bean counting bytes allocated per thread.
+        MethodHandle threadId; // Method returning the identifier of a thread.
+        ThreadMXBean standard; // Standard thread management bean.
+        
+        standard = ManagementFactory.getThreadMXBean();
+        bean = null;
+        
+        // If the runtime provides the HotSpot extension and can count allocations, then...
+        if ( standard instanceof com.sun.management.ThreadMXBean && 
+          ((com.sun.management.ThreadMXBean)standard).isThreadAllocatedMemorySupported() )
+        {
+            bean = (com.sun.management.ThreadMXBean)standard;
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        
+        // Look up Thread.threadId() (Java 19 and later), falling back to Thread.getId().
+        try
+        {
+            threadId = MethodHandles.publicLookup().findVirtual(Thread.class, "threadId", 
+              MethodType.methodType(long.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e)
+        {
+            
+            try
+            {
+                threadId = MethodHandles.publicLookup().findVirtual(Thread.class, "getId", 
+                  MethodType.methodType(long.class));
+            }
+            catch (NoSuchMethodException | IllegalAccessException f)
+            {
+                // Every Java runtime provides Thread.getId().  Count nothing without it.
+                threadId = null;
+                bean = null;
+            }
+            
+        }
+        
+        BEAN = bean;
+        THREAD_ID = threadId;
+        calibrated = false;
+        overhead = 0L;
+        reads = 0L;
+        
+    }
+    
+    // No constructor exists.
+    
+    private static void calibrate()
+    {
+        
+        // The function measures the bytes allocated by each read of the bean, as the fewest allocated 
+        // between the reads of several pairs, on the calling thread (the render thread, on the first read).
+        
+        long fewest; // Fewest bytes allocated by a read so far.
+        long start; // Counter before the second read of a pair.
+        
+        fewest = Long.MAX_VALUE;
+        
+        // Loop through pairs of reads, keeping the smallest difference.
+        for (int counter = 0; counter < CALIBRATION_READS; counter++)
+        {
+            start = readRaw();
+            fewest = Math.min(fewest, readRaw() - start);
+        }
+        
+        overhead = Math.max(0L, fewest);
+        calibrated = true;
+        
+    }
+    
+    public static boolean isSupported()
+    {
+        // The function returns whether the Java runtime counts the bytes allocated per thread.
+        return BEAN != null;
+    }
+    
+    public static long read()
+    {
+        
+        // The function returns the bytes allocated by the calling thread so far, less those allocated by
+        // reads (this one included).  The first read measures the cost of a read first.  Returns zero when 
+        // unsupported.
+        
+        // If unsupported, then...
+        if ( BEAN == null )
+            return 0L;
+        
+        // If the first read, then measure the bytes allocated by each read, on the calling thread.
+        if ( !calibrated )
+            calibrate();
+        
+        reads++;
+        
+        // Return the bytes allocated, less those allocated by reads.
+        return readRaw() - reads * overhead;
+        
+    }
+    
+    public static long readRaw()
+    {
+        
+        // The function returns the bytes allocated by the calling thread so far, as reported by the bean.
+        // Returns zero when unsupported.
+        
+        // If unsupported, then...
+        if ( BEAN == null )
+            return 0L;
+        
+        // Return the bytes allocated by the calling thread so far.
+        return BEAN.getThreadAllocatedBytes(threadId());
+        
+    }
+    
+    private static long threadId()
+    {
+        
+        // The function returns the identifier of the calling thread, through Thread.threadId() where the 
+        // runtime provides it and Thread.getId() otherwise.
+        
+        try
+        {
+            return (long)THREAD_ID.invokeExact(Thread.currentThread());
+        }
+        catch (Throwable e)
+        {
+            // Neither method throws.  Rethrow anything unexpected (such as errors) unchecked.
+            throw new IllegalStateException(e);
+        }
+        
+    }
+    
+}
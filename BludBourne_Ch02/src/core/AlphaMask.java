@@ -0,0 +1,425 @@
+package core;
+
+// LibGDX imports.
+import com.badlogic.gdx.graphics.Pixmap;
+
+// Java imports.
+import java.nio.ByteBuffer;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Abstract:  Abstract classes are similar to interfaces.  You cannot instantiate them, and they may
+contain a mix of methods declared with or without an implementation. However, with abstract classes,
+you can declare fields that are not static and final, and define public, protected, and private
+concrete methods.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class AlphaMask
+{
+    
+    /*
+    The class holds the transparency of an image as one bit per pixel (set = opaque, meaning alpha above 
+    zero), packed into rows of longs.  The mask replaces a full RGBA8888 pixel map for hit tests, using a
+    thirty-second of the memory, so the pixel map can get disposed right after building the mask.
+    
+    Coordinates follow the pixel map -- x to the right, y down, with (0, 0) the top left pixel.  Points 
+    outside the image count as transparent, as with Pixmap.getPixel().  Column x of a row sits in bit 
+    (x % 64) of word (x / 64), so row and rectangle queries test 64 pixels per step.
+    
+    Methods include:
+    
+    countOpaque:  Returns the number of opaque pixels within the passed rectangle.
+    countOpaqueInRow:  Returns the number of opaque pixels within the passed span of a row.
+    countOverlap:  Returns the number of pixels opaque in both the current and passed masks, within 
+      rectangles of the same size.  Optionally stops at the first.
+    getBits:  Returns the 64 pixels of a row starting at the passed column, as bits.
+    getBytes:  Returns the memory used by the bits, in bytes.
+    getHeight:  Returns the height of the image, in pixels.
+    getWidth:  Returns the width of the image, in pixels.
+    isAnyOpaque:  Returns whether any pixel within the passed rectangle is opaque.
+    isAnyOpaqueInRow:  Returns whether any pixel within the passed span of a row is opaque.
+    isOpaque:  Returns whether the passed pixel is opaque.
+    isTransparent:  Returns whether the passed pixel is transparent.
+    */
+    
+    // Declare constants.
+    private static final int WORD_BITS = 64; // Number of pixels per word.
+    private static final int WORD_SHIFT = 6; // Shift converting a column to its word (log2 of WORD_BITS).
+    
+    // Declare regular variables.
+    private final int height; // Height of the image, in pixels.
+    private final int width; // Width of the image, in pixels.
+    private final int wordsPerRow; // Number of words per row.
+    
+    // Declare list variables.
+    private final long[] bits; // One bit per pixel (set = opaque), rows top first, wordsPerRow words each.
+    
+    // pixmap = Pixel map from which to build the mask.  Stays owned (and undisposed) by the caller.
+    public AlphaMask(Pixmap pixmap)
+    {
+        
+        // The constructor builds the mask from the alpha of each pixel in the passed pixel map.  RGBA8888
+        // pixel maps get read straight from their pixel buffer.  Other formats go through getPixel(), 
+        // which converts to RGBA8888 (formats without alpha count as opaque).
+        
+        int offset; // Position of alpha of current pixel in pixel buffer.
+        ByteBuffer pixels; // Pixel buffer of pixel map.
+        int row; // Index of first word of current row.
+        
+        width = pixmap.getWidth();
+        height = pixmap.getHeight();
+        wordsPerRow = (width + WORD_BITS - 1) >>> WORD_SHIFT;
+        bits = new long[wordsPerRow * height];
+        
+        // If four bytes per pixel, with alpha last, then...
+        if ( pixmap.getFormat() == Pixmap.Format.RGBA8888 )
+        {
+            
+            // Read the alpha bytes straight from the pixel buffer (rows top first, no padding).
+            pixels = pixmap.getPixels();
+            offset = 3;
+            
+            for (int y = 0; y < height; y++)
+            {
+                
+                row = y * wordsPerRow;
+                
+                for (int x = 0; x < width; x++, offset += 4)
+                {
+                    if ( pixels.get(offset) != 0 )
+                        bits[row + (x >>> WORD_SHIFT)] |= 1L << (x & (WORD_BITS - 1));
+                }
+                
+            }
+            
+        }
+        
+        else
+        {
+            
+            // Read each pixel, converted to RGBA8888.
+            for (int y = 0; y < height; y++)
+            {
+                
+                row = y * wordsPerRow;
+                
+                for (int x = 0; x < width; x++)
+                {
+                    if ( (pixmap.getPixel(x, y) & 0x000000ff) != 0 )
+                        bits[row + (x >>> WORD_SHIFT)] |= 1L << (x & (WORD_BITS - 1));
+                }
+                
+            }
+            
+        }
+        
+    }
+    
+    // x = X-coordinate of first pixel (bit 0 of the result).
+    // y = Y-coordinate of row (y down).
+    public long getBits(int x, int y)
+    {
+        
+        // The function returns the 64 pixels of a row starting at the passed column, as bits (bit 0 = 
+        // column x, set = opaque).  Pixels outside the image read as transparent.  Reads at most two words.
+        
+        int index; // Index of word holding column x.
+        long result; // Bits to return.
+        int shift; // Position of column x within its word.
+        
+        // If no pixel of the run within the image, then...
+        if ( y < 0 || y >= height || x >= width || x <= -WORD_BITS )
+            return 0L;
+        
+        // If run starts left of the image, then shift the run starting at the first column into place.
+        if ( x < 0 )
+            return getBits(0, y) << -x;
+        
+        index = y * wordsPerRow + (x >>> WORD_SHIFT);
+        shift = x & (WORD_BITS - 1);
+        result = bits[index] >>> shift;
+        
+        // If run continues into the next word of the row, then add the low bits of that word.
+        if ( shift != 0 && (x >>> WORD_SHIFT) + 1 < wordsPerRow )
+            result |= bits[index + 1] << (WORD_BITS - shift);
+        
+        // Return bits.
+        return result;
+        
+    }
+    
+    public long getBytes()
+    {
+        // The function returns the memory used by the bits, in bytes.
+        return (long)bits.length * Long.BYTES;
+    }
+    
+    public int getHeight()
+    {
+        // The function returns the height of the image, in pixels.
+        return height;
+    }
+    
+    public int getWidth()
+    {
+        // The function returns the width of the image, in pixels.
+        return width;
+    }
+    
+    // Methods below...
+    
+    // x = X-coordinate of left edge of rectangle.
+    // y = Y-coordinate of top edge of rectangle (y down).
+    // width = Width of rectangle, in pixels.
+    // height = Height of rectangle, in pixels.
+    public int countOpaque(int x, int y, int width, int height)
+    {
+        
+        // The function returns the number of opaque pixels within the passed rectangle.  Parts outside 
+        // the image count as transparent.
+        
+        int count; // Number of opaque pixels.
+        int stop; // Row following the last within the image.
+        
+        count = 0;
+        stop = Math.min(y + height, this.height);
+        
+        // Loop through rows of rectangle within image.
+        for (int row = Math.max(y, 0); row < stop; row++)
+        {
+            count += countOpaqueInRow(x, row, width);
+        }
+        
+        // Return number of opaque pixels.
+        return count;
+        
+    }
+    
+    // x = X-coordinate of first pixel in span.
+    // y = Y-coordinate of row (y down).
+    // width = Number of pixels in span.
+    public int countOpaqueInRow(int x, int y, int width)
+    {
+        
+        // The function returns the number of opaque pixels within the passed span of a row.  Parts outside
+        // the image count as transparent.
+        
+        int count; // Number of opaque pixels.
+        int end; // Column following the last within the image.
+        int first; // Index of word holding first column.
+        long firstMask; // Bits of first word within span.
+        int last; // Index of word holding last column.
+        long lastMask; // Bits of last word within span.
+        int start; // First column within the image.
+        
+        start = Math.max(x, 0);
+        end = Math.min(x + width, this.width);
+        
+        // If span misses the image, then...
+        if ( y < 0 || y >= height || start >= end )
+            return 0;
+        
+        first = y * wordsPerRow + (start >>> WORD_SHIFT);
+        last = y * wordsPerRow + ((end - 1) >>> WORD_SHIFT);
+        firstMask = -1L << (start & (WORD_BITS - 1));
+        lastMask = -1L >>> (WORD_BITS - 1 - ((end - 1) & (WORD_BITS - 1)));
+        
+        // If span within one word, then...
+        if ( first == last )
+            return Long.bitCount(bits[first] & firstMask & lastMask);
+        
+        // Count the partial first and last words, then the whole words in between.
+        count = Long.bitCount(bits[first] & firstMask) + Long.bitCount(bits[last] & lastMask);
+        
+        for (int index = first + 1; index < last; index++)
+        {
+            count += Long.bitCount(bits[index]);
+        }
+        
+        // Return number of opaque pixels.
+        return count;
+        
+    }
+    
+    // other = Mask to compare against the current.
+    // x = X-coordinate of left edge of rectangle in the current mask.
+    // y = Y-coordinate of top edge of rectangle in the current mask (y down).
+    // otherX = X-coordinate of left edge of rectangle in the passed mask.
+    // otherY = Y-coordinate of top edge of rectangle in the passed mask (y down).
+    // width = Width of both rectangles, in pixels.
+    // height = Height of both rectangles, in pixels.
+    // firstOnly = Whether to stop at the first pixel opaque in both (returning one).
+    public int countOverlap(AlphaMask other, int x, int y, int otherX, int otherY, int width, int height, 
+      boolean firstOnly)
+    {
+        
+        // The function returns the number of pixels opaque in both the current and passed masks, comparing
+        // the rectangle at (x, y) in the current with the one at (otherX, otherY) in the passed mask.  Rows
+        // get compared 64 pixels at a time, by AND-ing words shifted into line.  When firstOnly set, the
+        // function stops at the first pixel opaque in both and returns one.  Pixels outside either image
+        // count as transparent.  Allocates nothing.
+        
+        long both; // Pixels of current run opaque in both masks.
+        int count; // Number of pixels opaque in both masks.
+        int remaining; // Number of pixels of the row left to compare.
+        
+        count = 0;
+        
+        // Loop through rows.
+        for (int row = 0; row < height; row++)
+        {
+            
+            // Loop through runs of up to 64 pixels.
+            for (int column = 0; column < width; column += WORD_BITS)
+            {
+                
+                both = getBits(x + column, y + row) & other.getBits(otherX + column, otherY + row);
+                remaining = width - column;
+                
+                // If the run extends past the rectangle, then drop the extra pixels.
+                if ( remaining < WORD_BITS )
+                    both &= (1L << remaining) - 1L;
+                
+                // If any pixel opaque in both, then...
+                if ( both != 0L )
+                {
+                    
+                    // If stopping at the first, then...
+                    if ( firstOnly )
+                        return 1;
+                    
+                    count += Long.bitCount(both);
+                    
+                }
+                
+            }
+            
+        }
+        
+        // Return number of pixels opaque in both masks.
+        return count;
+        
+    }
+    
+    // x = X-coordinate of left edge of rectangle.
+    // y = Y-coordinate of top edge of rectangle (y down).
+    // width = Width of rectangle, in pixels.
+    // height = Height of rectangle, in pixels.
+    public boolean isAnyOpaque(int x, int y, int width, int height)
+    {
+        
+        // The function returns whether any pixel within the passed rectangle is opaque, stopping at the 
+        // first row with one.  Parts outside the image count as transparent.
+        
+        int stop; // Row following the last within the image.
+        
+        stop = Math.min(y + height, this.height);
+        
+        // Loop through rows of rectangle within image.
+        for (int row = Math.max(y, 0); row < stop; row++)
+        {
+            
+            // If opaque pixel in row, then...
+            if ( isAnyOpaqueInRow(x, row, width) )
+                return true;
+            
+        }
+        
+        // No opaque pixel in rectangle.
+        return false;
+        
+    }
+    
+    // x = X-coordinate of first pixel in span.
+    // y = Y-coordinate of row (y down).
+    // width = Number of pixels in span.
+    public boolean isAnyOpaqueInRow(int x, int y, int width)
+    {
+        
+        // The function returns whether any pixel within the passed span of a row is opaque, stopping at the
+        // first word with one.  Parts outside the image count as transparent.
+        
+        int end; // Column following the last within the image.
+        int first; // Index of word holding first column.
+        long firstMask; // Bits of first word within span.
+        int last; // Index of word holding last column.
+        long lastMask; // Bits of last word within span.
+        int start; // First column within the image.
+        
+        start = Math.max(x, 0);
+        end = Math.min(x + width, this.width);
+        
+        // If span misses the image, then...
+        if ( y < 0 || y >= height || start >= end )
+            return false;
+        
+        first = y * wordsPerRow + (start >>> WORD_SHIFT);
+        last = y * wordsPerRow + ((end - 1) >>> WORD_SHIFT);
+        firstMask = -1L << (start & (WORD_BITS - 1));
+        lastMask = -1L >>> (WORD_BITS - 1 - ((end - 1) & (WORD_BITS - 1)));
+        
+        // If span within one word, then...
+        if ( first == last )
+            return (bits[first] & firstMask & lastMask) != 0;
+        
+        // If opaque pixel in partial first word, then...
+        if ( (bits[first] & firstMask) != 0 )
+            return true;
+        
+        // Loop through whole words in between.
+        for (int index = first + 1; index < last; index++)
+        {
+            if ( bits[index] != 0 )
+                return true;
+        }
+        
+        // Return whether opaque pixel in partial last word.
+        return (bits[last] & lastMask) != 0;
+        
+    }
+    
+    // x = X-coordinate of pixel.
+    // y = Y-coordinate of pixel (y down).
+    public boolean isOpaque(int x, int y)
+    {
+        
+        // The function returns whether the passed pixel is opaque.  Points outside the image count as 
+        // transparent.
+        
+        // If outside the image, then...
+        if ( x < 0 || y < 0 || x >= width || y >= height )
+            return false;
+        
+        // Return whether bit of pixel set.
+        return (bits[y * wordsPerRow + (x >>> WORD_SHIFT)] & (1L << (x & (WORD_BITS - 1)))) != 0;
+        
+    }
+    
+    // x = X-coordinate of pixel.
+    // y = Y-coordinate of pixel (y down).
+    public boolean isTransparent(int x, int y)
+    {
+        // The function returns whether the passed pixel is transparent (including points outside the image).
+        return !isOpaque(x, y);
+    }
+    
+}
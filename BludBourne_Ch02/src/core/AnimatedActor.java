@@ -67,6 +67,7 @@ public class AnimatedActor extends BaseActor { // Extends the BaseActor class.
       Computes duration.
     removeAfterSinglePassAuto:  Sets up an action to remove the animation from the screen after a single
       display.  Uses pre-computed duration.
+    reset:  Restores the defaults of every property set by copy(), so a pooled actor can be reused.
     setActiveAnimation:  Sets the active Animation (key and object) using the passed key.
     setAnimationFrame:  Sets the specified frame of the animation to display.
     setFrameCount:  Stores the number of frames in the animation.
@@ -79,9 +80,10 @@ public class AnimatedActor extends BaseActor { // Extends the BaseActor class.
     // Declare object variables.
     private Animation activeAnim; // Current (active) Animation object.
     private String activeName; // Name / key value for current (active) Animation object.
-    @SuppressWarnings("FieldMayBeFinal")
     private HashMap<String,Animation> animationStorage; // HashMap data structure storing Animation
-    // objects and associated keys.
+    // objects and associated keys.  Shared with the original after copy().
+    private final HashMap<String,Animation> localAnimationStorage; // HashMap created with the actor.  Restored
+    // as animationStorage by reset(), so pooled actors never allocate a new one.
     
     // Declare regular variables.
     private float elapsedTime; // Total elapsed time the animation has been playing.
@@ -102,7 +104,8 @@ public class AnimatedActor extends BaseActor { // Extends the BaseActor class.
         activeAnim = null; // Initialize current (active) Animation object.
         activeName = null; // Initialize key representing the current (active) Animation to no selection.
         // animationStorage = new HashMap<String,Animation>(); // Create hash map to contain Animation objects.
-        animationStorage = new HashMap<>(); // Create hash map to contain Animation objects.
+        localAnimationStorage = new HashMap<>(); // Create hash map to contain Animation objects.
+        animationStorage = localAnimationStorage; // Use own hash map until copying another actor.
         pauseAnim = false; // Default animation to NOT paused.
 
     }
@@ -137,6 +140,7 @@ public class AnimatedActor extends BaseActor { // Extends the BaseActor class.
     {
 
         // The function returns an AnimatedActor with the same properties as the current.
+        // For actors spawned often, ActorPool.obtainCopy() reuses destroyed actors instead.
 
         AnimatedActor newbie; // AnimatedActor to which to copy properties.
 
@@ -246,6 +250,30 @@ public class AnimatedActor extends BaseActor { // Extends the BaseActor class.
         
     }
     
+    @Override
+    public void reset()
+    {
+        
+        // The function restores the defaults of every property set by copy(), so a pooled actor can be 
+        // reused.  Called by the pool when the actor gets freed.
+        
+        // Restore the properties related to the associated BaseActor.
+        super.reset();
+        
+        // Stop sharing the hash map of the original and clear the active animation.
+        animationStorage = localAnimationStorage;
+        activeName = null;
+        activeAnim = null;
+        
+        // Reset timing and pause state.
+        elapsedTime = 0;
+        frameCount = 0;
+        frameDuration = 0;
+        framePassRate = 0;
+        pauseAnim = false;
+        
+    }
+    
     // name = Key for the Animation object to set as active in the hash map.
     public void setActiveAnimation(String name)
     {
@@ -1,7 +1,6 @@
 package core;
 
 // LibGDX imports.
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter;
 import com.badlogic.gdx.audio.Music;
@@ -63,19 +62,22 @@ public class AssetMgr
     
     /* 
     The class provides for expanded and simplified use of the LibGDX asset manager.
-    Note:  Do NOT set up the asset manager as static, due to memory leaks / Android issues.
+    Note:  Do NOT set up the asset manager as static, due to memory leaks / Android issues.  The class acts 
+    as a facade over the shared AssetService, so assets also loaded elsewhere (such as through Utility) 
+    get shared rather than loaded twice.  Each asset queued holds a handle, released by disposeAssetMgr().
+    Pixel maps loaded for hit tests get reduced to alpha masks (one bit per pixel) and released at once.
     
     Methods include:
     
-    disposeAssetMgr:  Clears the asset manager from memory.
+    disposeAssetMgr:  Releases the assets queued and alpha masks loaded through the instance.
+    getAlphaMask:  Returns the alpha mask from the hash map with the passed key.
     getAtlas:  Returns the Atlas from the asset manager with the passed key.
     getAtlas_xRef:  Returns the Atlas from the asset manager based on the name in the cross reference.
     getImage:  Returns the Texture from the asset manager with the passed key.
     getImage_xRef:  Returns the Texture from the asset manager based on the name in the cross reference.
     getMusicMp3:  Returns the requested music in mp3 format.
     getMusicOgg:  Returns the requested music in ogg format.
-    getPixmap:  Returns the pixel map from the hash map with the passed key.
-    getPixmapTransparentInd:  Returns whether the specified location within the pixel map with the passed 
+    getPixmapTransparentInd:  Returns whether the specified location within the alpha mask with the passed 
       key is transparent.
     getSound:  Returns the requested sound.
     getTextureRegion:  Returns the texture region in the hash map with the passed key.
@@ -83,7 +85,7 @@ public class AssetMgr
       the passed key.
     getTextureRegionRects:  Returns map with rect structures related to texture regions.
     getTextureRegions:  Returns map with texture regions.
-    loadPixelMaps:  Loads the pixel maps based on the queued resouces in the hash map, pixelMapXRef.
+    loadPixelMaps:  Loads the alpha masks based on the queued resouces in the hash map, pixelMapXRef.
     loadResources:  Loads the current resources in the asset manager queue.
     loadTextureRegions:  loads all texture regions associated with the passed atlases.
     loadTextureRegionsDynamic:  Splits the texture with the passed key into regions.
@@ -100,17 +102,19 @@ public class AssetMgr
     
     // Declare object variables.
     public AssetManager manager; // Loads and stores assets like textures, bitmap fonts, tile maps, 
-      // sounds, music, ...
+      // sounds, music, ...  Shared by the game (see AssetService).
+    private final AssetService assets; // Service holding the assets of the game.
+    private final ArrayList<AssetService.Handle<?>> handles; // Handles to the assets queued through the
+      // instance.
     @SuppressWarnings("FieldMayBeFinal")
     private Map<String, String> assetMapping_Atlases; // Cross reference between asset names and keys -- 
       // for atlases in asset manager.
     @SuppressWarnings("FieldMayBeFinal")
     private Map<String, String> assetMapping_Textures; // Cross reference between asset names and keys -- 
       // for textures in asset manager.
-    private HashMap<String, String> pixelMapXRef; // List of paths to images for which to get pixel maps.
+    private HashMap<String, String> pixelMapXRef; // List of paths to images for which to get alpha masks.
       // Key = Enumerated value.  Value = Path to image file.
-    private Map<String, Pixmap> texturePixmaps; // Contains pixel maps for images.
-    private Map<String, Integer> texturePixmapHeights; // Contains pixel map heights for images.
+    private Map<String, AlphaMask> alphaMasks; // Contains alpha masks (one bit per pixel) for images.
     private final Map<String, Rectangle2D.Float> textureRegionRects; // Contains rects related to texture 
       // regions (usually in atlases).  Keys same as in atlas files or based on those in asset manager, but 
       // with suffixes.
@@ -126,17 +130,18 @@ public class AssetMgr
     public AssetMgr()
     {
         
-        // The constructor creates an AssetManager and initializes hash maps.
+        // The constructor references the shared AssetManager and initializes hash maps.
         
-        // Initialize AssetManager object.
-        manager = new AssetManager();
+        // Reference the shared AssetService and its AssetManager object.
+        assets = AssetService.SHARED;
+        manager = assets.getManager();
+        handles = new ArrayList<>();
         
         // Initialize the hash maps.
         assetMapping_Atlases = new HashMap<>();
         assetMapping_Textures = new HashMap<>();
+        alphaMasks = new HashMap<>();
         pixelMapXRef = new HashMap<>();
-        texturePixmaps = new HashMap<>();
-        texturePixmapHeights = new HashMap<>();
         textureRegions = new HashMap<>();
         textureRegionRects = new HashMap<>();
         
@@ -147,32 +152,47 @@ public class AssetMgr
     public void disposeAssetMgr()
     {
         
-        // The function clears the asset manager from memory.
-        manager.dispose();
+        // The function releases the assets queued and alpha masks loaded through the instance.  Assets 
+        // shared with other owners stay loaded until those release them as well.
+        
+        // Loop through handles, releasing each.
+        for (int index = 0; index < handles.size(); index++)
+        {
+            handles.get(index).release();
+        }
+        
+        // Clear handles and alpha masks.
+        handles.clear();
+        alphaMasks.clear();
         
     }
     
     public void loadPixelMaps()
     {
         
-        // The function loads the pixel maps based on the queued resouces in the hash map, pixelMapXRef.
+        // The function loads the alpha masks based on the queued resouces in the hash map, pixelMapXRef.
+        // Each image gets decoded to a pixel map, reduced to a mask (one bit per pixel), and released, so
+        // only the masks stay in memory.
         
         Set<Map.Entry<String, String>> entrySetPixelMapXRef; // Set view of the mappings in the hash map.
-        Pixmap temp; // Pixel map to add to hash map.
+        AssetService.Handle<Pixmap> handle; // Handle to the current pixel map.
         
         // Store a set view of the mappings for the hash map.
         entrySetPixelMapXRef = pixelMapXRef.entrySet();
         
-        // Loop through files for which to store pixel maps.
-        entrySetPixelMapXRef.forEach((entryPixelMap) -> {
+        // Loop through files for which to store alpha masks.
+        for (Map.Entry<String, String> entryPixelMap : entrySetPixelMapXRef)
+        {
             
-            // Load current pixel map in loop, adding to hash map.
-            texturePixmaps.put(entryPixelMap.getKey(), new Pixmap(Gdx.files.internal(entryPixelMap.getValue())));
-        
-            // Store pixel map height.
-            texturePixmapHeights.put(entryPixelMap.getKey(), texturePixmaps.get(entryPixelMap.getKey()).getHeight());
+            // Load current pixel map in loop through the shared service (decoded once per path), build its
+            // alpha mask, and add to hash map.
+            handle = assets.acquire(entryPixelMap.getValue(), Pixmap.class);
+            alphaMasks.put(entryPixelMap.getKey(), new AlphaMask(handle.get()));
             
-        });
+            // Release the pixel map -- disposed unless shared with another owner.
+            handle.release();
+            
+        }
         
     }
     
@@ -190,15 +210,14 @@ public class AssetMgr
     public void loadResources(CustomProgressBar progressBar)
     {
         // The function displays a progress bar while loading the current resources in the asset manager queue.
+        // The function blocks until finished, so the bar only moves when drawn elsewhere during loading.  To
+        // keep drawing frames while loading, use LoadingScreen instead.
         
         float progress; // Percent of loading completed.
         
         // Set defaults.
         progress = 0f;
         
-        // Load resources.
-        manager.finishLoading();
-        
         // While asset manager loads resources, ...
         while(!manager.update())
             {
@@ -211,15 +230,9 @@ public class AssetMgr
             progressBar.setValue(progress);
             }
         
-        // If loading finished before loop could start, then manually set value of progress bar.
-        if (progress == 0f)
-            
-            {
-            // Loading occurred before loop could start.
-            
-            // Manually set value of progress bar to 100%.
-            progressBar.setValue(1.0f);
-            }
+        // Loading finished (possibly before loop could start, or after the last reported step), so 
+        // manually set value of progress bar to 100%.
+        progressBar.setValue(1.0f);
         
     }
     
@@ -413,7 +426,7 @@ public class AssetMgr
         for (String element : elements)
         {
             // Add current element in loop to queue.
-            manager.load(element, TextureAtlas.class);
+            handles.add(assets.acquire(element, TextureAtlas.class));
         }
         
     }
@@ -476,8 +489,9 @@ public class AssetMgr
         // Loop through each element passed to function.
         for (String element : elements)
         {
-            // Add current element in loop to queue.
-            manager.load(element, Texture.class, param);
+            // Add current element in loop to queue.  A texture already loaded gets shared (keeping the 
+            // parameters with which it first loaded).
+            handles.add(assets.acquire(element, Texture.class, param));
         }
         
     }
@@ -508,7 +522,7 @@ public class AssetMgr
         for (String element : elements)
         {
             // Add current element in loop to queue.
-            manager.load(element, Music.class);
+            handles.add(assets.acquire(element, Music.class));
         }
         
     }
@@ -536,13 +550,20 @@ public class AssetMgr
         for (String element : elements)
         {
             // Add current element in loop to queue.
-            manager.load(element, Sound.class);
+            handles.add(assets.acquire(element, Sound.class));
         }
         
     }
     
     // Getters and setters below...
     
+    // key = Key in hash map, alphaMasks, for alpha mask to return.
+    public AlphaMask getAlphaMask(String key)
+    {
+        // The function returns the alpha mask (one bit per pixel) from the hash map with the passed key.
+        return alphaMasks.get(key);
+    }
+    
     // key = Key value in asset manager for Atlas to return.
     public TextureAtlas getAtlas(String key)
     {
@@ -621,22 +642,15 @@ public class AssetMgr
         
     }
 
-    // key = Key in hash map, texturePixmaps, for pixel map to return.
-    public Pixmap getPixmap(String key)
-    {
-        // The function returns the pixel map from the hash map with the passed key.
-        return texturePixmaps.get(key);
-    }
-    
-    // key = Key in hash map, texturePixmaps, for pixel map to return.
+    // key = Key in hash map, alphaMasks, for pixel map to check.
     // x = X-coordinate within pixel map to check.
     // y = Y-coordinate within pixel map to check, considering 0 as the bottom.
     public boolean getPixmapTransparentInd(String key, float x, float y) {
         
-        // The function returns whether the specified location within the pixel map with the passed key 
+        // The function returns whether the specified location within the alpha mask with the passed key 
         // is transparent.
         
-        int pixel; // 32-bit RGBA8888 value of the pixel at the specified location.
+        AlphaMask mask; // Alpha mask of the image.
         int posX; // X-cooridnate within pixel map to check, converted from float to nearest integer.
         int posY; // Y-coordinate within pixel map to check, converted from float to nearest integer.
         
@@ -644,11 +658,12 @@ public class AssetMgr
         posX = Math.round(x);
         posY = Math.round(y);
         
-        // Get the 32-bit RGBA8888 value of the pixel at the specified location.
-        pixel = texturePixmaps.get(key).getPixel(posX, texturePixmapHeights.get(key) - posY - 1);
+        // Get the alpha mask for the image.
+        mask = alphaMasks.get(key);
         
-        // Return whether specified location and image combination is a transparent pixel.
-        return (pixel & 0x000000ff) == 0;
+        // Return whether specified location and image combination is a transparent pixel (mask rows run 
+        // top down).
+        return mask.isTransparent(posX, mask.getHeight() - posY - 1);
         
     }
     
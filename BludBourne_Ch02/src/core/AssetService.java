@@ -0,0 +1,510 @@
+package core;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Abstract:  Abstract classes are similar to interfaces.  You cannot instantiate them, and they may
+contain a mix of methods declared with or without an implementation. However, with abstract classes,
+you can declare fields that are not static and final, and define public, protected, and private
+concrete methods.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public final class AssetService
+{
+    
+    /*
+    The class holds the single asset manager of the game, so each file gets decoded and uploaded once, no
+    matter which facade (Utility, AssetMgr) asks for it.  Loading, releasing, and memory accounting all go
+    through the class.
+    
+    Callers acquire a typed handle per asset and release the handle when done.  The asset manager counts 
+    the references per path (one per acquire, plus one per asset depending on it) and disposes the asset 
+    once none remain.  Pixel maps (Pixmap) get decoded right away and kept in a table of their own, with 
+    their own reference counts, so a pixel map and a texture may share a path.  Checking, counting, and
+    releasing therefore take the type as well as the path -- pixel maps go to the table, everything else
+    to the asset manager.  The first acquire of a path decides the loading parameters -- later acquires 
+    share the loaded asset.
+    
+    The class runs on the render thread.  SHARED holds the one instance used by the game.
+    
+    Methods include:
+    
+    acquire:  Adds a reference to the passed asset, queuing it for loading, and returns a handle to it.
+    appendUsage:  Appends the number of assets and the estimated memory used by textures and pixel maps.
+    clear:  Unloads every asset, regardless of references.
+    finishLoading:  Blocks until the queued assets (or the passed one) finish loading.
+    get:  Returns the passed loaded asset.  Null when not loaded.
+    getAssetCount:  Returns the number of assets loaded, pixel maps included.
+    getDependencies:  Returns the paths of the assets loaded on behalf of the passed asset.
+    getManager:  Returns the asset manager holding every asset other than pixel maps.
+    getPixmapBytes:  Returns the memory used by the pixel maps, in bytes.
+    getProgress:  Returns the progress of loading the queued assets (0 to 1).
+    getQueuedCount:  Returns the number of assets left to load.
+    getReferenceCount:  Returns the number of references held on the passed asset.
+    getTextureBytes:  Returns the estimated memory used by the loaded textures, in bytes.
+    isLoaded:  Returns whether the passed asset finished loading.
+    release:  Removes a reference to the passed asset, disposing it once none remain.
+    resolveDependencies:  Appends the assets that the passed asset will load on its behalf, before loading.
+    update:  Advances loading of the queued assets, optionally within a time limit.
+    */
+    
+    // Declare constants.
+    private static final String TAG = AssetService.class.getSimpleName(); // Class name.
+    
+    // Declare object variables.
+    public static final AssetService SHARED = new AssetService(); // Single instance used by the game.
+    private final AssetManager manager; // Loads and stores assets other than pixel maps.
+    private final ObjectIntMap<String> pixmapReferences; // Number of references held per pixel map path.
+    private final ObjectMap<String, Pixmap> pixmaps; // Pixel maps decoded, keyed by path.
+    
+    private AssetService()
+    {
+        
+        // The constructor creates the asset manager and the (empty) pixel map table.
+        
+        manager = new AssetManager();
+        pixmapReferences = new ObjectIntMap<>();
+        pixmaps = new ObjectMap<>();
+        
+    }
+    
+    // Inner classes below...
+    
+    public static final class Handle<T>
+    {
+        
+        /*
+        The inner class references one asset acquired through the service.  Releasing a handle removes its
+        reference once -- further calls do nothing.
+        */
+        
+        // Declare object variables.
+        private final String path; // Path of the asset.
+        private final AssetService service; // Service holding the asset.
+        private final Class<T> type; // Type of the asset.
+        
+        // Declare regular variables.
+        private boolean released; // Whether the reference got released.
+        
+        // service = Service holding the asset.
+        // path = Path of the asset.
+        // type = Type of the asset.
+        private Handle(AssetService service, String path, Class<T> type)
+        {
+            
+            // The constructor stores the service, path, and type of the asset.
+            
+            this.service = service;
+            this.path = path;
+            this.type = type;
+            
+        }
+        
+        public T get()
+        {
+            // The function returns the asset.  Null when not loaded yet or released.
+            return released ? null : service.get(path, type);
+        }
+        
+        public String getPath()
+        {
+            // The function returns the path of the asset.
+            return path;
+        }
+        
+        public Class<T> getType()
+        {
+            // The function returns the type of the asset.
+            return type;
+        }
+        
+        public boolean isLoaded()
+        {
+            // The function returns whether the asset finished loading (and the handle is not released).
+            return !released && service.isLoaded(path, type);
+        }
+        
+        public void release()
+        {
+            
+            // The function removes the reference held by the handle, once.
+            
+            // If already released, then exit.
+            if ( released )
+                return;
+            
+            released = true;
+            service.release(path, type);
+            
+        }
+        
+    }
+    
+    // Methods below...
+    
+    // path = Path of the asset, relative to the working directory.
+    // type = Type of the asset.
+    public <T> Handle<T> acquire(String path, Class<T> type)
+    {
+        // The function adds a reference to the passed asset, queuing it for loading, and returns a handle.
+        return acquire(path, type, null);
+    }
+    
+    // path = Path of the asset, relative to the working directory.
+    // type = Type of the asset.
+    // parameters = Loading parameters.  Null for the defaults.  Ignored when the asset already exists.
+    public <T> Handle<T> acquire(String path, Class<T> type, AssetLoaderParameters<T> parameters)
+    {
+        
+        // The function adds a reference to the passed asset and returns a handle.  Pixel maps get decoded
+        // right away.  Other assets get queued in the asset manager (see update() and finishLoading()).
+        
+        // If a pixel map, then...
+        if ( type == Pixmap.class )
+        {
+            
+            // If not decoded yet, then decode.
+            if ( !pixmaps.containsKey(path) )
+                pixmaps.put(path, new Pixmap(Gdx.files.internal(path)));
+            
+            // Add a reference.
+            pixmapReferences.getAndIncrement(path, 0, 1);
+            
+        }
+        
+        else
+        {
+            // Queue the asset (or add a reference when already queued or loaded).
+            manager.load(path, type, parameters);
+        }
+        
+        // Return a handle to the asset.
+        return new Handle<>(this, path, type);
+        
+    }
+    
+    // text = Text to which to append.
+    public void appendUsage(StringBuilder text)
+    {
+        
+        // The function appends the number of assets and the estimated memory used by textures and pixel maps,
+        // in kilobytes.
+        
+        text.append("assets  ").append(getAssetCount());
+        text.append("  textures ").append(getTextureBytes() / 1024L).append(" KB");
+        text.append("  pixmaps ").append(getPixmapBytes() / 1024L).append(" KB\n");
+        
+    }
+    
+    public void clear()
+    {
+        
+        // The function unloads every asset, regardless of references.  Handles held elsewhere become 
+        // stale.  Meant for tools and benchmarks resetting between runs.
+        
+        manager.clear();
+        
+        // Loop through pixel maps, disposing each.
+        for ( Pixmap pixmap : pixmaps.values() )
+            pixmap.dispose();
+        
+        pixmaps.clear();
+        pixmapReferences.clear();
+        
+    }
+    
+    public void finishLoading()
+    {
+        // The function blocks until the queued assets finish loading.
+        manager.finishLoading();
+    }
+    
+    // path = Path of the queued asset for which to wait.
+    public void finishLoading(String path)
+    {
+        // The function blocks until the passed asset finishes loading.  Other queued assets may load along 
+        // the way.
+        manager.finishLoadingAsset(path);
+    }
+    
+    // path = Path of the asset.
+    // type = Type of the asset.
+    @SuppressWarnings("unchecked")
+    public <T> T get(String path, Class<T> type)
+    {
+        
+        // The function returns the passed loaded asset.  Null when not loaded.
+        
+        // If a pixel map, then return it from the table.
+        if ( type == Pixmap.class )
+            return (T)pixmaps.get(path);
+        
+        // Return the asset from the manager (or null).
+        return manager.isLoaded(path) ? manager.get(path, type) : null;
+        
+    }
+    
+    public int getAssetCount()
+    {
+        // The function returns the number of assets loaded, pixel maps included.
+        return manager.getLoadedAssets() + pixmaps.size;
+    }
+    
+    // path = Path of the asset.
+    public Array<String> getDependencies(String path)
+    {
+        // The function returns the paths of the assets loaded on behalf of the passed asset (for example, 
+        // the tileset textures of a map).  Null when none.
+        return manager.getDependencies(path);
+    }
+    
+    public AssetManager getManager()
+    {
+        // The function returns the asset manager holding every asset other than pixel maps.
+        return manager;
+    }
+    
+    public long getPixmapBytes()
+    {
+        
+        // The function returns the memory used by the pixel maps, in bytes.
+        
+        long bytes; // Memory used so far.
+        
+        bytes = 0L;
+        
+        // Loop through pixel maps, adding the size of each.
+        for ( Pixmap pixmap : pixmaps.values() )
+            bytes += pixmap.getPixels().capacity();
+        
+        return bytes;
+        
+    }
+    
+    public float getProgress()
+    {
+        // The function returns the progress of loading the queued assets (0 to 1).
+        return manager.getProgress();
+    }
+    
+    public int getQueuedCount()
+    {
+        // The function returns the number of assets left to load.
+        return manager.getQueuedAssets();
+    }
+    
+    // path = Path of the asset.
+    // type = Type of the asset.
+    public int getReferenceCount(String path, Class<?> type)
+    {
+        
+        // The function returns the number of references held on the passed asset -- one per acquire not yet
+        // released, plus (except for pixel maps) one per loaded asset depending on it.  Zero when not loaded.
+        
+        // If a pixel map, then return its count.
+        if ( type == Pixmap.class )
+            return pixmapReferences.get(path, 0);
+        
+        // Return the count kept by the manager.
+        return manager.isLoaded(path, type) ? manager.getReferenceCount(path) : 0;
+        
+    }
+    
+    public long getTextureBytes()
+    {
+        
+        // The function returns the estimated memory used by the loaded textures, in bytes:  width times 
+        // height times the bytes per pixel of the format, plus a third for mipmaps.
+        
+        long bytes; // Memory used so far.
+        Array<String> names; // Paths of the loaded assets.
+        long size; // Memory used by the current texture.
+        Texture texture; // Current texture.
+        TextureData data; // Data of the current texture.
+        
+        bytes = 0L;
+        names = manager.getAssetNames();
+        
+        // Loop through loaded assets.
+        for ( int index = 0; index < names.size; index++ )
+        {
+            
+            // If not a texture, then skip.
+            if ( manager.getAssetType(names.get(index)) != Texture.class )
+                continue;
+            
+            texture = manager.get(names.get(index), Texture.class);
+            data = texture.getTextureData();
+            size = (long)texture.getWidth() * texture.getHeight() * bytesPerPixel(data.getFormat());
+            
+            // If mipmapped, then add the smaller copies.
+            if ( data.useMipMaps() )
+                size += size / 3L;
+            
+            bytes += size;
+            
+        }
+        
+        return bytes;
+        
+    }
+    
+    // path = Path of the asset.
+    // type = Type of the asset.
+    public boolean isLoaded(String path, Class<?> type)
+    {
+        
+        // The function returns whether the passed asset finished loading.
+        
+        // If a pixel map, then check the table.
+        if ( type == Pixmap.class )
+            return pixmaps.containsKey(path);
+        
+        // Return whether loaded into the manager with the passed type.
+        return manager.isLoaded(path, type);
+        
+    }
+    
+    // path = Path of the asset.
+    // type = Type of the asset.
+    // dependencies = Array to which to append the assets loaded on behalf of the passed asset.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void resolveDependencies(String path, Class<?> type, Array<AssetDescriptor> dependencies)
+    {
+        
+        // The function appends the assets that the passed asset will load on its behalf (for example, the 
+        // tileset textures of a map), dependencies of dependencies included.  Unlike getDependencies(), 
+        // works before loading, by asking the loader of the asset -- which may read the file.  Call while
+        // the manager is idle, since the loader gets shared with it.
+        
+        Array<AssetDescriptor> direct; // Assets loaded directly on behalf of the passed asset.
+        AssetLoader loader; // Loader of the passed asset.
+        
+        // If a pixel map, then nothing gets loaded on its behalf.
+        if ( type == Pixmap.class )
+            return;
+        
+        loader = manager.getLoader(type, path);
+        
+        // If no loader handles the asset, then nothing to resolve.
+        if ( loader == null )
+            return;
+        
+        direct = loader.getDependencies(path, loader.resolve(path), null);
+        
+        // If none, then exit.
+        if ( direct == null )
+            return;
+        
+        // Loop through direct dependencies, appending each with its own.
+        for ( AssetDescriptor dependency : direct )
+        {
+            dependencies.add(dependency);
+            resolveDependencies(dependency.fileName, dependency.type, dependencies);
+        }
+        
+    }
+    
+    // path = Path of the asset.
+    // type = Type of the asset.
+    public void release(String path, Class<?> type)
+    {
+        
+        // The function removes a reference to the passed asset.  The asset gets disposed once no references
+        // remain.  Assets still loading must finish first.
+        
+        // If a decoded pixel map, then...
+        if ( type == Pixmap.class && pixmaps.containsKey(path) )
+        {
+            
+            // If last reference, then dispose.
+            if ( pixmapReferences.getAndIncrement(path, 0, -1) <= 1 )
+            {
+                pixmaps.remove(path).dispose();
+                pixmapReferences.remove(path, 0);
+            }
+            
+        }
+        
+        // Otherwise, if loaded into the manager, then unload (disposing once the count reaches zero).
+        else if ( type != Pixmap.class && manager.isLoaded(path, type) )
+            manager.unload(path);
+        
+        else
+            Gdx.app.debug(TAG, "Asset is not loaded; Nothing to release: " + path);
+        
+    }
+    
+    public boolean update()
+    {
+        // The function advances loading of the queued assets and returns whether all finished.
+        return manager.update();
+    }
+    
+    // millis = Maximum time to spend loading, in milliseconds.
+    public boolean update(int millis)
+    {
+        // The function advances loading of the queued assets, within the passed time, and returns whether all
+        // finished.
+        return manager.update(millis);
+    }
+    
+    // format = Format of the pixels.
+    private static int bytesPerPixel(Pixmap.Format format)
+    {
+        
+        // The function returns the bytes per pixel of the passed format.
+        
+        // If no format, then assume four bytes.
+        if ( format == null )
+            return 4;
+        
+        switch (format)
+        {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+        
+    }
+    
+}
@@ -13,6 +13,7 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.utils.Pool;
 
 // Java imports.
 import java.util.ArrayList;
@@ -47,7 +48,7 @@ ArrayList supports dynamic arrays that can grow as needed.
 */
 
 @SuppressWarnings("unused")
-public class BaseActor extends Group // Extends the Group class from LibGDX.
+public class BaseActor extends Group implements Pool.Poolable // Extends the Group class from LibGDX.
 {
 
     /* The class extends the basic functionality of an Actor class in LibGDX.
@@ -60,12 +61,17 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
     addAction_FadeIn:  Sets up a fade in effect for the actor.
     addAction_FadeOut:  Sets up a fade out effect for the actor.
     clone:  Returns a BaseActor with the same properties as the current.
+    comparePixels:  Compares the opaque pixels of the current and passed Actors where their bounding 
+      rectangles meet.
     copy:  Copies properties from the passed to the current BaseActor.
-    destroy:  Removes the BaseActor from its Stage and parent list (as necessary).
+    countOverlapPixels:  Returns the number of pixels opaque in both the current and passed Actors.
+    destroy:  Removes the BaseActor from its Stage and parent list (as necessary).  Returns pooled actors
+              to their pool.
     draw:  Sets the tinting color of and draws the Actor.
     getActionMapCount:  Gets the number of actions related to the actor.
     getActionMapKeyInd:  Returns whether the action map hash map contains the passed key.
     getActorName:  Returns the (base) actor name.
+    getAlphaMask:  Returns the alpha mask of the image holding the texture region.
     getBoundingPolygon:  Sets the position and rotation of the bounding polygon to that of the Actor and returns the result.
     getBoundingRectangle:  Sets the properties of the bounding rectangle related to the texture region and returns the result.
     getGroupHeight:  Returns the height of the group (set manually).
@@ -78,8 +84,12 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
     moveToOrigin:  Centers a small within a larger rectangle, using the borders of the current and target BaseActor objects.
     overlaps:  Determines whether the bounding polygon for the passed Actor intersects (significantly)
                with that of the current.  Moves current Actor minimum amount to avoid intersection.
+    overlapsPixels:  Determines whether any pixel is opaque in both the current and passed Actors 
+      (pixel-perfect overlap test).
     removeActions:  Removes all actions from the actor.
+    reset:  Restores the defaults of every property set by copy(), so a pooled actor can be reused.
     setActorName:  Sets the (base) Actor name to the passed value.
+    setAlphaMask:  Sets the alpha mask of the image holding the texture region.
     setAdditionalDetails:  Performs additional operations for the constructor that would cause
                            overridable method call errors.
     setEllipseBoundary:  Sets the properties of the bounding polygon related to the texture region.
@@ -93,6 +103,7 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
     setOriginCenter_Group:  Sets the origin of the BaseActor to the center of its associated group 
                             (based on the manually set width and height).
     setParentList:  Sets reference to an ArrayList to which the Actor has been added.
+    setPool:  Sets the pool to which the actor returns when destroyed.
     setPosition:  Sets the position of the lower left corner of the actor.  Used with constructor.
     setRandomTintColor:  Sets the tint color of the Actor to a random color.
     setRectangleBoundary:  Sets the properties of the bounding polygon related to the texture region.
@@ -108,6 +119,8 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
     
     // Declare object variables.
     private Map<String, Action> actionMapping; // Collection of actions applied to actor.
+    private AlphaMask alphaMask; // Alpha mask (one bit per pixel) of the image holding the texture region.
+    // Null when the actor does not support pixel-perfect overlap tests.
     private Polygon boundingPolygon; // Encapsulates a 2D polygon defined by its vertices.
     // A polygon can be translated and rotated.
     private Rectangle boundingRectangle; // Encapsulates a 2D rectangle defined by its corner point in the
@@ -116,9 +129,13 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
     private final ColorWorks colorEngine; // Contains color related functionality.
     private HashMap<String, Action> customActions; // Custom actions.
     private ArrayList<? extends BaseActor> parentList; // Stores a reference to an ArrayList to which the Actor has been added.
+    private ActorPool<?> pool; // Pool to which the actor returns when destroyed.  Null when not pooled.
     protected TextureRegion region; // Stores image (similar to a buffer from Direct-X).  Includes more
     // functionality than a Texture.  Supports storage of multiple images or animation frames.
     // Stores coordinates (u, v), that determine which rectangular subarea of the Texture to use.
+    private Polygon spareBoundingPolygon; // Bounding polygon kept by reset() for reuse by the next copy().
+    private final Intersector.MinimumTranslationVector translationVector; // Minimum translation vector 
+    // filled by each call to overlaps().  Reused, so overlap tests allocate nothing.
     
     private Color tintColor; // Color to tint the Actor.
     
@@ -160,6 +177,9 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
         
         // Initialize color engine object.
         colorEngine = new ColorWorks();
+        
+        // Initialize the minimum translation vector reused by overlaps().
+        translationVector = new Intersector.MinimumTranslationVector();
 
         // Set additional defaults.
         setAdditionalDefaults();
@@ -819,6 +839,7 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
     {
 
         // The function returns a BaseActor with the same properties as the current.
+        // For actors spawned often, ActorPool.obtainCopy() reuses destroyed actors instead.
 
         BaseActor newbie; // BaseActor to which to copy properties.
 
@@ -833,6 +854,55 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
 
     }
     
+    // other = Other Actor whose opaque pixels to compare.
+    // firstOnly = Whether to stop at the first pixel opaque in both Actors (returning one).
+    private int comparePixels(BaseActor other, boolean firstOnly)
+    {
+        
+        // The function compares the opaque pixels of the current and passed Actors where their bounding 
+        // rectangles meet, returning the number opaque in both (or one, at the first, when firstOnly set).
+        // Pixels of the texture region map one to one onto the stage, from the bottom left corner of the 
+        // Actor -- scale, rotation, and flipping get ignored.  The cheap bounding rectangle test runs first.
+        // Returns zero when either Actor lacks an alpha mask.  Allocates nothing.
+        
+        int bottom; // Bottom edge of the intersection of the regions, in stage pixels.
+        int left; // Left edge of the intersection of the regions, in stage pixels.
+        int otherX; // X-coordinate of the passed Actor, rounded to a whole pixel.
+        int otherY; // Y-coordinate of the passed Actor, rounded to a whole pixel.
+        int right; // Right edge of the intersection of the regions, in stage pixels.
+        int thisX; // X-coordinate of the current Actor, rounded to a whole pixel.
+        int thisY; // Y-coordinate of the current Actor, rounded to a whole pixel.
+        int top; // Top edge of the intersection of the regions, in stage pixels.
+        
+        // If either Actor lacks an alpha mask or the bounding rectangles do not meet, then...
+        if ( alphaMask == null || other.alphaMask == null || 
+          !getBoundingRectangle().overlaps(other.getBoundingRectangle()) )
+            return 0;
+        
+        // Find the intersection of the texture regions on the stage, in whole pixels.
+        thisX = Math.round( getX() );
+        thisY = Math.round( getY() );
+        otherX = Math.round( other.getX() );
+        otherY = Math.round( other.getY() );
+        
+        left = Math.max( thisX, otherX );
+        right = Math.min( thisX + region.getRegionWidth(), otherX + other.region.getRegionWidth() );
+        bottom = Math.max( thisY, otherY );
+        top = Math.min( thisY + region.getRegionHeight(), otherY + other.region.getRegionHeight() );
+        
+        // If the regions do not meet, then...
+        if ( left >= right || bottom >= top )
+            return 0;
+        
+        // Compare the masks, converting the intersection into image coordinates (y down) within each region.
+        return alphaMask.countOverlap( other.alphaMask, 
+          region.getRegionX() + left - thisX, region.getRegionY() + thisY + region.getRegionHeight() - top, 
+          other.region.getRegionX() + left - otherX, 
+          other.region.getRegionY() + otherY + other.region.getRegionHeight() - top, 
+          right - left, top - bottom, firstOnly );
+        
+    }
+    
     // original = Actor from which to copy properties.
     public void copy(BaseActor original)
     {
@@ -847,20 +917,41 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
             // Image texture (buffer) exists in passed Actor.
 
             // Copy image texture (buffer) from passed to current Actor.
-            this.region = new TextureRegion( original.region );
+            // Reuses the texture region of the current Actor, which no other Actor references.
+            this.region.setRegion( original.region );
 
         // If bounding polygon exists in passed Actor, then...
         if (original.boundingPolygon != null)
         {
             // Bounding polygon exists in passed Actor.
 
-            // Create bounding polygon in current with vertices in bounding polygon of passed Actor.
-            this.boundingPolygon = new Polygon( original.boundingPolygon.getVertices() );
+            // If bounding polygon kept by reset() with the same number of vertices, then...
+            if ( spareBoundingPolygon != null && 
+              spareBoundingPolygon.getVertices().length == original.boundingPolygon.getVertices().length )
+            {
+                // Bounding polygon with the same number of vertices kept by reset().
+                
+                // Copy vertices of passed Actor into the kept bounding polygon and reuse it.
+                System.arraycopy(original.boundingPolygon.getVertices(), 0, spareBoundingPolygon.getVertices(), 0,
+                  spareBoundingPolygon.getVertices().length);
+                spareBoundingPolygon.setVertices( spareBoundingPolygon.getVertices() );
+                this.boundingPolygon = spareBoundingPolygon;
+                spareBoundingPolygon = null;
+            }
+            
+            else
+                // No bounding polygon to reuse.
+                // Create bounding polygon in current with a copy of the vertices in bounding polygon of passed 
+                // Actor.  Copying the vertices lets the polygon be reused later without changing the original.
+                this.boundingPolygon = new Polygon( original.boundingPolygon.getVertices().clone() );
 
             // Set origin of bounding polygon to that of passed Actor.
             this.boundingPolygon.setOrigin( original.getOriginX(), original.getOriginY() );
         }
 
+        // Share alpha mask of passed Actor (never changed after creation).
+        this.alphaMask = original.alphaMask;
+
         // Set position of current to that of passed Actor (based on bottom left corner).
         this.setPosition( original.getX(), original.getY() );
 
@@ -895,10 +986,24 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
         
     }
     
+    // other = Other Actor whose opaque pixels to compare.
+    public int countOverlapPixels(BaseActor other)
+    {
+        
+        // The function returns the number of pixels opaque in both the current and passed Actors, using 
+        // their alpha masks where their bounding rectangles meet.  Returns zero when either Actor lacks an
+        // alpha mask.  Allocates nothing.
+        return comparePixels(other, false);
+        
+    }
+    
     public void destroy()
     {
 
         // The function removes the BaseActor from its Stage and parent list (as necessary).
+        // Actors obtained from a pool return to it.
+
+        ActorPool<?> actorPool; // Pool to which the actor returns.
 
         // Remove Actor from Stage.
         remove();
@@ -909,6 +1014,19 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
             // Remove current BaseActor from parent list.
             parentList.remove(this);
 
+        // If actor obtained from a pool, then...
+        if (pool != null)
+        {
+            // Actor obtained from a pool.
+            
+            // Clear the reference first, so destroying the actor again does not free it twice.
+            actorPool = pool;
+            pool = null;
+            
+            // Return the actor to the pool, which resets it.
+            actorPool.freeActor(this);
+        }
+
     }
 
     // A Batch is used to draw 2D rectangles that reference a texture (region).
@@ -1012,7 +1130,7 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
         // be separate from the other shape.
 
         Intersector.MinimumTranslationVector mtv; // Minimum magnitude vector required to push the
-        // polygon defined by verts1 out of the collision with the polygon defined by verts2.
+        // polygon defined by verts1 out of the collision with the polygon defined by verts2.  Reused.
         Polygon poly1; // Reference to bounding polygon for current Actor.
         Polygon poly2; // Reference to bounding polygon for passed Actor.
 
@@ -1038,8 +1156,8 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
             defined by verts2.
             */
 
-            // Instantiate a minimum transaction vector object.
-            mtv = new Intersector.MinimumTranslationVector();
+            // Reuse the minimum translation vector of the current Actor.
+            mtv = translationVector;
 
             // Obtain a minimum translation vector indicating the minimum magnitude vector
             // required to push the current Actor (polygon) out of the collision with the
@@ -1080,6 +1198,17 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
 
     }
     
+    // other = Other Actor to check for pixel-perfect collision detection.
+    public boolean overlapsPixels(BaseActor other)
+    {
+        
+        // The function determines whether any pixel is opaque in both the current and passed Actors, using
+        // their alpha masks where their bounding rectangles meet.  Stops at the first such pixel.  Returns
+        // false when either Actor lacks an alpha mask.  Allocates nothing.
+        return comparePixels(other, true) > 0;
+        
+    }
+    
     public void removeActions()
     {
         
@@ -1099,6 +1228,58 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
         
     }
     
+    @Override
+    public void reset()
+    {
+        
+        // The function restores the defaults of every property set by copy(), so a pooled actor can be 
+        // reused.  Called by the pool when the actor gets freed.
+        // Properties include:  image texture (buffer), bounding polygon, position, origin, width, height, 
+        // tint color, visibility status, name, actions, and virtual variables.  Also clears the actions,
+        // listeners, and children of the group, along with color, rotation, scale, and parent list.
+        
+        // Remove actions, listeners, and children.
+        clear();
+        
+        // Clear the image texture (buffer).
+        region.setTexture(null);
+        
+        // If bounding polygon exists, then keep it for reuse by the next copy().
+        if (boundingPolygon != null)
+            spareBoundingPolygon = boundingPolygon;
+        
+        boundingPolygon = null;
+        
+        // Clear the alpha mask.
+        alphaMask = null;
+        
+        // Reset position, origin, size, rotation, scale, color, and visibility.
+        setPosition(0, 0);
+        setOrigin(0, 0);
+        setSize(0, 0);
+        setRotation(0);
+        setScale(1);
+        setColor(Color.WHITE);
+        setVisible(true);
+        
+        // Reset tint color to the default.
+        setTintColorToDefault();
+        
+        // Clear name, action hash maps, virtual variables, and group settings.
+        actorName = null;
+        actionMapping.clear();
+        customActions.clear();
+        virtualInt = null;
+        virtualString = null;
+        groupOnlyInd = false;
+        groupHeight = 0;
+        groupWidth = 0;
+        
+        // Clear reference to parent list.
+        parentList = null;
+        
+    }
+    
     private void setAdditionalDefaults()
     {
 
@@ -1214,6 +1395,13 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
         parentList = pl;
     }
 
+    // actorPool = Pool to which the actor returns when destroyed.
+    void setPool(ActorPool<?> actorPool)
+    {
+        // The function sets the pool to which the actor returns when destroyed.
+        pool = actorPool;
+    }
+
     // x = X-coordinate at which to place lower left corner of the actor.
     // y = Y-coordinate at which to place lower left corner of the actor.
     @Override
@@ -1543,6 +1731,19 @@ public class BaseActor extends Group // Extends the Group class from LibGDX.
         this.actorName = actorName;
     }
     
+    public AlphaMask getAlphaMask() {
+        return alphaMask;
+    }
+    
+    // alphaMask = Alpha mask (one bit per pixel) of the image holding the texture region.  Null to disable
+    //   pixel-perfect overlap tests.
+    public void setAlphaMask(AlphaMask alphaMask)
+    {
+        // The function sets the alpha mask of the image (whole texture or atlas page) holding the texture 
+        // region, enabling pixel-perfect overlap tests (see AssetMgr.getAlphaMask).
+        this.alphaMask = alphaMask;
+    }
+    
     public float getGroupHeight() {
         return groupHeight;
     }
@@ -146,8 +146,10 @@ public abstract class BaseScreen implements Screen, InputProcessor, ControllerLi
       normal dispose method.
     drawBatch:  Uses the batch to draw the passed texture / texture region at the specified coordinates.
     finishBatch:  Finalizes batch drawing process.
+    getFrameAllocatedBytes:  Returns the bytes allocated by the render thread during the last call to render().
     isPaused:  Returns the pause state of the game (true or false).
     queueDrawBatch:  Queues the batch to draw a texture / texture region at the specified coordinates.
+    setFrameAllocatedBytes:  Sets the bytes allocated by the render thread during the last call to render().
     setPaused:  Sets the pause state of the game to the passed value.
     startBatch:  Sets up the batch for drawing.
     togglePaused:  Reverses the pause state of the game (true to false, false to true).
@@ -193,6 +195,7 @@ public abstract class BaseScreen implements Screen, InputProcessor, ControllerLi
     protected int viewWidthUI; // Window width for the ui stage.
 
     private boolean batchInd; // Whether to add SpriteBatch to rendering.
+    private long frameAllocatedBytes; // Bytes allocated by the render thread during the last call to render().
     private boolean paused; // Whether game paused.
 
     // g = Reference to extended game class.
@@ -349,7 +352,14 @@ public abstract class BaseScreen implements Screen, InputProcessor, ControllerLi
         3.  If game not paused, adjusts Actor positions and other properties in the main stage and processes player input.
         3.  Draws the actor-related graphics.
         4.  Draws the batch-related graphics.
+        
+        The function also records the bytes allocated during the call (see getFrameAllocatedBytes).
         */
+        
+        long startBytes; // Bytes allocated by the render thread before the frame.
+        
+        // Read the allocation counter of the render thread.
+        startBytes = AllocationProbe.read();
 
         // Call the Actor.act(float) method on each actor in the UI stage.
         // Typically called each frame.  The method also fires enter and exit events.
@@ -419,27 +429,52 @@ public abstract class BaseScreen implements Screen, InputProcessor, ControllerLi
             // Start batch.
             startBatch();
             
-            // Loop through textures to render using batch.
-            batchTextureList.forEach((texture) -> {
+            // Loop through textures to render using batch.  Indexed loops, since lambdas capturing the 
+            // screen would get allocated each frame.
+            for (int index = 0; index < batchTextureList.size(); index++)
+            {
                 
                 // Draw the current texture in the loop.
-                drawBatch(texture.getTexture(), texture.getX(), texture.getY());
+                drawBatch(batchTextureList.get(index).getTexture(), batchTextureList.get(index).getX(), 
+                  batchTextureList.get(index).getY());
             
-            });
+            }
 
             // Loop through texture regions to render using batch.
-            batchTextureRegionList.forEach((textureRegion) -> {
+            for (int index = 0; index < batchTextureRegionList.size(); index++)
+            {
                 
                 // Draw the current texture region in the loop.
-                drawBatch(textureRegion.getTextureRegion(), textureRegion.getX(), textureRegion.getY());
+                drawBatch(batchTextureRegionList.get(index).getTextureRegion(), 
+                  batchTextureRegionList.get(index).getX(), batchTextureRegionList.get(index).getY());
                 
-            });
+            }
             
             // Finish batch.
             finishBatch();
             
         }
         
+        // Store the bytes allocated during the frame.
+        frameAllocatedBytes = AllocationProbe.read() - startBytes;
+        
+    }
+    
+    public long getFrameAllocatedBytes()
+    {
+        
+        // The function returns the bytes allocated by the render thread during the last call to render().
+        // Always zero when the Java runtime does not count allocations (see AllocationProbe).  Subclasses
+        // overriding render() set the value through setFrameAllocatedBytes().
+        return frameAllocatedBytes;
+        
+    }
+    
+    // bytes = Bytes allocated by the render thread during the last call to render().
+    protected void setFrameAllocatedBytes(long bytes)
+    {
+        // The function sets the bytes allocated by the render thread during the last call to render().
+        frameAllocatedBytes = bytes;
     }
 
     // Pause methods follow...
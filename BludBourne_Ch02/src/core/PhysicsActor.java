@@ -65,6 +65,7 @@ public class PhysicsActor extends AnimatedActor { // Extends the AnimatedActor c
     // addVelocityY:  Adds the passed y value to the velocity vector.
     // copy:  Copies properties from the passed to the current PhysicsActor.
     // clone:  Returns a PhysicsActor with the same properties as the current.
+    // reset:  Restores the defaults of every property set by copy(), so a pooled actor can be reused.
     // getMotionAngle:  Returns the angle related to the velocity (speed) vector.
     // getSpeed:  Returns the velocity (speed).
     // setAccelerationAS:  Sets the acceleration vector using the passed angle and speed.
@@ -78,10 +79,8 @@ public class PhysicsActor extends AnimatedActor { // Extends the AnimatedActor c
     // setVelocityX:  Sets the velocity vector using the passed x value.
     // setVelocityY:  Sets the velocity vector using the passed y value.
 
-    @SuppressWarnings("FieldMayBeFinal")
-    private Vector2 velocity; // Actor velocity (speed) in x and y directions.
-    @SuppressWarnings("FieldMayBeFinal")
-    private Vector2 acceleration; // Actor acceleration rate in x and y directions.
+    private final Vector2 velocity; // Actor velocity (speed) in x and y directions.
+    private final Vector2 acceleration; // Actor acceleration rate in x and y directions.
     private float maxSpeed; // Maximum velocity (speed).
     private float deceleration; // Actor deceleration rate in x and y directions.
     private boolean autoAngle; // Whether to rotate image to match velocity.
@@ -381,8 +380,8 @@ public class PhysicsActor extends AnimatedActor { // Extends the AnimatedActor c
         super.copy(original);
 
         // Copy velocity, acceleration, maximum speed, deceleration, and auto angle flag.
-        this.velocity     = new Vector2(original.velocity);
-        this.acceleration = new Vector2(original.acceleration);
+        this.velocity.set(original.velocity);
+        this.acceleration.set(original.acceleration);
         this.maxSpeed     = original.maxSpeed;
         this.deceleration = original.deceleration;
         this.autoAngle    = original.autoAngle;
@@ -395,6 +394,7 @@ public class PhysicsActor extends AnimatedActor { // Extends the AnimatedActor c
     {
 
         // The function returns a PhysicsActor with the same properties as the current.
+        // For actors spawned often, ActorPool.obtainCopy() reuses destroyed actors instead.
 
         PhysicsActor newbie; // PhysicsActor to which to copy properties.
 
@@ -409,4 +409,23 @@ public class PhysicsActor extends AnimatedActor { // Extends the AnimatedActor c
 
     }
 
-}
\ No newline at end of file
+    @Override
+    public void reset()
+    {
+
+        // The function restores the defaults of every property set by copy(), so a pooled actor can be
+        // reused.  Called by the pool when the actor gets freed.
+
+        // Restore the properties related to the associated AnimatedActor.
+        super.reset();
+
+        // Reset velocity, acceleration, maximum speed, deceleration, and auto angle flag.
+        velocity.set(0, 0);
+        acceleration.set(0, 0);
+        maxSpeed = 9999;
+        deceleration = 0;
+        autoAngle = false;
+
+    }
+
+}
@@ -0,0 +1,460 @@
+package screens;
+
+// LibGDX imports.
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+// LibGDX custom class imports.
+import core.AssetService;
+import core.BaseGame;
+import core.BaseScreen;
+
+/*
+Interface (implements) vs Sub-Class (extends)...
+
+The distinction is that implements means that you're using the elements of a Java Interface in your
+class, and extends means that you are creating a subclass of the class you are extending. You can
+only extend one class in your new class, but you can implement as many interfaces as you would like.
+
+Interface:  A Java interface is a bit like a class, except a Java interface can only contain method
+signatures and fields. An Java interface cannot contain an implementation of the methods, only the
+signature (name, parameters and exceptions) of the method. You can use interfaces in Java as a way
+to achieve polymorphism.
+
+Subclass: A Java subclass is a class which inherits a method or methods from a Java superclass.
+A Java class may be either a subclass, a superclass, both, or neither!
+
+Polymorphism:  Polymorphism is the ability of an object to take on many forms. The most common use
+of polymorphism in OOP occurs when a parent class reference is used to refer to a child class object.
+Any Java object that can pass more than one IS-A test is considered to be polymorphic.
+
+ArrayList supports dynamic arrays that can grow as needed.
+*/
+
+public class LoadingScreen extends BaseScreen { // Extends the BaseScreen class.
+    
+    /**
+    * The class extends the basic functionality of a BaseScreen class and loads the queued assets in the 
+    * background, drawing a progress bar, before handing over to the next screen.
+    * <br>
+    * <br>1.  Assets get queued through queue(), which acquires a handle to each from the shared AssetService.
+    * <br>2.  Each frame, update() advances loading within the time budget (see getBudgetMillis()), so the 
+    *     screen keeps drawing at the frame rate while assets stream in.
+    * <br>3.  Progress gets weighted by the size of each file, rather than the number of assets, so a large 
+    *     sprite sheet moves the bar more than a small sound.  Assets loaded on behalf of others (such as the
+    *     tileset images of a map) get resolved when queuing and weighted by their own files, each counted 
+    *     once, as each finishes loading.
+    * <br>4.  Once all assets finish loading, the next screen gets shown.  The next screen acquires its own 
+    *     references while showing, so the handles of the loading screen get released right after.
+    */
+    
+    /*
+    Methods include:
+
+    dispose:  Releases any handles still held and clears LibGDX resources from memory.
+    getBudgetMillis:  Returns the most time spent loading per frame, in milliseconds.
+    getProgress:  Returns the fraction of the queued bytes finished loading.
+    queue:  Queues the passed asset for loading, weighted by the sizes of its file and dependencies.
+    releaseHandles:  Releases the handles to the queued assets.
+    render:  Called every frame.  Advances loading (through update()) and draws the progress bar.
+    setBudgetMillis:  Sets the most time spent loading per frame, in milliseconds.
+    show:  Gets called when the screen becomes the current one for a Game.  Sets up the renderer and font
+      for the progress bar.
+    update:  Advances loading within the time budget and shows the next screen once finished.
+    weigh:  Adds the passed file to the weighted files, with the size of the file as its weight.
+    */
+    
+    // Declare constants.
+    private static final String TAG = LoadingScreen.class.getSimpleName(); // Class name.
+    private static final float BAR_HEIGHT = 20f; // Height of progress bar, in pixels.
+    private static final float BAR_WIDTH_RATIO = 0.6f; // Width of progress bar relative to window.
+    private static final int DEFAULT_BUDGET_MILLIS = 8; // Default time spent loading per frame -- half of 
+      // a frame at 60 frames per second.
+    private static final long MINIMUM_WEIGHT = 1L; // Smallest weight of an asset, so empty files count.
+    
+    // Declare object variables.
+    
+    /** Assets loaded on behalf of the asset being queued (reused, so queuing creates less garbage). */
+    private final Array<AssetDescriptor> _dependencies;
+    
+    /** Font used for the percentage text. */
+    private BitmapFont _font;
+    
+    /** Handles to the queued assets. */
+    private final Array<AssetService.Handle<?>> _handles;
+    
+    /** Screen shown once loading finishes. */
+    private final Screen _nextScreen;
+    
+    /** Path of each weighted file -- the queued assets and their dependencies, each once.  Parallel to 
+    _sizes and _types. */
+    private final Array<String> _paths;
+    
+    /** Renderer drawing the progress bar. */
+    private ShapeRenderer _shapes;
+    
+    /** Size (bytes) of each weighted file.  Parallel to _paths and _types. */
+    private final LongArray _sizes;
+    
+    /** Text drawn above the progress bar (reused, so refreshing creates no garbage). */
+    private final StringBuilder _text;
+    
+    /** Type loaded from each weighted file.  Parallel to _paths and _sizes. */
+    private final Array<Class<?>> _types;
+    
+    // Declare regular variables.
+    
+    /** Most time spent loading per frame, in milliseconds. */
+    private int _budgetMillis;
+    
+    /** Whether loading finished and the next screen got shown. */
+    private boolean _finished;
+    
+    /** Fraction of the queued bytes finished loading, as of the last update(). */
+    private float _progress;
+    
+    /** Total size (bytes) of the weighted files. */
+    private long _totalBytes;
+    
+    /**
+     * 
+     * The constructor calls the BaseScreen constructor and sets defaults.
+     * 
+     * @param g  Reference to base game.
+     * @param windowWidth  Width to use for stages.
+     * @param windowHeight  Height to use for stages.
+     * @param nextScreen  Screen shown once loading finishes.
+     */
+    
+    // g = Reference to base game.
+    // windowWidth = Width to use for stages.
+    // windowHeight = Height to use for stages.
+    // nextScreen = Screen shown once loading finishes.
+    public LoadingScreen(BaseGame g, int windowWidth, int windowHeight, Screen nextScreen)
+    {
+        
+        // The constructor calls the BaseScreen constructor and sets defaults.
+        
+        // Call the constructor for the BaseScreen (parent / super) class.
+        super(g, windowWidth, windowHeight);
+        
+        // Set defaults.
+        _budgetMillis = DEFAULT_BUDGET_MILLIS;
+        _dependencies = new Array<>();
+        _finished = false;
+        _font = null;
+        _handles = new Array<>();
+        _nextScreen = nextScreen;
+        _paths = new Array<>();
+        _progress = 0f;
+        _shapes = null;
+        _sizes = new LongArray();
+        _text = new StringBuilder();
+        _totalBytes = 0L;
+        _types = new Array<>();
+        
+    }
+    
+    // Getters and setters below...
+    
+    /**
+     * 
+     * @return  Most time spent loading per frame, in milliseconds.
+     */
+    public int getBudgetMillis()
+    {
+        // The function returns the most time spent loading per frame, in milliseconds.
+        return _budgetMillis;
+    }
+    
+    /**
+     * 
+     * @return  Fraction (0 to 1) of the queued bytes finished loading, as of the last update().
+     */
+    public float getProgress()
+    {
+        // The function returns the fraction of the queued bytes finished loading.
+        return _progress;
+    }
+    
+    /**
+     * 
+     * @param budgetMillis  Most time spent loading per frame, in milliseconds.  A single step (such as 
+     * uploading one texture) may run longer.
+     */
+    
+    // budgetMillis = Most time spent loading per frame, in milliseconds.
+    public void setBudgetMillis(int budgetMillis)
+    {
+        // The function sets the most time spent loading per frame, in milliseconds.
+        _budgetMillis = Math.max(1, budgetMillis);
+    }
+    
+    // Methods below...
+    
+    /**
+     * 
+     * The function queues the passed asset for loading, weighted by the size of its file.  The assets 
+     * loaded on its behalf (such as the tileset images of a map) get resolved through the loader and 
+     * weighted by the sizes of their own files.  Files already weighted (shared by several queued assets) 
+     * count once.  Missing files get skipped.  Call before the screen gets shown.
+     * 
+     * @param path  Path of the asset, relative to the working directory.
+     * @param type  Type of the asset.
+     */
+    
+    // path = Path of the asset, relative to the working directory.
+    // type = Type of the asset.
+    public void queue(String path, Class<?> type)
+    {
+        
+        /*
+        The function queues the passed asset for loading, weighted by the size of its file.  The assets 
+        loaded on its behalf get resolved through the loader and weighted by the sizes of their own files.
+        Files already weighted count once.
+        */
+        
+        // If file missing, then skip.
+        if ( !Gdx.files.internal(path).exists() )
+        {
+            Gdx.app.debug(TAG, "Asset doesn't exist, not queued: " + path);
+            return;
+        }
+        
+        // Resolve the dependencies before queuing, while the asset manager is idle.
+        _dependencies.clear();
+        AssetService.SHARED.resolveDependencies(path, type, _dependencies);
+        
+        // Acquire a handle (queuing the asset) and weight its file.
+        _handles.add(AssetService.SHARED.acquire(path, type));
+        weigh(path, type);
+        
+        // Loop through dependencies, weighting each file.
+        for ( AssetDescriptor dependency : _dependencies )
+            weigh(dependency.fileName, dependency.type);
+        
+        _dependencies.clear();
+        
+    }
+    
+    /**
+     * The method gets called when the screen becomes the current one for a Game.  The method sets up the 
+     * renderer and font for the progress bar.
+     */
+    @Override
+    public void show()
+    {
+        
+        // The method gets called when the screen becomes the current one for a Game.  The method sets up the
+        // renderer and font for the progress bar.
+        
+        _shapes = new ShapeRenderer();
+        _font = new BitmapFont();
+        
+    }
+    
+    /**
+     * 
+     * The render() method will be called every frame.  The BaseScreen render() advances loading (through 
+     * update()) and draws the stages, and then the progress bar and percentage get drawn over the center of
+     * the screen.
+     * 
+     * @param dt  Time span between the current and last frame in seconds.  Passed / populated automatically.
+     */
+    
+    // dt = Time span between the current and last frame in seconds.  Passed / populated automatically.
+    @Override
+    public void render(float dt)
+    {
+        
+        // The render() method will be called every frame.  The BaseScreen render() advances loading and draws
+        // the stages, and then the progress bar and percentage get drawn.
+        
+        float barWidth; // Width of the progress bar, in pixels.
+        float barX; // X-coordinate of the progress bar, in pixels.
+        float barY; // Y-coordinate of the progress bar, in pixels.
+        
+        // Advance loading and draw the stages.
+        super.render(dt);
+        
+        // If the next screen got shown during the frame, then skip drawing.
+        if ( _finished )
+            return;
+        
+        // Center the bar in the window.
+        barWidth = Gdx.graphics.getWidth() * BAR_WIDTH_RATIO;
+        barX = (Gdx.graphics.getWidth() - barWidth) / 2f;
+        barY = (Gdx.graphics.getHeight() - BAR_HEIGHT) / 2f;
+        
+        // Draw the outline, then the filled part of the bar.
+        _shapes.begin(ShapeRenderer.ShapeType.Line);
+        _shapes.setColor(Color.WHITE);
+        _shapes.rect(barX, barY, barWidth, BAR_HEIGHT);
+        _shapes.end();
+        
+        _shapes.begin(ShapeRenderer.ShapeType.Filled);
+        _shapes.setColor(Color.WHITE);
+        _shapes.rect(barX, barY, barWidth * _progress, BAR_HEIGHT);
+        _shapes.end();
+        
+        // Draw the percentage above the bar.
+        _text.setLength(0);
+        _text.append("Loading ").append((int)(_progress * 100f)).append('%');
+        
+        batch.begin();
+        _font.draw(batch, _text, barX, barY + BAR_HEIGHT * 2f);
+        batch.end();
+        
+    }
+    
+    /**
+     * 
+     * The function advances loading within the time budget, updates the progress by bytes, and shows the
+     * next screen once all queued assets finish loading.  The handles of the loading screen get released
+     * after the next screen shows (and acquires its own references).
+     * 
+     * @param dt  Time span between the current and last frame in seconds.  Passed / populated automatically.
+     */
+    
+    // dt = Time span between the current and last frame in seconds.  Passed / populated automatically.
+    @Override
+    public void update(float dt)
+    {
+        
+        /*
+        The function advances loading within the time budget, updates the progress by bytes, and shows the
+        next screen once all queued assets finish loading.  The handles of the loading screen get released
+        after the next screen shows (and acquires its own references).
+        */
+        
+        boolean done; // Whether the asset manager finished its queue.
+        long loadedBytes; // Size (bytes) of the weighted files finished loading.
+        
+        // If already finished, then exit.
+        if ( _finished )
+            return;
+        
+        // Advance loading within the time budget.
+        done = AssetService.SHARED.update(_budgetMillis);
+        
+        // Add the sizes of the weighted files finished loading -- dependencies count as each completes.
+        loadedBytes = 0L;
+        
+        for (int index = 0; index < _paths.size; index++)
+        {
+            
+            // If loaded, then count the size of its file.
+            if ( AssetService.SHARED.isLoaded(_paths.get(index), _types.get(index)) )
+                loadedBytes += _sizes.get(index);
+            
+        }
+        
+        // Store the fraction of the bytes loaded (all done when nothing got queued).
+        _progress = _totalBytes == 0L ? 1f : (float)((double)loadedBytes / _totalBytes);
+        
+        // If assets remain, then wait for the next frame.  The queue of the asset manager decides, rather 
+        // than the bytes, so a dependency resolved under another path cannot hold up the next screen.
+        if ( !done )
+            return;
+        
+        // Show the next screen, which acquires its own references to the assets it uses.
+        _finished = true;
+        _progress = 1f;
+        game.setScreen(_nextScreen);
+        
+        // Release the handles of the loading screen.
+        releaseHandles();
+        
+    }
+    
+    /**
+     * The method releases any handles still held and clears LibGDX resources from memory.
+     */
+    @Override
+    public void dispose()
+    {
+        
+        // The method releases any handles still held and clears LibGDX resources from memory.
+        
+        releaseHandles();
+        
+        // If shown, then clear the renderer and font.
+        if ( _shapes != null )
+        {
+            _shapes.dispose();
+            _font.dispose();
+        }
+        
+        disposeManual(); // Clear stages from memory.
+        batch.dispose(); // Clear batch from memory.
+        
+    }
+    
+    /**
+     * 
+     * The function releases the handles to the queued assets.  Assets also referenced elsewhere (such as by
+     * the next screen) stay loaded.
+     */
+    private void releaseHandles()
+    {
+        
+        // The function releases the handles to the queued assets.
+        
+        for (int index = 0; index < _handles.size; index++)
+        {
+            _handles.get(index).release();
+        }
+        
+        _handles.clear();
+        _paths.clear();
+        _sizes.clear();
+        _types.clear();
+        
+    }
+    
+    /**
+     * 
+     * The function adds the passed file to the weighted files, with the size of the file as its weight.
+     * Files already weighted get skipped, so files shared by several assets count once.
+     * 
+     * @param path  Path of the file, relative to the working directory.
+     * @param type  Type loaded from the file.
+     */
+    
+    // path = Path of the file, relative to the working directory.
+    // type = Type loaded from the file.
+    private void weigh(String path, Class<?> type)
+    {
+        
+        // The function adds the passed file to the weighted files, with the size of the file as its weight.
+        
+        FileHandle file; // File to weigh.
+        long size; // Weight of the file (size, in bytes).
+        
+        // If already weighted with the same type, then skip.
+        for (int index = 0; index < _paths.size; index++)
+        {
+            
+            if ( _paths.get(index).equals(path) && _types.get(index) == type )
+                return;
+            
+        }
+        
+        file = Gdx.files.internal(path);
+        size = Math.max(MINIMUM_WEIGHT, file.exists() ? file.length() : 0L);
+        
+        // Store the weight.
+        _paths.add(path);
+        _sizes.add(size);
+        _types.add(type);
+        _totalBytes += size;
+        
+    }
+    
+}
@@ -2,24 +2,41 @@ package screens;
 
 // LibGDX imports.
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.MapLayer;
-import com.badlogic.gdx.maps.MapObject;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
 
 // LibGDX custom class imports.
+import core.AllocationProbe;
+import core.AssetService;
 import core.BaseGame;
 import core.BaseScreen;
 
 // Local project imports.
 import bludbourne_ch02.Entity;
+import bludbourne_ch02.EntityStore;
+import bludbourne_ch02.FixedStepClock;
+import bludbourne_ch02.FrameProfiler;
+import bludbourne_ch02.InputRecording;
 import bludbourne_ch02.MapManager;
+import bludbourne_ch02.ParallelEntityUpdater;
 import bludbourne_ch02.PlayerController;
+import bludbourne_ch02.PortalTable;
+
+// Java imports.
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
 
 /*
 Interface (implements) vs Sub-Class (extends)...
@@ -72,33 +89,86 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
     
     Methods include:
 
-    dispose:  Clears LibGDX resources from memory.
+    advanceStep:  Advances the game logic by one fixed step, then background loading and chunk streaming
+      around the player.
+    checkAllocations:  Walks the player around each map, from the next show() on, checking that 
+      steady-state frames allocate nothing, then exits.
+    checkStep:  Advances the allocation check by one frame.
+    dispose:  Clears LibGDX resources from memory.  Saves the input recording, if recording, and the
+      frame phase timings.
+    drawOverlay:  Draws the frame phase timings and asset memory over the screen, refreshing the text twice
+      per second.
+    enterMap:  Loads the passed map, resets the player position, and sets the map to be rendered.
+    finishRecording:  Stores the step count and final player position in the input recording and writes it.
+    getAllocationCheckFailed:  Returns whether the allocation check failed.
+    getMapManager:  Returns the map manager loading the maps of the game.
+    getNpcStore:  Returns the store holding the non-player characters of the current map.
+    getProfiler:  Returns the profiler timing the phases of each frame.
+    getReplayFailed:  Returns whether the replay diverged from the recorded final player position.
     hide:  * Provided by BaseScreen *
-    isCollisionWithMapLayer:  Returns whether a collision occurs with the player hitbox and an object in 
-      the collision layer of the current map, excluding portals.
     pause:  * Provided by BaseScreen *
-    render:  Called every frame and acts as the primary location for rendering, updating, and checking 
-      for collisions in the game lifecycle.
-    resize:  * Provided by BaseScreen *
+    percentile:  Returns the passed percentile of the sorted step times.
+    recordInput:  Records the player input, from the next show() on, to the passed file.
+    render:  Called every frame.  Runs the simulation steps owed for the frame and draws the map and player,
+      blending the player position between the last two steps.  Stores the bytes allocated by the frame.
+    releaseDirections:  Releases the four direction keys held by the allocation check.
+    resize:  Adjusts the stages and the timing overlay batch whenever the window size changes.
     resume:  * Provided by BaseScreen *
+    replay:  Runs every step of the input recording as fast as possible, without drawing, then reports the 
+      step time percentiles and whether the final player position matches, and exits.
+    replayInput:  Replays the player input recorded in the passed file, from the next show() on, in place of
+      live input.
     setupViewport:  Computes the number of tiles to display in the application window (viewport).
+    simulate:  Runs the passed number of simulation steps without drawing.  Supports running the game 
+      headless, faster than real time.
     show:  Gets called when the screen becomes the current one for a Game.  The method sets up the viewport, 
       camera, orthogonal tile map renderer, player, and controller.
+    step:  Advances the game logic (input, player movement, collisions, portals, and non-player characters) 
+      by one fixed step.
     update:  Occurs during the update phase (render method) and currently merely exists to override 
       the similarly named function in the BaseScreen parent class.  Does nothing.
-    updatePortalLayerActivation:  Returns whether a collision occurs with the player hitbox and an object
-      in the portal collision layer of the current map.  When a collision occurs, the method moves the 
-      player to the starting position in the target map.
+    updatePortalLayerActivation:  Returns whether the player hitbox entered an object in the portal 
+      collision layer of the current map.  When a portal gets entered, the method moves the player to the
+      starting position in the target map.
+    writeProfile:  Writes the frame phase timings to PROFILE_FILE.
     */
     
     // Declare constants.
     private static final String TAG = MainGameScreen.class.getSimpleName(); // Class name.
+    private static final int CHECK_FRAMES = 300; // Frames measured per map by the allocation check.
+    private static final String[] CHECK_MAPS = {"TOWN", "TOP_WORLD", "CASTLE_OF_DOOM"}; // Maps walked by 
+      // the allocation check.
+    private static final int CHECK_TURN_FRAMES = 45; // Frames between turns while walking the allocation check.
+    private static final int CHECK_WARMUP_FRAMES = 120; // Frames ignored per map by the allocation check, 
+      // while loading settles and caches fill.
+    private static final float OVERLAY_MARGIN = 8f; // Distance of timing overlay from the top left, in pixels.
+    private static final float OVERLAY_REFRESH = 0.5f; // Seconds between timing overlay refreshes.
+    private static final int OVERLAY_TOGGLE_KEY = Input.Keys.F3; // Key showing and hiding timing overlay.
+    private static final String PROFILE_FILE = "frame_profile.txt"; // Local file for timings, on exit.
 
     // Declare object variables.
     
     /** Camera to use with Tiled map. */
     private OrthographicCamera _camera;
     
+    /** Whether to walk the player around each map, checking that steady-state frames allocate nothing. */
+    private boolean _checkAllocations;
+    
+    /** Bytes allocated by the measured frames on the map under the allocation check. */
+    private long _checkBytes;
+    
+    /** Whether the allocation check failed (a map allocated, or the Java runtime counts no allocations). */
+    private boolean _checkFailed;
+    
+    /** Frames drawn on the map under the allocation check. */
+    private int _checkFrame;
+    
+    /** Index (in CHECK_MAPS) of the map under the allocation check. */
+    private int _checkMap;
+    
+    /** Clock turning frame times into fixed length simulation steps. */
+    private FixedStepClock _clock;
+    
     /** Reference to the player input class. */
     private PlayerController _controller;
     
@@ -106,8 +176,8 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
      * Updated in setDirection() method in Entity. */
     private TextureRegion _currentPlayerFrame;
     
-    /** Sprite for the player, used only for positional details.  Contains only first animation frame. */
-    private Sprite _currentPlayerSprite;
+    /** Position (tiles) at which to draw the player, blended between the last two simulation steps. */
+    private Vector2 _drawPosition;
     
     /** Reference to the map manager class. */
     private static MapManager _mapMgr;
@@ -115,9 +185,45 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
     /** Renderer to use with Tiled map. */
     private OrthogonalTiledMapRenderer _mapRenderer;
     
+    /** Store holding the positional state of the non-player characters of the current map. */
+    private EntityStore _npcStore;
+    
+    /** Updater advancing the non-player characters in _npcStore, spread across cores. */
+    private ParallelEntityUpdater _npcUpdater;
+    
+    /** Seconds since the timing overlay text got refreshed. */
+    private float _overlayAge;
+    
+    /** Batch drawing the timing overlay, in screen coordinates. */
+    private SpriteBatch _overlayBatch;
+    
+    /** Font used for the timing overlay. */
+    private BitmapFont _overlayFont;
+    
+    /** Text of the timing overlay (reused, so refreshing creates no garbage). */
+    private StringBuilder _overlayText;
+    
     /** Reference to the entity class for the player. */
     private static Entity _player;
     
+    /** Profiler timing the phases of each frame (and simulation step). */
+    private FrameProfiler _profiler;
+    
+    /** File to which to write the input recording.  Null when not recording. */
+    private FileHandle _recordFile;
+    
+    /** Input recording being filled.  Null when not recording. */
+    private InputRecording _recording;
+    
+    /** Input recording to replay.  Null when not replaying. */
+    private InputRecording _replay;
+    
+    /** Whether the replay diverged from the recorded final player position. */
+    private boolean _replayFailed;
+    
+    /** Whether to draw the timing overlay.  Toggled with OVERLAY_TOGGLE_KEY. */
+    private boolean _showOverlay;
+    
     /**
      * 
      * The constructor calls the BaseScreen constructor, sets defaults, and initializes the map manager.
@@ -154,7 +260,26 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
 
         // Set defaults.
         _camera = null;
+        _checkAllocations = false;
+        _checkBytes = 0L;
+        _checkFailed = false;
+        _checkFrame = 0;
+        _checkMap = 0;
         _mapRenderer = null;
+        _clock = new FixedStepClock();
+        _drawPosition = new Vector2();
+        _npcStore = new EntityStore();
+        _npcUpdater = new ParallelEntityUpdater(_npcStore);
+        _recordFile = null;
+        _recording = null;
+        _replay = null;
+        _replayFailed = false;
+        _profiler = new FrameProfiler();
+        _overlayText = new StringBuilder();
+        _overlayAge = OVERLAY_REFRESH; // Refresh the overlay text when first drawn.
+        _overlayBatch = null;
+        _overlayFont = null;
+        _showOverlay = false;
 
         // Initialize map manager.
         _mapMgr = new MapManager();
@@ -201,8 +326,130 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
         
     }
 	
+    // Getters and setters below...
+    
+    /**
+     * 
+     * @return  Whether the allocation check failed (a map allocated during steady-state frames, or the Java
+     * runtime does not count allocations, so nothing got measured).
+     */
+    public boolean getAllocationCheckFailed()
+    {
+        // The function returns whether the allocation check failed.
+        return _checkFailed;
+    }
+    
+    /**
+     * 
+     * @return  Map manager loading the maps of the game.
+     */
+    public MapManager getMapManager()
+    {
+        // The function returns the map manager loading the maps of the game.
+        return _mapMgr;
+    }
+    
+    /**
+     * 
+     * @return  Store holding the positional state of the non-player characters of the current map.  Entities
+     * created with the store get moved (and stopped by the collision layer) during each simulation step.
+     */
+    public EntityStore getNpcStore()
+    {
+        // The function returns the store holding the non-player characters of the current map.
+        return _npcStore;
+    }
+    
+    /**
+     * 
+     * @return  Profiler timing the phases of each frame.  Reports the percentiles and maximum per phase.
+     */
+    public FrameProfiler getProfiler()
+    {
+        // The function returns the profiler timing the phases of each frame.
+        return _profiler;
+    }
+    
+    /**
+     * 
+     * @return  Whether the replay diverged from the recorded final player position.
+     */
+    public boolean getReplayFailed()
+    {
+        // The function returns whether the replay diverged from the recorded final player position.
+        return _replayFailed;
+    }
+    
     // Methods below...
     
+    /**
+     * 
+     * The function walks the player around each map in CHECK_MAPS, from the next show() on, checking that
+     * steady-state frames allocate nothing.  Per map, the first CHECK_WARMUP_FRAMES frames get ignored, 
+     * then the bytes allocated by the render thread over CHECK_FRAMES frames get summed and logged.  Portals
+     * do not switch maps during the check.  Once done, the application exits (see 
+     * getAllocationCheckFailed()).
+     */
+    public void checkAllocations()
+    {
+        // The function walks the player around each map, checking that steady-state frames allocate nothing.
+        _checkAllocations = true;
+    }
+    
+    /**
+     * 
+     * The function records the player input, from the next show() on, to the passed file.  The recording
+     * gets written when the screen gets disposed, along with the step count and final player position.
+     * 
+     * @param file  File to which to write the input recording.
+     */
+    
+    // file = File to which to write the input recording.
+    public void recordInput(FileHandle file)
+    {
+        // The function records the player input, from the next show() on, to the passed file.
+        _recordFile = file;
+    }
+    
+    /**
+     * 
+     * The function replays the player input recorded in the passed file, from the next show() on, in place
+     * of live input.  The replay runs as fast as possible without drawing, reports the step time 
+     * percentiles, and exits the application.
+     * 
+     * @param file  File containing the input recording to replay.
+     */
+    
+    // file = File containing the input recording to replay.
+    public void replayInput(FileHandle file)
+    {
+        
+        // The function replays the player input recorded in the passed file, from the next show() on.
+        
+        InputStream stream; // Stream reading the recording.
+        
+        // Open the file.
+        stream = file.read();
+        
+        try
+        {
+            // Read the recording.
+            _replay = InputRecording.read(stream);
+        }
+        
+        catch (IOException e)
+        {
+            throw new GdxRuntimeException("Unable to read input recording: " + file.path(), e);
+        }
+        
+        finally
+        {
+            // Close the stream.
+            StreamUtils.closeQuietly(stream);
+        }
+        
+    }
+    
     /**
      * The method gets called when the screen becomes the current one for a Game.  The method sets up the
      * viewport, camera, orthogonal tile map renderer, player, and controller.
@@ -261,6 +508,10 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
         
         // Display scale.
         Gdx.app.debug(TAG, "UnitScale value is: " + _mapRenderer.getUnitScale());
+        
+        // Set up the batch and font for the timing overlay, drawn in screen coordinates.
+        _overlayBatch = new SpriteBatch();
+        _overlayFont = new BitmapFont();
 
         /*
         MainGameScreen will also contain a static instance of Entity that represents the
@@ -276,27 +527,46 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
         // Set next position to same value.
         _player.init(_mapMgr.getPlayerStartUnitScaled().x, _mapMgr.getPlayerStartUnitScaled().y);
         
-        // Initialize player positional sprite (vs current animation).
-        _currentPlayerSprite = _player.getFrameSprite();
+        // Start drawing the player at the starting position.
+        _drawPosition.set(_player.getCurrentPosition());
+        
+        // Start the simulation clock with no time owed.
+        _clock.reset();
 
         // Initialize player input object.
         _controller = new PlayerController(_player);
         
         // Configure to process all input events with an InputProcessor.
         Gdx.input.setInputProcessor(_controller);
+        
+        // If replaying, then feed the recorded input to the controller in place of live input.
+        if ( _replay != null )
+        {
+            _controller.startReplay(_replay);
+        }
+        
+        // Otherwise, if recording, then record the input applied by the controller.
+        else if ( _recordFile != null )
+        {
+            _recording = new InputRecording(_clock.getStepDuration());
+            _controller.startRecording(_recording);
+        }
+        
+        // Recordings and replays stream chunks per step, blocking, so collisions never depend on timing.
+        _mapMgr.setBlockingStreaming(_replay != null || _recordFile != null);
     
     }
 
     /**
      * 
-     * The render() method will be called every frame, and is the primary location for rendering, 
-     * updating, and checking for collisions in the game lifecycle.  First, lock the viewport 
-     * (camera location) to the current position of the player character.  Locking ensures that
-     * the player is always in the middle of the screen.  Then, check whether the player has 
-     * activated a portal, which will be handled with the MapManager class.  Also, check for 
-     * collisions with the related layer of the map.  If any collisions occur, then do not update
-     * the position of the player.  Update the camera information in the OrthogonalTiledMapRenderer 
-     * object and then render the TiledMap object first (due to ordering requirements).
+     * The render() method will be called every frame, and is the primary location for rendering.  The 
+     * game logic (updating and checking for collisions) runs in fixed length steps, separate from the 
+     * frame rate.  First, run the simulation steps owed for the time passed (see FixedStepClock).  Then, 
+     * lock the viewport (camera location) to the player position blended between the last two steps.  
+     * Locking ensures that the player is always in the middle of the screen, and blending keeps movement
+     * smooth when the frame rate differs from the step rate.  Update the camera information in the 
+     * OrthogonalTiledMapRenderer object and then render the TiledMap object first (due to ordering 
+     * requirements).
      * 
      * @param delta  Time span between the current and last frame in seconds.  Passed / populated automatically.
      */
@@ -307,60 +577,124 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
     {
 
         /*
-        The render() method will be called every frame, and is the primary location for rendering, 
-        updating, and checking for collisions in the game lifecycle.  First, lock the viewport 
-        (camera location) to the current position of the player character.  Locking ensures that
-        the player is always in the middle of the screen.  Then, check whether the player has 
-        activated a portal, which will be handled with the MapManager class.  Also, check for 
-        collisions with the related layer of the map.  If any collisions occur, then do not update
-        the position of the player.  Update the camera information in the OrthogonalTiledMapRenderer 
-        object and then render the TiledMap object first (due to ordering requirements).
+        The render() method will be called every frame, and is the primary location for rendering.  The 
+        game logic (updating and checking for collisions) runs in fixed length steps, separate from the 
+        frame rate.  First, run the simulation steps owed for the time passed (see FixedStepClock).  Then, 
+        lock the viewport (camera location) to the player position blended between the last two steps.  
+        Locking ensures that the player is always in the middle of the screen, and blending keeps movement
+        smooth when the frame rate differs from the step rate.  Update the camera information in the 
+        OrthogonalTiledMapRenderer object and then render the TiledMap object first (due to ordering 
+        requirements).
+        
+        Each phase gets timed by the profiler.  The timing overlay gets drawn last, when toggled on.  The 
+        bytes allocated by the frame get stored (see getFrameAllocatedBytes()).
         */
         
+        long startBytes; // Bytes allocated by the render thread before the frame.
+        int steps; // Number of simulation steps to run during the frame.
+        
+        // If replaying, then run the recording as fast as possible, without drawing.
+        if ( _replay != null )
+        {
+            replay();
+            return;
+        }
+        
+        // If the overlay key got pressed, then show or hide the timing overlay.
+        if ( Gdx.input.isKeyJustPressed(OVERLAY_TOGGLE_KEY) )
+        {
+            _showOverlay = !_showOverlay;
+        }
+        
+        // Read the allocation counter of the render thread.
+        startBytes = AllocationProbe.read();
+        
+        _profiler.begin(FrameProfiler.Phase.FRAME);
+        
         // Overdraw the area with the given glClearColor.
         Gdx.gl.glClearColor(0, 0, 0, 1);
         
         // Clear the area using the specified buffer.  Supports multiple buffers.
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Preferable to lock and center the _camera to the pixel position of the player.
-        _camera.position.set(_currentPlayerSprite.getX(), _currentPlayerSprite.getY(), 0f);
+        // Add the frame time to the clock and get the number of steps owed (within the catch-up limits).
+        steps = _clock.advance(delta);
         
-        // Recalculate the projection and view matrix of the camera.
-        _camera.update();
-
-        // Adjust frame time to smooth animation.
-        // Reduce player hitbox height to half for a better feel.
-        _player.update(delta);
+        // Loop through steps owed.
+        for (int counter = 0; counter < steps; counter++)
+        {
+            
+            // If recording, then...
+            if ( _recording != null )
+            {
+                // Advance the game logic and chunk streaming by one fixed step, as replays do.
+                advanceStep(_clock.getStepDuration());
+            }
+            
+            else
+            {
+                // Advance the game logic by one fixed step.
+                step(_clock.getStepDuration());
+            }
+            
+        }
+        
+        _profiler.begin(FrameProfiler.Phase.CAMERA);
         
         // Get current animation frame for player.
         _currentPlayerFrame = _player.getFrame();
         
-        // Determine whether a collision occurs with the player hitbox and an object in the portal 
-        // collision layer of the current map.  When a collision occurs, move the player to the 
-        // starting position in the target map.
-        updatePortalLayerActivation(_player.boundingBox);
-
-        // If player hitbox NOT intersecting object in collision map layer, then...
-        if( !isCollisionWithMapLayer(_player.boundingBox) )
-            {
-            // Player hitbox NOT intersecting object in collision map layer.
-                
-            // Sets the current player position to the next.
-            _player.setNextPositionToCurrent();
-            }
+        // Blend the player position between the last two steps, by the fraction of a step left over.
+        _player.getInterpolatedPosition(_clock.getAlpha(), _drawPosition);
         
-        // Process cached input (keyboard and mouse).
-        _controller.update(delta);
+        // Preferable to lock and center the _camera to the pixel position of the player.
+        _camera.position.set(_drawPosition.x, _drawPosition.y, 0f);
+        
+        // Recalculate the projection and view matrix of the camera.
+        _camera.update();
+        
+        _profiler.end(FrameProfiler.Phase.CAMERA);
 
+        // If not recording (streaming per step), then...
+        if ( _recording == null )
+        {
+            
+            _profiler.begin(FrameProfiler.Phase.STREAMING);
+            
+            // Advance background loading of maps reachable through the portals of the current map, 
+            // within a fixed time budget.  In a chunked world, stream the chunks around the camera.
+            _mapMgr.update(_camera.position.x, _camera.position.y);
+            
+            _profiler.end(FrameProfiler.Phase.STREAMING);
+            
+        }
+        
         //_mapRenderer.getBatch().enableBlending();
         //_mapRenderer.getBatch().setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
-        // Sets the projection matrix for rendering, as well as the bounds of the map which should be rendered.
-        _mapRenderer.setView(_camera);
+        _profiler.begin(FrameProfiler.Phase.MAP_RENDER);
+        
+        // If in a chunked world, then render the resident chunks.
+        if ( _mapMgr.getCurrentWorld() != null )
+            _mapMgr.getCurrentWorld().render(_mapRenderer, _camera);
         
-        // Render the map.
-        _mapRenderer.render();
+        else
+        {
+            
+            // Sets the projection matrix for rendering, as well as the bounds of the map which should be rendered.
+            _mapRenderer.setView(_camera);
+
+            // If tile layers flattened into chunks, then draw one quad per visible chunk.
+            if ( _mapMgr.getFlattenedLayers().isBuilt() )
+                _mapMgr.getFlattenedLayers().render(_mapRenderer.getBatch(), _camera, _mapRenderer.getUnitScale());
+            
+            else
+                // Render the map.
+                _mapRenderer.render();
+            
+        }
+        
+        _profiler.end(FrameProfiler.Phase.MAP_RENDER);
 
         /*
         Draw the character to the screen, making sure to use the getBatch() call for when numerous 
@@ -372,24 +706,67 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
         determines which animation frame to display.
         */
         
+        _profiler.begin(FrameProfiler.Phase.SPRITE_BATCH);
+        
         // Set up batch for drawing.
         _mapRenderer.getBatch().begin();
         
         // Add command to batch to draw passed texture region (for player) at specified coordinates.
-        _mapRenderer.getBatch().draw(_currentPlayerFrame, _currentPlayerSprite.getX(), _currentPlayerSprite.getY(), 1,1);
+        _mapRenderer.getBatch().draw(_currentPlayerFrame, _drawPosition.x, _drawPosition.y, 1,1);
         
         // Finish batch-related rendering.
         _mapRenderer.getBatch().end();
         
+        _profiler.end(FrameProfiler.Phase.SPRITE_BATCH);
+        
+        // If toggled on, then draw the frame phase timings over the screen.
+        if ( _showOverlay )
+        {
+            drawOverlay(delta);
+        }
+        
+        _profiler.end(FrameProfiler.Phase.FRAME);
+        
+        // Store the bytes allocated during the frame.
+        setFrameAllocatedBytes(AllocationProbe.read() - startBytes);
+        
+        // If checking allocations, then advance the walk (outside the measured frame).
+        if ( _checkAllocations )
+        {
+            checkStep();
+        }
+        
     }
 
-    /*
+    /**
+     * 
+     * The method adjusts the stages (through the BaseScreen resize()) and the timing overlay batch whenever
+     * the window size changes, so the overlay stays anchored to the top-left corner in screen pixels.
+     * 
+     * @param width  Current window width.
+     * @param height  Current window height.
+     */
+    
+    // width = Current window width.
+    // height = Current window height.
     @Override
     public void resize(int width, int height)
     {
-
+        
+        // The method adjusts the stages and the timing overlay batch whenever the window size changes.
+        
+        // Adjust the viewports of the stages.
+        super.resize(width, height);
+        
+        // If shown, then match the overlay projection to the window, in screen pixels.
+        if ( _overlayBatch != null )
+        {
+            _overlayBatch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+        }
+        
     }
 
+    /*
     @Override
     public void pause() 
     {
@@ -410,11 +787,30 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
     public void dispose()
     {
         
-        // The method clears LibGDX resources from memory and disables the input processor.
+        // The method clears LibGDX resources from memory and disables the input processor.  Saves the input 
+        // recording, if recording, and the frame phase timings.
+        
+        // If never shown (application closed while loading), then nothing to clear.
+        if ( _player == null )
+        {
+            return;
+        }
+        
+        // If recording, then save the recording.
+        if ( _recording != null )
+        {
+            finishRecording();
+        }
+        
+        // Save the frame phase timings.
+        writeProfile();
         
         _player.dispose(); // Clear the texture associated with the player from memory.
         _controller.dispose(); // Clear resources associated with the input processor from memory.
         _mapRenderer.dispose(); // Clear TiledMap renderer from memory.
+        _mapMgr.getFlattenedLayers().clear(); // Clear flattened tile layer textures from memory.
+        _overlayBatch.dispose(); // Clear timing overlay batch from memory.
+        _overlayFont.dispose(); // Clear timing overlay font from memory.
         
         Gdx.input.setInputProcessor(null); // Disable input processor.
         
@@ -549,261 +945,560 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
 
     /**
      * 
-     * The method returns whether a collision occurs with the player hitbox and an 
-     * object in the collision layer of the current map, excluding portals.
+     * The method returns whether the player hitbox entered an object in the portal 
+     * collision layer of the current map.  When a portal gets entered, the method moves
+     * the player to the starting position in the target map.
      * <br><br> 
-     * The isCollisionWithMapLayer() method is called for every frame in the render()
-     * method with the bounding box of the player character passed.  The bounding box 
-     * acts as the rectangle that defines the hitbox of the player.  The method tests
-     * the player hitbox against all rectangle objects on the collision layer of the 
-     * TiledMap map.  If any of the rectangles overlap, then a collision occurred.
+     * The updatePortalLayerActivation() method checks for collisions between portal 
+     * objects and the player hitbox.  If a player walks over these special areas on 
+     * the map, then an event will be triggered.  The check uses the portal table 
+     * compiled by the map manager when the map loaded.  A portal activates once, when
+     * the hitbox enters it, rather than every frame while overlapping.  Frames where 
+     * the hitbox did not change skip the check.
+     * <br><br>
+     * When portal activation occurs, the method first caches the closest player spawn 
+     * in the MapManager class.  The caching helps during the transition from the old 
+     * to the new location.  Then, the method loads the new map designated by the portal
+     * activation name, resetting the player position, and setting the new map to be 
+     * rendered in the next frame.
+     * <br><br>
+     * Summary of starting location logic:
+     * <br>1.  Caches (stores) location in current map of closest spawn point, relative to
+     * player position.
+     * <br>2.  If new map not visited before, sets starting location to closest spawn point
+     * to (0, 0).
+     * <br>3.  If new map visited before, uses location stored in _playerStartLocationTable.
      * 
      * @param boundingBox  Rectangle that defines the hitbox of the player.
-     * @return  Whether a collision occurs with the player hitbox.
+     * @return  Whether the player hitbox entered a portal.
      */
     
     // boundingBox = Rectangle that defines the hitbox of the player.
-    private boolean isCollisionWithMapLayer(Rectangle boundingBox)
+    private boolean updatePortalLayerActivation(Rectangle boundingBox)
     {
-        
+    
         /*
-        The method returns whether a collision occurs with the player hitbox and an 
-        object in the collision layer of the current map, excluding portals.
+        The method returns whether the player hitbox entered an object in the portal 
+        collision layer of the current map.  When a portal gets entered, the method moves
+        the player to the starting position in the target map.
+        
+        The updatePortalLayerActivation() method checks for collisions between portal 
+        objects and the player hitbox.  If a player walks over these special areas on 
+        the map, then an event will be triggered.  The check uses the portal table 
+        compiled by the map manager when the map loaded.  A portal activates once, when
+        the hitbox enters it, rather than every frame while overlapping.  Frames where 
+        the hitbox did not change skip the check.
+        
+        When portal activation occurs, the method first caches the closest player spawn 
+        in the MapManager class.  The caching helps during the transition from the old 
+        to the new location.  Then, the method loads the new map designated by the portal
+        activation name, resetting the player position, and setting the new map to be 
+        rendered in the next frame.
         
-        The isCollisionWithMapLayer() method is called for every frame in the render()
-        method with the bounding box of the player character passed.  The bounding box 
-        acts as the rectangle that defines the hitbox of the player.  The method tests
-        the player hitbox against all rectangle objects on the collision layer of the 
-        TiledMap map.  If any of the rectangles overlap, then a collision occurred.
+        Summary of starting location logic:
+        1.  Caches (stores) location in current map of closest spawn point, relative to
+        player position.
+        2.  If new map not visited before, sets starting location to closest spawn point
+        to (0, 0).
+        3.  If new map visited before, uses location stored in _playerStartLocationTable.
         
-        Returns true when a collision occurs with the player hitbox.
-        Returns false when no collision occurs with the player hitbox.
+        Returns true when the player hitbox entered a portal.
+        Returns false when the player hitbox did not enter a portal.
         */
         
-        boolean collision; // Whether collision occurred.
-        MapLayer mapCollisionLayer; // Collision layer within the TiledMap (excludes portals).
-        Rectangle rectangle; // Rectangle bounding box for current map object in collision checking loop.
+        String mapName; // Name of map to which portal object leads.
+        int portal; // Index of portal entered by player hitbox.
+        
+        // Check the player hitbox against the portal table.
+        portal = _mapMgr.getPortalTable().update(boundingBox);
+        
+        // If no portal entered, then...
+        if ( portal == PortalTable.NO_PORTAL )
+        {
+            // No portal entered.
+            return false;
+        }
+        
+        // Store name of map to which portal leads.
+        mapName = _mapMgr.getPortalTable().getTargetMapName(portal);
         
-        // Get a reference to the collision layer from the TiledMap.
-        mapCollisionLayer =  _mapMgr.getCollisionLayer();
+        // If map name exists, then...
+        if ( mapName != null )
+        {
+
+            // Map name exists.
+
+            // If checking allocations, then stay on the map under check.
+            if ( _checkAllocations )
+            {
+                return false;
+            }
+            
+            // Cache the closest player spawn in the MapManager class.
+            // Convert from tiles to pixels before finding closest spawn location.
+            _mapMgr.setClosestStartPositionFromScaledUnits(_player.getCurrentPosition());
+
+            // Load the new map designated by the portal activation name, reset the player position, and set
+            // the new map to be rendered in the next frame.
+            enterMap(mapName);
 
-        // If collision layer exists, then...
-        if ( mapCollisionLayer != null )
+            // Display that portal was activated.
+            Gdx.app.debug(TAG, "Portal Activated");
+
+            // Flag collision as occurring between player and portal.
+            return true;
+
+        }
+
+        else
         {
+            // Map name missing (null).
+
+            // Display warning.
+            Gdx.app.debug(TAG, "Portal map name missing!");
+
+            // Flag collision as NOT occurring between player and portal.
+            return false;
+        }
             
-            // Collision layer exists.
+    }
+    
+    /**
+     * 
+     * The function runs the passed number of simulation steps without drawing.  Each step covers the 
+     * fixed step duration, so the function supports running the game headless (tests, tools, replays),
+     * as fast as the machine allows.  Background map loading advances once per step, around the player.
+     * <br><br>
+     * The screen must have been shown (show() called) first.
+     * 
+     * @param steps  Number of simulation steps to run.
+     */
+    
+    // steps = Number of simulation steps to run.
+    public void simulate(int steps)
+    {
+        
+        /*
+        The function runs the passed number of simulation steps without drawing.  Each step covers the 
+        fixed step duration, so the function supports running the game headless (tests, tools, replays),
+        as fast as the machine allows.  Background map loading advances once per step, around the player.
+        
+        The screen must have been shown (show() called) first.
+        */
+        
+        // Loop through steps to run.
+        for (int counter = 0; counter < steps; counter++)
+        {
+            // Advance the game logic, background loading, and chunk streaming by one fixed step.
+            advanceStep(_clock.getStepDuration());
+        }
+        
+    }
+    
+    /**
+     * 
+     * The function advances the game logic by one fixed step.  The player animation timing and hitbox 
+     * get updated, the player moves toward the next position (stopping at and sliding along objects in 
+     * the collision layer), portals get checked, and cached input sets the next position for the 
+     * following step.  Last, the non-player characters move.
+     * 
+     * @param stepDuration  Duration of the step in seconds.
+     */
+    
+    // stepDuration = Duration of the step in seconds.
+    private void step(float stepDuration)
+    {
+        
+        /*
+        The function advances the game logic by one fixed step.  The player animation timing and hitbox 
+        get updated, the player moves toward the next position (stopping at and sliding along objects in 
+        the collision layer), portals get checked, and cached input sets the next position for the 
+        following step.  Last, the non-player characters move.
+        */
+        
+        // Remember the position before the step (for drawing), adjust frame time to smooth animation, and
+        // reduce player hitbox height to half for a better feel.
+        _profiler.begin(FrameProfiler.Phase.ENTITY);
+        _player.update(stepDuration);
+        _profiler.end(FrameProfiler.Phase.ENTITY);
+        
+        // Sweep the player hitbox from the current to the next position, stopping at (and sliding along) 
+        // objects in the collision map layer, and set the current player position to the result.
+        _profiler.begin(FrameProfiler.Phase.COLLISION);
+        _player.resolveNextPosition(_mapMgr);
+        _profiler.end(FrameProfiler.Phase.COLLISION);
+        
+        // Determine whether the player hitbox entered an object in the portal collision layer of the 
+        // current map.  When a portal gets entered, move the player to the starting position in the 
+        // target map.
+        _profiler.begin(FrameProfiler.Phase.PORTALS);
+        updatePortalLayerActivation(_player.getBoundingBox());
+        _profiler.end(FrameProfiler.Phase.PORTALS);
+        
+        // Process cached input (keyboard and mouse).
+        _profiler.begin(FrameProfiler.Phase.INPUT);
+        _controller.update(stepDuration);
+        _profiler.end(FrameProfiler.Phase.INPUT);
+        
+        // Move the non-player characters, spread across cores, stopping them at objects in the collision
+        // map layer.
+        _profiler.begin(FrameProfiler.Phase.NPCS);
+        _npcUpdater.update(stepDuration, _mapMgr.getCollisionGrid());
+        _profiler.end(FrameProfiler.Phase.NPCS);
+        
+    }
+    
+    /**
+     * 
+     * The function advances the game logic by one fixed step, then background loading and chunk streaming
+     * around the player.  Recordings and replays advance through the function, so chunk streaming matches
+     * step for step.
+     * 
+     * @param stepDuration  Duration of the step in seconds.
+     */
+    
+    // stepDuration = Duration of the step in seconds.
+    private void advanceStep(float stepDuration)
+    {
+        
+        // The function advances the game logic by one fixed step, then background loading and chunk 
+        // streaming around the player.
+        
+        // Advance the game logic by one fixed step.
+        step(stepDuration);
+        
+        // Advance background loading and chunk streaming around the player.
+        _profiler.begin(FrameProfiler.Phase.STREAMING);
+        _mapMgr.update(_player.getCurrentPosition().x, _player.getCurrentPosition().y);
+        _profiler.end(FrameProfiler.Phase.STREAMING);
+        
+    }
+    
+    /**
+     * 
+     * The function advances the allocation check by one frame.  The bytes allocated by the frame just drawn
+     * get added, once past the warm up.  After CHECK_FRAMES measured frames, the function logs the total 
+     * for the map and moves to the next one, exiting the application after the last.  The player walks 
+     * right, up, left, and down in turn, changing direction every CHECK_TURN_FRAMES frames.
+     */
+    private void checkStep()
+    {
+        
+        /*
+        The function advances the allocation check by one frame.  The bytes allocated by the frame just drawn
+        get added, once past the warm up.  After CHECK_FRAMES measured frames, the function logs the total 
+        for the map and moves to the next one, exiting the application after the last.  The player walks 
+        right, up, left, and down in turn, changing direction every CHECK_TURN_FRAMES frames.
+        */
+        
+        // If past the warm up, then add the bytes allocated by the frame just drawn.
+        if ( _checkFrame > CHECK_WARMUP_FRAMES )
+        {
+            _checkBytes += getFrameAllocatedBytes();
+        }
+        
+        // If all frames on the map measured, then...
+        if ( _checkFrame == CHECK_WARMUP_FRAMES + CHECK_FRAMES )
+        {
+            
+            // Report the bytes allocated on the map.
+            if ( _checkBytes > 0L )
+            {
+                _checkFailed = true;
+                Gdx.app.error(TAG, "Allocation check failed on " + CHECK_MAPS[_checkMap] + ":  " + _checkBytes + 
+                  " bytes over " + CHECK_FRAMES + " frames.");
+            }
             
-            // Default to no collision occurring.
-            collision = false;
+            else
+            {
+                Gdx.app.log(TAG, "Allocation check passed on " + CHECK_MAPS[_checkMap] + ":  0 bytes over " + 
+                  CHECK_FRAMES + " frames.");
+            }
             
-            // Loop through (possible) objects in map to check for collision.
-            for ( MapObject object: mapCollisionLayer.getObjects() )
+            // Stop walking and move to the next map.
+            releaseDirections();
+            _checkBytes = 0L;
+            _checkFrame = 0;
+            _checkMap++;
+            
+            // If all maps checked, then...
+            if ( _checkMap == CHECK_MAPS.length )
             {
                 
-                // If RectangleMapObject found (indicates collision bouding box), then...
-                if (object instanceof RectangleMapObject)
+                // Fail when unsupported, since nothing got measured (every map passed with zero bytes).
+                if ( !AllocationProbe.isSupported() )
                 {
-                    
-                    // Convert to standard rectangle object.
-                    rectangle = ((RectangleMapObject)object).getRectangle();
-                    
-                    //Gdx.app.debug(TAG, "Collision Rect (" + rectangle.x + "," + rectangle.y + ")");
-                    //Gdx.app.debug(TAG, "Player Rect (" + boundingBox.x + "," + boundingBox.y + ")");
-                    
-                    // If player and map object bounding boxes intersect, then...
-                    if ( boundingBox.overlaps(rectangle) )
-                    {
-                        
-                        // Player and map object bounding boxes intersect.
-                        
-                        //Gdx.app.debug(TAG, "Map Collision!");
-
-                        // Flag collision as occurring.
-                        collision = true;
-                        
-                        // Exit loop.
-                        break;
-                        
-                    }
-                    
-                } // End ... If RectangleMapObject found (indicates collision bouding box).
+                    _checkFailed = true;
+                    Gdx.app.error(TAG, "Allocation check failed:  the Java runtime does not count allocations.");
+                }
+                
+                // Only check once, then exit.
+                _checkAllocations = false;
+                Gdx.app.exit();
+                return;
                 
-            } // End ... Loop through (possible) objects in map to check for collision.
+            }
             
-        } // End ... If collision layer exists.
+        }
         
-        else
+        // If starting on a map, then enter it.
+        if ( _checkFrame == 0 )
+        {
+            enterMap(CHECK_MAPS[_checkMap]);
+        }
+        
+        // If time to turn, then walk in the next direction.
+        if ( _checkFrame % CHECK_TURN_FRAMES == 0 )
         {
             
-            // No collision layer exists.
+            releaseDirections();
             
-            // Flag as no collision occurring.
-            collision = false;
+            switch ( (_checkFrame / CHECK_TURN_FRAMES) % 4 )
+            {
+                case 0:
+                    _controller.rightPressed();
+                    break;
+                case 1:
+                    _controller.upPressed();
+                    break;
+                case 2:
+                    _controller.leftPressed();
+                    break;
+                default:
+                    _controller.downPressed();
+                    break;
+            }
             
         }
-
-        // Return whether collision occurring.
-        return collision;
+        
+        _checkFrame++;
         
     }
-
+    
     /**
      * 
-     * The method returns whether a collision occurs with the player hitbox and an 
-     * object in the portal collision layer of the current map.  When a collision
-     * occurs, the method moves the player to the starting position in the target map.
-     * <br><br> 
-     * The updatePortalLayerActivation() method checks for collisions between portal 
-     * objects and the player hitbox.  If a player walks over these special areas on 
-     * the map, then an event will be triggered.  When portal activation occurs, the
-     * method first caches the closest player spawn in the MapManager class.  The
-     * caching helps during the transition from the old to the new location.  Then, 
-     * the method loads the new map designated by the portal activation name, resetting
-     * the player position, and setting the new map to be rendered in the next frame.
-     * <br><br>
-     * Summary of starting location logic:
-     * <br>1.  Caches (stores) location in current map of closest spawn point, relative to
-     * player position.
-     * <br>2.  If new map not visited before, sets starting location to closest spawn point
-     * to (0, 0).
-     * <br>3.  If new map visited before, uses location stored in _playerStartLocationTable.
+     * The function loads the passed map, resets the player position to the starting point in the map, and
+     * sets the map to be rendered in the next frame.
      * 
-     * @param boundingBox  Rectangle that defines the hitbox of the player.
-     * @return  Whether a collision occurs with the player hitbox and a portal.
+     * @param mapName  Name of the map to enter (such as TOWN).
      */
     
-    // boundingBox = Rectangle that defines the hitbox of the player.
-    private boolean updatePortalLayerActivation(Rectangle boundingBox)
+    // mapName = Name of the map to enter (such as TOWN).
+    private void enterMap(String mapName)
     {
+        
+        // The function loads the passed map, resets the player position, and sets the map to be rendered.
+        
+        // Load the map.
+        _mapMgr.loadMap(mapName);
+        
+        // Reset the player position (to the starting point in the map).
+        _player.init(_mapMgr.getPlayerStartUnitScaled().x, _mapMgr.getPlayerStartUnitScaled().y);
+        
+        // Set the map to be rendered in the next frame.
+        _mapRenderer.setMap(_mapMgr.getCurrentMap());
+        
+    }
     
-        /*
-        The method returns whether a collision occurs with the player hitbox and an 
-        object in the portal collision layer of the current map.  When a collision
-        occurs, the method moves the player to the starting position in the target map.
+    /**
+     * 
+     * The function releases the four direction keys held by the allocation check.
+     */
+    private void releaseDirections()
+    {
         
-        The updatePortalLayerActivation() method checks for collisions between portal 
-        objects and the player hitbox.  If a player walks over these special areas on 
-        the map, then an event will be triggered.  When portal activation occurs, the
-        method first caches the closest player spawn in the MapManager class.  The
-        caching helps during the transition from the old to the new location.  Then, 
-        the method loads the new map designated by the portal activation name, resetting
-        the player position, and setting the new map to be rendered in the next frame.
+        // The function releases the four direction keys held by the allocation check.
         
-        Summary of starting location logic:
-        1.  Caches (stores) location in current map of closest spawn point, relative to
-        player position.
-        2.  If new map not visited before, sets starting location to closest spawn point
-        to (0, 0).
-        3.  If new map visited before, uses location stored in _playerStartLocationTable.
+        _controller.rightReleased();
+        _controller.upReleased();
+        _controller.leftReleased();
+        _controller.downReleased();
+        
+    }
+    
+    /**
+     * 
+     * The function draws the frame phase timings (count, percentiles, and maximum per phase) and the memory
+     * used by assets (see AssetService) over the top left of the screen.  The text gets refreshed twice per
+     * second, into a reused StringBuilder.
+     * 
+     * @param delta  Time span between the current and last frame in seconds.
+     */
+    
+    // delta = Time span between the current and last frame in seconds.
+    private void drawOverlay(float delta)
+    {
+        
+        // The function draws the frame phase timings over the top left of the screen.
+        
+        _overlayAge += delta;
+        
+        // If time to refresh, then rebuild the text from the profiler.
+        if ( _overlayAge >= OVERLAY_REFRESH )
+        {
+            _overlayAge = 0f;
+            _overlayText.setLength(0);
+            _profiler.appendSummary(_overlayText);
+            AssetService.SHARED.appendUsage(_overlayText);
+        }
+        
+        // Draw the text in screen coordinates.
+        _overlayBatch.begin();
+        _overlayFont.draw(_overlayBatch, _overlayText, OVERLAY_MARGIN, Gdx.graphics.getHeight() - OVERLAY_MARGIN);
+        _overlayBatch.end();
+        
+    }
+    
+    /**
+     * 
+     * The function stores the step count and final player position in the input recording and writes the
+     * recording to the file passed to recordInput().
+     */
+    private void finishRecording()
+    {
+        
+        // The function stores the step count and final player position in the input recording and writes it.
+        
+        OutputStream stream; // Stream writing the recording.
+        
+        // Store the step count and final player position.
+        _recording.finish(_controller.getStepIndex(), _player.getCurrentPosition().x, 
+          _player.getCurrentPosition().y);
+        
+        // Open the file (replacing any existing contents).
+        stream = _recordFile.write(false);
+        
+        try
+        {
+            // Write the recording.
+            _recording.write(stream);
+        }
+        
+        catch (IOException e)
+        {
+            throw new GdxRuntimeException("Unable to write input recording: " + _recordFile.path(), e);
+        }
+        
+        finally
+        {
+            // Close the stream.
+            StreamUtils.closeQuietly(stream);
+        }
+        
+        Gdx.app.log(TAG, "Recorded " + _recording.getStepCount() + " steps (" + _recording.getEventCount() + 
+          " events) to " + _recordFile.path());
+        
+        // Only record once.
+        _recording = null;
+        
+    }
+    
+    /**
+     * 
+     * The function returns the passed percentile of the sorted step times (nearest rank).
+     * 
+     * @param times  Sorted step times in nanoseconds.
+     * @param percent  Percentile to return (0 to 100).
+     * @return  Step time at the passed percentile in nanoseconds.
+     */
+    
+    // times = Sorted step times in nanoseconds.
+    // percent = Percentile to return (0 to 100).
+    private static long percentile(long[] times, int percent)
+    {
+        
+        // The function returns the passed percentile of the sorted step times (nearest rank).
+        
+        int index; // Index of the step time at the percentile.
+        
+        // If no steps exist, then...
+        if ( times.length == 0 )
+        {
+            // Nothing to report.
+            return 0L;
+        }
+        
+        // Determine the index of the step time at the percentile.
+        index = (int)Math.ceil(percent / 100.0 * times.length) - 1;
+        
+        // Return the step time at the percentile.
+        return times[Math.max(0, Math.min(index, times.length - 1))];
+        
+    }
+    
+    /**
+     * 
+     * The function runs every step of the input recording as fast as possible, without drawing.  Each step
+     * uses the step duration of the recording, so the run matches the recorded one step for step.  Once
+     * done, the function logs the 50th, 90th, and 99th percentile and maximum of the time spent per step,
+     * checks the final player position against the recorded one (bit for bit), and exits the application.
+     */
+    private void replay()
+    {
         
-        Returns true when a collision occurs with the player hitbox and a portal.
-        Returns false when no collision occurs with the player hitbox and a portal.
+        /*
+        The function runs every step of the input recording as fast as possible, without drawing.  Each step
+        uses the step duration of the recording, so the run matches the recorded one step for step.  Once
+        done, the function logs the 50th, 90th, and 99th percentile and maximum of the time spent per step,
+        checks the final player position against the recorded one (bit for bit), and exits the application.
         */
         
-        boolean collision; // Whether collision occurred.
-        String mapName; // Name of map to which portal object leads.
-        MapLayer mapPortalLayer; // Collision layer within the TiledMap (only portals).
-        Rectangle rectangle; // Rectangle bounding box for current map object in collision checking loop.
+        float finalX; // Final x-coordinate of the player.
+        float finalY; // Final y-coordinate of the player.
+        long start; // Time at which the current step started, in nanoseconds.
+        long[] times; // Time spent per step, in nanoseconds.
+        long total; // Time spent on all steps, in nanoseconds.
         
-        // Get a reference to the portal (collision) layer from the TiledMap.
-        mapPortalLayer =  _mapMgr.getPortalLayer();
-
-        // If portal collision layer exists, then...
-        if ( mapPortalLayer != null )
+        // Initialize step times.
+        times = new long[_replay.getStepCount()];
+        total = 0L;
+        
+        // Loop through recorded steps.
+        for (int counter = 0; counter < times.length; counter++)
         {
             
-            // Portal collision layer exists.
+            // Advance the game logic, background loading, and chunk streaming by one step.
+            start = System.nanoTime();
+            advanceStep(_replay.getStepDuration());
+            times[counter] = System.nanoTime() - start;
             
-            // Default to no collision occurring.
-            collision = false;
-
-            // Loop through (possible) portal objects in map to check for collision.
-            for( MapObject object: mapPortalLayer.getObjects())
-            {
-                
-                // If RectangleMapObject found (indicates portal collision bouding box), then...
-                if(object instanceof RectangleMapObject)
-                {
-                    
-                    // Convert to standard rectangle object.
-                    rectangle = ((RectangleMapObject)object).getRectangle();
-                    
-                    //Gdx.app.debug(TAG, "Collision Rect (" + rectangle.x + "," + rectangle.y + ")");
-                    //Gdx.app.debug(TAG, "Player Rect (" + boundingBox.x + "," + boundingBox.y + ")");
-                    
-                    // If player and portal object bounding boxes intersect, then...
-                    if( boundingBox.overlaps(rectangle) )
-                    {
-                        
-                        // Player and portal object bounding boxes intersect.
-                        
-                        // Store name of map to which portal leads.
-                        mapName = object.getName();
-                        
-                        // If map name exists, then...
-                        if ( mapName != null )
-                        {
-
-                            // Map name exists.
-
-                            // Player already visited map.
-                            
-                            // Cache the closest player spawn in the MapManager class.
-                            // Convert from tiles to pixels before finding closest spawn location.
-                            _mapMgr.setClosestStartPositionFromScaledUnits(_player.getCurrentPosition());
-                            
-                            // Load the new map designated by the portal activation name.
-                            _mapMgr.loadMap(mapName);
-                            
-                            // Reset the player position (to the starting point in the target map).
-                            _player.init(_mapMgr.getPlayerStartUnitScaled().x, _mapMgr.getPlayerStartUnitScaled().y);
-                            
-                            // Set the new map to be rendered in the next frame.
-                            _mapRenderer.setMap(_mapMgr.getCurrentMap());
-                            
-                            // Display that portal was activated.
-                            Gdx.app.debug(TAG, "Portal Activated");
-
-                            // Flag collision as occurring between player and portal.
-                            collision = true;
-                            
-                        }
-                        
-                        else
-                        {
-                            // Map name missing (null).
-                            
-                            // Display warning.
-                            Gdx.app.debug(TAG, "Portal map name missing!");
-                            
-                            // Flag collision as NOT occurring between player and portal.
-                            collision = false;
-                        }
-                        
-                        // Exit loop.
-                        break;
-                        
-                    } // End ... If player and portal object bounding boxes intersect.
-                        
-                } // End ... If RectangleMapObject found (indicates portal collision bouding box).
-                    
-            } // End ... Loop through (possible) portal objects in map to check for collision.
-            
-        } // End ... If portal collision layer exists.
+            // Add to total time.
+            total += times[counter];
+            
+        }
+        
+        // Sort step times to read percentiles.
+        Arrays.sort(times);
+        
+        // Report step times in microseconds.
+        Gdx.app.log(TAG, "Replayed " + times.length + " steps in " + (total / 1000000L) + " ms.  " + 
+          "Per step (us):  p50 = " + (percentile(times, 50) / 1000L) + 
+          ", p90 = " + (percentile(times, 90) / 1000L) + 
+          ", p99 = " + (percentile(times, 99) / 1000L) + 
+          ", max = " + (percentile(times, 100) / 1000L));
+        
+        // Store final player position.
+        finalX = _player.getCurrentPosition().x;
+        finalY = _player.getCurrentPosition().y;
+        
+        // If the final player position matches the recorded one bit for bit, then...
+        if ( Float.floatToIntBits(finalX) == Float.floatToIntBits(_replay.getFinalX()) && 
+          Float.floatToIntBits(finalY) == Float.floatToIntBits(_replay.getFinalY()) )
+        {
+            Gdx.app.log(TAG, "Replay matched the recorded final position (" + finalX + ", " + finalY + ").");
+        }
         
         else
         {
-            
-            // No portal collision layer exists.
-            
-            // Flag as no collision occurring between player and portal.
-            collision = false;
-            
+            _replayFailed = true;
+            Gdx.app.error(TAG, "Replay diverged:  final position (" + finalX + ", " + finalY + 
+              "), recorded (" + _replay.getFinalX() + ", " + _replay.getFinalY() + ").");
         }
-
-        // Return whether collision occurring between player and portal.
-        return collision;
-            
+        
+        // Only replay once, then exit.
+        _replay = null;
+        Gdx.app.exit();
+        
     }
     
     /**
@@ -825,5 +1520,48 @@ public class MainGameScreen extends BaseScreen { // Extends the BaseScreen class
         */
             
     }
+    
+    /**
+     * 
+     * The function writes the frame phase timings (count, percentiles, and maximum per phase) to 
+     * PROFILE_FILE, in the local storage folder.  Nothing gets written when no frame or step ran.
+     */
+    private void writeProfile()
+    {
+        
+        // The function writes the frame phase timings to PROFILE_FILE.
+        
+        FileHandle file; // File to which to write the timings.
+        OutputStream stream; // Stream writing the timings.
+        
+        // If no frame or step ran, then exit.
+        if ( _profiler.getCount(FrameProfiler.Phase.FRAME) == 0 && 
+          _profiler.getCount(FrameProfiler.Phase.ENTITY) == 0 )
+            return;
+        
+        // Open the file (replacing any existing contents).
+        file = Gdx.files.local(PROFILE_FILE);
+        stream = file.write(false);
+        
+        try
+        {
+            // Write the timings.
+            _profiler.write(stream);
+        }
+        
+        catch (IOException e)
+        {
+            throw new GdxRuntimeException("Unable to write frame timings: " + file.path(), e);
+        }
+        
+        finally
+        {
+            // Close the stream.
+            StreamUtils.closeQuietly(stream);
+        }
+        
+        Gdx.app.log(TAG, "Wrote frame timings to " + file.path());
+        
+    }
 
 }
\ No newline at end of file